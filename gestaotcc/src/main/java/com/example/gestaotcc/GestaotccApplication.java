@@ -2,12 +2,16 @@ package com.example.gestaotcc;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class GestaotccApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(GestaotccApplication.class, args);
+		SpringApplication application = new SpringApplication(GestaotccApplication.class);
+		// Registra as etapas da inicialização para o endpoint /actuator/startup e o TempoInicializacaoListener
+		application.setApplicationStartup(new BufferingApplicationStartup(10000));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,58 @@
+package com.example.gestaotcc.armazenamento;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Onde os bytes dos arquivos ficam: disco local, memória ou object storage compatível com S3.
+// As chaves são nomes simples (sem "/"), os mesmos gravados em EntregaEntity.caminhoArquivo.
+// Todas as operações são em streaming; nenhuma implementação precisa do arquivo inteiro em memória,
+// exceto a de memória, que existe para testes e benchmarks.
+public interface ArmazenamentoArquivos {
+
+    // Grava o conteúdo sob a chave, substituindo o que houver; se falhar, nada fica gravado.
+    // Devolve a quantidade de bytes gravados.
+    long gravar(String chave, InputStream conteudo) throws IOException;
+
+    // Grava a partir de um arquivo local já completo, que é consumido (removido) no processo.
+    // Implementações no disco local podem simplesmente mover o arquivo, sem reler os bytes.
+    default long importar(String chave, Path arquivoLocal) throws IOException {
+        long tamanho;
+        try (InputStream conteudo = Files.newInputStream(arquivoLocal)) {
+            tamanho = gravar(chave, conteudo);
+        }
+        Files.delete(arquivoLocal);
+        return tamanho;
+    }
+
+    // Lança NoSuchFileException quando a chave não existe
+    InputStream ler(String chave) throws IOException;
+
+    // Intervalo [inicio, fim], com fim inclusivo como no cabeçalho Range
+    InputStream lerIntervalo(String chave, long inicio, long fim) throws IOException;
+
+    Optional<InfoArquivo> consultar(String chave) throws IOException;
+
+    // Não falha se a chave não existir
+    void excluir(String chave) throws IOException;
+
+    void mover(String origem, String destino) throws IOException;
+
+    void copiar(String origem, String destino) throws IOException;
+
+    // Atualiza a data de modificação sem alterar o conteúdo
+    void tocar(String chave) throws IOException;
+
+    // Todas as chaves, em ordem crescente. O stream deve ser fechado; as chaves são lidas aos poucos
+    // em vez de carregadas de uma vez (no sistema de arquivos, uma partição por vez, e os nomes fora
+    // das partições em blocos ordenados gravados em disco).
+    Stream<String> listar() throws IOException;
+
+    // Caminho no disco local, quando existir, para envios sem cópia (sendfile/transferTo)
+    default Optional<Path> caminhoLocal(String chave) {
+        return Optional.empty();
+    }
+}
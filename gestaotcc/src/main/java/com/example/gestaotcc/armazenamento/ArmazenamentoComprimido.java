@@ -0,0 +1,504 @@
+package com.example.gestaotcc.armazenamento;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Compressão transparente sobre outro armazenamento. O primeiro bloco de cada arquivo é comprimido
+// como amostra: se o ganho não compensar (PDFs com imagens, DOCX, ZIP), o arquivo é gravado sem
+// alteração; caso contrário é gravado em blocos independentes, o que permite ler um intervalo
+// descomprimindo só os blocos que o contêm.
+//
+// Formato: MAGICA + tamanho do bloco (int), depois um quadro por bloco com o tamanho (int; negativo
+// quando o bloco ficou maior comprimido e foi guardado como está) seguido dos bytes, um quadro de
+// tamanho 0 marcando o fim, o índice (os tamanhos dos quadros, de novo) e o rodapé: tamanho original
+// (long), quantidade de blocos (int), posição do índice (long) e MAGICA_RODAPE (int).
+// O codec fica registrado no próprio arquivo: sem a MAGICA no início, o arquivo está sem compressão.
+@Slf4j
+public class ArmazenamentoComprimido implements ArmazenamentoArquivos {
+
+    private static final byte[] MAGICA = {'G', 'T', 'C', 'Z', 'B', '1', '\r', '\n'};
+    private static final int MAGICA_RODAPE = 0x47544346;
+    private static final int TAMANHO_CABECALHO = MAGICA.length + Integer.BYTES;
+    private static final int TAMANHO_RODAPE = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int TAMANHO_BUFFER_LEITURA = 64 * 1024;
+
+    private final ArmazenamentoArquivos base;
+    private final int tamanhoBloco;
+
+    // Comprime o arquivo quando a amostra comprimida fica com no máximo esta fração do original
+    private final double razaoMinima;
+
+    public ArmazenamentoComprimido(ArmazenamentoArquivos base, int tamanhoBloco, double razaoMinima) {
+        this.base = base;
+        this.tamanhoBloco = tamanhoBloco;
+        this.razaoMinima = razaoMinima;
+    }
+
+    @Override
+    public long gravar(String chave, InputStream conteudo) throws IOException {
+        byte[] amostra = conteudo.readNBytes(tamanhoBloco);
+        if (!compensaComprimir(amostra)) {
+            return base.gravar(chave, new SequenceInputStream(new ByteArrayInputStream(amostra), conteudo));
+        }
+
+        EntradaComprimida comprimida = new EntradaComprimida(amostra, conteudo);
+        try (comprimida) {
+            long gravados = base.gravar(chave, comprimida);
+            log.debug("Arquivo {} comprimido: {} -> {} bytes", chave, comprimida.tamanhoOriginal, gravados);
+            return comprimida.tamanhoOriginal;
+        }
+    }
+
+    @Override
+    public long importar(String chave, Path arquivoLocal) throws IOException {
+        byte[] amostra;
+        try (InputStream entrada = Files.newInputStream(arquivoLocal)) {
+            amostra = entrada.readNBytes(tamanhoBloco);
+        }
+        // Sem compressão o armazenamento de baixo pode simplesmente mover o arquivo
+        if (!compensaComprimir(amostra)) {
+            return base.importar(chave, arquivoLocal);
+        }
+        return ArmazenamentoArquivos.super.importar(chave, arquivoLocal);
+    }
+
+    @Override
+    public InputStream ler(String chave) throws IOException {
+        BufferedInputStream entrada = new BufferedInputStream(base.ler(chave), TAMANHO_BUFFER_LEITURA);
+        entrada.mark(TAMANHO_CABECALHO);
+        byte[] cabecalho = entrada.readNBytes(TAMANHO_CABECALHO);
+        if (!comprimido(cabecalho)) {
+            entrada.reset();
+            return entrada;
+        }
+        return new SaidaDescomprimida(entrada, ByteBuffer.wrap(cabecalho, MAGICA.length, Integer.BYTES).getInt(),
+                0, Long.MAX_VALUE);
+    }
+
+    @Override
+    public InputStream lerIntervalo(String chave, long inicio, long fim) throws IOException {
+        Optional<Rodape> rodape = lerRodape(chave);
+        if (rodape.isEmpty()) {
+            return base.lerIntervalo(chave, inicio, fim);
+        }
+
+        Rodape metadados = rodape.get();
+        long ultimoByte = Math.min(fim, metadados.tamanhoOriginal - 1);
+        if (inicio > ultimoByte) {
+            return InputStream.nullInputStream();
+        }
+
+        long[] posicoes = lerPosicoesDosQuadros(chave, metadados);
+        int primeiroBloco = (int) (inicio / metadados.tamanhoBloco);
+        int ultimoBloco = (int) (ultimoByte / metadados.tamanhoBloco);
+
+        InputStream quadros = base.lerIntervalo(chave, posicoes[primeiroBloco], posicoes[ultimoBloco + 1] - 1);
+        return new SaidaDescomprimida(quadros, metadados.tamanhoBloco,
+                inicio - (long) primeiroBloco * metadados.tamanhoBloco, ultimoByte - inicio + 1);
+    }
+
+    // O tamanho informado é o original, que é o que o download (Content-Length, Range) precisa
+    @Override
+    public Optional<InfoArquivo> consultar(String chave) throws IOException {
+        Optional<InfoArquivo> info = base.consultar(chave);
+        if (info.isEmpty()) {
+            return info;
+        }
+        Optional<Rodape> rodape = lerRodape(chave, info.get().getTamanho());
+        return rodape.isPresent()
+                ? Optional.of(new InfoArquivo(rodape.get().tamanhoOriginal, info.get().getUltimaModificacao()))
+                : info;
+    }
+
+    @Override
+    public void excluir(String chave) throws IOException {
+        base.excluir(chave);
+    }
+
+    @Override
+    public void mover(String origem, String destino) throws IOException {
+        base.mover(origem, destino);
+    }
+
+    @Override
+    public void copiar(String origem, String destino) throws IOException {
+        base.copiar(origem, destino);
+    }
+
+    @Override
+    public void tocar(String chave) throws IOException {
+        base.tocar(chave);
+    }
+
+    @Override
+    public Stream<String> listar() throws IOException {
+        return base.listar();
+    }
+
+    // Arquivos comprimidos não podem ir direto do disco para a resposta (sendfile)
+    @Override
+    public Optional<Path> caminhoLocal(String chave) {
+        Optional<Path> caminho = base.caminhoLocal(chave);
+        if (caminho.isEmpty()) {
+            return caminho;
+        }
+        try (InputStream entrada = Files.newInputStream(caminho.get())) {
+            return comprimido(entrada.readNBytes(TAMANHO_CABECALHO)) ? Optional.empty() : caminho;
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private boolean compensaComprimir(byte[] amostra) {
+        if (amostra.length == 0) {
+            return false;
+        }
+        // Um arquivo que começa com a MAGICA seria confundido com um comprimido se gravado como está
+        if (comprimido(amostra)) {
+            return true;
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            int comprimidos = comprimirBloco(deflater, amostra, amostra.length, new byte[amostra.length], 0);
+            // Com razão 1 ou mais o arquivo é sempre gravado em blocos, mesmo que a amostra não diminua
+            return comprimidos >= 0 ? comprimidos <= amostra.length * razaoMinima : razaoMinima >= 1.0;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Comprime em saida[deslocamento..] e devolve o tamanho comprimido, ou -1 quando ele não ficaria
+    // menor que o original (nesse caso o conteúdo de "saida" deve ser ignorado)
+    private static int comprimirBloco(Deflater deflater, byte[] bloco, int tamanho, byte[] saida, int deslocamento) {
+        deflater.reset();
+        deflater.setInput(bloco, 0, tamanho);
+        deflater.finish();
+
+        int total = 0;
+        while (!deflater.finished()) {
+            if (total >= tamanho) {
+                return -1;
+            }
+            total += deflater.deflate(saida, deslocamento + total, tamanho - total);
+        }
+        return total < tamanho ? total : -1;
+    }
+
+    private static boolean comprimido(byte[] inicio) {
+        return inicio.length >= TAMANHO_CABECALHO
+                && Arrays.equals(inicio, 0, MAGICA.length, MAGICA, 0, MAGICA.length);
+    }
+
+    private Optional<Rodape> lerRodape(String chave) throws IOException {
+        Optional<InfoArquivo> info = base.consultar(chave);
+        if (info.isEmpty()) {
+            throw new NoSuchFileException(chave);
+        }
+        return lerRodape(chave, info.get().getTamanho());
+    }
+
+    private Optional<Rodape> lerRodape(String chave, long tamanhoArmazenado) throws IOException {
+        // Cabeçalho, quadro final e rodapé: arquivos menores que isso não foram comprimidos
+        if (tamanhoArmazenado < TAMANHO_CABECALHO + Integer.BYTES + TAMANHO_RODAPE) {
+            return Optional.empty();
+        }
+
+        byte[] cabecalho;
+        try (InputStream entrada = base.lerIntervalo(chave, 0, TAMANHO_CABECALHO - 1)) {
+            cabecalho = entrada.readNBytes(TAMANHO_CABECALHO);
+        }
+        if (!comprimido(cabecalho)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer rodape;
+        try (InputStream entrada = base.lerIntervalo(chave, tamanhoArmazenado - TAMANHO_RODAPE, tamanhoArmazenado - 1)) {
+            rodape = ByteBuffer.wrap(entrada.readNBytes(TAMANHO_RODAPE));
+        }
+        if (rodape.remaining() != TAMANHO_RODAPE || rodape.getInt(TAMANHO_RODAPE - Integer.BYTES) != MAGICA_RODAPE) {
+            throw new IOException("Arquivo comprimido " + chave + " sem rodapé válido");
+        }
+
+        int tamanhoBlocoArquivo = ByteBuffer.wrap(cabecalho, MAGICA.length, Integer.BYTES).getInt();
+        return Optional.of(new Rodape(tamanhoBlocoArquivo, rodape.getLong(), rodape.getInt(), rodape.getLong()));
+    }
+
+    // posicoes[i] é onde começa o quadro do bloco i; posicoes[quantidade] é o quadro final
+    private long[] lerPosicoesDosQuadros(String chave, Rodape rodape) throws IOException {
+        long[] posicoes = new long[rodape.quantidadeBlocos + 1];
+        posicoes[0] = TAMANHO_CABECALHO;
+        if (rodape.quantidadeBlocos == 0) {
+            return posicoes;
+        }
+
+        long fimIndice = rodape.inicioIndice + (long) rodape.quantidadeBlocos * Integer.BYTES - 1;
+        try (DataInputStream indice = new DataInputStream(new BufferedInputStream(
+                base.lerIntervalo(chave, rodape.inicioIndice, fimIndice)))) {
+            for (int i = 0; i < rodape.quantidadeBlocos; i++) {
+                posicoes[i + 1] = posicoes[i] + Integer.BYTES + Math.abs(indice.readInt());
+            }
+        }
+        return posicoes;
+    }
+
+    private static final class Rodape {
+        private final int tamanhoBloco;
+        private final long tamanhoOriginal;
+        private final int quantidadeBlocos;
+        private final long inicioIndice;
+
+        private Rodape(int tamanhoBloco, long tamanhoOriginal, int quantidadeBlocos, long inicioIndice) {
+            this.tamanhoBloco = tamanhoBloco;
+            this.tamanhoOriginal = tamanhoOriginal;
+            this.quantidadeBlocos = quantidadeBlocos;
+            this.inicioIndice = inicioIndice;
+        }
+    }
+
+    // Produz o formato comprimido conforme o armazenamento de baixo consome o stream, bloco a bloco:
+    // em memória ficam só o bloco atual e o índice (4 bytes por bloco)
+    private final class EntradaComprimida extends InputStream {
+
+        private final InputStream origem;
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        private final ByteArrayOutputStream indice = new ByteArrayOutputStream();
+        private final DataOutputStream escritorIndice = new DataOutputStream(indice);
+        private final byte[] bloco;
+        private final byte[] quadro;
+        private byte[] amostra;
+
+        private byte[] pendente;
+        private int posicao;
+        private int limite;
+        private boolean terminou;
+
+        private long tamanhoOriginal;
+        private long tamanhoArmazenado;
+        private int quantidadeBlocos;
+
+        private EntradaComprimida(byte[] amostra, InputStream origem) {
+            this.origem = origem;
+            this.amostra = amostra;
+            this.bloco = new byte[tamanhoBloco];
+            this.quadro = new byte[Integer.BYTES + tamanhoBloco];
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).put(MAGICA).putInt(tamanhoBloco);
+            definirPendente(cabecalho.array(), TAMANHO_CABECALHO);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] umByte = new byte[1];
+            return read(umByte, 0, 1) == -1 ? -1 : umByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int quantidade) throws IOException {
+            if (quantidade == 0) {
+                return 0;
+            }
+            while (posicao == limite) {
+                if (terminou) {
+                    return -1;
+                }
+                proximoQuadro();
+            }
+            int copiados = Math.min(quantidade, limite - posicao);
+            System.arraycopy(pendente, posicao, destino, deslocamento, copiados);
+            posicao += copiados;
+            return copiados;
+        }
+
+        private void proximoQuadro() throws IOException {
+            byte[] entrada;
+            int lidos;
+            if (amostra != null) {
+                entrada = amostra;
+                lidos = amostra.length;
+                amostra = null;
+            } else {
+                entrada = bloco;
+                lidos = origem.readNBytes(bloco, 0, tamanhoBloco);
+            }
+
+            if (lidos == 0) {
+                finalizar();
+                return;
+            }
+
+            int comprimidos = comprimirBloco(deflater, entrada, lidos, quadro, Integer.BYTES);
+            int tamanhoQuadro;
+            if (comprimidos > 0) {
+                tamanhoQuadro = comprimidos;
+                escreverTamanho(comprimidos);
+            } else {
+                // Bloco incompressível: vai como está, com o tamanho negativo
+                System.arraycopy(entrada, 0, quadro, Integer.BYTES, lidos);
+                tamanhoQuadro = lidos;
+                escreverTamanho(-lidos);
+            }
+
+            tamanhoOriginal += lidos;
+            quantidadeBlocos++;
+            definirPendente(quadro, Integer.BYTES + tamanhoQuadro);
+        }
+
+        private void escreverTamanho(int tamanho) throws IOException {
+            ByteBuffer.wrap(quadro).putInt(0, tamanho);
+            escritorIndice.writeInt(tamanho);
+        }
+
+        private void finalizar() {
+            long inicioIndice = tamanhoArmazenado + Integer.BYTES;
+            byte[] tamanhos = indice.toByteArray();
+
+            ByteBuffer fim = ByteBuffer.allocate(Integer.BYTES + tamanhos.length + TAMANHO_RODAPE)
+                    .putInt(0)
+                    .put(tamanhos)
+                    .putLong(tamanhoOriginal)
+                    .putInt(quantidadeBlocos)
+                    .putLong(inicioIndice)
+                    .putInt(MAGICA_RODAPE);
+            terminou = true;
+            definirPendente(fim.array(), fim.capacity());
+        }
+
+        private void definirPendente(byte[] conteudo, int tamanho) {
+            pendente = conteudo;
+            posicao = 0;
+            limite = tamanho;
+            tamanhoArmazenado += tamanho;
+        }
+
+        // A origem é de quem chamou gravar, que a fecha
+        @Override
+        public void close() {
+            deflater.end();
+        }
+    }
+
+    // Lê quadros a partir do início de um bloco, descarta os primeiros "descartar" bytes descomprimidos
+    // e entrega no máximo "limite" bytes
+    private static final class SaidaDescomprimida extends InputStream {
+
+        private final DataInputStream quadros;
+        private final Inflater inflater = new Inflater(true);
+        private final byte[] comprimido;
+        private final byte[] bloco;
+        private long descartar;
+        private long restante;
+
+        private int posicao;
+        private int limite;
+        private boolean terminou;
+
+        private SaidaDescomprimida(InputStream quadros, int tamanhoBloco, long descartar, long limite) {
+            this.quadros = new DataInputStream(quadros);
+            this.comprimido = new byte[tamanhoBloco];
+            this.bloco = new byte[tamanhoBloco];
+            this.descartar = descartar;
+            this.restante = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] umByte = new byte[1];
+            return read(umByte, 0, 1) == -1 ? -1 : umByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int quantidade) throws IOException {
+            if (quantidade == 0) {
+                return 0;
+            }
+            if (restante == 0) {
+                return -1;
+            }
+            while (posicao == limite) {
+                if (terminou) {
+                    return -1;
+                }
+                proximoBloco();
+            }
+            int copiados = (int) Math.min(Math.min(quantidade, limite - posicao), restante);
+            System.arraycopy(bloco, posicao, destino, deslocamento, copiados);
+            posicao += copiados;
+            restante -= copiados;
+            return copiados;
+        }
+
+        private void proximoBloco() throws IOException {
+            int tamanhoQuadro;
+            try {
+                tamanhoQuadro = quadros.readInt();
+            } catch (EOFException e) {
+                throw new IOException("Arquivo comprimido truncado", e);
+            }
+            if (tamanhoQuadro == 0) {
+                terminou = true;
+                return;
+            }
+
+            int tamanhoBloco;
+            if (tamanhoQuadro < 0) {
+                quadros.readFully(bloco, 0, -tamanhoQuadro);
+                tamanhoBloco = -tamanhoQuadro;
+            } else {
+                quadros.readFully(comprimido, 0, tamanhoQuadro);
+                tamanhoBloco = descomprimir(tamanhoQuadro);
+            }
+
+            posicao = 0;
+            limite = tamanhoBloco;
+            if (descartar > 0) {
+                int descartados = (int) Math.min(descartar, limite);
+                posicao = descartados;
+                descartar -= descartados;
+            }
+        }
+
+        private int descomprimir(int tamanhoQuadro) throws IOException {
+            inflater.reset();
+            inflater.setInput(comprimido, 0, tamanhoQuadro);
+            try {
+                int total = 0;
+                while (!inflater.finished() && total < bloco.length) {
+                    int produzidos = inflater.inflate(bloco, total, bloco.length - total);
+                    if (produzidos == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Bloco comprimido incompleto");
+                    }
+                    total += produzidos;
+                }
+                return total;
+            } catch (DataFormatException e) {
+                throw new IOException("Bloco comprimido corrompido", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.end();
+            quadros.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.gestaotcc.armazenamento;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// Mantém os arquivos no heap: usado em testes e benchmarks, não em produção
+public class ArmazenamentoMemoria implements ArmazenamentoArquivos {
+
+    private final ConcurrentSkipListMap<String, Objeto> objetos = new ConcurrentSkipListMap<>();
+
+    @Override
+    public long gravar(String chave, InputStream conteudo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        conteudo.transferTo(bytes);
+        objetos.put(chave, new Objeto(bytes.toByteArray(), Instant.now()));
+        return bytes.size();
+    }
+
+    @Override
+    public InputStream ler(String chave) throws IOException {
+        return new ByteArrayInputStream(obter(chave).conteudo);
+    }
+
+    @Override
+    public InputStream lerIntervalo(String chave, long inicio, long fim) throws IOException {
+        byte[] conteudo = obter(chave).conteudo;
+        int deslocamento = (int) Math.min(inicio, conteudo.length);
+        int quantidade = (int) Math.min(fim + 1, conteudo.length) - deslocamento;
+        return new ByteArrayInputStream(conteudo, deslocamento, Math.max(quantidade, 0));
+    }
+
+    @Override
+    public Optional<InfoArquivo> consultar(String chave) {
+        Objeto objeto = objetos.get(chave);
+        return objeto == null
+                ? Optional.empty()
+                : Optional.of(new InfoArquivo(objeto.conteudo.length, objeto.ultimaModificacao));
+    }
+
+    @Override
+    public void excluir(String chave) {
+        objetos.remove(chave);
+    }
+
+    @Override
+    public void mover(String origem, String destino) throws IOException {
+        objetos.put(destino, obter(origem));
+        objetos.remove(origem);
+    }
+
+    @Override
+    public void copiar(String origem, String destino) throws IOException {
+        objetos.put(destino, obter(origem));
+    }
+
+    @Override
+    public void tocar(String chave) throws IOException {
+        objetos.put(chave, new Objeto(obter(chave).conteudo, Instant.now()));
+    }
+
+    @Override
+    public Stream<String> listar() {
+        return objetos.keySet().stream();
+    }
+
+    private Objeto obter(String chave) throws NoSuchFileException {
+        Objeto objeto = objetos.get(chave);
+        if (objeto == null) {
+            throw new NoSuchFileException(chave);
+        }
+        return objeto;
+    }
+
+    // O conteúdo nunca é alterado depois de gravado, então cópias podem compartilhar o array
+    private static final class Objeto {
+        private final byte[] conteudo;
+        private final Instant ultimaModificacao;
+
+        private Objeto(byte[] conteudo, Instant ultimaModificacao) {
+            this.conteudo = conteudo;
+            this.ultimaModificacao = ultimaModificacao;
+        }
+    }
+}
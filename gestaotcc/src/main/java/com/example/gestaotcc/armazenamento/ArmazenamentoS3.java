@@ -0,0 +1,203 @@
+package com.example.gestaotcc.armazenamento;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Object storage compatível com S3 (AWS, MinIO, Ceph...). Permite vários nós da aplicação sem disco compartilhado.
+// Arquivos maiores que uma parte são enviados em multipart upload, com um único buffer de parte por envio.
+@Slf4j
+public class ArmazenamentoS3 implements ArmazenamentoArquivos {
+
+    // Mínimo exigido pelo S3 para todas as partes, exceto a última
+    private static final int TAMANHO_MINIMO_PARTE = 5 * 1024 * 1024;
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefixo;
+    private final int tamanhoParte;
+
+    public ArmazenamentoS3(S3Client s3, String bucket, String prefixo, int tamanhoParte) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefixo = prefixo == null ? "" : prefixo;
+        this.tamanhoParte = Math.max(tamanhoParte, TAMANHO_MINIMO_PARTE);
+    }
+
+    @Override
+    public long gravar(String chave, InputStream conteudo) throws IOException {
+        byte[] buffer = new byte[tamanhoParte];
+        int lidos = conteudo.readNBytes(buffer, 0, tamanhoParte);
+
+        // Cabe em uma parte: um PUT simples
+        if (lidos < tamanhoParte) {
+            executar(() -> s3.putObject(requisicao -> requisicao.bucket(bucket).key(prefixo + chave),
+                    corpo(buffer, lidos)));
+            return lidos;
+        }
+
+        String uploadId = executar(() -> s3.createMultipartUpload(requisicao -> requisicao
+                .bucket(bucket)
+                .key(prefixo + chave)).uploadId());
+
+        List<CompletedPart> partes = new ArrayList<>();
+        long tamanho = 0;
+        boolean concluido = false;
+        try {
+            int numeroParte = 1;
+            int lidosParte = lidos;
+            while (lidosParte > 0) {
+                int parte = numeroParte;
+                int quantidade = lidosParte;
+                String etag = executar(() -> s3.uploadPart(requisicao -> requisicao
+                                .bucket(bucket)
+                                .key(prefixo + chave)
+                                .uploadId(uploadId)
+                                .partNumber(parte)
+                                .contentLength((long) quantidade),
+                        corpo(buffer, quantidade)).eTag());
+                partes.add(CompletedPart.builder().partNumber(parte).eTag(etag).build());
+
+                tamanho += lidosParte;
+                numeroParte++;
+                lidosParte = conteudo.readNBytes(buffer, 0, tamanhoParte);
+            }
+
+            executar(() -> s3.completeMultipartUpload(requisicao -> requisicao
+                    .bucket(bucket)
+                    .key(prefixo + chave)
+                    .uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(partes))));
+            concluido = true;
+            return tamanho;
+        } finally {
+            // Sem o abort as partes já enviadas continuam ocupando (e custando) espaço no bucket
+            if (!concluido) {
+                abortarSilenciosamente(chave, uploadId);
+            }
+        }
+    }
+
+    @Override
+    public InputStream ler(String chave) throws IOException {
+        return executar(() -> s3.getObject(requisicao -> requisicao.bucket(bucket).key(prefixo + chave)), chave);
+    }
+
+    @Override
+    public InputStream lerIntervalo(String chave, long inicio, long fim) throws IOException {
+        return executar(() -> s3.getObject(requisicao -> requisicao
+                .bucket(bucket)
+                .key(prefixo + chave)
+                .range("bytes=" + inicio + "-" + fim)), chave);
+    }
+
+    @Override
+    public Optional<InfoArquivo> consultar(String chave) throws IOException {
+        try {
+            HeadObjectResponse resposta = s3.headObject(requisicao -> requisicao.bucket(bucket).key(prefixo + chave));
+            return Optional.of(new InfoArquivo(resposta.contentLength(), resposta.lastModified()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            // HEAD não tem corpo, então alguns servidores não devolvem o código NoSuchKey
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IOException("Falha ao consultar " + chave + " no S3: " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new IOException("Falha ao consultar " + chave + " no S3: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void excluir(String chave) throws IOException {
+        executar(() -> s3.deleteObject(requisicao -> requisicao.bucket(bucket).key(prefixo + chave)));
+    }
+
+    @Override
+    public void mover(String origem, String destino) throws IOException {
+        // O S3 não tem rename: cópia no servidor seguida da exclusão da origem
+        copiar(origem, destino);
+        excluir(origem);
+    }
+
+    // CopyObject aceita até 5 GB, acima dos limites de envio configurados
+    @Override
+    public void copiar(String origem, String destino) throws IOException {
+        executar(() -> s3.copyObject(requisicao -> requisicao
+                .sourceBucket(bucket)
+                .sourceKey(prefixo + origem)
+                .destinationBucket(bucket)
+                .destinationKey(prefixo + destino)), origem);
+    }
+
+    @Override
+    public void tocar(String chave) throws IOException {
+        // Copiar o objeto sobre ele mesmo com REPLACE é a forma de atualizar o LastModified
+        executar(() -> s3.copyObject(requisicao -> requisicao
+                .sourceBucket(bucket)
+                .sourceKey(prefixo + chave)
+                .destinationBucket(bucket)
+                .destinationKey(prefixo + chave)
+                .metadataDirective(MetadataDirective.REPLACE)), chave);
+    }
+
+    // O ListObjectsV2 já devolve as chaves em ordem crescente; as páginas são buscadas conforme
+    // o stream é consumido, então falhas nas páginas seguintes chegam como SdkException
+    @Override
+    public Stream<String> listar() throws IOException {
+        return executar(() -> s3.listObjectsV2Paginator(requisicao -> requisicao.bucket(bucket).prefix(prefixo))
+                .contents()
+                .stream()
+                .map(S3Object::key)
+                .map(chave -> chave.substring(prefixo.length())));
+    }
+
+    private RequestBody corpo(byte[] buffer, int quantidade) {
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, quantidade), quantidade);
+    }
+
+    private void abortarSilenciosamente(String chave, String uploadId) {
+        try {
+            s3.abortMultipartUpload(requisicao -> requisicao.bucket(bucket).key(prefixo + chave).uploadId(uploadId));
+        } catch (SdkException e) {
+            log.warn("Não foi possível abortar o upload {} de {}", uploadId, chave, e);
+        }
+    }
+
+    private <T> T executar(OperacaoS3<T> operacao) throws IOException {
+        return executar(operacao, null);
+    }
+
+    // Converte as exceções do SDK nas de java.io esperadas pelos chamadores
+    private <T> T executar(OperacaoS3<T> operacao, String chave) throws IOException {
+        try {
+            return operacao.executar();
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(chave);
+        } catch (SdkException e) {
+            throw new IOException("Falha na operação com o S3: " + e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface OperacaoS3<T> {
+        T executar();
+    }
+}
@@ -0,0 +1,413 @@
+package com.example.gestaotcc.armazenamento;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Arquivos em um diretório local (ou montado via NFS, quando há mais de um nó)
+@Slf4j
+public class ArmazenamentoSistemaArquivos implements ArmazenamentoArquivos {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final Pattern PREFIXO_HEXADECIMAL = Pattern.compile("^[0-9a-f]{4}");
+    private static final int NOMES_POR_BLOCO = 100_000;
+
+    private final Path raiz;
+
+    // Layout particionado: <raiz>/ab/cd/<chave>, com dois níveis de 256 subdiretórios escolhidos
+    // pelo prefixo hexadecimal da chave. Arquivos ainda na raiz (layout plano) seguem acessíveis
+    // até a migração movê-los.
+    private final boolean layoutParticionado;
+
+    // Quantos nomes fora da ordem das partições a listagem mantém em memória antes de gravar um bloco
+    private final int nomesPorBloco;
+
+    public ArmazenamentoSistemaArquivos(String diretorio, boolean layoutParticionado) {
+        this(diretorio, layoutParticionado, NOMES_POR_BLOCO);
+    }
+
+    ArmazenamentoSistemaArquivos(String diretorio, boolean layoutParticionado, int nomesPorBloco) {
+        this.raiz = Paths.get(diretorio).toAbsolutePath().normalize();
+        this.layoutParticionado = layoutParticionado;
+        this.nomesPorBloco = nomesPorBloco;
+    }
+
+    @Override
+    public long gravar(String chave, InputStream conteudo) throws IOException {
+        Path destino = caminhoDefinitivo(chave);
+        Files.createDirectories(destino.getParent());
+
+        long tamanho = 0;
+        boolean concluido = false;
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] buffer = new byte[TAMANHO_BUFFER];
+            int lidos;
+            while ((lidos = conteudo.read(buffer)) != -1) {
+                ByteBuffer bloco = ByteBuffer.wrap(buffer, 0, lidos);
+                while (bloco.hasRemaining()) {
+                    canal.write(bloco);
+                }
+                tamanho += lidos;
+            }
+            concluido = true;
+        } finally {
+            // Inclui as exceções de quem entrega o conteúdo, como o limite de tamanho
+            if (!concluido) {
+                excluirSilenciosamente(destino);
+            }
+        }
+        return tamanho;
+    }
+
+    @Override
+    public long importar(String chave, Path arquivoLocal) throws IOException {
+        Path destino = caminhoDefinitivo(chave);
+        Files.createDirectories(destino.getParent());
+        try {
+            long tamanho = Files.size(arquivoLocal);
+            Files.move(arquivoLocal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return tamanho;
+        } catch (AtomicMoveNotSupportedException e) {
+            // Arquivo em outro sistema de arquivos: copia
+            return ArmazenamentoArquivos.super.importar(chave, arquivoLocal);
+        }
+    }
+
+    @Override
+    public InputStream ler(String chave) throws IOException {
+        return Files.newInputStream(localizar(chave));
+    }
+
+    @Override
+    public InputStream lerIntervalo(String chave, long inicio, long fim) throws IOException {
+        FileChannel canal = FileChannel.open(localizar(chave), StandardOpenOption.READ);
+        canal.position(inicio);
+        return new EntradaLimitada(Channels.newInputStream(canal), fim - inicio + 1);
+    }
+
+    @Override
+    public Optional<InfoArquivo> consultar(String chave) throws IOException {
+        Path arquivo = localizar(chave);
+        if (!Files.isRegularFile(arquivo)) {
+            return Optional.empty();
+        }
+        BasicFileAttributes atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+        return Optional.of(new InfoArquivo(atributos.size(), atributos.lastModifiedTime().toInstant()));
+    }
+
+    @Override
+    public void excluir(String chave) throws IOException {
+        // Remove dos dois layouts: durante a migração o arquivo pode estar em qualquer um
+        Files.deleteIfExists(caminhoDefinitivo(chave));
+        Files.deleteIfExists(caminhoPlano(chave));
+    }
+
+    @Override
+    public void mover(String origem, String destino) throws IOException {
+        Path caminhoDestino = caminhoDefinitivo(destino);
+        Files.createDirectories(caminhoDestino.getParent());
+        // Rename dentro da mesma raiz: atômico e sem copiar os bytes
+        Files.move(localizar(origem), caminhoDestino, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void copiar(String origem, String destino) throws IOException {
+        Path caminhoOrigem = localizar(origem);
+        Path caminhoDestino = caminhoDefinitivo(destino);
+        Files.createDirectories(caminhoDestino.getParent());
+        Files.deleteIfExists(caminhoDestino);
+        try {
+            // Hard link: o conteúdo não muda depois de gravado, então não há o que copiar
+            Files.createLink(caminhoDestino, caminhoOrigem);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(caminhoOrigem, caminhoDestino);
+        }
+    }
+
+    @Override
+    public void tocar(String chave) throws IOException {
+        Files.setLastModifiedTime(localizar(chave), FileTime.from(Instant.now()));
+    }
+
+    // Os nomes gerados pela aplicação ficam na partição do seu próprio prefixo hexadecimal, então
+    // percorrer as partições em ordem já dá a ordem global: só os nomes de uma partição (ab/cd) são
+    // ordenados em memória por vez. Os demais (ainda na raiz, ou com partição escolhida pelo hash do
+    // nome, como os da quarentena) são reunidos numa primeira passada e passam por uma ordenação
+    // externa, em blocos gravados em arquivos temporários, antes de serem mesclados. No layout plano,
+    // ou antes de a migração terminar, isso é o diretório inteiro.
+    @Override
+    public Stream<String> listar() throws IOException {
+        if (!Files.isDirectory(raiz)) {
+            return Stream.empty();
+        }
+
+        OrdenacaoExterna foraDeOrdem = new OrdenacaoExterna(nomesPorBloco);
+        boolean devolvido = false;
+        try {
+            try (Stream<Path> arquivos = Files.list(raiz)) {
+                Iterator<Path> naRaiz = arquivos.filter(Files::isRegularFile).iterator();
+                while (naRaiz.hasNext()) {
+                    foraDeOrdem.adicionar(naRaiz.next().getFileName().toString());
+                }
+            }
+            Iterator<Path> todasParticoes = particoes().iterator();
+            while (todasParticoes.hasNext()) {
+                Path particao = todasParticoes.next();
+                for (String nome : nomes(particao)) {
+                    if (!naPropriaParticao(particao, nome)) {
+                        foraDeOrdem.adicionar(nome);
+                    }
+                }
+            }
+
+            Stream<String> ordenados = particoes().flatMap(particao -> nomes(particao).stream()
+                    .filter(nome -> naPropriaParticao(particao, nome))
+                    .sorted());
+            Stream<String> listagem = mesclar(ordenados, foraDeOrdem.ordenados()).onClose(foraDeOrdem::close);
+            devolvido = true;
+            return listagem;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (!devolvido) {
+                foraDeOrdem.close();
+            }
+        }
+    }
+
+    @Override
+    public Optional<Path> caminhoLocal(String chave) {
+        Path arquivo = localizar(chave);
+        return Files.isRegularFile(arquivo) ? Optional.of(arquivo) : Optional.empty();
+    }
+
+    // Move até "limite" arquivos da raiz para o layout particionado e devolve quantos foram movidos.
+    // Cada move é um rename atômico, então leituras concorrentes encontram o arquivo em um
+    // dos dois lugares (ver localizar).
+    public int migrarParaLayoutParticionado(int limite) {
+        if (!layoutParticionado || !Files.isDirectory(raiz)) {
+            return 0;
+        }
+
+        int movidos = 0;
+        try (Stream<Path> arquivos = Files.list(raiz)) {
+            // Arquivos começando com "." são temporários de envios em andamento
+            List<Path> pendentes = arquivos
+                    .filter(Files::isRegularFile)
+                    .filter(arquivo -> !arquivo.getFileName().toString().startsWith("."))
+                    .limit(limite)
+                    .toList();
+
+            for (Path origem : pendentes) {
+                Path destino = caminhoDefinitivo(origem.getFileName().toString());
+                Files.createDirectories(destino.getParent());
+
+                if (Files.exists(destino)) {
+                    // Só acontece com nomes por conteúdo: os bytes são os mesmos, basta descartar a cópia plana
+                    Files.deleteIfExists(origem);
+                } else {
+                    Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE);
+                }
+                movidos++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao migrar arquivos para o layout particionado: " + e.getMessage());
+        }
+        return movidos;
+    }
+
+    // Diretórios de dois níveis abaixo da raiz, em ordem. Diretórios ocultos (ex.: .sessoes dos uploads
+    // em partes) não guardam arquivos de entrega.
+    private Stream<Path> particoes() {
+        return subdiretorios(raiz).stream().flatMap(primeiroNivel -> subdiretorios(primeiroNivel).stream());
+    }
+
+    private static List<Path> subdiretorios(Path diretorio) {
+        try (Stream<Path> filhos = Files.list(diretorio)) {
+            return filhos.filter(Files::isDirectory)
+                    .filter(filho -> !filho.getFileName().toString().startsWith("."))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> nomes(Path particao) {
+        try (Stream<Path> arquivos = Files.list(particao)) {
+            return arquivos.filter(Files::isRegularFile)
+                    .map(arquivo -> arquivo.getFileName().toString())
+                    .toList();
+        } catch (NoSuchFileException e) {
+            // Partição removida entre as duas passadas
+            return List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Se o nome começa pelo hexadecimal da partição em que está, a ordem das partições vale para ele
+    private boolean naPropriaParticao(Path particao, String nome) {
+        return PREFIXO_HEXADECIMAL.matcher(nome).find()
+                && nome.startsWith(particao.getParent().getFileName().toString() + particao.getFileName());
+    }
+
+    // Mescla dois fluxos já ordenados; um nome presente nos dois (arquivo copiado para a partição e
+    // ainda não removido da raiz) sai uma vez só
+    private static Stream<String> mesclar(Stream<String> primeiro, Iterator<String> segundo) {
+        Iterator<String> a = primeiro.iterator();
+        Iterator<String> mesclado = new Iterator<>() {
+            private String proximoA = a.hasNext() ? a.next() : null;
+            private String proximoB = segundo.hasNext() ? segundo.next() : null;
+            private String ultimo;
+
+            @Override
+            public boolean hasNext() {
+                while (proximoA != null && proximoA.equals(ultimo)) {
+                    proximoA = a.hasNext() ? a.next() : null;
+                }
+                while (proximoB != null && proximoB.equals(ultimo)) {
+                    proximoB = segundo.hasNext() ? segundo.next() : null;
+                }
+                return proximoA != null || proximoB != null;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (proximoB == null || (proximoA != null && proximoA.compareTo(proximoB) <= 0)) {
+                    ultimo = proximoA;
+                } else {
+                    ultimo = proximoB;
+                }
+                return ultimo;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(mesclado,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(primeiro::close);
+    }
+
+    // Onde o arquivo está agora: no layout particionado, se já migrado, ou ainda na raiz.
+    // Se não estiver em nenhum, devolve o particionado; um move concorrente entre as duas
+    // verificações termina justamente lá.
+    private Path localizar(String chave) {
+        Path particionado = caminhoDefinitivo(chave);
+        if (!layoutParticionado || Files.exists(particionado)) {
+            return particionado;
+        }
+        Path plano = caminhoPlano(chave);
+        return Files.exists(plano) ? plano : particionado;
+    }
+
+    private Path caminhoDefinitivo(String chave) {
+        if (!layoutParticionado) {
+            return caminhoPlano(chave);
+        }
+        String prefixo = prefixoParticao(chave);
+        return raiz.resolve(prefixo.substring(0, 2)).resolve(prefixo.substring(2, 4)).resolve(validar(chave));
+    }
+
+    private Path caminhoPlano(String chave) {
+        return raiz.resolve(validar(chave));
+    }
+
+    // A chave vem do banco; mesmo assim não pode apontar para fora da raiz
+    private String validar(String chave) {
+        if (chave == null || chave.isEmpty() || chave.contains("/") || chave.contains("\\") || chave.contains("..")) {
+            throw new IllegalArgumentException("Chave de arquivo inválida: " + chave);
+        }
+        return chave;
+    }
+
+    // Nomes gerados pela aplicação (UUID ou SHA-256) já começam com hexadecimal aleatório;
+    // outros nomes usam o hash do próprio nome
+    private String prefixoParticao(String chave) {
+        if (PREFIXO_HEXADECIMAL.matcher(chave).find()) {
+            return chave.substring(0, 4);
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(chave.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void excluirSilenciosamente(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo incompleto {}", arquivo, e);
+        }
+    }
+
+    // Lê no máximo "restante" bytes do stream original
+    private static final class EntradaLimitada extends FilterInputStream {
+
+        private long restante;
+
+        private EntradaLimitada(InputStream entrada, long limite) {
+            super(entrada);
+            this.restante = limite;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (restante <= 0) {
+                return -1;
+            }
+            int lido = super.read();
+            if (lido != -1) {
+                restante--;
+            }
+            return lido;
+        }
+
+        @Override
+        public int read(byte[] buffer, int deslocamento, int quantidade) throws IOException {
+            if (restante <= 0) {
+                return -1;
+            }
+            int lidos = super.read(buffer, deslocamento, (int) Math.min(quantidade, restante));
+            if (lidos > 0) {
+                restante -= lidos;
+            }
+            return lidos;
+        }
+    }
+}
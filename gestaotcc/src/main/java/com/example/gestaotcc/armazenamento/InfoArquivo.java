@@ -0,0 +1,14 @@
+package com.example.gestaotcc.armazenamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public final class InfoArquivo {
+
+    private final long tamanho;
+    private final Instant ultimaModificacao;
+}
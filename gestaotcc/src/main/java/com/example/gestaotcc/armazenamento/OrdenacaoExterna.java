@@ -0,0 +1,168 @@
+package com.example.gestaotcc.armazenamento;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// Ordena uma quantidade de nomes que não precisa caber na memória: a cada "nomesPorBloco" nomes o
+// bloco é ordenado e gravado num arquivo temporário, e a leitura mescla os blocos gravados com o que
+// ficou em memória. Na memória ficam no máximo um bloco e um nome por bloco gravado.
+@Slf4j
+final class OrdenacaoExterna implements Closeable {
+
+    private final int nomesPorBloco;
+    private final List<String> bloco = new ArrayList<>();
+    private final List<BlocoGravado> blocosGravados = new ArrayList<>();
+    private final List<DataInputStream> abertos = new ArrayList<>();
+
+    OrdenacaoExterna(int nomesPorBloco) {
+        this.nomesPorBloco = nomesPorBloco;
+    }
+
+    void adicionar(String nome) throws IOException {
+        bloco.add(nome);
+        if (bloco.size() >= nomesPorBloco) {
+            gravarBloco();
+        }
+    }
+
+    // Todos os nomes adicionados, em ordem crescente e com as repetições. Chamado uma única vez,
+    // depois do último adicionar; os blocos são lidos aos poucos até o close.
+    Iterator<String> ordenados() throws IOException {
+        bloco.sort(null);
+
+        PriorityQueue<Cursor> fila = new PriorityQueue<>();
+        Cursor.adicionar(fila, bloco.iterator());
+        for (BlocoGravado gravado : blocosGravados) {
+            Cursor.adicionar(fila, ler(gravado));
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !fila.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                Cursor menor = fila.poll();
+                if (menor == null) {
+                    throw new NoSuchElementException();
+                }
+                String nome = menor.atual;
+                Cursor.adicionar(fila, menor.restantes);
+                return nome;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        for (DataInputStream entrada : abertos) {
+            try {
+                entrada.close();
+            } catch (IOException e) {
+                log.warn("Não foi possível fechar um bloco da ordenação externa", e);
+            }
+        }
+        for (BlocoGravado gravado : blocosGravados) {
+            try {
+                Files.deleteIfExists(gravado.arquivo);
+            } catch (IOException e) {
+                log.warn("Não foi possível remover o bloco temporário {}", gravado.arquivo, e);
+            }
+        }
+        abertos.clear();
+        blocosGravados.clear();
+    }
+
+    private void gravarBloco() throws IOException {
+        bloco.sort(null);
+        // Registrado antes de gravar: o close remove também um bloco que falhou pela metade
+        BlocoGravado gravado = new BlocoGravado(Files.createTempFile("listagem-", ".bloco"), bloco.size());
+        blocosGravados.add(gravado);
+
+        // writeUTF guarda o tamanho antes de cada nome, então qualquer caractere do nome é aceito
+        try (DataOutputStream saida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(gravado.arquivo)))) {
+            for (String nome : bloco) {
+                saida.writeUTF(nome);
+            }
+        }
+        bloco.clear();
+    }
+
+    private Iterator<String> ler(BlocoGravado gravado) throws IOException {
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(gravado.arquivo)));
+        abertos.add(entrada);
+
+        return new Iterator<>() {
+            private int restantes = gravado.quantidade;
+
+            @Override
+            public boolean hasNext() {
+                return restantes > 0;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                restantes--;
+                try {
+                    return entrada.readUTF();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private static final class BlocoGravado {
+
+        private final Path arquivo;
+        private final int quantidade;
+
+        private BlocoGravado(Path arquivo, int quantidade) {
+            this.arquivo = arquivo;
+            this.quantidade = quantidade;
+        }
+    }
+
+    // Próximo nome de um bloco; a fila devolve sempre o bloco com o menor nome
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final String atual;
+        private final Iterator<String> restantes;
+
+        private Cursor(String atual, Iterator<String> restantes) {
+            this.atual = atual;
+            this.restantes = restantes;
+        }
+
+        private static void adicionar(PriorityQueue<Cursor> fila, Iterator<String> bloco) {
+            if (bloco.hasNext()) {
+                fila.add(new Cursor(bloco.next(), bloco));
+            }
+        }
+
+        @Override
+        public int compareTo(Cursor outro) {
+            return atual.compareTo(outro.atual);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.gestaotcc.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas de manutenção em segundo plano (ex.: migração do layout do diretório de upload)
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
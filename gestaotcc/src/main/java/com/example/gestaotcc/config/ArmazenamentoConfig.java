@@ -0,0 +1,94 @@
+package com.example.gestaotcc.config;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.armazenamento.ArmazenamentoComprimido;
+import com.example.gestaotcc.armazenamento.ArmazenamentoMemoria;
+import com.example.gestaotcc.armazenamento.ArmazenamentoS3;
+import com.example.gestaotcc.armazenamento.ArmazenamentoSistemaArquivos;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.net.URI;
+
+// Escolhe onde os arquivos das entregas ficam: app.armazenamento.tipo = sistema-arquivos (padrão), memoria ou s3,
+// opcionalmente com compressão (app.armazenamento.compressao.habilitada)
+@Configuration
+public class ArmazenamentoConfig {
+
+    private static final String TIPO = "app.armazenamento.tipo";
+
+    // Identifica o armazenamento escolhido por TIPO, para que o ArmazenamentoComprimido possa envolvê-lo
+    private static final String BASE = "armazenamentoBase";
+
+    @Bean
+    @Qualifier(BASE)
+    @ConditionalOnProperty(name = TIPO, havingValue = "sistema-arquivos", matchIfMissing = true)
+    public ArmazenamentoSistemaArquivos armazenamentoSistemaArquivos(
+            @Value("${app.arquivo.diretorio-upload}") String diretorioUpload,
+            @Value("${app.arquivo.layout-particionado:false}") boolean layoutParticionado) {
+        return new ArmazenamentoSistemaArquivos(diretorioUpload, layoutParticionado);
+    }
+
+    @Bean
+    @Qualifier(BASE)
+    @ConditionalOnProperty(name = TIPO, havingValue = "memoria")
+    public ArmazenamentoMemoria armazenamentoMemoria() {
+        return new ArmazenamentoMemoria();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = TIPO, havingValue = "s3")
+    public S3Client s3Client(@Value("${app.armazenamento.s3.endpoint:}") String endpoint,
+                             @Value("${app.armazenamento.s3.regiao:us-east-1}") String regiao,
+                             @Value("${app.armazenamento.s3.chave-acesso:}") String chaveAcesso,
+                             @Value("${app.armazenamento.s3.chave-secreta:}") String chaveSecreta,
+                             @Value("${app.armazenamento.s3.path-style:false}") boolean pathStyle) {
+        var builder = S3Client.builder()
+                .region(Region.of(regiao))
+                .forcePathStyle(pathStyle);
+
+        // Endpoint próprio para MinIO e outros serviços compatíveis; vazio usa a AWS
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        // Sem chaves configuradas, usa a cadeia padrão da AWS (variáveis de ambiente, perfil, IAM role)
+        if (!chaveAcesso.isBlank()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(chaveAcesso, chaveSecreta)));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @Qualifier(BASE)
+    @ConditionalOnProperty(name = TIPO, havingValue = "s3")
+    public ArmazenamentoS3 armazenamentoS3(S3Client s3Client,
+                                           @Value("${app.armazenamento.s3.bucket}") String bucket,
+                                           @Value("${app.armazenamento.s3.prefixo:}") String prefixo,
+                                           @Value("${app.armazenamento.s3.tamanho-parte-mb:8}") int tamanhoParteMb) {
+        return new ArmazenamentoS3(s3Client, bucket, prefixo, tamanhoParteMb * 1024 * 1024);
+    }
+
+    // Com a compressão habilitada, todos passam a usar o armazenamento acima através deste
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.armazenamento.compressao.habilitada", havingValue = "true")
+    public ArmazenamentoComprimido armazenamentoComprimido(
+            @Qualifier(BASE) ArmazenamentoArquivos base,
+            @Value("${app.armazenamento.compressao.tamanho-bloco-kb:256}") int tamanhoBlocoKb,
+            @Value("${app.armazenamento.compressao.razao-minima:0.9}") double razaoMinima) {
+        return new ArmazenamentoComprimido(base, tamanhoBlocoKb * 1024, razaoMinima);
+    }
+}
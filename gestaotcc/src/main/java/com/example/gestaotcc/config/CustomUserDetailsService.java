@@ -2,6 +2,7 @@ package com.example.gestaotcc.config;
 
 import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.repository.UsuarioRepository;
+import com.example.gestaotcc.service.UsuarioCacheService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,11 +15,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioCacheService usuarioCache;
 
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        UsuarioEntity usuario = usuarioRepository.findByEmail(email)
+        UsuarioEntity usuario = usuarioCache.buscarPorEmail(email, usuarioRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + email));
 
         return UserPrincipal.create(usuario);
@@ -26,7 +28,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Transactional
     public UserDetails loadUserById(Long id) {
-        UsuarioEntity usuario = usuarioRepository.findById(id)
+        UsuarioEntity usuario = usuarioCache.buscarPorId(id, usuarioRepository::findById)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o id: " + id));
 
         return UserPrincipal.create(usuario);
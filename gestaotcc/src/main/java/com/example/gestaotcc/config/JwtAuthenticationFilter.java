@@ -6,13 +6,22 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,16 +32,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Value("${app.jwt.confiar-claims:false}")
+    private boolean confiarClaims;
+
+    @Value("${app.jwt.idade-maxima-claims-ms:300000}")
+    private long idadeMaximaClaimsMs;
+
+    @Value("${app.jwt.rotas-revalidacao:}")
+    private String[] rotasRevalidacao;
+
+    private RequestMatcher rotasQueExigemBanco;
+
+    @Override
+    protected void initFilterBean() {
+        // Converte as entradas "METODO:padrao" em matchers; sem método, vale para qualquer um
+        List<RequestMatcher> matchers = new ArrayList<>();
+        for (String rota : rotasRevalidacao) {
+            String entrada = rota.trim();
+            if (entrada.isEmpty()) {
+                continue;
+            }
+            int separador = entrada.indexOf(':');
+            if (separador > 0) {
+                HttpMethod metodo = HttpMethod.valueOf(entrada.substring(0, separador).toUpperCase());
+                matchers.add(AntPathRequestMatcher.antMatcher(metodo, entrada.substring(separador + 1)));
+            } else {
+                matchers.add(AntPathRequestMatcher.antMatcher(entrada));
+            }
+        }
+        rotasQueExigemBanco = matchers.isEmpty() ? request -> false : new OrRequestMatcher(matchers);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (jwt != null && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+            TokenJwtVerificado token = jwt != null ? tokenProvider.verificarToken(jwt).orElse(null) : null;
+
+            if (token != null) {
+                UserDetails userDetails;
+                if (podeConfiarNasClaims(token, request)) {
+                    userDetails = UserPrincipal.fromToken(token);
+                } else {
+                    userDetails = customUserDetailsService.loadUserById(token.getUserId());
+                    renovarSeAntigo(token, userDetails, response);
+                }
 
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -46,6 +93,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // As claims só substituem a consulta ao banco se o modo estiver habilitado, o token
+    // for recente o bastante e a rota não for uma das que exigem revalidação
+    private boolean podeConfiarNasClaims(TokenJwtVerificado token, HttpServletRequest request) {
+        return confiarClaims && token.getTipoUsuario() != null && recente(token)
+                && !rotasQueExigemBanco.matches(request);
+    }
+
+    private boolean recente(TokenJwtVerificado token) {
+        Instant emitidoEm = token.getEmitidoEm();
+        return emitidoEm != null && emitidoEm.plusMillis(idadeMaximaClaimsMs).isAfter(Instant.now());
+    }
+
+    // Sem renovação, as claims só seriam usadas nos primeiros minutos depois do login. Como o usuário
+    // acabou de ser lido do banco, um token novo com os dados atuais (e a mesma expiração, para não
+    // estender a sessão) volta no cabeçalho Authorization; o cliente que o adotar segue sem consultas
+    // ao banco até a próxima janela
+    private void renovarSeAntigo(TokenJwtVerificado token, UserDetails userDetails, HttpServletResponse response) {
+        if (!confiarClaims || recente(token) || token.getExpiraEm() == null
+                || !(userDetails instanceof UserPrincipal userPrincipal)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.AUTHORIZATION,
+                "Bearer " + tokenProvider.renovarToken(userPrincipal, token.getExpiraEm()));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -53,4 +125,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
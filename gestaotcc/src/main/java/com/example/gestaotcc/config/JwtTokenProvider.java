@@ -1,14 +1,21 @@
 package com.example.gestaotcc.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 @Slf4j
@@ -20,8 +27,32 @@ public class JwtTokenProvider {
     @Value("${app.jwt.expiration}")
     private int jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.cache-tamanho:10000}")
+    private long cacheTamanho;
+
+    @Value("${app.jwt.cache-ttl-segundos:60}")
+    private long cacheTtlSegundos;
+
+    // Chave e parser são derivados uma única vez; o JwtParser é imutável e thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Tokens já verificados recentemente, para não refazer o HMAC a cada requisição
+    private Cache<String, TokenJwtVerificado> tokensVerificados;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+
+        if (cacheTamanho > 0) {
+            tokensVerificados = Caffeine.newBuilder()
+                    .maximumSize(cacheTamanho)
+                    .expireAfterWrite(Duration.ofSeconds(cacheTtlSegundos))
+                    .build();
+        }
     }
 
     // Método para gerar o token JWT
@@ -32,30 +63,47 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
+        return gerarToken(userPrincipal, now, expiryDate);
+    }
+
+    // Token com as claims atuais do usuário e a expiração do token que ele substitui
+    public String renovarToken(UserPrincipal userPrincipal, Instant expiraEm) {
+        return gerarToken(userPrincipal, new Date(), Date.from(expiraEm));
+    }
+
+    private String gerarToken(UserPrincipal userPrincipal, Date emissao, Date expiracao) {
         return Jwts.builder()
                 .setSubject(Long.toString(userPrincipal.getId()))  // ID do usuário autenticado
-                .setIssuedAt(new Date())  // Data de emissão
-                .setExpiration(expiryDate)  // Data de expiração
+                .setIssuedAt(emissao)  // Data de emissão
+                .setExpiration(expiracao)  // Data de expiração
                 .claim("tipoUsuario", userPrincipal.getTipoUsuario().name())  // Adiciona um claim para o tipo de usuário
-                .signWith(getSigningKey())  // Usando a chave secreta para assinar o token
+                .claim("nome", userPrincipal.getNome())  // Permite montar o UserPrincipal sem consultar o banco
+                .claim("email", userPrincipal.getUsername())
+                .signWith(signingKey)  // Usando a chave secreta para assinar o token
                 .compact();  // Retorna o JWT compactado
     }
 
-    // Método para extrair o ID do usuário do token JWT
-    public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(getSigningKey())  // Usando a mesma chave para validação
-                .parseClaimsJws(token)
-                .getBody();
-
-        return Long.parseLong(claims.getSubject());
-    }
+    // Valida o token uma única vez e devolve as claims já verificadas
+    public Optional<TokenJwtVerificado> verificarToken(String authToken) {
+        if (tokensVerificados != null) {
+            TokenJwtVerificado emCache = tokensVerificados.getIfPresent(authToken);
+            if (emCache != null) {
+                if (emCache.expiradoEm(Instant.now())) {
+                    tokensVerificados.invalidate(authToken);
+                    log.error("Token JWT expirado");
+                    return Optional.empty();
+                }
+                return Optional.of(emCache);
+            }
+        }
 
-    // Método para validar o token JWT
-    public boolean validateToken(String authToken) {
         try {
-            Jwts.parser().setSigningKey(getSigningKey()).parseClaimsJws(authToken);  // Usando a chave secreta para validação
-            return true;  // Token válido
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();  // Usando a chave secreta para validação
+            TokenJwtVerificado token = TokenJwtVerificado.fromClaims(claims);
+            if (tokensVerificados != null) {
+                tokensVerificados.put(authToken, token);
+            }
+            return Optional.of(token);  // Token válido
         } catch (SignatureException ex) {
             log.error("Assinatura JWT inválida");
         } catch (MalformedJwtException ex) {
@@ -67,6 +115,18 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("String claims JWT vazia");
         }
-        return false;  // Token inválido ou expirado
+        return Optional.empty();  // Token inválido ou expirado
+    }
+
+    // Método para extrair o ID do usuário do token JWT
+    public Long getUserIdFromJWT(String token) {
+        return verificarToken(token)
+                .map(TokenJwtVerificado::getUserId)
+                .orElseThrow(() -> new JwtException("Token JWT inválido"));
+    }
+
+    // Método para validar o token JWT
+    public boolean validateToken(String authToken) {
+        return verificarToken(authToken).isPresent();
     }
-}
\ No newline at end of file
+}
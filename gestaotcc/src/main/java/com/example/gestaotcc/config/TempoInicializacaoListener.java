@@ -0,0 +1,50 @@
+package com.example.gestaotcc.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.StreamSupport;
+
+// Loga quanto tempo a inicialização levou e quanto disso foi gasto com o esquema do banco
+// (Flyway e a criação do EntityManagerFactory, onde roda o ddl-auto), para comparar reinícios
+@Slf4j
+@Component
+public class TempoInicializacaoListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        String ddlAuto = event.getApplicationContext().getEnvironment()
+                .getProperty("spring.jpa.hibernate.ddl-auto", "none");
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+
+        if (startup instanceof BufferingApplicationStartup bufferingStartup) {
+            StartupTimeline timeline = bufferingStartup.getBufferedTimeline();
+            log.info("Aplicação pronta em {} ms (ddl-auto={}, flywayInitializer={} ms, entityManagerFactory={} ms)",
+                    millis(event.getTimeTaken()), ddlAuto,
+                    millis(tempoDoBean(timeline, "flywayInitializer")),
+                    millis(tempoDoBean(timeline, "entityManagerFactory")));
+        } else {
+            log.info("Aplicação pronta em {} ms (ddl-auto={})", millis(event.getTimeTaken()), ddlAuto);
+        }
+    }
+
+    private Duration tempoDoBean(StartupTimeline timeline, String nomeBean) {
+        return timeline.getEvents().stream()
+                .filter(evento -> "spring.beans.instantiate".equals(evento.getStartupStep().getName()))
+                .filter(evento -> StreamSupport.stream(evento.getStartupStep().getTags().spliterator(), false)
+                        .anyMatch(tag -> "beanName".equals(tag.getKey()) && nomeBean.equals(tag.getValue())))
+                .map(StartupTimeline.TimelineEvent::getDuration)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Long millis(Duration duracao) {
+        return duracao != null ? duracao.toMillis() : null;
+    }
+}
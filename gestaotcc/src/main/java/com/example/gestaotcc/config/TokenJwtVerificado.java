@@ -0,0 +1,38 @@
+package com.example.gestaotcc.config;
+
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Claims de um token cuja assinatura já foi verificada; imutável para poder ser reutilizado entre requisições
+@Getter
+@AllArgsConstructor
+public final class TokenJwtVerificado {
+
+    private final Long userId;
+    private final TipoUsuario tipoUsuario;
+    private final String nome;
+    private final String email;
+    private final Instant emitidoEm;
+    private final Instant expiraEm;
+
+    public static TokenJwtVerificado fromClaims(Claims claims) {
+        String tipoUsuario = claims.get("tipoUsuario", String.class);
+
+        return new TokenJwtVerificado(
+                Long.parseLong(claims.getSubject()),
+                tipoUsuario != null ? TipoUsuario.valueOf(tipoUsuario) : null,
+                claims.get("nome", String.class),
+                claims.get("email", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    public boolean expiradoEm(Instant instante) {
+        return expiraEm != null && !instante.isBefore(expiraEm);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.gestaotcc.config;
 
 import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
@@ -15,9 +16,10 @@ import java.util.List;
 
 @AllArgsConstructor
 @Builder
-public class UserPrincipal implements UserDetails {
+public class UserPrincipal implements UserDetails, UsuarioLogado {
     @Getter
     private Long id;
+    @Getter
     private String nome;
     private String email;
     @JsonIgnore
@@ -27,6 +29,11 @@ public class UserPrincipal implements UserDetails {
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    // Entidade já carregada na autenticação; nula quando o principal vem das claims do token
+    @Getter
+    @JsonIgnore
+    private transient UsuarioEntity usuario;
+
     public static UserPrincipal create(UsuarioEntity usuario) {
         // Criar uma autoridade baseada no tipo de usuário
         List<GrantedAuthority> authorities = List.of(
@@ -40,6 +47,18 @@ public class UserPrincipal implements UserDetails {
                 .senha(usuario.getSenha())
                 .tipoUsuario(usuario.getTipoUsuario())
                 .authorities(authorities)
+                .usuario(usuario)
+                .build();
+    }
+
+    // Monta o principal a partir das claims de um token já validado, sem consultar o banco
+    public static UserPrincipal fromToken(TokenJwtVerificado token) {
+        return UserPrincipal.builder()
+                .id(token.getUserId())
+                .nome(token.getNome())
+                .email(token.getEmail())
+                .tipoUsuario(token.getTipoUsuario())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + token.getTipoUsuario().name())))
                 .build();
     }
 
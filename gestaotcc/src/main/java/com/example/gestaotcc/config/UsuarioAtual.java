@@ -0,0 +1,13 @@
+package com.example.gestaotcc.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Injeta o usuário autenticado no handler: como UsuarioEntity (carregado no máximo uma vez
+// por requisição) ou como UsuarioLogado (sem nenhuma consulta)
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UsuarioAtual {
+}
@@ -0,0 +1,56 @@
+package com.example.gestaotcc.config;
+
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
+import com.example.gestaotcc.service.UsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+@RequiredArgsConstructor
+public class UsuarioAtualArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATRIBUTO_USUARIO = UsuarioAtualArgumentResolver.class.getName() + ".usuario";
+
+    private final UsuarioService usuarioService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(UsuarioAtual.class) &&
+                (parameter.getParameterType() == UsuarioEntity.class ||
+                        parameter.getParameterType() == UsuarioLogado.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            return null;
+        }
+
+        // Id e papel já estão no principal, não é preciso carregar nada
+        if (parameter.getParameterType() == UsuarioLogado.class) {
+            return userPrincipal;
+        }
+
+        UsuarioEntity usuario = (UsuarioEntity) webRequest.getAttribute(ATRIBUTO_USUARIO, RequestAttributes.SCOPE_REQUEST);
+        if (usuario == null) {
+            // Reaproveita a entidade carregada pelo filtro de autenticação, quando houver
+            usuario = userPrincipal.getUsuario() != null
+                    ? userPrincipal.getUsuario()
+                    : usuarioService.buscarPorId(userPrincipal.getId())
+                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+            webRequest.setAttribute(ATRIBUTO_USUARIO, usuario, RequestAttributes.SCOPE_REQUEST);
+        }
+        return usuario;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.gestaotcc.controller;
 
 import com.example.gestaotcc.config.UserPrincipal;
+import com.example.gestaotcc.config.UsuarioAtual;
 import com.example.gestaotcc.dto.AvaliacaoDTO;
+import com.example.gestaotcc.dto.PaginaDTO;
 import com.example.gestaotcc.model.AvaliacaoEntity;
 import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.TccEntity;
@@ -9,7 +11,6 @@ import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.example.gestaotcc.service.AvaliacaoService;
 import com.example.gestaotcc.service.EntregaService;
-import com.example.gestaotcc.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/avaliacoes")
@@ -27,14 +27,10 @@ public class AvaliacaoController {
 
     private final AvaliacaoService avaliacaoService;
     private final EntregaService entregaService;
-    private final UsuarioService usuarioService;
 
     @PostMapping
     public ResponseEntity<AvaliacaoDTO> cadastrarAvaliacao(@RequestBody AvaliacaoDTO avaliacaoDTO,
-                                                           @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity orientador = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
+                                                           @UsuarioAtual UsuarioEntity orientador) {
         EntregaEntity entrega = entregaService.buscarPorId(avaliacaoDTO.getEntregaId())
                 .orElseThrow(() -> new RuntimeException("Entrega não encontrada"));
 
@@ -53,14 +49,11 @@ public class AvaliacaoController {
     @PutMapping("/{id}")
     public ResponseEntity<AvaliacaoDTO> atualizarAvaliacao(@PathVariable Long id,
                                                            @RequestBody AvaliacaoDTO avaliacaoDTO,
-                                                           @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                                                           @UsuarioAtual UsuarioEntity orientador) {
         if (!id.equals(avaliacaoDTO.getId())) {
             return ResponseEntity.badRequest().build();
         }
 
-        UsuarioEntity orientador = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
         EntregaEntity entrega = entregaService.buscarPorId(avaliacaoDTO.getEntregaId())
                 .orElseThrow(() -> new RuntimeException("Entrega não encontrada"));
 
@@ -73,40 +66,27 @@ public class AvaliacaoController {
     @GetMapping("/entrega/{entregaId}")
     public ResponseEntity<List<AvaliacaoDTO>> listarAvaliacoesPorEntrega(@PathVariable Long entregaId,
                                                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        List<AvaliacaoEntity> avaliacoes = avaliacaoService.listarAvaliacoesPorEntrega(entregaId, usuario);
-        List<AvaliacaoDTO> avaliacoesDTO = avaliacoes.stream()
-                .map(AvaliacaoDTO::fromEntity)
-                .collect(Collectors.toList());
-
+        List<AvaliacaoDTO> avaliacoesDTO = avaliacaoService.listarAvaliacoesDTOPorEntrega(entregaId, userPrincipal);
         return ResponseEntity.ok(avaliacoesDTO);
     }
 
     @GetMapping("/orientador/{orientadorId}")
-    public ResponseEntity<List<AvaliacaoDTO>> listarAvaliacoesPorOrientador(@PathVariable Long orientadorId,
-                                                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<PaginaDTO<AvaliacaoDTO>> listarAvaliacoesPorOrientador(@PathVariable Long orientadorId,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(required = false) Integer tamanho,
+                                                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
         // Verificar se o usuário solicitante é o próprio orientador ou um coordenador
         if (!userPrincipal.getId().equals(orientadorId) &&
                 userPrincipal.getTipoUsuario() != TipoUsuario.COORDENADOR) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        List<AvaliacaoEntity> avaliacoes = avaliacaoService.listarAvaliacoesPorOrientador(orientadorId);
-        List<AvaliacaoDTO> avaliacoesDTO = avaliacoes.stream()
-                .map(AvaliacaoDTO::fromEntity)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(avaliacoesDTO);
+        return ResponseEntity.ok(avaliacaoService.listarAvaliacoesPaginadoPorOrientador(orientadorId, cursor, tamanho));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<AvaliacaoDTO> buscarAvaliacao(@PathVariable Long id,
                                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
         AvaliacaoEntity avaliacao = avaliacaoService.buscarPorId(id)
                 .orElseThrow(() -> new RuntimeException("Avaliação não encontrada"));
 
@@ -114,9 +94,9 @@ public class AvaliacaoController {
         EntregaEntity entrega = avaliacao.getEntrega();
         TccEntity tcc = entrega.getTcc();
 
-        boolean temAcesso = usuario.getTipoUsuario() == TipoUsuario.COORDENADOR ||
-                tcc.getAluno().getId().equals(usuario.getId()) ||
-                tcc.getOrientador().getId().equals(usuario.getId());
+        boolean temAcesso = userPrincipal.getTipoUsuario() == TipoUsuario.COORDENADOR ||
+                tcc.getAluno().getId().equals(userPrincipal.getId()) ||
+                tcc.getOrientador().getId().equals(userPrincipal.getId());
 
         if (!temAcesso) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -128,10 +108,7 @@ public class AvaliacaoController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletarAvaliacao(@PathVariable Long id,
                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        avaliacaoService.deletarAvaliacao(id, usuario);
+        avaliacaoService.deletarAvaliacao(id, userPrincipal);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.gestaotcc.controller;
+
+import com.example.gestaotcc.config.UserPrincipal;
+import com.example.gestaotcc.dto.DashboardDTO;
+import com.example.gestaotcc.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    // GET /api/dashboard?de=2025-01&ate=2025-12; sem período, os últimos app.dashboard.meses-padrao meses
+    @GetMapping
+    public ResponseEntity<DashboardDTO> obterDashboard(@RequestParam(required = false) YearMonth de,
+                                                       @RequestParam(required = false) YearMonth ate,
+                                                       @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(dashboardService.montar(de, ate, userPrincipal));
+    }
+}
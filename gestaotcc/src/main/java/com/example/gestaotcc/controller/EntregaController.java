@@ -1,28 +1,32 @@
 package com.example.gestaotcc.controller;
 
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
 import com.example.gestaotcc.config.UserPrincipal;
+import com.example.gestaotcc.dto.CandidatoSimilaridadeDTO;
 import com.example.gestaotcc.dto.EntregaDTO;
 import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.TccEntity;
-import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.StatusTcc;
 import com.example.gestaotcc.model.enuns.TipoEntrega;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.example.gestaotcc.service.EntregaService;
+import com.example.gestaotcc.service.ExportacaoEntregasService;
+import com.example.gestaotcc.service.SimilaridadeEntregasService;
 import com.example.gestaotcc.service.TccService;
-import com.example.gestaotcc.service.UsuarioService;
+import com.example.gestaotcc.service.VerificacaoIntegridadeService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/entregas")
@@ -31,51 +35,72 @@ public class EntregaController {
 
     private final EntregaService entregaService;
     private final TccService tccService;
-    private final UsuarioService usuarioService;
-
+    private final ArmazenamentoArquivos armazenamento;
+    private final EscritorArquivoHttp escritorArquivo;
+    private final LeitorMultipartStreaming leitorMultipart;
+    private final ExportacaoEntregasService exportacaoEntregas;
+    private final VerificacaoIntegridadeService verificacaoIntegridade;
+    private final SimilaridadeEntregasService similaridadeEntregas;
+
+    // multipart/form-data com os campos tccId, tipo e observacao (opcional) antes do arquivo,
+    // que é gravado enquanto chega, sem passar por arquivo temporário
     @PostMapping
-    public ResponseEntity<EntregaDTO> cadastrarEntrega(@RequestParam("arquivo") MultipartFile arquivo,
-                                                       @RequestParam("tccId") Long tccId,
-                                                       @RequestParam("tipo") String tipo,
-                                                       @RequestParam(value = "observacao", required = false) String observacao,
-                                                       @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        TccEntity tcc = tccService.buscarPorId(tccId)
-                .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
-
-        EntregaEntity entrega = EntregaEntity.builder()
-                .tcc(tcc)
-                .tipo(TipoEntrega.valueOf(tipo))
-                .observacao(observacao)
-                .dataEnvio(LocalDateTime.now())
-                .build();
+    public ResponseEntity<EntregaDTO> cadastrarEntrega(HttpServletRequest request,
+                                                       @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        EntregaEntity novaEntrega = leitorMultipart.ler(request, "arquivo", (campos, arquivo) -> {
+            if (!campos.containsKey("tccId") || !campos.containsKey("tipo")) {
+                throw new RuntimeException("Os campos tccId e tipo devem ser enviados antes do arquivo");
+            }
+
+            TccEntity tcc = tccService.buscarPorId(Long.valueOf(campos.get("tccId")))
+                    .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
+
+            EntregaEntity entrega = EntregaEntity.builder()
+                    .tcc(tcc)
+                    .tipo(TipoEntrega.valueOf(campos.get("tipo")))
+                    .observacao(campos.get("observacao"))
+                    .dataEnvio(LocalDateTime.now())
+                    .build();
+
+            return entregaService.cadastrarEntrega(entrega, arquivo, userPrincipal);
+        });
 
-        EntregaEntity novaEntrega = entregaService.cadastrarEntrega(entrega, arquivo, usuario);
         return new ResponseEntity<>(EntregaDTO.fromEntity(novaEntrega), HttpStatus.CREATED);
     }
 
     @GetMapping("/tcc/{tccId}")
     public ResponseEntity<List<EntregaDTO>> listarEntregasPorTcc(@PathVariable Long tccId,
                                                                  @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        List<EntregaDTO> entregasDTO = entregaService.listarEntregasDTOPorTcc(tccId, userPrincipal);
+        return ResponseEntity.ok(entregasDTO);
+    }
 
-        List<EntregaEntity> entregas = entregaService.listarEntregasPorTcc(tccId, usuario);
-        List<EntregaDTO> entregasDTO = entregas.stream()
-                .map(EntregaDTO::fromEntity)
-                .collect(Collectors.toList());
+    // ZIP com todas as entregas do TCC, montado enquanto é enviado (sem Content-Length)
+    @GetMapping("/tcc/{tccId}/zip")
+    public void baixarZipPorTcc(@PathVariable Long tccId,
+                                @AuthenticationPrincipal UserPrincipal userPrincipal,
+                                HttpServletResponse response) throws IOException {
+        List<EntregaDTO> entregas = entregaService.listarEntregasDTOPorTcc(tccId, userPrincipal);
+        enviarZip(entregas, "tcc-" + tccId + "-entregas.zip", response);
+    }
 
-        return ResponseEntity.ok(entregasDTO);
+    // Exportação de uma turma inteira (ex.: status=CONCLUIDO para o arquivo da coordenação)
+    @GetMapping("/exportar")
+    public void exportarPorStatus(@RequestParam StatusTcc status,
+                                  @AuthenticationPrincipal UserPrincipal userPrincipal,
+                                  HttpServletResponse response) throws IOException {
+        if (userPrincipal.getTipoUsuario() != TipoUsuario.COORDENADOR) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+
+        List<EntregaDTO> entregas = entregaService.listarEntregasDTOPorStatusTcc(status, userPrincipal);
+        enviarZip(entregas, "entregas-" + status.name().toLowerCase() + ".zip", response);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EntregaDTO> buscarEntrega(@PathVariable Long id,
                                                     @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
         Optional<EntregaEntity> entrega = entregaService.buscarPorId(id);
 
         if (!entrega.isPresent()) {
@@ -84,9 +109,9 @@ public class EntregaController {
 
         // Verificar se o usuário tem acesso a este TCC
         TccEntity tcc = entrega.get().getTcc();
-        boolean temAcesso = usuario.getTipoUsuario() == TipoUsuario.COORDENADOR ||
-                tcc.getAluno().getId().equals(usuario.getId()) ||
-                tcc.getOrientador().getId().equals(usuario.getId());
+        boolean temAcesso = userPrincipal.getTipoUsuario() == TipoUsuario.COORDENADOR ||
+                tcc.getAluno().getId().equals(userPrincipal.getId()) ||
+                tcc.getOrientador().getId().equals(userPrincipal.getId());
 
         if (!temAcesso) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -95,30 +120,81 @@ public class EntregaController {
         return ResponseEntity.ok(EntregaDTO.fromEntity(entrega.get()));
     }
 
+    @GetMapping("/{id}/arquivo")
+    public void baixarArquivo(@PathVariable Long id,
+                              @AuthenticationPrincipal UserPrincipal userPrincipal,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        Optional<EntregaEntity> entrega = entregaService.buscarPorId(id);
+
+        if (!entrega.isPresent()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        // Mesma regra de acesso de buscarEntrega
+        TccEntity tcc = entrega.get().getTcc();
+        boolean temAcesso = userPrincipal.getTipoUsuario() == TipoUsuario.COORDENADOR ||
+                tcc.getAluno().getId().equals(userPrincipal.getId()) ||
+                tcc.getOrientador().getId().equals(userPrincipal.getId());
+
+        if (!temAcesso) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+
+        String caminhoArquivo = entrega.get().getCaminhoArquivo();
+        if (!verificacaoIntegridade.conferirAntesDoDownload(caminhoArquivo, entrega.get().getHashConteudo())) {
+            // Melhor não entregar nada do que um arquivo diferente do que o aluno enviou
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Arquivo da entrega corrompido");
+            return;
+        }
+
+        String extensao = caminhoArquivo.contains(".") ? caminhoArquivo.substring(caminhoArquivo.lastIndexOf(".")) : "";
+
+        escritorArquivo.enviar(armazenamento, caminhoArquivo, "entrega-" + id + extensao, request, response);
+    }
+
+    // Entregas de outros TCCs com texto parecido, para o orientador conferir possível plágio
+    @GetMapping("/{id}/similares")
+    public ResponseEntity<List<CandidatoSimilaridadeDTO>> listarSimilares(@PathVariable Long id,
+                                                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Optional<EntregaEntity> entrega = entregaService.buscarPorId(id);
+
+        if (!entrega.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Só o orientador do TCC ou um coordenador: a resposta expõe trabalhos de outros alunos
+        TccEntity tcc = entrega.get().getTcc();
+        boolean temAcesso = userPrincipal.getTipoUsuario() == TipoUsuario.COORDENADOR ||
+                tcc.getOrientador().getId().equals(userPrincipal.getId());
+
+        if (!temAcesso) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(similaridadeEntregas.buscarCandidatos(id, tcc.getId(),
+                entrega.get().getCaminhoArquivo()));
+    }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletarEntrega(@PathVariable Long id,
                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        entregaService.deletarEntrega(id, usuario);
+        entregaService.deletarEntrega(id, userPrincipal);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/ultimaEntrega/{tccId}")
     public ResponseEntity<EntregaDTO> obterUltimaEntrega(@PathVariable Long tccId,
                                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
         // Verificar se o usuário tem acesso a este TCC
         TccEntity tcc = tccService.buscarPorId(tccId)
                 .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
 
-        boolean temAcesso = usuario.getTipoUsuario() == TipoUsuario.COORDENADOR ||
-                tcc.getAluno().getId().equals(usuario.getId()) ||
-                tcc.getOrientador().getId().equals(usuario.getId());
+        boolean temAcesso = userPrincipal.getTipoUsuario() == TipoUsuario.COORDENADOR ||
+                tcc.getAluno().getId().equals(userPrincipal.getId()) ||
+                tcc.getOrientador().getId().equals(userPrincipal.getId());
 
         if (!temAcesso) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -139,26 +215,25 @@ public class EntregaController {
             @PathVariable String tipo,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
 
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
         // Verificar se o usuário tem acesso a este TCC
         TccEntity tcc = tccService.buscarPorId(tccId)
                 .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
 
-        boolean temAcesso = usuario.getTipoUsuario() == TipoUsuario.COORDENADOR ||
-                tcc.getAluno().getId().equals(usuario.getId()) ||
-                tcc.getOrientador().getId().equals(usuario.getId());
+        boolean temAcesso = userPrincipal.getTipoUsuario() == TipoUsuario.COORDENADOR ||
+                tcc.getAluno().getId().equals(userPrincipal.getId()) ||
+                tcc.getOrientador().getId().equals(userPrincipal.getId());
 
         if (!temAcesso) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        List<EntregaEntity> entregas = entregaService.listarEntregasPorTipoETcc(tccId, tipo);
-        List<EntregaDTO> entregasDTO = entregas.stream()
-                .map(EntregaDTO::fromEntity)
-                .collect(Collectors.toList());
-
+        List<EntregaDTO> entregasDTO = entregaService.listarEntregasDTOPorTipoETcc(tccId, tipo);
         return ResponseEntity.ok(entregasDTO);
     }
+
+    private void enviarZip(List<EntregaDTO> entregas, String nomeArquivo, HttpServletResponse response) throws IOException {
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomeArquivo + "\"");
+        exportacaoEntregas.escreverZip(entregas, response.getOutputStream());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.example.gestaotcc.controller;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.armazenamento.InfoArquivo;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+// Envia um arquivo do armazenamento sem carregá-lo no heap. No disco local usa o sendfile do Tomcat
+// quando disponível e FileChannel.transferTo nos demais casos; nos outros armazenamentos copia o stream
+// do intervalo pedido. Trata ETag/Last-Modified (304), Range e If-Range (206/416).
+@Component
+public class EscritorArquivoHttp {
+
+    static final String ATRIBUTO_SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+    static final String ATRIBUTO_SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+    static final String ATRIBUTO_SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+    static final String ATRIBUTO_SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+    // Mesmo limite do DefaultServlet do Tomcat: abaixo disso a cópia comum é mais barata
+    private static final long TAMANHO_MINIMO_SENDFILE = 48 * 1024;
+
+    public void enviar(ArmazenamentoArquivos armazenamento, String chave, String nomeDownload,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<InfoArquivo> info = armazenamento.consultar(chave);
+        if (info.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        long tamanho = info.get().getTamanho();
+        long ultimaModificacao = info.get().getUltimaModificacao().toEpochMilli();
+        String etag = "\"" + Long.toHexString(tamanho) + "-" + Long.toHexString(ultimaModificacao) + "\"";
+
+        // Responde 304 (ou 412) e já grava ETag e Last-Modified na resposta
+        if (new ServletWebRequest(request, response).checkNotModified(etag, ultimaModificacao)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(MediaTypeFactory.getMediaType(nomeDownload)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(nomeDownload, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        long inicio = 0;
+        long fim = tamanho - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && tamanho > 0 && intervaloAindaValido(request, etag, ultimaModificacao)) {
+            List<HttpRange> intervalos = lerIntervalos(range);
+
+            // Vários intervalos (multipart/byteranges) não são suportados: segue com o arquivo inteiro
+            if (intervalos.size() == 1) {
+                try {
+                    inicio = intervalos.get(0).getRangeStart(tamanho);
+                    fim = intervalos.get(0).getRangeEnd(tamanho);
+                } catch (IllegalArgumentException e) {
+                    inicio = tamanho;
+                }
+
+                if (inicio >= tamanho || inicio > fim) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                    return;
+                }
+
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fim + "/" + tamanho);
+            }
+        }
+
+        long quantidade = fim - inicio + 1;
+        response.setContentLengthLong(quantidade);
+
+        if ("HEAD".equals(request.getMethod()) || quantidade == 0) {
+            return;
+        }
+
+        Optional<Path> caminhoLocal = armazenamento.caminhoLocal(chave);
+        if (caminhoLocal.isEmpty()) {
+            try (InputStream entrada = armazenamento.lerIntervalo(chave, inicio, fim)) {
+                entrada.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        Path arquivo = caminhoLocal.get();
+        if (quantidade >= TAMANHO_MINIMO_SENDFILE
+                && Boolean.TRUE.equals(request.getAttribute(ATRIBUTO_SENDFILE_SUPORTADO))) {
+            // O Tomcat copia do page cache direto para o socket depois que o controller retorna
+            request.setAttribute(ATRIBUTO_SENDFILE_ARQUIVO, arquivo.toAbsolutePath().toString());
+            request.setAttribute(ATRIBUTO_SENDFILE_INICIO, inicio);
+            request.setAttribute(ATRIBUTO_SENDFILE_FIM, fim + 1);
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            WritableByteChannel saida = Channels.newChannel(response.getOutputStream());
+            long posicao = inicio;
+            long restante = quantidade;
+            while (restante > 0) {
+                long enviados = canal.transferTo(posicao, restante, saida);
+                if (enviados <= 0) {
+                    break;
+                }
+                posicao += enviados;
+                restante -= enviados;
+            }
+        }
+    }
+
+    // If-Range só permite a resposta parcial se o validador ainda for o do arquivo atual;
+    // caso contrário o cliente recebe o arquivo inteiro
+    private boolean intervaloAindaValido(HttpServletRequest request, String etag, long ultimaModificacao) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Comparação forte: ETags fracas nunca satisfazem o If-Range
+            return ifRange.equals(etag);
+        }
+
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == ultimaModificacao / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private List<HttpRange> lerIntervalos(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            // Range malformado é ignorado, como manda a RFC 9110
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.gestaotcc.controller;
+
+import com.example.gestaotcc.service.ArquivoEnviado;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Lê o multipart/form-data em uma única passada sobre o corpo da requisição, sem o spool em
+// arquivo temporário do MultipartResolver (desligado em spring.servlet.multipart.enabled).
+// Os campos de texto precisam vir antes do arquivo: quando a parte do arquivo chega, o
+// consumidor recebe os campos lidos até ali e o conteúdo ainda em trânsito.
+@Component
+public class LeitorMultipartStreaming {
+
+    private static final int TAMANHO_MAXIMO_CAMPO = 64 * 1024;
+
+    public <T> T ler(HttpServletRequest request, String nomeParteArquivo,
+                     BiFunction<Map<String, String>, ArquivoEnviado, T> aoReceberArquivo) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase().startsWith(FileUpload.MULTIPART_FORM_DATA)) {
+            throw new RuntimeException("A requisição deve ser multipart/form-data");
+        }
+
+        FileUpload upload = new FileUpload();
+        upload.setHeaderEncoding(StandardCharsets.UTF_8.name());
+
+        Map<String, String> campos = new HashMap<>();
+        try {
+            FileItemIterator partes = upload.getItemIterator(new ServletRequestContext(request));
+            while (partes.hasNext()) {
+                FileItemStream parte = partes.next();
+
+                if (parte.isFormField()) {
+                    campos.put(parte.getFieldName(), lerCampo(parte));
+                } else if (nomeParteArquivo.equals(parte.getFieldName())) {
+                    // Partes depois do arquivo não são lidas: ele deve ser a última do formulário
+                    try (InputStream conteudo = parte.openStream()) {
+                        return aoReceberArquivo.apply(campos, new ArquivoEnviado(parte.getName(), conteudo));
+                    }
+                }
+            }
+        } catch (FileUploadException e) {
+            throw new RuntimeException("Falha ao ler o envio: " + e.getMessage());
+        }
+
+        throw new RuntimeException("Nenhum arquivo enviado");
+    }
+
+    private String lerCampo(FileItemStream parte) throws IOException {
+        try (InputStream conteudo = parte.openStream()) {
+            byte[] bytes = conteudo.readNBytes(TAMANHO_MAXIMO_CAMPO + 1);
+            if (bytes.length > TAMANHO_MAXIMO_CAMPO) {
+                throw new RuntimeException("Campo " + parte.getFieldName() + " excede o tamanho máximo");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
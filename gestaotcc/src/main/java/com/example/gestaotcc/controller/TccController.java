@@ -1,11 +1,15 @@
 package com.example.gestaotcc.controller;
 
 import com.example.gestaotcc.config.UserPrincipal;
+import com.example.gestaotcc.config.UsuarioAtual;
+import com.example.gestaotcc.dto.PaginaDTO;
+import com.example.gestaotcc.dto.ResumoTccDTO;
 import com.example.gestaotcc.dto.TccDTO;
 import com.example.gestaotcc.model.TccEntity;
 import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.model.enuns.StatusTcc;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.service.ResumoTccService;
 import com.example.gestaotcc.service.TccService;
 import com.example.gestaotcc.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tccs")
@@ -25,17 +28,15 @@ public class TccController {
 
     private final TccService tccService;
     private final UsuarioService usuarioService;
+    private final ResumoTccService resumoTccService;
 
     @PostMapping
     public ResponseEntity<TccDTO> cadastrarTcc(@RequestBody TccDTO tccDTO,
-                                               @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        if (userPrincipal.getTipoUsuario() != TipoUsuario.ALUNO) {
+                                               @UsuarioAtual UsuarioEntity aluno) {
+        if (aluno.getTipoUsuario() != TipoUsuario.ALUNO) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        UsuarioEntity aluno = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Aluno não encontrado"));
-
         UsuarioEntity orientador = usuarioService.buscarPorId(tccDTO.getOrientadorId())
                 .orElseThrow(() -> new RuntimeException("Orientador não encontrado"));
 
@@ -50,10 +51,7 @@ public class TccController {
     public ResponseEntity<TccDTO> atualizarStatusTcc(@PathVariable Long id,
                                                      @PathVariable StatusTcc status,
                                                      @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        TccEntity tccAtualizado = tccService.atualizarStatusTcc(id, status, usuario);
+        TccEntity tccAtualizado = tccService.atualizarStatusTcc(id, status, userPrincipal);
         return ResponseEntity.ok(TccDTO.fromEntity(tccAtualizado));
     }
 
@@ -61,9 +59,6 @@ public class TccController {
     public ResponseEntity<TccDTO> atualizarTcc(@PathVariable Long id,
                                                @RequestBody TccDTO tccDTO,
                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
         if (!id.equals(tccDTO.getId())) {
             return ResponseEntity.badRequest().build();
         }
@@ -75,28 +70,42 @@ public class TccController {
                 .orElseThrow(() -> new RuntimeException("Orientador não encontrado"));
 
         TccEntity tcc = tccDTO.toEntity(aluno, orientador);
-        TccEntity tccAtualizado = tccService.atualizarTcc(tcc, usuario);
+        TccEntity tccAtualizado = tccService.atualizarTcc(tcc, userPrincipal);
 
         return ResponseEntity.ok(TccDTO.fromEntity(tccAtualizado));
     }
 
     @GetMapping
-    public ResponseEntity<List<TccDTO>> listarTccs(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<TccEntity> tccs;
+    public ResponseEntity<PaginaDTO<TccDTO>> listarTccs(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer tamanho,
+                                                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        PaginaDTO<TccDTO> pagina;
 
         if (userPrincipal.getTipoUsuario() == TipoUsuario.ALUNO) {
-            tccs = tccService.listarTccsPorAluno(userPrincipal.getId());
+            pagina = tccService.listarTccsPaginadoPorAluno(userPrincipal.getId(), cursor, tamanho);
         } else if (userPrincipal.getTipoUsuario() == TipoUsuario.ORIENTADOR) {
-            tccs = tccService.listarTccsPorOrientador(userPrincipal.getId());
+            pagina = tccService.listarTccsPaginadoPorOrientador(userPrincipal.getId(), cursor, tamanho);
         } else { // COORDENADOR
-            tccs = tccService.listarTodosTccs();
+            pagina = tccService.listarTodosTccsPaginado(cursor, tamanho);
         }
 
-        List<TccDTO> tccsDTO = tccs.stream()
-                .map(TccDTO::fromEntity)
-                .collect(Collectors.toList());
+        return ResponseEntity.ok(pagina);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TccDTO>> buscarTccs(@RequestParam String q,
+                                                   @RequestParam(required = false) StatusTcc status,
+                                                   @RequestParam(required = false) Long orientadorId,
+                                                   @RequestParam(required = false) Integer tamanho,
+                                                   @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(tccService.buscarTccs(q, status, orientadorId, tamanho, userPrincipal));
+    }
 
-        return ResponseEntity.ok(tccsDTO);
+    // Andamento de vários TCCs numa chamada: GET /api/tccs/resumos?ids=1,2,3
+    @GetMapping("/resumos")
+    public ResponseEntity<List<ResumoTccDTO>> listarResumos(@RequestParam List<Long> ids,
+                                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(resumoTccService.listarResumos(ids, userPrincipal));
     }
 
     @GetMapping("/{id}")
@@ -118,36 +127,27 @@ public class TccController {
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TccDTO>> listarTccsPorStatus(@PathVariable StatusTcc status,
-                                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<TccEntity> tccs;
+    public ResponseEntity<PaginaDTO<TccDTO>> listarTccsPorStatus(@PathVariable StatusTcc status,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer tamanho,
+                                                                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        PaginaDTO<TccDTO> pagina;
 
         if (userPrincipal.getTipoUsuario() == TipoUsuario.ALUNO) {
-            UsuarioEntity aluno = usuarioService.buscarPorId(userPrincipal.getId())
-                    .orElseThrow(() -> new RuntimeException("Aluno não encontrado"));
-            tccs = tccService.listarTccsPorAlunoEStatus(aluno, status);
+            pagina = tccService.listarTccsPaginadoPorAlunoEStatus(userPrincipal.getId(), status, cursor, tamanho);
         } else if (userPrincipal.getTipoUsuario() == TipoUsuario.ORIENTADOR) {
-            UsuarioEntity orientador = usuarioService.buscarPorId(userPrincipal.getId())
-                    .orElseThrow(() -> new RuntimeException("Orientador não encontrado"));
-            tccs = tccService.listarTccsPorOrientadorEStatus(orientador, status);
+            pagina = tccService.listarTccsPaginadoPorOrientadorEStatus(userPrincipal.getId(), status, cursor, tamanho);
         } else { // COORDENADOR
-            tccs = tccService.listarTccsPorStatus(status);
+            pagina = tccService.listarTccsPaginadoPorStatus(status, cursor, tamanho);
         }
 
-        List<TccDTO> tccsDTO = tccs.stream()
-                .map(TccDTO::fromEntity)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(tccsDTO);
+        return ResponseEntity.ok(pagina);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletarTcc(@PathVariable Long id,
                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-        tccService.deletarTcc(id, usuario);
+        tccService.deletarTcc(id, userPrincipal);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
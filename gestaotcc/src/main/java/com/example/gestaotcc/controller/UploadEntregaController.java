@@ -0,0 +1,73 @@
+package com.example.gestaotcc.controller;
+
+import com.example.gestaotcc.config.UserPrincipal;
+import com.example.gestaotcc.dto.EntregaDTO;
+import com.example.gestaotcc.dto.IniciarUploadRequest;
+import com.example.gestaotcc.dto.SessaoUploadDTO;
+import com.example.gestaotcc.model.EntregaEntity;
+import com.example.gestaotcc.model.SessaoUploadEntity;
+import com.example.gestaotcc.service.SessaoUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+// Upload de entregas em partes, retomável:
+// 1. POST /api/entregas/uploads cria a sessão (tccId, tipo, observacao, nomeArquivo, tamanhoTotal)
+// 2. PUT /api/entregas/uploads/{id}/chunks/{numero} envia cada parte, em ordem, com o SHA-256 no cabeçalho X-Chunk-SHA256
+// 3. GET /api/entregas/uploads/{id} informa quanto já foi recebido, para retomar depois de uma falha
+// 4. POST /api/entregas/uploads/{id}/finalizar cria a entrega
+@RestController
+@RequestMapping("/api/entregas/uploads")
+@RequiredArgsConstructor
+public class UploadEntregaController {
+
+    private final SessaoUploadService sessaoUploadService;
+
+    @PostMapping
+    public ResponseEntity<SessaoUploadDTO> iniciarUpload(@RequestBody IniciarUploadRequest requisicao,
+                                                         @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        SessaoUploadEntity sessao = sessaoUploadService.iniciar(requisicao, userPrincipal);
+        return new ResponseEntity<>(paraDTO(sessao), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SessaoUploadDTO> consultarUpload(@PathVariable Long id,
+                                                           @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return ResponseEntity.ok(paraDTO(sessaoUploadService.buscar(id, userPrincipal)));
+    }
+
+    // O corpo é o conteúdo bruto da parte (application/octet-stream), lido direto do request
+    @PutMapping("/{id}/chunks/{numero}")
+    public ResponseEntity<SessaoUploadDTO> enviarChunk(@PathVariable Long id,
+                                                       @PathVariable int numero,
+                                                       @RequestHeader(value = "X-Chunk-SHA256", required = false) String sha256,
+                                                       HttpServletRequest request,
+                                                       @AuthenticationPrincipal UserPrincipal userPrincipal) throws IOException {
+        SessaoUploadEntity sessao = sessaoUploadService.receberChunk(id, numero, sha256, request.getInputStream(),
+                userPrincipal);
+        return ResponseEntity.ok(paraDTO(sessao));
+    }
+
+    @PostMapping("/{id}/finalizar")
+    public ResponseEntity<EntregaDTO> finalizarUpload(@PathVariable Long id,
+                                                      @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        EntregaEntity entrega = sessaoUploadService.finalizar(id, userPrincipal);
+        return new ResponseEntity<>(EntregaDTO.fromEntity(entrega), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelarUpload(@PathVariable Long id,
+                                               @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        sessaoUploadService.cancelar(id, userPrincipal);
+        return ResponseEntity.noContent().build();
+    }
+
+    private SessaoUploadDTO paraDTO(SessaoUploadEntity sessao) {
+        return SessaoUploadDTO.fromEntity(sessao, sessaoUploadService.tamanhoMaximoChunk());
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.gestaotcc.controller;
 
 import com.example.gestaotcc.config.UserPrincipal;
+import com.example.gestaotcc.config.UsuarioAtual;
+import com.example.gestaotcc.dto.PaginaDTO;
+import com.example.gestaotcc.dto.RecomendacaoOrientadorDTO;
 import com.example.gestaotcc.dto.UsuarioDTO;
 import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.service.CargaOrientadoresService;
 import com.example.gestaotcc.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -12,7 +16,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -20,6 +23,7 @@ import java.util.stream.Collectors;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final CargaOrientadoresService cargaOrientadores;
 
     @PostMapping("/cadastrar")
     public ResponseEntity<UsuarioDTO> cadastrarUsuario(@RequestBody UsuarioDTO usuarioDTO) {
@@ -29,9 +33,7 @@ public class UsuarioController {
     }
 
     @GetMapping("/perfil")
-    public ResponseEntity<UsuarioDTO> obterPerfilUsuario(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        UsuarioEntity usuario = usuarioService.buscarPorId(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+    public ResponseEntity<UsuarioDTO> obterPerfilUsuario(@UsuarioAtual UsuarioEntity usuario) {
         return ResponseEntity.ok(UsuarioDTO.fromEntity(usuario));
     }
 
@@ -50,21 +52,28 @@ public class UsuarioController {
 
     @GetMapping("/orientadores")
     public ResponseEntity<List<UsuarioDTO>> listarOrientadores() {
-        List<UsuarioEntity> orientadores = usuarioService.listarOrientadores();
-        List<UsuarioDTO> orientadoresDTO = orientadores.stream()
-                .map(UsuarioDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(orientadoresDTO);
+        return ResponseEntity.ok(usuarioService.listarOrientadoresDTO());
+    }
+
+    @GetMapping("/orientadores/sugestoes")
+    public ResponseEntity<List<UsuarioDTO>> sugerirOrientadores(@RequestParam String q,
+                                                                @RequestParam(required = false) Integer quantidade) {
+        return ResponseEntity.ok(usuarioService.sugerirOrientadores(q, quantidade));
+    }
+
+    // Orientadores para uma proposta, pela área e pela carga atual: GET /orientadores/recomendacoes?area=Redes
+    @GetMapping("/orientadores/recomendacoes")
+    public ResponseEntity<List<RecomendacaoOrientadorDTO>> recomendarOrientadores(
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) Integer quantidade) {
+        return ResponseEntity.ok(cargaOrientadores.recomendar(area, quantidade));
     }
 
     @GetMapping("listarTodosUsuarios")
     @PreAuthorize("hasRole('COORDENADOR')")
-    public ResponseEntity<List<UsuarioDTO>> listarTodosUsuarios() {
-        List<UsuarioEntity> usuarios = usuarioService.listarTodos();
-        List<UsuarioDTO> usuariosDTO = usuarios.stream()
-                .map(UsuarioDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(usuariosDTO);
+    public ResponseEntity<PaginaDTO<UsuarioDTO>> listarTodosUsuarios(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(usuarioService.listarTodosPaginado(cursor, tamanho));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,17 @@
+package com.example.gestaotcc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Um arquivo do armazenamento e o hash registrado para ele nas entregas que o referenciam
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArquivoEntregaDTO {
+
+    private String caminhoArquivo;
+
+    // Nulo quando nenhuma das entregas tem o hash registrado
+    private String hashConteudo;
+}
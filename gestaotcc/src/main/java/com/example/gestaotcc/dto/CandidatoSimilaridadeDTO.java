@@ -0,0 +1,28 @@
+package com.example.gestaotcc.dto;
+
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Entrega de outro TCC com texto parecido com o da entrega consultada
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidatoSimilaridadeDTO {
+
+    private Long entregaId;
+
+    private TipoEntrega tipo;
+
+    private LocalDateTime dataEnvio;
+
+    private Long tccId;
+
+    private String tituloTcc;
+
+    // Similaridade de Jaccard estimada pelo MinHash, de 0 a 1
+    private double similaridadeEstimada;
+}
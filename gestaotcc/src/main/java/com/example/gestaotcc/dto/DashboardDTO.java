@@ -0,0 +1,65 @@
+package com.example.gestaotcc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// Painel do coordenador, montado a partir dos contadores pré-agregados (dashboard_contadores)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+
+    // Período consultado, "aaaa-mm" a "aaaa-mm"; vale para as notas e as séries mensais
+    private String de;
+
+    private String ate;
+
+    private Map<String, Long> tccsPorStatus;
+
+    private Map<String, Long> tccsPorArea;
+
+    // Orientadores com TCCs em andamento, do mais para o menos carregado
+    private List<CargaOrientador> cargaOrientadores;
+
+    // Avaliações do período por faixa de nota ("0-1" a "9-10")
+    private Map<String, Long> distribuicaoNotas;
+
+    private List<Periodo> periodos;
+
+    // TCCs em andamento sem entrega nos últimos diasSemEntrega dias
+    private long tccsSemEntregaRecente;
+
+    private int diasSemEntrega;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CargaOrientador {
+
+        private Long orientadorId;
+
+        private String nome;
+
+        private long tccsEmAndamento;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Periodo {
+
+        private String periodo;
+
+        private long entregasParciais;
+
+        private long entregasFinais;
+
+        private long avaliacoes;
+
+        private Double mediaNotas;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.gestaotcc.dto;
+
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IniciarUploadRequest {
+
+    private Long tccId;
+
+    private TipoEntrega tipo;
+
+    private String observacao;
+
+    private String nomeArquivo;
+
+    private Long tamanhoTotal;
+}
@@ -0,0 +1,18 @@
+package com.example.gestaotcc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+
+    // Nulo quando não há mais páginas
+    private String proximoCursor;
+}
@@ -0,0 +1,25 @@
+package com.example.gestaotcc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Orientador sugerido para uma proposta, com os números que definiram a posição na lista
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecomendacaoOrientadorDTO {
+
+    private Long orientadorId;
+
+    private String nome;
+
+    private String areaAtuacao;
+
+    private long tccsEmAndamento;
+
+    // Fração das palavras da área da proposta presentes na área de atuação, de 0 a 1
+    private double afinidadeArea;
+
+    private double pontuacao;
+}
@@ -0,0 +1,28 @@
+package com.example.gestaotcc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Andamento de um TCC para o painel, lido de resumos_tcc
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoTccDTO {
+
+    private Long tccId;
+
+    private long entregasParciais;
+
+    private long entregasFinais;
+
+    private LocalDateTime ultimaEntrega;
+
+    private long quantidadeAvaliacoes;
+
+    private Double ultimaNota;
+
+    private Double mediaNotas;
+}
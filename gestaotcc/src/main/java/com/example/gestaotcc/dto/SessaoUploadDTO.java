@@ -0,0 +1,49 @@
+package com.example.gestaotcc.dto;
+
+import com.example.gestaotcc.model.SessaoUploadEntity;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessaoUploadDTO {
+
+    private Long id;
+
+    private Long tccId;
+
+    private TipoEntrega tipo;
+
+    private String nomeArquivo;
+
+    private Long tamanhoTotal;
+
+    private Long tamanhoRecebido;
+
+    private Integer proximoChunk;
+
+    private Long tamanhoMaximoChunk;
+
+    private LocalDateTime expiraEm;
+
+    public static SessaoUploadDTO fromEntity(SessaoUploadEntity sessao, long tamanhoMaximoChunk) {
+        return SessaoUploadDTO.builder()
+                .id(sessao.getId())
+                .tccId(sessao.getTccId())
+                .tipo(sessao.getTipo())
+                .nomeArquivo(sessao.getNomeArquivo())
+                .tamanhoTotal(sessao.getTamanhoTotal())
+                .tamanhoRecebido(sessao.getTamanhoRecebido())
+                .proximoChunk(sessao.getProximoChunk())
+                .tamanhoMaximoChunk(tamanhoMaximoChunk)
+                .expiraEm(sessao.getExpiraEm())
+                .build();
+    }
+}
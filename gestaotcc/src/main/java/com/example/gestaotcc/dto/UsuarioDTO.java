@@ -23,12 +23,24 @@ public class UsuarioDTO {
 
     private TipoUsuario tipoUsuario;
 
+    private String areaAtuacao;
+
+    // Usado pelas projeções do UsuarioRepository, que não selecionam a senha
+    public UsuarioDTO(Long id, String nome, String email, TipoUsuario tipoUsuario, String areaAtuacao) {
+        this.id = id;
+        this.nome = nome;
+        this.email = email;
+        this.tipoUsuario = tipoUsuario;
+        this.areaAtuacao = areaAtuacao;
+    }
+
     public static UsuarioDTO fromEntity(UsuarioEntity usuario) {
         return UsuarioDTO.builder()
                 .id(usuario.getId())
                 .nome(usuario.getNome())
                 .email(usuario.getEmail())
                 .tipoUsuario(usuario.getTipoUsuario())
+                .areaAtuacao(usuario.getAreaAtuacao())
                 .build();
     }
 
@@ -39,6 +51,7 @@ public class UsuarioDTO {
                 .email(this.email)
                 .senha(this.senha)
                 .tipoUsuario(this.tipoUsuario)
+                .areaAtuacao(this.areaAtuacao)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.gestaotcc.evento;
+
+import com.example.gestaotcc.model.AvaliacaoEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Publicado na transação que cria, altera ou exclui uma avaliação. A nota e a data anteriores são nulas
+// na criação; as atuais, na exclusão.
+@Getter
+@AllArgsConstructor
+public class AvaliacaoAlteradaEvento {
+
+    private final Double notaAnterior;
+
+    private final LocalDateTime dataAnterior;
+
+    private final Double nota;
+
+    private final LocalDateTime dataAvaliacao;
+
+    public static AvaliacaoAlteradaEvento criada(AvaliacaoEntity avaliacao) {
+        return new AvaliacaoAlteradaEvento(null, null, avaliacao.getNota(), avaliacao.getDataAvaliacao());
+    }
+
+    public static AvaliacaoAlteradaEvento excluida(AvaliacaoEntity avaliacao) {
+        return new AvaliacaoAlteradaEvento(avaliacao.getNota(), avaliacao.getDataAvaliacao(), null, null);
+    }
+}
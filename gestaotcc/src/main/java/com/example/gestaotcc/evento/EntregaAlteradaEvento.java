@@ -0,0 +1,28 @@
+package com.example.gestaotcc.evento;
+
+import com.example.gestaotcc.model.EntregaEntity;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Publicado na transação que grava ou exclui uma entrega; variacao é 1 no envio e -1 na exclusão
+@Getter
+@AllArgsConstructor
+public class EntregaAlteradaEvento {
+
+    private final TipoEntrega tipo;
+
+    private final LocalDateTime dataEnvio;
+
+    private final int variacao;
+
+    public static EntregaAlteradaEvento registrada(EntregaEntity entrega) {
+        return new EntregaAlteradaEvento(entrega.getTipo(), entrega.getDataEnvio(), 1);
+    }
+
+    public static EntregaAlteradaEvento excluida(EntregaEntity entrega) {
+        return new EntregaAlteradaEvento(entrega.getTipo(), entrega.getDataEnvio(), -1);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.gestaotcc.evento;
+
+import com.example.gestaotcc.model.TccEntity;
+import com.example.gestaotcc.model.enuns.StatusTcc;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Os atributos do TCC contabilizados no painel, antes ou depois de uma alteração
+@Getter
+@AllArgsConstructor
+public class SituacaoTcc {
+
+    private final StatusTcc status;
+
+    private final String area;
+
+    private final Long orientadorId;
+
+    public static SituacaoTcc de(TccEntity tcc) {
+        return new SituacaoTcc(tcc.getStatus(), tcc.getArea(),
+                tcc.getOrientador() != null ? tcc.getOrientador().getId() : null);
+    }
+}
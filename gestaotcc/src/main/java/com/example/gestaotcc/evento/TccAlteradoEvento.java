@@ -0,0 +1,15 @@
+package com.example.gestaotcc.evento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Publicado na transação que cadastra, altera ou exclui um TCC. anterior é nulo no cadastro e atual,
+// na exclusão.
+@Getter
+@AllArgsConstructor
+public class TccAlteradoEvento {
+
+    private final SituacaoTcc anterior;
+
+    private final SituacaoTcc atual;
+}
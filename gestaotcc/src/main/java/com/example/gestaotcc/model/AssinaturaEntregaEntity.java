@@ -0,0 +1,33 @@
+package com.example.gestaotcc.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Assinatura MinHash do texto de uma entrega (AssinaturaMinHash). A existência da linha indica que a
+// entrega já foi processada; entregas sem texto extraível ficam com quantidadeShingles = 0 e sem bandas.
+@Entity
+@Table(name = "assinaturas_entrega")
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssinaturaEntregaEntity {
+
+    @Id
+    private Long entregaId;
+
+    // QUANTIDADE_HASHES inteiros em big-endian
+    @Column(nullable = false)
+    private byte[] minhash;
+
+    @Column(nullable = false)
+    private int quantidadeShingles;
+
+    @Column(nullable = false)
+    private LocalDateTime criadaEm;
+}
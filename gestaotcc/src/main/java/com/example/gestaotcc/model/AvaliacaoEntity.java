@@ -9,7 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "avaliacoes")
+@Table(name = "avaliacoes", uniqueConstraints = {
+        // Um orientador avalia cada entrega uma única vez (findByEntregaAndOrientador)
+        @UniqueConstraint(name = "uk_avaliacoes_entrega_orientador", columnNames = {"entrega_id", "orientador_id"})
+}, indexes = {
+        @Index(name = "idx_avaliacoes_orientador", columnList = "orientador_id, id")
+})
 @Builder
 @Data
 @AllArgsConstructor
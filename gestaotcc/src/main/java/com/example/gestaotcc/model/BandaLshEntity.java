@@ -0,0 +1,54 @@
+package com.example.gestaotcc.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+// Índice LSH: uma linha por banda da assinatura de cada entrega. Entregas com o mesmo (banda, valor)
+// são candidatas a similares; a chave primária começa por (banda, valor) e atende essa busca.
+@Entity
+@Table(name = "bandas_lsh", indexes = {
+        @Index(name = "idx_bandas_lsh_entrega", columnList = "entregaId")
+})
+@IdClass(BandaLshEntity.Chave.class)
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BandaLshEntity implements Persistable<BandaLshEntity.Chave> {
+
+    @Id
+    private short banda;
+
+    @Id
+    private long valor;
+
+    @Id
+    private Long entregaId;
+
+    // As bandas de uma entrega são sempre excluídas antes de regravadas: o saveAll faz só inserts,
+    // sem o select por linha que o merge de uma chave atribuída faria
+    @Override
+    public Chave getId() {
+        return new Chave(banda, valor, entregaId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+        private short banda;
+        private long valor;
+        private Long entregaId;
+    }
+}
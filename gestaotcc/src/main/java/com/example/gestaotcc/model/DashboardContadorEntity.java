@@ -0,0 +1,62 @@
+package com.example.gestaotcc.model;
+
+import com.example.gestaotcc.model.enuns.DimensaoDashboard;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+// Contador pré-agregado do painel: uma linha por (dimensão, chave, período). Os contadores da situação
+// atual usam o período SEM_PERIODO; os mensais, "aaaa-mm". Atualizado por somas atômicas
+// (DashboardContadorRepository.somar), nunca por leitura e regravação.
+@Entity
+@Table(name = "dashboard_contadores")
+@IdClass(DashboardContadorEntity.Chave.class)
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardContadorEntity {
+
+    public static final String SEM_PERIODO = "-";
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private DimensaoDashboard dimensao;
+
+    @Id
+    private String chave;
+
+    @Id
+    @Column(length = 7)
+    private String periodo;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable, Comparable<Chave> {
+
+        // Ordem em que as linhas são atualizadas numa transação: sempre a mesma, para que duas
+        // transações não se bloqueiem mutuamente
+        private static final Comparator<Chave> ORDEM = Comparator.comparing(Chave::getDimensao)
+                .thenComparing(Chave::getChave)
+                .thenComparing(Chave::getPeriodo);
+
+        private DimensaoDashboard dimensao;
+        private String chave;
+        private String periodo;
+
+        @Override
+        public int compareTo(Chave outra) {
+            return ORDEM.compare(this, outra);
+        }
+    }
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "Entregas")
+@Table(name = "Entregas", indexes = {
+        @Index(name = "idx_entregas_tcc_data_envio", columnList = "tcc_id, dataEnvio desc"),
+        @Index(name = "idx_entregas_tcc_tipo", columnList = "tcc_id, tipo"),
+        @Index(name = "idx_entregas_caminho_arquivo", columnList = "caminhoArquivo")
+})
 @Builder
 @Data
 @AllArgsConstructor
@@ -42,4 +46,9 @@ public class EntregaEntity {
 
     @Column(nullable = false)
     private String caminhoArquivo;
+
+    // SHA-256 (hexadecimal) do conteúdo original, calculado durante o envio; nulo em entregas antigas
+    // até a verificação de integridade preenchê-lo
+    @Column(length = 64)
+    private String hashConteudo;
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.gestaotcc.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Andamento de um TCC (quantidade de entregas, última entrega, notas), desnormalizado para o painel.
+// Recalculado pelo ResumoTccService na mesma transação que grava a entrega ou a avaliação.
+@Entity
+@Table(name = "resumos_tcc")
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumoTccEntity {
+
+    @Id
+    private Long tccId;
+
+    @Column(nullable = false)
+    private int entregasParciais;
+
+    @Column(nullable = false)
+    private int entregasFinais;
+
+    private LocalDateTime ultimaEntrega;
+
+    @Column(nullable = false)
+    private int quantidadeAvaliacoes;
+
+    // Nota da avaliação mais recente
+    private Double ultimaNota;
+
+    private Double mediaNotas;
+
+    @Column(nullable = false)
+    private LocalDateTime atualizadoEm;
+}
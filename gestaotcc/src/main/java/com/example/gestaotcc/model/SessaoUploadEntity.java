@@ -0,0 +1,60 @@
+package com.example.gestaotcc.model;
+
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Upload de entrega em partes ainda não finalizado. Guarda só o progresso; os bytes ficam no
+// arquivo de montagem da sessão e a EntregaEntity só é criada na finalização.
+@Entity
+@Table(name = "sessoes_upload", indexes = {
+        @Index(name = "idx_sessoes_upload_expira_em", columnList = "expiraEm")
+})
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessaoUploadEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long tccId;
+
+    @Column(nullable = false)
+    private Long usuarioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEntrega tipo;
+
+    @Column(length = 500)
+    private String observacao;
+
+    @Column(nullable = false)
+    private String nomeArquivo;
+
+    @Column(nullable = false)
+    private Long tamanhoTotal;
+
+    // Bytes já confirmados: é a posição em que o próximo chunk começa
+    @Column(nullable = false)
+    private Long tamanhoRecebido;
+
+    @Column(nullable = false)
+    private Integer proximoChunk;
+
+    @Column(nullable = false)
+    private LocalDateTime criadaEm;
+
+    // Renovada a cada chunk recebido; depois disso a sessão é descartada pela varredura
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+}
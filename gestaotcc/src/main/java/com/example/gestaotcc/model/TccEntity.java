@@ -13,7 +13,12 @@ import java.util.List;
 
 @Builder
 @Data
-@Table(name = "tcc")
+@Table(name = "tcc", indexes = {
+        @Index(name = "idx_tcc_aluno_status", columnList = "aluno_id, status, id"),
+        @Index(name = "idx_tcc_orientador_id", columnList = "orientador_id, id"),
+        @Index(name = "idx_tcc_orientador_status", columnList = "orientador_id, status, id"),
+        @Index(name = "idx_tcc_status", columnList = "status, id")
+})
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
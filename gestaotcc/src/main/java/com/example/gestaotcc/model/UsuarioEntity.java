@@ -15,8 +15,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "usuarios")
-public class UsuarioEntity {
+@Table(name = "usuarios", indexes = {
+        @Index(name = "idx_usuarios_tipo_usuario", columnList = "tipoUsuario, id")
+})
+public class UsuarioEntity implements UsuarioLogado {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,6 +37,10 @@ public class UsuarioEntity {
     @Column(nullable = false)
     private TipoUsuario tipoUsuario;
 
+    // Preenchida pelos orientadores; aparece nas sugestões do formulário de proposta
+    @Column
+    private String areaAtuacao;
+
     @OneToMany(mappedBy = "aluno")
     @ToString.Exclude
     @JsonIgnore
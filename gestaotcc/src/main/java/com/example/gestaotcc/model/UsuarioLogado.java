@@ -0,0 +1,12 @@
+package com.example.gestaotcc.model;
+
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+
+// Visão mínima do usuário autenticado: suficiente para as verificações de permissão
+// sem precisar carregar a entidade completa
+public interface UsuarioLogado {
+
+    Long getId();
+
+    TipoUsuario getTipoUsuario();
+}
@@ -0,0 +1,16 @@
+package com.example.gestaotcc.model.enuns;
+
+// Contadores do painel do coordenador (dashboard_contadores). Os três primeiros refletem a situação
+// atual dos TCCs; os demais são acumulados por mês.
+public enum DimensaoDashboard {
+    TCCS_POR_STATUS,
+    TCCS_POR_AREA,
+    // Chave: id do orientador
+    TCCS_EM_ANDAMENTO_POR_ORIENTADOR,
+    // Chave: TipoEntrega; período: mês do envio
+    ENTREGAS_POR_TIPO,
+    // Chave: faixa inteira da nota (0 a 9, com o 10 na faixa 9); período: mês da avaliação
+    AVALIACOES_POR_FAIXA_NOTA,
+    // Soma das notas em centésimos, para a média do mês
+    SOMA_NOTAS
+}
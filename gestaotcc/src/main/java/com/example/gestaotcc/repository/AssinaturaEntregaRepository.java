@@ -0,0 +1,9 @@
+package com.example.gestaotcc.repository;
+
+import com.example.gestaotcc.model.AssinaturaEntregaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AssinaturaEntregaRepository extends JpaRepository<AssinaturaEntregaEntity, Long> {
+}
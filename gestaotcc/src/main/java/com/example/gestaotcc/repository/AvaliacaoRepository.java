@@ -1,9 +1,13 @@
 package com.example.gestaotcc.repository;
 
+import com.example.gestaotcc.dto.AvaliacaoDTO;
 import com.example.gestaotcc.model.AvaliacaoEntity;
 import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.UsuarioEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,9 +16,23 @@ import java.util.Optional;
 @Repository
 public interface AvaliacaoRepository extends JpaRepository<AvaliacaoEntity, Long> {
 
+    String SELECT_AVALIACAO_DTO = "select new com.example.gestaotcc.dto.AvaliacaoDTO(a.id, a.nota, a.comentario, a.dataAvaliacao, " +
+            "a.entrega.id, o.id, o.nome) " +
+            "from AvaliacaoEntity a join a.orientador o";
+
     List<AvaliacaoEntity> findByEntrega(EntregaEntity entrega);
 
     List<AvaliacaoEntity> findByOrientador(UsuarioEntity orientador);
 
     Optional<AvaliacaoEntity> findByEntregaAndOrientador(EntregaEntity entrega, UsuarioEntity orientador);
-}
\ No newline at end of file
+
+    // Projeções para as listagens somente leitura: selecionam apenas as colunas do AvaliacaoDTO
+
+    @Query(SELECT_AVALIACAO_DTO + " where a.entrega.id = :entregaId")
+    List<AvaliacaoDTO> findDTOByEntregaId(@Param("entregaId") Long entregaId);
+
+    // Paginada por chave: mais recentes primeiro, continuando a partir do último id devolvido
+    @Query(SELECT_AVALIACAO_DTO + " where o.id = :orientadorId and a.id < :cursor order by a.id desc")
+    List<AvaliacaoDTO> findPaginaDTOByOrientadorId(@Param("orientadorId") Long orientadorId,
+                                                   @Param("cursor") long cursor, Limit limit);
+}
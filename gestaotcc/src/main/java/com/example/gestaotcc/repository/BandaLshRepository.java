@@ -0,0 +1,27 @@
+package com.example.gestaotcc.repository;
+
+import com.example.gestaotcc.model.BandaLshEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface BandaLshRepository extends JpaRepository<BandaLshEntity, BandaLshEntity.Chave> {
+
+    // Entregas que coincidem com a informada em pelo menos uma banda: cada banda é uma busca pela
+    // chave primária, então o custo depende do número de candidatos e não do tamanho do acervo
+    @Query("select distinct outra.entregaId from BandaLshEntity propria, BandaLshEntity outra " +
+            "where propria.entregaId = :entregaId and outra.banda = propria.banda " +
+            "and outra.valor = propria.valor and outra.entregaId <> :entregaId")
+    List<Long> findCandidatos(@Param("entregaId") Long entregaId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from BandaLshEntity b where b.entregaId = :entregaId")
+    void deleteByEntregaId(@Param("entregaId") Long entregaId);
+}
@@ -0,0 +1,32 @@
+package com.example.gestaotcc.repository;
+
+import com.example.gestaotcc.model.DashboardContadorEntity;
+import com.example.gestaotcc.model.enuns.DimensaoDashboard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface DashboardContadorRepository extends JpaRepository<DashboardContadorEntity, DashboardContadorEntity.Chave> {
+
+    // Soma atômica no banco: escritas concorrentes no mesmo contador não se perdem
+    @Transactional
+    @Modifying
+    @Query(value = "insert into dashboard_contadores (dimensao, chave, periodo, quantidade) " +
+            "values (:dimensao, :chave, :periodo, :variacao) " +
+            "on conflict (dimensao, chave, periodo) " +
+            "do update set quantidade = dashboard_contadores.quantidade + excluded.quantidade", nativeQuery = true)
+    void somar(@Param("dimensao") String dimensao, @Param("chave") String chave, @Param("periodo") String periodo,
+               @Param("variacao") long variacao);
+
+    // Atendida pela chave primária (dimensao, chave, periodo)
+    @Query("select c from DashboardContadorEntity c where c.dimensao = :dimensao " +
+            "and c.periodo between :de and :ate and c.quantidade <> 0")
+    List<DashboardContadorEntity> findByDimensaoAndPeriodoEntre(@Param("dimensao") DimensaoDashboard dimensao,
+                                                                @Param("de") String de, @Param("ate") String ate);
+}
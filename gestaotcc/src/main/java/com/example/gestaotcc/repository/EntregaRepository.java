@@ -1,20 +1,87 @@
 package com.example.gestaotcc.repository;
 
+import com.example.gestaotcc.dto.ArquivoEntregaDTO;
+import com.example.gestaotcc.dto.EntregaDTO;
 import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.TccEntity;
+import com.example.gestaotcc.model.enuns.StatusTcc;
 import com.example.gestaotcc.model.enuns.TipoEntrega;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EntregaRepository extends JpaRepository<EntregaEntity, Long> {
 
+    String SELECT_ENTREGA_DTO = "select new com.example.gestaotcc.dto.EntregaDTO(e.id, e.tipo, e.dataEnvio, e.observacao, " +
+            "t.id, t.titulo, e.caminhoArquivo) " +
+            "from EntregaEntity e join e.tcc t";
+
     List<EntregaEntity> findByTcc(TccEntity tcc);
 
     List<EntregaEntity> findByTccAndTipo(TccEntity tcc, TipoEntrega tipo);
 
     Optional<EntregaEntity> findFirstByTccOrderByDataEnvioDesc(TccEntity tcc);
-}
\ No newline at end of file
+
+    // Projeções para as listagens somente leitura: selecionam apenas as colunas do EntregaDTO
+
+    @Query(SELECT_ENTREGA_DTO + " where t.id = :tccId")
+    List<EntregaDTO> findDTOByTccId(@Param("tccId") Long tccId);
+
+    @Query(SELECT_ENTREGA_DTO + " where t.id = :tccId and e.tipo = :tipo")
+    List<EntregaDTO> findDTOByTccIdAndTipo(@Param("tccId") Long tccId, @Param("tipo") TipoEntrega tipo);
+
+    // Ordenado por TCC para que a exportação em ZIP agrupe as entregas de cada trabalho
+    @Query(SELECT_ENTREGA_DTO + " where t.status = :status order by t.id, e.id")
+    List<EntregaDTO> findDTOByTccStatus(@Param("status") StatusTcc status);
+
+    @Query(SELECT_ENTREGA_DTO + " where e.id in :ids")
+    List<EntregaDTO> findDTOByIdIn(@Param("ids") List<Long> ids);
+
+    // Entregas ainda sem assinatura de similaridade, em ordem de id para o preenchimento em lotes
+    @Query(SELECT_ENTREGA_DTO + " where e.id > :cursor and not exists " +
+            "(select 1 from AssinaturaEntregaEntity s where s.entregaId = e.id) order by e.id")
+    List<EntregaDTO> findPaginaDTOSemAssinatura(@Param("cursor") long cursor, Limit limit);
+
+    // Contagem de referências: no endereçamento por conteúdo várias entregas apontam para o mesmo arquivo
+    long countByCaminhoArquivo(String caminhoArquivo);
+
+    @Query("select distinct e.caminhoArquivo from EntregaEntity e where e.caminhoArquivo is not null")
+    List<String> findCaminhosArquivoDistintos();
+
+    // Para a reconciliação com o armazenamento: lido em streaming (exige transação aberta) e ordenado
+    // por byte (collate "C"), a mesma ordem das chaves devolvidas por ArmazenamentoArquivos.listar.
+    // group by em vez de distinct: o PostgreSQL não aceita no order by de um select distinct uma
+    // expressão (o collate) que não esteja na lista de colunas.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "select caminho_arquivo from entregas where caminho_arquivo is not null " +
+            "group by caminho_arquivo order by caminho_arquivo collate \"C\"", nativeQuery = true)
+    Stream<String> streamCaminhosArquivoOrdenados();
+
+    // Verificação de integridade: um arquivo por linha, paginado pelo próprio caminho. O max escolhe o hash
+    // quando só parte das entregas que compartilham o arquivo o tem (as anteriores à coluna).
+    @Query("select new com.example.gestaotcc.dto.ArquivoEntregaDTO(e.caminhoArquivo, max(e.hashConteudo)) " +
+            "from EntregaEntity e where e.caminhoArquivo > :cursor group by e.caminhoArquivo order by e.caminhoArquivo")
+    List<ArquivoEntregaDTO> findPaginaArquivos(@Param("cursor") String cursor, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update EntregaEntity e set e.hashConteudo = :hash where e.caminhoArquivo = :caminho and e.hashConteudo is null")
+    int preencherHashConteudo(@Param("caminho") String caminho, @Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    @Query("update EntregaEntity e set e.caminhoArquivo = :novo where e.caminhoArquivo = :antigo")
+    int atualizarCaminhoArquivo(@Param("antigo") String antigo, @Param("novo") String novo);
+}
@@ -0,0 +1,56 @@
+package com.example.gestaotcc.repository;
+
+import com.example.gestaotcc.dto.ResumoTccDTO;
+import com.example.gestaotcc.model.ResumoTccEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumoTccRepository extends JpaRepository<ResumoTccEntity, Long> {
+
+    // Serializa as atualizações do resumo de um mesmo TCC: o recálculo seguinte já enxerga o que a
+    // transação concorrente gravou
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ResumoTccEntity r where r.tccId = :tccId")
+    Optional<ResumoTccEntity> findComBloqueioByTccId(@Param("tccId") Long tccId);
+
+    // Resumo calculado a partir das entregas e avaliações do TCC, numa única consulta
+    @Query("select new com.example.gestaotcc.dto.ResumoTccDTO(t.id, " +
+            "(select count(e) from EntregaEntity e where e.tcc.id = t.id " +
+            "and e.tipo = com.example.gestaotcc.model.enuns.TipoEntrega.PARCIAL), " +
+            "(select count(e) from EntregaEntity e where e.tcc.id = t.id " +
+            "and e.tipo = com.example.gestaotcc.model.enuns.TipoEntrega.FINAL), " +
+            "(select max(e.dataEnvio) from EntregaEntity e where e.tcc.id = t.id), " +
+            "(select count(a) from AvaliacaoEntity a where a.entrega.tcc.id = t.id), " +
+            "(select a.nota from AvaliacaoEntity a where a.entrega.tcc.id = t.id " +
+            "order by a.dataAvaliacao desc, a.id desc limit 1), " +
+            "(select avg(a.nota) from AvaliacaoEntity a where a.entrega.tcc.id = t.id)) " +
+            "from TccEntity t where t.id = :tccId")
+    Optional<ResumoTccDTO> calcularDTOByTccId(@Param("tccId") Long tccId);
+
+    // Resumos de vários TCCs de uma vez; usuarioId, quando informado, restringe aos TCCs em que o
+    // usuário é aluno ou orientador
+    @Query("select new com.example.gestaotcc.dto.ResumoTccDTO(r.tccId, r.entregasParciais, r.entregasFinais, " +
+            "r.ultimaEntrega, r.quantidadeAvaliacoes, r.ultimaNota, r.mediaNotas) " +
+            "from ResumoTccEntity r join TccEntity t on t.id = r.tccId " +
+            "where r.tccId in :tccIds " +
+            "and (:usuarioId is null or t.aluno.id = :usuarioId or t.orientador.id = :usuarioId) " +
+            "order by r.tccId")
+    List<ResumoTccDTO> findDTOByTccIdIn(@Param("tccIds") Collection<Long> tccIds,
+                                        @Param("usuarioId") Long usuarioId);
+
+    // TCCs em andamento sem entrega desde :limite (ou sem nenhuma entrega)
+    @Query("select count(r) from ResumoTccEntity r join TccEntity t on t.id = r.tccId " +
+            "where t.status = com.example.gestaotcc.model.enuns.StatusTcc.EM_ANDAMENTO " +
+            "and (r.ultimaEntrega is null or r.ultimaEntrega < :limite)")
+    long countEmAndamentoSemEntregaDesde(@Param("limite") LocalDateTime limite);
+}
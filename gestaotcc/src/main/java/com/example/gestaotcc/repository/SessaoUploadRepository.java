@@ -0,0 +1,14 @@
+package com.example.gestaotcc.repository;
+
+import com.example.gestaotcc.model.SessaoUploadEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SessaoUploadRepository extends JpaRepository<SessaoUploadEntity, Long> {
+
+    List<SessaoUploadEntity> findByExpiraEmBefore(LocalDateTime limite);
+}
@@ -1,9 +1,13 @@
 package com.example.gestaotcc.repository;
 
+import com.example.gestaotcc.dto.TccDTO;
 import com.example.gestaotcc.model.TccEntity;
 import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.model.enuns.StatusTcc;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +15,10 @@ import java.util.List;
 @Repository
 public interface TccRepository extends JpaRepository<TccEntity, Long> {
 
+    String SELECT_TCC_DTO = "select new com.example.gestaotcc.dto.TccDTO(t.id, t.titulo, t.resumo, t.area, t.status, " +
+            "a.id, a.nome, o.id, o.nome, t.dataCriacao, t.dataAtualizacao) " +
+            "from TccEntity t join t.aluno a join t.orientador o";
+
     List<TccEntity> findByAluno(UsuarioEntity aluno);
 
     List<TccEntity> findByOrientador(UsuarioEntity orientador);
@@ -20,4 +28,46 @@ public interface TccRepository extends JpaRepository<TccEntity, Long> {
     List<TccEntity> findByAlunoAndStatus(UsuarioEntity aluno, StatusTcc status);
 
     List<TccEntity> findByOrientadorAndStatus(UsuarioEntity orientador, StatusTcc status);
-}
\ No newline at end of file
+
+    // Projeções paginadas por chave para as listagens somente leitura: mais recentes primeiro,
+    // continuando a partir do último id devolvido (t.id < :cursor) em vez de OFFSET
+
+    @Query(SELECT_TCC_DTO + " where t.id < :cursor order by t.id desc")
+    List<TccDTO> findPaginaDTO(@Param("cursor") long cursor, Limit limit);
+
+    @Query(SELECT_TCC_DTO + " where a.id = :alunoId and t.id < :cursor order by t.id desc")
+    List<TccDTO> findPaginaDTOByAlunoId(@Param("alunoId") Long alunoId, @Param("cursor") long cursor, Limit limit);
+
+    @Query(SELECT_TCC_DTO + " where o.id = :orientadorId and t.id < :cursor order by t.id desc")
+    List<TccDTO> findPaginaDTOByOrientadorId(@Param("orientadorId") Long orientadorId, @Param("cursor") long cursor,
+                                             Limit limit);
+
+    @Query(SELECT_TCC_DTO + " where t.status = :status and t.id < :cursor order by t.id desc")
+    List<TccDTO> findPaginaDTOByStatus(@Param("status") StatusTcc status, @Param("cursor") long cursor, Limit limit);
+
+    @Query(SELECT_TCC_DTO + " where a.id = :alunoId and t.status = :status and t.id < :cursor order by t.id desc")
+    List<TccDTO> findPaginaDTOByAlunoIdAndStatus(@Param("alunoId") Long alunoId, @Param("status") StatusTcc status,
+                                                 @Param("cursor") long cursor, Limit limit);
+
+    @Query(SELECT_TCC_DTO + " where o.id = :orientadorId and t.status = :status and t.id < :cursor order by t.id desc")
+    List<TccDTO> findPaginaDTOByOrientadorIdAndStatus(@Param("orientadorId") Long orientadorId,
+                                                      @Param("status") StatusTcc status,
+                                                      @Param("cursor") long cursor, Limit limit);
+
+    // Busca textual sobre a coluna gerada busca (V6), atendida pelo índice GIN. Devolve só os ids em ordem
+    // de relevância; os DTOs vêm de findDTOByIdIn. Filtros nulos são ignorados; usuarioId restringe aos
+    // TCCs em que o usuário é aluno ou orientador, como em TccController.obterTcc
+    @Query(value = "select t.id from tcc t, to_tsquery('portugues_sem_acento', :consulta) q " +
+            "where t.busca @@ q " +
+            "and (cast(:status as varchar) is null or t.status = cast(:status as varchar)) " +
+            "and (cast(:orientadorId as bigint) is null or t.orientador_id = cast(:orientadorId as bigint)) " +
+            "and (cast(:usuarioId as bigint) is null or t.aluno_id = cast(:usuarioId as bigint) " +
+            "or t.orientador_id = cast(:usuarioId as bigint)) " +
+            "order by ts_rank_cd(t.busca, q) desc, t.id desc limit :limite", nativeQuery = true)
+    List<Long> buscarIdsPorTexto(@Param("consulta") String consulta, @Param("status") String status,
+                                 @Param("orientadorId") Long orientadorId, @Param("usuarioId") Long usuarioId,
+                                 @Param("limite") int limite);
+
+    @Query(SELECT_TCC_DTO + " where t.id in :ids")
+    List<TccDTO> findDTOByIdIn(@Param("ids") List<Long> ids);
+}
@@ -1,17 +1,44 @@
 package com.example.gestaotcc.repository;
 
+import com.example.gestaotcc.dto.UsuarioDTO;
 import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<UsuarioEntity, Long> {
 
+    String SELECT_USUARIO_DTO = "select new com.example.gestaotcc.dto.UsuarioDTO(u.id, u.nome, u.email, u.tipoUsuario, u.areaAtuacao) " +
+            "from UsuarioEntity u";
+
     Optional<UsuarioEntity> findByEmail(String email);
 
     List<UsuarioEntity> findByTipoUsuario(TipoUsuario tipoUsuario);
-}
\ No newline at end of file
+
+    // Projeções para as listagens somente leitura: nunca selecionam a senha
+
+    // Paginada por chave em ordem de cadastro, continuando a partir do último id devolvido
+    @Query(SELECT_USUARIO_DTO + " where u.id > :cursor order by u.id")
+    List<UsuarioDTO> findPaginaDTO(@Param("cursor") long cursor, Limit limit);
+
+    @Query(SELECT_USUARIO_DTO + " where u.tipoUsuario = :tipoUsuario")
+    List<UsuarioDTO> findDTOByTipoUsuario(@Param("tipoUsuario") TipoUsuario tipoUsuario);
+
+    // Serializa as propostas de TCC para o mesmo orientador (CargaOrientadoresService.verificarLimite)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from UsuarioEntity u where u.id = :id")
+    Optional<UsuarioEntity> findComBloqueioById(@Param("id") Long id);
+
+    @Query(SELECT_USUARIO_DTO + " where u.id in :ids")
+    List<UsuarioDTO> findDTOByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,15 @@
+package com.example.gestaotcc.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.InputStream;
+
+// Arquivo ainda em trânsito: o conteúdo é lido uma única vez, direto do corpo da requisição
+@Getter
+@AllArgsConstructor
+public final class ArquivoEnviado {
+
+    private final String nomeOriginal;
+    private final InputStream conteudo;
+}
@@ -0,0 +1,17 @@
+package com.example.gestaotcc.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Resultado da gravação: tamanho e SHA-256 são calculados enquanto o arquivo é escrito
+@Getter
+@AllArgsConstructor
+public final class ArquivoSalvo {
+
+    private final String nome;
+    private final long tamanho;
+    private final String sha256;
+
+    // No endereçamento por conteúdo, indica que o mesmo conteúdo já estava armazenado
+    private final boolean reaproveitado;
+}
@@ -1,54 +1,278 @@
 package com.example.gestaotcc.service;
 
 
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.armazenamento.InfoArquivo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
+// Regras de armazenamento dos arquivos de entrega (limites, nomes, SHA-256 e deduplicação),
+// independentes de onde os bytes ficam: isso é decidido pelo ArmazenamentoArquivos configurado
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class ArquivoStorageService {
 
-    @Value("${app.arquivo.diretorio-upload}")
-    private String diretorioUpload;
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final long BYTES_POR_MB = 1024 * 1024;
+    private static final Pattern NOME_POR_CONTEUDO = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final String PREFIXO_TEMPORARIO = ".envio-";
 
-    public String salvarArquivo(MultipartFile arquivo) {
-        // Criar diretório se não existir
-        try {
-            Path diretorioPath = Paths.get(diretorioUpload);
-            if (!Files.exists(diretorioPath)) {
-                Files.createDirectories(diretorioPath);
-            }
+    private final ArmazenamentoArquivos armazenamento;
+
+    @Value("${app.arquivo.tamanho-maximo-mb-padrao:50}")
+    private long tamanhoMaximoMbPadrao;
+
+    // Limites por extensão, ex.: {pdf:300,zip:500}; extensões fora do mapa usam o padrão
+    @Value("#{${app.arquivo.tamanho-maximo-mb-por-extensao:{:}}}")
+    private Map<String, Long> tamanhoMaximoMbPorExtensao;
+
+    // Endereçamento por conteúdo: o arquivo é gravado como <sha256>.<extensão>, então envios com
+    // os mesmos bytes compartilham um único arquivo, referenciado pelo caminhoArquivo de cada entrega
+    @Value("${app.arquivo.enderecamento-por-conteudo:false}")
+    private boolean enderecamentoPorConteudo;
+
+    // Um arquivo reaproveitado por um envio recente não é excluído, mesmo sem referências: a nova
+    // entrega pode ainda não ter sido salva. O que sobrar fica para a limpeza de órfãos.
+    @Value("${app.arquivo.carencia-exclusao-segundos:300}")
+    private long carenciaExclusaoSegundos;
+
+    // Grava o conteúdo em uma única passada, calculando tamanho e SHA-256 e interrompendo
+    // assim que o limite do tipo de arquivo é ultrapassado
+    public ArquivoSalvo salvarArquivo(ArquivoEnviado arquivo) {
+        String extensao = extrairExtensao(arquivo.getNomeOriginal());
+
+        // No endereçamento por conteúdo o nome definitivo só é conhecido no fim,
+        // então grava sob uma chave temporária e renomeia
+        String chave = enderecamentoPorConteudo
+                ? PREFIXO_TEMPORARIO + UUID.randomUUID() + ".tmp"
+                : UUID.randomUUID().toString() + extensao;
+
+        EntradaVerificada entrada = new EntradaVerificada(arquivo.getConteudo(), tamanhoMaximoBytes(extensao), extensao);
+        long tamanho;
+        try (entrada) {
+            tamanho = armazenamento.gravar(chave, entrada);
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao salvar arquivo: " + e.getMessage());
+        }
+
+        String sha256 = HexFormat.of().formatHex(entrada.digest.digest());
+
+        if (enderecamentoPorConteudo) {
+            return consolidarPorConteudo(chave, sha256, tamanho, extensao);
+        }
 
-            // Gerar nome único para o arquivo
-            String nomeOriginal = arquivo.getOriginalFilename();
-            String extensao = nomeOriginal.substring(nomeOriginal.lastIndexOf("."));
-            String novoNome = UUID.randomUUID().toString() + extensao;
+        log.info("Arquivo {} gravado ({} bytes, sha256 {})", chave, tamanho, sha256);
+        return new ArquivoSalvo(chave, tamanho, sha256, false);
+    }
 
-            Path destino = Paths.get(diretorioUpload).resolve(novoNome);
-            Files.copy(arquivo.getInputStream(), destino);
+    // Para arquivos recebidos em partes (SessaoUploadService): o arquivo local já está completo e
+    // o SHA-256 foi calculado parte a parte, então ele é apenas entregue ao armazenamento
+    public ArquivoSalvo salvarArquivoMontado(Path arquivoMontado, String nomeOriginal, long tamanho, String sha256) {
+        String extensao = extrairExtensao(nomeOriginal);
+        verificarTamanhoPermitido(nomeOriginal, tamanho);
 
-            return novoNome;
+        String chave = enderecamentoPorConteudo
+                ? sha256 + extensao.toLowerCase()
+                : UUID.randomUUID().toString() + extensao;
+        try {
+            if (enderecamentoPorConteudo && armazenamento.consultar(chave).isPresent()) {
+                Files.delete(arquivoMontado);
+                armazenamento.tocar(chave);
+                log.info("Arquivo {} reaproveitado ({} bytes)", chave, tamanho);
+                return new ArquivoSalvo(chave, tamanho, sha256, true);
+            }
+
+            armazenamento.importar(chave, arquivoMontado);
         } catch (IOException e) {
             throw new RuntimeException("Falha ao salvar arquivo: " + e.getMessage());
         }
+
+        log.info("Arquivo {} gravado a partir do upload em partes ({} bytes)", chave, tamanho);
+        return new ArquivoSalvo(chave, tamanho, sha256, false);
+    }
+
+    public void verificarTamanhoPermitido(String nomeOriginal, long tamanho) {
+        String extensao = extrairExtensao(nomeOriginal);
+        long tamanhoMaximo = tamanhoMaximoBytes(extensao);
+        if (tamanho > tamanhoMaximo) {
+            throw new RuntimeException(mensagemTamanhoExcedido(tamanhoMaximo, extensao));
+        }
     }
 
+    // Deve ser chamado apenas quando nenhuma entrega referencia mais o arquivo
     public void excluirArquivo(String nomeArquivo) {
         try {
-            Path arquivo = Paths.get(diretorioUpload).resolve(nomeArquivo);
-            Files.deleteIfExists(arquivo);
+            if (enderecadoPorConteudo(nomeArquivo)) {
+                Optional<InfoArquivo> info = armazenamento.consultar(nomeArquivo);
+                if (info.isPresent() && usadoRecentemente(info.get())) {
+                    log.info("Arquivo {} reaproveitado recentemente; exclusão adiada", nomeArquivo);
+                    return;
+                }
+            }
+
+            armazenamento.excluir(nomeArquivo);
         } catch (IOException e) {
             throw new RuntimeException("Falha ao excluir arquivo: " + e.getMessage());
         }
     }
 
-    public Path obterCaminhoCompleto(String nomeArquivo) {
-        return Paths.get(diretorioUpload).resolve(nomeArquivo);
+    public boolean enderecadoPorConteudo(String nomeArquivo) {
+        return nomeArquivo != null && NOME_POR_CONTEUDO.matcher(nomeArquivo).matches();
+    }
+
+    // Usado pela deduplicação dos arquivos existentes: cria o nome por conteúdo como cópia do arquivo
+    // atual (hard link no disco, cópia no servidor no S3), mantendo o nome antigo até o banco ser atualizado
+    public Optional<ArquivoSalvo> vincularPorConteudo(String nomeArquivo) {
+        try {
+            Optional<InfoArquivo> info = armazenamento.consultar(nomeArquivo);
+            if (info.isEmpty()) {
+                return Optional.empty();
+            }
+
+            String sha256 = calcularSha256(nomeArquivo);
+            String novoNome = sha256 + extrairExtensao(nomeArquivo).toLowerCase();
+            long tamanho = info.get().getTamanho();
+
+            if (armazenamento.consultar(novoNome).isPresent()) {
+                return Optional.of(new ArquivoSalvo(novoNome, tamanho, sha256, true));
+            }
+
+            armazenamento.copiar(nomeArquivo, novoNome);
+            return Optional.of(new ArquivoSalvo(novoNome, tamanho, sha256, false));
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao deduplicar arquivo " + nomeArquivo + ": " + e.getMessage());
+        }
+    }
+
+    private ArquivoSalvo consolidarPorConteudo(String temporario, String sha256, long tamanho, String extensao) {
+        String nome = sha256 + extensao.toLowerCase();
+        try {
+            if (armazenamento.consultar(nome).isPresent()) {
+                // Conteúdo já armazenado: descarta o temporário e marca o arquivo como em uso
+                armazenamento.excluir(temporario);
+                armazenamento.tocar(nome);
+                log.info("Arquivo {} reaproveitado ({} bytes)", nome, tamanho);
+                return new ArquivoSalvo(nome, tamanho, sha256, true);
+            }
+
+            armazenamento.mover(temporario, nome);
+            log.info("Arquivo {} gravado ({} bytes)", nome, tamanho);
+            return new ArquivoSalvo(nome, tamanho, sha256, false);
+        } catch (IOException e) {
+            excluirSilenciosamente(temporario);
+            throw new RuntimeException("Falha ao salvar arquivo: " + e.getMessage());
+        }
+    }
+
+    private boolean usadoRecentemente(InfoArquivo info) {
+        return info.getUltimaModificacao().isAfter(Instant.now().minusSeconds(carenciaExclusaoSegundos));
+    }
+
+    private String calcularSha256(String nomeArquivo) throws IOException {
+        MessageDigest digest = criarDigest();
+        try (InputStream entrada = armazenamento.ler(nomeArquivo)) {
+            byte[] buffer = new byte[TAMANHO_BUFFER];
+            int lidos;
+            while ((lidos = entrada.read(buffer)) != -1) {
+                digest.update(buffer, 0, lidos);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private long tamanhoMaximoBytes(String extensao) {
+        String chave = extensao.startsWith(".") ? extensao.substring(1).toLowerCase() : extensao.toLowerCase();
+        Long limiteMb = tamanhoMaximoMbPorExtensao != null ? tamanhoMaximoMbPorExtensao.get(chave) : null;
+        return (limiteMb != null ? limiteMb : tamanhoMaximoMbPadrao) * BYTES_POR_MB;
+    }
+
+    // O nome vem do cliente: só aceita extensões simples para não permitir caminhos no nome gravado
+    private String extrairExtensao(String nomeOriginal) {
+        if (nomeOriginal == null || !nomeOriginal.contains(".")) {
+            return "";
+        }
+        String extensao = nomeOriginal.substring(nomeOriginal.lastIndexOf("."));
+        return extensao.matches("\\.[A-Za-z0-9]{1,10}") ? extensao : "";
+    }
+
+    private static String mensagemTamanhoExcedido(long tamanhoMaximo, String extensao) {
+        return "Arquivo excede o tamanho máximo de " + tamanhoMaximo / BYTES_POR_MB +
+                " MB permitido para arquivos " + (extensao.isEmpty() ? "sem extensão" : extensao);
+    }
+
+    private static MessageDigest criarDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void excluirSilenciosamente(String chave) {
+        try {
+            armazenamento.excluir(chave);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo incompleto {}", chave, e);
+        }
+    }
+
+    // Calcula o SHA-256 e aplica o limite de tamanho enquanto o armazenamento consome o stream;
+    // a exceção do limite interrompe a gravação e o armazenamento descarta o que foi gravado
+    private static final class EntradaVerificada extends FilterInputStream {
+
+        private final MessageDigest digest = criarDigest();
+        private final long tamanhoMaximo;
+        private final String extensao;
+        private long lidos;
+
+        private EntradaVerificada(InputStream entrada, long tamanhoMaximo, String extensao) {
+            super(entrada);
+            this.tamanhoMaximo = tamanhoMaximo;
+            this.extensao = extensao;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] umByte = new byte[1];
+            return read(umByte, 0, 1) == -1 ? -1 : umByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int deslocamento, int quantidade) throws IOException {
+            int lidosAgora = super.read(buffer, deslocamento, quantidade);
+            if (lidosAgora <= 0) {
+                return lidosAgora;
+            }
+
+            lidos += lidosAgora;
+            if (lidos > tamanhoMaximo) {
+                throw new RuntimeException(mensagemTamanhoExcedido(tamanhoMaximo, extensao));
+            }
+            digest.update(buffer, deslocamento, lidosAgora);
+            return lidosAgora;
+        }
+
+        @Override
+        public long skip(long quantidade) {
+            // Pular bytes deixaria o hash incompleto
+            return 0;
+        }
     }
-}
\ No newline at end of file
+}
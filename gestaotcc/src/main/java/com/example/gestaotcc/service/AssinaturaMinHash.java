@@ -0,0 +1,129 @@
+package com.example.gestaotcc.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Assinatura MinHash do texto de uma entrega. O texto vira o conjunto de shingles (sequências de
+// TAMANHO_SHINGLE palavras) e, para cada uma das QUANTIDADE_HASHES funções de hash, guarda-se o menor
+// valor entre os shingles: a fração de posições iguais entre duas assinaturas estima a similaridade de
+// Jaccard entre os dois conjuntos, sem precisar comparar os textos.
+//
+// Para o LSH a assinatura é dividida em bandas de LINHAS_POR_BANDA valores; duas entregas viram
+// candidatas quando coincidem em pelo menos uma banda inteira. Com 32 bandas de 4 linhas, pares com
+// Jaccard 0,5 são encontrados ~87% das vezes e pares com 0,7 praticamente sempre, enquanto pares com
+// 0,1 quase nunca chegam a ser comparados.
+@Getter
+@AllArgsConstructor
+public final class AssinaturaMinHash {
+
+    static final int QUANTIDADE_HASHES = 128;
+    static final int LINHAS_POR_BANDA = 4;
+    static final int QUANTIDADE_BANDAS = QUANTIDADE_HASHES / LINHAS_POR_BANDA;
+    static final int TAMANHO_SHINGLE = 5;
+
+    private static final Pattern PALAVRA = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    // Fixas: assinaturas gravadas no banco só são comparáveis se calculadas com as mesmas sementes
+    private static final long[] SEMENTES = new SplittableRandom(0x5EED_7CC0L).longs(QUANTIDADE_HASHES).toArray();
+
+    private final int[] minimos;
+
+    private final int quantidadeShingles;
+
+    public static AssinaturaMinHash calcular(String texto) {
+        // Sem acentos e em minúsculas, para que diferenças de digitação não escondam um trecho copiado
+        String normalizado = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        int[] minimos = new int[QUANTIDADE_HASHES];
+        Arrays.fill(minimos, Integer.MAX_VALUE);
+
+        long[] janela = new long[TAMANHO_SHINGLE];
+        int palavras = 0;
+        int shingles = 0;
+        Matcher matcher = PALAVRA.matcher(normalizado);
+        while (matcher.find()) {
+            janela[palavras % TAMANHO_SHINGLE] = hashPalavra(normalizado, matcher.start(), matcher.end());
+            palavras++;
+            if (palavras < TAMANHO_SHINGLE) {
+                continue;
+            }
+
+            // Combina as palavras da janela na ordem em que aparecem no texto
+            long shingle = 0;
+            for (int i = 0; i < TAMANHO_SHINGLE; i++) {
+                shingle = misturar(shingle * 31 + janela[(palavras + i) % TAMANHO_SHINGLE]);
+            }
+            for (int i = 0; i < QUANTIDADE_HASHES; i++) {
+                int valor = (int) (misturar(shingle ^ SEMENTES[i]) >>> 32);
+                if (valor < minimos[i]) {
+                    minimos[i] = valor;
+                }
+            }
+            shingles++;
+        }
+        return new AssinaturaMinHash(minimos, shingles);
+    }
+
+    // Um valor por banda; a banda entra no hash para que bandas diferentes nunca coincidam entre si
+    public long[] bandas() {
+        long[] bandas = new long[QUANTIDADE_BANDAS];
+        for (int banda = 0; banda < QUANTIDADE_BANDAS; banda++) {
+            long valor = banda;
+            for (int linha = 0; linha < LINHAS_POR_BANDA; linha++) {
+                valor = misturar(valor * 31 + minimos[banda * LINHAS_POR_BANDA + linha]);
+            }
+            bandas[banda] = valor;
+        }
+        return bandas;
+    }
+
+    // Estimativa da similaridade de Jaccard (erro padrão de ~0,04 com 128 hashes)
+    public double similaridade(AssinaturaMinHash outra) {
+        int iguais = 0;
+        for (int i = 0; i < QUANTIDADE_HASHES; i++) {
+            if (minimos[i] == outra.minimos[i]) {
+                iguais++;
+            }
+        }
+        return (double) iguais / QUANTIDADE_HASHES;
+    }
+
+    public byte[] serializar() {
+        ByteBuffer buffer = ByteBuffer.allocate(QUANTIDADE_HASHES * Integer.BYTES);
+        buffer.asIntBuffer().put(minimos);
+        return buffer.array();
+    }
+
+    public static AssinaturaMinHash desserializar(byte[] bytes, int quantidadeShingles) {
+        int[] minimos = new int[QUANTIDADE_HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(minimos);
+        return new AssinaturaMinHash(minimos, quantidadeShingles);
+    }
+
+    // FNV-1a de 64 bits sobre os caracteres da palavra, sem criar a String
+    private static long hashPalavra(String texto, int inicio, int fim) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = inicio; i < fim; i++) {
+            hash = (hash ^ texto.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Finalizador do SplitMix64: espalha bem valores próximos
+    private static long misturar(long valor) {
+        valor = (valor ^ (valor >>> 30)) * 0xbf58476d1ce4e5b9L;
+        valor = (valor ^ (valor >>> 27)) * 0x94d049bb133111ebL;
+        return valor ^ (valor >>> 31);
+    }
+}
@@ -1,16 +1,22 @@
 package com.example.gestaotcc.service;
 
+import com.example.gestaotcc.dto.AvaliacaoDTO;
+import com.example.gestaotcc.dto.PaginaDTO;
+import com.example.gestaotcc.evento.AvaliacaoAlteradaEvento;
 import com.example.gestaotcc.model.AvaliacaoEntity;
 import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.TccEntity;
 import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
 import com.example.gestaotcc.model.enuns.StatusTcc;
 import com.example.gestaotcc.model.enuns.TipoEntrega;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.example.gestaotcc.repository.AvaliacaoRepository;
 import com.example.gestaotcc.repository.EntregaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +32,13 @@ public class AvaliacaoService {
 
     private final TccService tccService;
 
+    private final PaginacaoService paginacao;
+
+    private final ResumoTccService resumoTcc;
+
+    private final ApplicationEventPublisher eventos;
+
+    @Transactional
     public AvaliacaoEntity cadastrarAvaliacao(AvaliacaoEntity avaliacao, UsuarioEntity usuarioSolicitante) {
         // Validações
         EntregaEntity entrega = entregaRepository.findById(avaliacao.getEntrega().getId())
@@ -67,10 +80,14 @@ public class AvaliacaoService {
             tccService.atualizarStatusTcc(tcc.getId(), StatusTcc.REPROVADO, usuarioSolicitante);
         }
 
-        return avaliacaoRepository.save(avaliacao);
+        AvaliacaoEntity avaliacaoSalva = avaliacaoRepository.save(avaliacao);
+        resumoTcc.recalcular(tcc.getId());
+        eventos.publishEvent(AvaliacaoAlteradaEvento.criada(avaliacaoSalva));
+        return avaliacaoSalva;
     }
 
-    public AvaliacaoEntity atualizarAvaliacao(AvaliacaoEntity avaliacao, UsuarioEntity usuarioSolicitante) {
+    @Transactional
+    public AvaliacaoEntity atualizarAvaliacao(AvaliacaoEntity avaliacao, UsuarioLogado usuarioSolicitante) {
         AvaliacaoEntity avaliacaoExistente = avaliacaoRepository.findById(avaliacao.getId())
                 .orElseThrow(() -> new RuntimeException("Avaliação não encontrada"));
 
@@ -89,14 +106,21 @@ public class AvaliacaoService {
             throw new RuntimeException("A nota deve estar entre 0 e 10");
         }
 
+        Double notaAnterior = avaliacaoExistente.getNota();
+        LocalDateTime dataAnterior = avaliacaoExistente.getDataAvaliacao();
         avaliacaoExistente.setNota(avaliacao.getNota());
         avaliacaoExistente.setComentario(avaliacao.getComentario());
         avaliacaoExistente.setDataAvaliacao(LocalDateTime.now());
 
-        return avaliacaoRepository.save(avaliacaoExistente);
+        AvaliacaoEntity avaliacaoSalva = avaliacaoRepository.save(avaliacaoExistente);
+        resumoTcc.recalcular(avaliacaoExistente.getEntrega().getTcc().getId());
+        eventos.publishEvent(new AvaliacaoAlteradaEvento(notaAnterior, dataAnterior,
+                avaliacaoSalva.getNota(), avaliacaoSalva.getDataAvaliacao()));
+        return avaliacaoSalva;
     }
 
-    public List<AvaliacaoEntity> listarAvaliacoesPorEntrega(Long entregaId, UsuarioEntity usuarioSolicitante) {
+    @Transactional(readOnly = true)
+    public List<AvaliacaoDTO> listarAvaliacoesDTOPorEntrega(Long entregaId, UsuarioLogado usuarioSolicitante) {
         EntregaEntity entrega = entregaRepository.findById(entregaId)
                 .orElseThrow(() -> new RuntimeException("Entrega não encontrada"));
 
@@ -111,20 +135,23 @@ public class AvaliacaoService {
             throw new RuntimeException("Usuário não tem permissão para visualizar estas avaliações");
         }
 
-        return avaliacaoRepository.findByEntrega(entrega);
+        return avaliacaoRepository.findDTOByEntregaId(entregaId);
     }
 
-    public List<AvaliacaoEntity> listarAvaliacoesPorOrientador(Long orientadorId) {
-        UsuarioEntity orientador = new UsuarioEntity();
-        orientador.setId(orientadorId);
-        return avaliacaoRepository.findByOrientador(orientador);
+    @Transactional(readOnly = true)
+    public PaginaDTO<AvaliacaoDTO> listarAvaliacoesPaginadoPorOrientador(Long orientadorId, String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<AvaliacaoDTO> avaliacoes = avaliacaoRepository.findPaginaDTOByOrientadorId(orientadorId,
+                paginacao.cursorDecrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(avaliacoes, tamanhoPagina, AvaliacaoDTO::getId);
     }
 
     public Optional<AvaliacaoEntity> buscarPorId(Long id) {
         return avaliacaoRepository.findById(id);
     }
 
-    public void deletarAvaliacao(Long id, UsuarioEntity usuarioSolicitante) {
+    @Transactional
+    public void deletarAvaliacao(Long id, UsuarioLogado usuarioSolicitante) {
         AvaliacaoEntity avaliacao = avaliacaoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Avaliação não encontrada"));
 
@@ -138,6 +165,9 @@ public class AvaliacaoService {
             throw new RuntimeException("Alunos não podem excluir avaliações");
         }
 
+        Long tccId = avaliacao.getEntrega().getTcc().getId();
         avaliacaoRepository.deleteById(id);
+        resumoTcc.recalcular(tccId);
+        eventos.publishEvent(AvaliacaoAlteradaEvento.excluida(avaliacao));
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.RecomendacaoOrientadorDTO;
+import com.example.gestaotcc.dto.UsuarioDTO;
+import com.example.gestaotcc.evento.SituacaoTcc;
+import com.example.gestaotcc.evento.TccAlteradoEvento;
+import com.example.gestaotcc.model.DashboardContadorEntity;
+import com.example.gestaotcc.model.enuns.DimensaoDashboard;
+import com.example.gestaotcc.model.enuns.StatusTcc;
+import com.example.gestaotcc.repository.DashboardContadorRepository;
+import com.example.gestaotcc.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.gestaotcc.model.DashboardContadorEntity.SEM_PERIODO;
+
+// Carga de TCCs em andamento por orientador, para recomendar orientadores na proposta e aplicar o limite
+// opcional de orientandos. Os contadores ficam em memória, atualizados a cada TCC alterado nesta instância
+// (depois do commit) e recarregados periodicamente dos contadores do painel, que refletem todas as instâncias.
+@Slf4j
+@Service
+public class CargaOrientadoresService {
+
+    private static final int MAXIMO_RECOMENDACOES = 50;
+    // Palavras curtas ("de", "e") não contam na afinidade de área
+    private static final int TAMANHO_MINIMO_PALAVRA = 3;
+    private static final int TAMANHO_RADICAL = 6;
+
+    private final IndiceOrientadoresService indiceOrientadores;
+    private final DashboardContadorRepository contadorRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    private final Map<Long, AtomicLong> emAndamento = new ConcurrentHashMap<>();
+
+    // 0 desativa o limite
+    @Value("${app.orientadores.limite-tccs-em-andamento:0}")
+    private int limiteTccsEmAndamento;
+
+    // Peso da afinidade de área na pontuação; o restante vai para a carga
+    @Value("${app.orientadores.recomendacao.peso-area:0.6}")
+    private double pesoArea;
+
+    public CargaOrientadoresService(IndiceOrientadoresService indiceOrientadores,
+                                    DashboardContadorRepository contadorRepository,
+                                    UsuarioRepository usuarioRepository) {
+        this.indiceOrientadores = indiceOrientadores;
+        this.contadorRepository = contadorRepository;
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.orientadores.recarga-intervalo-ms:600000}",
+            fixedDelayString = "${app.orientadores.recarga-intervalo-ms:600000}")
+    public void recarregar() {
+        List<DashboardContadorEntity> contadores = contadorRepository.findByDimensaoAndPeriodoEntre(
+                DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, SEM_PERIODO, SEM_PERIODO);
+
+        Set<Long> ids = new HashSet<>();
+        for (DashboardContadorEntity contador : contadores) {
+            Long orientadorId = Long.valueOf(contador.getChave());
+            ids.add(orientadorId);
+            emAndamento.computeIfAbsent(orientadorId, id -> new AtomicLong()).set(contador.getQuantidade());
+        }
+        emAndamento.keySet().removeIf(id -> !ids.contains(id));
+
+        log.debug("Carga dos orientadores recarregada: {} orientadores com TCCs em andamento", ids.size());
+    }
+
+    // Só depois do commit: um rollback não altera a carga
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarTcc(TccAlteradoEvento evento) {
+        Long anterior = orientadorEmAndamento(evento.getAnterior());
+        Long atual = orientadorEmAndamento(evento.getAtual());
+        if (anterior != null && anterior.equals(atual)) {
+            return;
+        }
+        if (anterior != null) {
+            emAndamento.computeIfAbsent(anterior, id -> new AtomicLong()).updateAndGet(carga -> Math.max(0, carga - 1));
+        }
+        if (atual != null) {
+            emAndamento.computeIfAbsent(atual, id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private static Long orientadorEmAndamento(SituacaoTcc situacao) {
+        return situacao != null && situacao.getStatus() == StatusTcc.EM_ANDAMENTO ? situacao.getOrientadorId() : null;
+    }
+
+    public long cargaAtual(Long orientadorId) {
+        AtomicLong carga = emAndamento.get(orientadorId);
+        return carga != null ? carga.get() : 0;
+    }
+
+    // Chamado no cadastro da proposta, dentro da transação. O orientador fica bloqueado até o commit, então
+    // propostas simultâneas para ele são avaliadas uma de cada vez, e a contagem vem do banco (contador do
+    // painel, já atualizado pelas propostas confirmadas), não da memória desta instância.
+    public void verificarLimite(Long orientadorId) {
+        if (limiteTccsEmAndamento <= 0) {
+            return;
+        }
+
+        usuarioRepository.findComBloqueioById(orientadorId);
+        long carga = contadorRepository.findById(new DashboardContadorEntity.Chave(
+                        DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, orientadorId.toString(), SEM_PERIODO))
+                .map(DashboardContadorEntity::getQuantidade)
+                .orElse(0L);
+        if (carga >= limiteTccsEmAndamento) {
+            throw new RuntimeException("O orientador já atingiu o limite de " + limiteTccsEmAndamento
+                    + " TCCs em andamento");
+        }
+    }
+
+    // Orientadores para uma proposta da área informada: combina a afinidade com a área de atuação e a folga
+    // de carga. Quem já atingiu o limite fica de fora. Lê só a memória: custo constante por orientador.
+    public List<RecomendacaoOrientadorDTO> recomendar(String areaProposta, Integer quantidade) {
+        List<String> palavrasProposta = palavrasRelevantes(areaProposta);
+        List<UsuarioDTO> orientadores = indiceOrientadores.listar();
+
+        long maiorCarga = orientadores.stream().mapToLong(orientador -> cargaAtual(orientador.getId())).max().orElse(0);
+        double referencia = limiteTccsEmAndamento > 0 ? limiteTccsEmAndamento : maiorCarga + 1;
+        int limite = Math.min(Math.max(quantidade != null ? quantidade : 10, 1), MAXIMO_RECOMENDACOES);
+
+        return orientadores.stream()
+                .filter(orientador -> limiteTccsEmAndamento <= 0 || cargaAtual(orientador.getId()) < limiteTccsEmAndamento)
+                .map(orientador -> {
+                    long carga = cargaAtual(orientador.getId());
+                    double afinidade = afinidade(palavrasProposta, palavrasRelevantes(orientador.getAreaAtuacao()));
+                    double folga = 1 - Math.min(carga / referencia, 1);
+                    return new RecomendacaoOrientadorDTO(orientador.getId(), orientador.getNome(),
+                            orientador.getAreaAtuacao(), carga, afinidade,
+                            pesoArea * afinidade + (1 - pesoArea) * folga);
+                })
+                .sorted(Comparator.comparingDouble(RecomendacaoOrientadorDTO::getPontuacao).reversed()
+                        .thenComparingLong(RecomendacaoOrientadorDTO::getTccsEmAndamento)
+                        .thenComparing(RecomendacaoOrientadorDTO::getNome,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limite)
+                .toList();
+    }
+
+    private static List<String> palavrasRelevantes(String texto) {
+        return IndiceOrientadoresService.normalizar(texto).stream()
+                .filter(palavra -> palavra.length() >= TAMANHO_MINIMO_PALAVRA)
+                .distinct()
+                .toList();
+    }
+
+    static double afinidade(List<String> proposta, List<String> atuacao) {
+        if (proposta.isEmpty() || atuacao.isEmpty()) {
+            return 0;
+        }
+        long coincidentes = proposta.stream()
+                .filter(palavra -> atuacao.stream().anyMatch(outra -> coincidem(palavra, outra)))
+                .count();
+        return (double) coincidentes / proposta.size();
+    }
+
+    // Uma palavra é prefixo da outra, ou ambas têm o mesmo radical ("computacao" e "computacional")
+    private static boolean coincidem(String palavra, String outra) {
+        int comum = 0;
+        int tamanho = Math.min(palavra.length(), outra.length());
+        while (comum < tamanho && palavra.charAt(comum) == outra.charAt(comum)) {
+            comum++;
+        }
+        return comum == tamanho || comum >= TAMANHO_RADICAL;
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.DashboardDTO;
+import com.example.gestaotcc.dto.UsuarioDTO;
+import com.example.gestaotcc.evento.AvaliacaoAlteradaEvento;
+import com.example.gestaotcc.evento.EntregaAlteradaEvento;
+import com.example.gestaotcc.evento.SituacaoTcc;
+import com.example.gestaotcc.evento.TccAlteradoEvento;
+import com.example.gestaotcc.model.DashboardContadorEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
+import com.example.gestaotcc.model.enuns.DimensaoDashboard;
+import com.example.gestaotcc.model.enuns.StatusTcc;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.DashboardContadorRepository;
+import com.example.gestaotcc.repository.ResumoTccRepository;
+import com.example.gestaotcc.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.example.gestaotcc.model.DashboardContadorEntity.SEM_PERIODO;
+
+// Painel do coordenador. Em vez de varrer TCCs e avaliações a cada consulta, lê contadores
+// pré-agregados (dashboard_contadores), mantidos pelos eventos publicados nas escritas de TCCs, entregas
+// e avaliações. As variações de uma transação são acumuladas e aplicadas no commit, em ordem de chave,
+// como somas atômicas: uma linha por contador alterado, sem leitura prévia.
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final DateTimeFormatter FORMATO_PERIODO = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int FAIXAS_NOTA = 10;
+    private static final int MAXIMO_MESES = 120;
+
+    private final DashboardContadorRepository contadorRepository;
+    private final ResumoTccRepository resumoTccRepository;
+    private final UsuarioRepository usuarioRepository;
+
+    @Value("${app.dashboard.meses-padrao:12}")
+    private int mesesPadrao;
+
+    // Não há prazo cadastrado por entrega: a pontualidade é medida pelo tempo desde a última entrega
+    @Value("${app.dashboard.dias-sem-entrega:30}")
+    private int diasSemEntrega;
+
+    @EventListener
+    public void aoAlterarTcc(TccAlteradoEvento evento) {
+        Map<DashboardContadorEntity.Chave, Long> variacoes = new TreeMap<>();
+        contabilizarTcc(variacoes, evento.getAnterior(), -1);
+        contabilizarTcc(variacoes, evento.getAtual(), 1);
+        registrar(variacoes);
+    }
+
+    @EventListener
+    public void aoAlterarEntrega(EntregaAlteradaEvento evento) {
+        Map<DashboardContadorEntity.Chave, Long> variacoes = new TreeMap<>();
+        somar(variacoes, DimensaoDashboard.ENTREGAS_POR_TIPO, evento.getTipo().name(),
+                periodo(evento.getDataEnvio()), evento.getVariacao());
+        registrar(variacoes);
+    }
+
+    @EventListener
+    public void aoAlterarAvaliacao(AvaliacaoAlteradaEvento evento) {
+        Map<DashboardContadorEntity.Chave, Long> variacoes = new TreeMap<>();
+        contabilizarNota(variacoes, evento.getNotaAnterior(), evento.getDataAnterior(), -1);
+        contabilizarNota(variacoes, evento.getNota(), evento.getDataAvaliacao(), 1);
+        registrar(variacoes);
+    }
+
+    private static void contabilizarTcc(Map<DashboardContadorEntity.Chave, Long> variacoes, SituacaoTcc situacao,
+                                        int sinal) {
+        if (situacao == null) {
+            return;
+        }
+        somar(variacoes, DimensaoDashboard.TCCS_POR_STATUS, situacao.getStatus().name(), SEM_PERIODO, sinal);
+        somar(variacoes, DimensaoDashboard.TCCS_POR_AREA, situacao.getArea(), SEM_PERIODO, sinal);
+        if (situacao.getStatus() == StatusTcc.EM_ANDAMENTO && situacao.getOrientadorId() != null) {
+            somar(variacoes, DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR,
+                    situacao.getOrientadorId().toString(), SEM_PERIODO, sinal);
+        }
+    }
+
+    private static void contabilizarNota(Map<DashboardContadorEntity.Chave, Long> variacoes, Double nota,
+                                         LocalDateTime data, int sinal) {
+        if (nota == null || data == null) {
+            return;
+        }
+        String periodo = periodo(data);
+        somar(variacoes, DimensaoDashboard.AVALIACOES_POR_FAIXA_NOTA, String.valueOf(faixa(nota)), periodo, sinal);
+        somar(variacoes, DimensaoDashboard.SOMA_NOTAS, SEM_PERIODO, periodo, sinal * Math.round(nota * 100));
+    }
+
+    private static void somar(Map<DashboardContadorEntity.Chave, Long> variacoes, DimensaoDashboard dimensao,
+                              String chave, String periodo, long variacao) {
+        if (chave != null) {
+            variacoes.merge(new DashboardContadorEntity.Chave(dimensao, chave, periodo), variacao, Long::sum);
+        }
+    }
+
+    // Dentro de uma transação, as variações esperam o commit: quem altera o mesmo contador (status
+    // EM_ANDAMENTO, por exemplo) fica bloqueado só durante o commit, e um rollback não deixa rastro
+    private void registrar(Map<DashboardContadorEntity.Chave, Long> variacoes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(variacoes);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<DashboardContadorEntity.Chave, Long> pendentes =
+                (Map<DashboardContadorEntity.Chave, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes == null) {
+            Map<DashboardContadorEntity.Chave, Long> daTransacao = new TreeMap<>();
+            TransactionSynchronizationManager.bindResource(this, daTransacao);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    aplicar(daTransacao);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DashboardService.this);
+                }
+            });
+            pendentes = daTransacao;
+        }
+
+        Map<DashboardContadorEntity.Chave, Long> acumuladas = pendentes;
+        variacoes.forEach((chave, variacao) -> acumuladas.merge(chave, variacao, Long::sum));
+    }
+
+    // Percorre em ordem de chave: duas transações que alteram os mesmos contadores os bloqueiam na mesma ordem
+    private void aplicar(Map<DashboardContadorEntity.Chave, Long> variacoes) {
+        new TreeMap<>(variacoes).forEach((chave, variacao) -> {
+            if (variacao != 0) {
+                contadorRepository.somar(chave.getDimensao().name(), chave.getChave(), chave.getPeriodo(), variacao);
+            }
+        });
+    }
+
+    // Uma leitura pela chave primária por dimensão, mais a contagem dos TCCs sem entrega recente
+    @Transactional(readOnly = true)
+    public DashboardDTO montar(YearMonth de, YearMonth ate, UsuarioLogado usuarioSolicitante) {
+        if (usuarioSolicitante.getTipoUsuario() != TipoUsuario.COORDENADOR) {
+            throw new RuntimeException("Apenas coordenadores podem acessar o painel");
+        }
+
+        YearMonth fim = ate != null ? ate : YearMonth.now();
+        YearMonth inicio = de != null ? de : fim.minusMonths(mesesPadrao - 1L);
+        if (inicio.isAfter(fim)) {
+            throw new RuntimeException("O início do período deve ser anterior ao fim");
+        }
+        if (inicio.plusMonths(MAXIMO_MESES).isBefore(fim.plusMonths(1))) {
+            throw new RuntimeException("O período pode ter no máximo " + MAXIMO_MESES + " meses");
+        }
+        String periodoInicial = inicio.format(FORMATO_PERIODO);
+        String periodoFinal = fim.format(FORMATO_PERIODO);
+
+        Map<String, Long> tccsPorStatus = new LinkedHashMap<>();
+        for (StatusTcc status : StatusTcc.values()) {
+            tccsPorStatus.put(status.name(), 0L);
+        }
+        contadores(DimensaoDashboard.TCCS_POR_STATUS, SEM_PERIODO, SEM_PERIODO)
+                .forEach(contador -> tccsPorStatus.put(contador.getChave(), contador.getQuantidade()));
+
+        Map<String, Long> tccsPorArea = contadores(DimensaoDashboard.TCCS_POR_AREA, SEM_PERIODO, SEM_PERIODO).stream()
+                .sorted(Comparator.comparingLong(DashboardContadorEntity::getQuantidade).reversed()
+                        .thenComparing(DashboardContadorEntity::getChave))
+                .collect(Collectors.toMap(DashboardContadorEntity::getChave, DashboardContadorEntity::getQuantidade,
+                        Long::sum, LinkedHashMap::new));
+
+        Map<String, Long> distribuicaoNotas = new LinkedHashMap<>();
+        for (int faixa = 0; faixa < FAIXAS_NOTA; faixa++) {
+            distribuicaoNotas.put(faixa + "-" + (faixa + 1), 0L);
+        }
+
+        Map<String, DashboardDTO.Periodo> periodos = new LinkedHashMap<>();
+        for (YearMonth mes = inicio; !mes.isAfter(fim); mes = mes.plusMonths(1)) {
+            String periodo = mes.format(FORMATO_PERIODO);
+            periodos.put(periodo, new DashboardDTO.Periodo(periodo, 0, 0, 0, null));
+        }
+        for (DashboardContadorEntity contador : contadores(DimensaoDashboard.ENTREGAS_POR_TIPO, periodoInicial, periodoFinal)) {
+            DashboardDTO.Periodo periodo = periodos.get(contador.getPeriodo());
+            if (TipoEntrega.PARCIAL.name().equals(contador.getChave())) {
+                periodo.setEntregasParciais(periodo.getEntregasParciais() + contador.getQuantidade());
+            } else {
+                periodo.setEntregasFinais(periodo.getEntregasFinais() + contador.getQuantidade());
+            }
+        }
+        for (DashboardContadorEntity contador : contadores(DimensaoDashboard.AVALIACOES_POR_FAIXA_NOTA, periodoInicial, periodoFinal)) {
+            int faixa = Integer.parseInt(contador.getChave());
+            distribuicaoNotas.merge(faixa + "-" + (faixa + 1), contador.getQuantidade(), Long::sum);
+            DashboardDTO.Periodo periodo = periodos.get(contador.getPeriodo());
+            periodo.setAvaliacoes(periodo.getAvaliacoes() + contador.getQuantidade());
+        }
+        for (DashboardContadorEntity contador : contadores(DimensaoDashboard.SOMA_NOTAS, periodoInicial, periodoFinal)) {
+            DashboardDTO.Periodo periodo = periodos.get(contador.getPeriodo());
+            if (periodo.getAvaliacoes() > 0) {
+                periodo.setMediaNotas(Math.round(contador.getQuantidade() / (double) periodo.getAvaliacoes()) / 100.0);
+            }
+        }
+
+        long semEntregaRecente = resumoTccRepository.countEmAndamentoSemEntregaDesde(
+                LocalDateTime.now().minusDays(diasSemEntrega));
+
+        return new DashboardDTO(periodoInicial, periodoFinal, tccsPorStatus, tccsPorArea, cargaOrientadores(),
+                distribuicaoNotas, new ArrayList<>(periodos.values()), semEntregaRecente, diasSemEntrega);
+    }
+
+    private List<DashboardDTO.CargaOrientador> cargaOrientadores() {
+        List<DashboardContadorEntity> contadores =
+                contadores(DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, SEM_PERIODO, SEM_PERIODO);
+        if (contadores.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, String> nomes = usuarioRepository.findDTOByIdIn(contadores.stream()
+                        .map(contador -> Long.valueOf(contador.getChave()))
+                        .toList()).stream()
+                .collect(Collectors.toMap(UsuarioDTO::getId, UsuarioDTO::getNome));
+        return contadores.stream()
+                .map(contador -> {
+                    Long orientadorId = Long.valueOf(contador.getChave());
+                    return new DashboardDTO.CargaOrientador(orientadorId, nomes.get(orientadorId),
+                            contador.getQuantidade());
+                })
+                .sorted(Comparator.comparingLong(DashboardDTO.CargaOrientador::getTccsEmAndamento).reversed()
+                        .thenComparing(DashboardDTO.CargaOrientador::getOrientadorId))
+                .toList();
+    }
+
+    private List<DashboardContadorEntity> contadores(DimensaoDashboard dimensao, String de, String ate) {
+        return contadorRepository.findByDimensaoAndPeriodoEntre(dimensao, de, ate);
+    }
+
+    static String periodo(LocalDateTime data) {
+        return data.format(FORMATO_PERIODO);
+    }
+
+    // Faixas de um ponto: [0, 1), [1, 2), ..., [9, 10], com o 10 na última
+    static int faixa(double nota) {
+        return (int) Math.max(0, Math.min(FAIXAS_NOTA - 1, Math.floor(nota)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.repository.EntregaRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+// Migração única do diretório de upload para o endereçamento por conteúdo. Habilitada com
+// app.arquivo.deduplicar-existentes=true; pode ser repetida, pois arquivos já migrados são ignorados.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.arquivo.deduplicar-existentes", havingValue = "true")
+public class DeduplicacaoArquivosService implements ApplicationRunner {
+
+    private static final long BYTES_POR_MB = 1024 * 1024;
+
+    private final EntregaRepository entregaRepository;
+    private final ArquivoStorageService arquivoStorageService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        deduplicar();
+    }
+
+    public ResultadoDeduplicacao deduplicar() {
+        List<String> caminhos = entregaRepository.findCaminhosArquivoDistintos();
+        int migrados = 0;
+        int duplicados = 0;
+        int ausentes = 0;
+        long bytesLiberados = 0;
+
+        for (String caminho : caminhos) {
+            if (arquivoStorageService.enderecadoPorConteudo(caminho)) {
+                continue;
+            }
+
+            Optional<ArquivoSalvo> vinculado = arquivoStorageService.vincularPorConteudo(caminho);
+            if (vinculado.isEmpty()) {
+                log.warn("Arquivo {} referenciado por entregas não existe no diretório de upload", caminho);
+                ausentes++;
+                continue;
+            }
+
+            // Primeiro o banco passa a apontar para o novo nome; só então o antigo é removido
+            ArquivoSalvo arquivo = vinculado.get();
+            entregaRepository.atualizarCaminhoArquivo(caminho, arquivo.getNome());
+            arquivoStorageService.excluirArquivo(caminho);
+
+            // O nome por conteúdo já existia: os bytes do arquivo antigo deixam de ocupar o disco
+            if (arquivo.isReaproveitado()) {
+                duplicados++;
+                bytesLiberados += arquivo.getTamanho();
+            }
+            migrados++;
+        }
+
+        ResultadoDeduplicacao resultado = new ResultadoDeduplicacao(migrados, duplicados, ausentes, bytesLiberados);
+        log.info("Deduplicação concluída: {} arquivos migrados, {} duplicados removidos, {} MB liberados, {} ausentes",
+                migrados, duplicados, bytesLiberados / BYTES_POR_MB, ausentes);
+        return resultado;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class ResultadoDeduplicacao {
+        private final int migrados;
+        private final int duplicados;
+        private final int ausentes;
+        private final long bytesLiberados;
+    }
+}
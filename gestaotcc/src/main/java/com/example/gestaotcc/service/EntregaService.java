@@ -1,17 +1,22 @@
 package com.example.gestaotcc.service;
 
+import com.example.gestaotcc.dto.EntregaDTO;
+import com.example.gestaotcc.evento.AvaliacaoAlteradaEvento;
+import com.example.gestaotcc.evento.EntregaAlteradaEvento;
 import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.TccEntity;
-import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
 import com.example.gestaotcc.model.enuns.StatusTcc;
 import com.example.gestaotcc.model.enuns.TipoEntrega;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.example.gestaotcc.repository.EntregaRepository;
 import com.example.gestaotcc.repository.TccRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -22,10 +27,29 @@ public class EntregaService {
     private final EntregaRepository entregaRepository;
     private final TccRepository tccRepository;
     private final ArquivoStorageService arquivoStorageService;
+    private final SimilaridadeEntregasService similaridadeEntregas;
+    private final ResumoTccService resumoTcc;
+    private final ApplicationEventPublisher eventos;
 
-    public EntregaEntity cadastrarEntrega(EntregaEntity entrega, MultipartFile arquivo, UsuarioEntity usuarioSolicitante) {
+    public EntregaEntity cadastrarEntrega(EntregaEntity entrega, ArquivoEnviado arquivo, UsuarioLogado usuarioSolicitante) {
+        TccEntity tcc = validarEnvio(entrega.getTcc().getId(), usuarioSolicitante);
+
+        // Salvar arquivo (as validações acima rodam antes de qualquer byte ser gravado)
+        return registrarEntrega(entrega, tcc, arquivoStorageService.salvarArquivo(arquivo));
+    }
+
+    // Finalização do upload em partes: o arquivo já foi recebido por inteiro e só então a entrega é criada
+    public EntregaEntity cadastrarEntregaMontada(EntregaEntity entrega, Path arquivoMontado, String nomeOriginal,
+                                                 long tamanho, String sha256, UsuarioLogado usuarioSolicitante) {
+        TccEntity tcc = validarEnvio(entrega.getTcc().getId(), usuarioSolicitante);
+
+        return registrarEntrega(entrega, tcc,
+                arquivoStorageService.salvarArquivoMontado(arquivoMontado, nomeOriginal, tamanho, sha256));
+    }
+
+    public TccEntity validarEnvio(Long tccId, UsuarioLogado usuarioSolicitante) {
         // Validações
-        TccEntity tcc = tccRepository.findById(entrega.getTcc().getId())
+        TccEntity tcc = tccRepository.findById(tccId)
                 .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
 
         // Verificar se o usuário é o aluno autor do TCC
@@ -37,10 +61,12 @@ public class EntregaService {
         if (tcc.getStatus() == StatusTcc.CONCLUIDO || tcc.getStatus() == StatusTcc.REPROVADO) {
             throw new RuntimeException("Não é possível enviar entregas para um TCC já finalizado");
         }
+        return tcc;
+    }
 
-        // Salvar arquivo
-        String caminhoArquivo = arquivoStorageService.salvarArquivo(arquivo);
-        entrega.setCaminhoArquivo(caminhoArquivo);
+    private EntregaEntity registrarEntrega(EntregaEntity entrega, TccEntity tcc, ArquivoSalvo arquivoSalvo) {
+        entrega.setCaminhoArquivo(arquivoSalvo.getNome());
+        entrega.setHashConteudo(arquivoSalvo.getSha256());
         entrega.setDataEnvio(LocalDateTime.now());
         entrega.setTcc(tcc);
 
@@ -48,10 +74,29 @@ public class EntregaService {
         // seria possível atualizar o status do TCC para concluído automaticamente,
         // mas deixamos essa decisão para o orientador
 
-        return entregaRepository.save(entrega);
+        EntregaEntity entregaSalva;
+        try {
+            // O resumo do TCC e o painel são atualizados na mesma transação do insert; o arquivo fica de fora dela
+            entregaSalva = resumoTcc.atualizarApos(tcc.getId(), () -> {
+                EntregaEntity salva = entregaRepository.save(entrega);
+                eventos.publishEvent(EntregaAlteradaEvento.registrada(salva));
+                return salva;
+            });
+        } catch (RuntimeException e) {
+            // Sem a entrega o arquivo ficaria órfão no disco; um arquivo reaproveitado pertence a outras entregas
+            if (!arquivoSalvo.isReaproveitado()) {
+                arquivoStorageService.excluirArquivo(arquivoSalvo.getNome());
+            }
+            throw e;
+        }
+
+        // Extração do texto e assinatura para a detecção de similaridade, fora da requisição
+        similaridadeEntregas.agendarIndexacao(entregaSalva.getId(), entregaSalva.getCaminhoArquivo());
+        return entregaSalva;
     }
 
-    public List<EntregaEntity> listarEntregasPorTcc(Long tccId, UsuarioEntity usuarioSolicitante) {
+    @Transactional(readOnly = true)
+    public List<EntregaDTO> listarEntregasDTOPorTcc(Long tccId, UsuarioLogado usuarioSolicitante) {
         TccEntity tcc = tccRepository.findById(tccId)
                 .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
 
@@ -64,14 +109,14 @@ public class EntregaService {
             throw new RuntimeException("Usuário não tem permissão para acessar estas entregas");
         }
 
-        return entregaRepository.findByTcc(tcc);
+        return entregaRepository.findDTOByTccId(tccId);
     }
 
     public Optional<EntregaEntity> buscarPorId(Long id) {
         return entregaRepository.findById(id);
     }
 
-    public void deletarEntrega(Long id, UsuarioEntity usuarioSolicitante) {
+    public void deletarEntrega(Long id, UsuarioLogado usuarioSolicitante) {
         EntregaEntity entrega = entregaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Entrega não encontrada"));
 
@@ -91,10 +136,22 @@ public class EntregaService {
             throw new RuntimeException("Usuário não tem permissão para excluir esta entrega");
         }
 
-        // Excluir o arquivo físico
-        arquivoStorageService.excluirArquivo(entrega.getCaminhoArquivo());
-
-        entregaRepository.deleteById(id);
+        resumoTcc.atualizarApos(tcc.getId(), () -> {
+            // Avaliações saem em cascata com a entrega (só o coordenador exclui entregas avaliadas)
+            eventos.publishEvent(EntregaAlteradaEvento.excluida(entrega));
+            if (entrega.getAvaliacoes() != null) {
+                entrega.getAvaliacoes().forEach(avaliacao ->
+                        eventos.publishEvent(AvaliacaoAlteradaEvento.excluida(avaliacao)));
+            }
+            entregaRepository.deleteById(id);
+            return null;
+        });
+
+        // Excluir o arquivo físico só quando nenhuma outra entrega aponta para ele
+        String caminhoArquivo = entrega.getCaminhoArquivo();
+        if (caminhoArquivo != null && entregaRepository.countByCaminhoArquivo(caminhoArquivo) == 0) {
+            arquivoStorageService.excluirArquivo(caminhoArquivo);
+        }
     }
 
     public Optional<EntregaEntity> obterUltimaEntrega(Long tccId) {
@@ -104,13 +161,20 @@ public class EntregaService {
         return entregaRepository.findFirstByTccOrderByDataEnvioDesc(tcc);
     }
 
-    public List<EntregaEntity> listarEntregasPorTipoETcc(Long tccId, String tipo) {
-        TccEntity tcc = tccRepository.findById(tccId)
-                .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
-
-        return entregaRepository.findByTccAndTipo(tcc,
+    @Transactional(readOnly = true)
+    public List<EntregaDTO> listarEntregasDTOPorTipoETcc(Long tccId, String tipo) {
+        return entregaRepository.findDTOByTccIdAndTipo(tccId,
                 tipo.equalsIgnoreCase("PARCIAL") ?
                         TipoEntrega.PARCIAL :
                         TipoEntrega.FINAL);
     }
-}
\ No newline at end of file
+
+    // Exportação em lote para a banca: só o coordenador vê todos os TCCs de um status
+    @Transactional(readOnly = true)
+    public List<EntregaDTO> listarEntregasDTOPorStatusTcc(StatusTcc status, UsuarioLogado usuarioSolicitante) {
+        if (usuarioSolicitante.getTipoUsuario() != TipoUsuario.COORDENADOR) {
+            throw new RuntimeException("Apenas coordenadores podem exportar as entregas de todos os TCCs");
+        }
+        return entregaRepository.findDTOByTccStatus(status);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.dto.EntregaDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.FileTime;
+import java.text.Normalizer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Monta o ZIP das entregas enquanto ele é enviado: cada arquivo é lido do armazenamento e escrito
+// direto na resposta, então a memória usada é a dos buffers, qualquer que seja o tamanho do ZIP
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportacaoEntregasService {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final int TAMANHO_MAXIMO_TITULO = 60;
+
+    // Formatos que já são comprimidos: recomprimir só gasta CPU. Ficam com nível 0 (blocos "stored"
+    // dentro do deflate), que dispensa calcular o CRC antes de escrever a entrada, como o STORED exigiria.
+    private static final Set<String> EXTENSOES_COMPRIMIDAS = Set.of(
+            "pdf", "zip", "docx", "xlsx", "pptx", "odt", "ods", "odp", "jpg", "jpeg", "png", "gz", "7z", "rar", "mp4");
+
+    private final ArmazenamentoArquivos armazenamento;
+
+    public void escreverZip(List<EntregaDTO> entregas, OutputStream saida) throws IOException {
+        List<String> ausentes = new ArrayList<>();
+
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(saida, TAMANHO_BUFFER), StandardCharsets.UTF_8);
+        byte[] buffer = new byte[TAMANHO_BUFFER];
+
+        for (EntregaDTO entrega : entregas) {
+            String nomeEntrada = nomeEntrada(entrega);
+            InputStream conteudo;
+            try {
+                if (entrega.getCaminhoArquivo() == null) {
+                    throw new NoSuchFileException("entrega " + entrega.getId());
+                }
+                conteudo = armazenamento.ler(entrega.getCaminhoArquivo());
+            } catch (NoSuchFileException e) {
+                // Uma entrega sem arquivo não deve derrubar a exportação inteira
+                log.warn("Arquivo {} da entrega {} não encontrado na exportação", entrega.getCaminhoArquivo(), entrega.getId());
+                ausentes.add(nomeEntrada);
+                continue;
+            }
+
+            try (conteudo) {
+                zip.setLevel(jaComprimido(entrega.getCaminhoArquivo()) ? Deflater.NO_COMPRESSION : Deflater.BEST_SPEED);
+
+                ZipEntry entrada = new ZipEntry(nomeEntrada);
+                if (entrega.getDataEnvio() != null) {
+                    entrada.setLastModifiedTime(FileTime.from(entrega.getDataEnvio().atZone(ZoneId.systemDefault()).toInstant()));
+                }
+                zip.putNextEntry(entrada);
+
+                int lidos;
+                while ((lidos = conteudo.read(buffer)) != -1) {
+                    zip.write(buffer, 0, lidos);
+                }
+                zip.closeEntry();
+            }
+        }
+
+        if (!ausentes.isEmpty()) {
+            zip.setLevel(Deflater.BEST_SPEED);
+            zip.putNextEntry(new ZipEntry("arquivos-ausentes.txt"));
+            zip.write(("Entregas cujo arquivo não foi encontrado:\n" + String.join("\n", ausentes) + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        // finish em vez de close: quem fecha o stream da resposta é o container
+        zip.finish();
+        zip.flush();
+    }
+
+    // <tccId>-<titulo>/entrega-<id>-<tipo>.<ext>
+    private String nomeEntrada(EntregaDTO entrega) {
+        String caminho = entrega.getCaminhoArquivo();
+        String extensao = caminho != null && caminho.contains(".") ? caminho.substring(caminho.lastIndexOf(".")) : "";
+        String tipo = entrega.getTipo() != null ? entrega.getTipo().name().toLowerCase(Locale.ROOT) : "entrega";
+
+        return entrega.getTccId() + "-" + simplificar(entrega.getTituloTcc()) + "/entrega-" + entrega.getId() + "-" +
+                tipo + extensao;
+    }
+
+    // Títulos viram nomes de pasta: sem acentos, barras ou caracteres que os descompactadores recusam
+    private String simplificar(String titulo) {
+        if (titulo == null || titulo.isBlank()) {
+            return "tcc";
+        }
+        String semAcentos = Normalizer.normalize(titulo, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        String simples = semAcentos.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("(^-+|-+$)", "").toLowerCase(Locale.ROOT);
+        if (simples.length() > TAMANHO_MAXIMO_TITULO) {
+            simples = simples.substring(0, TAMANHO_MAXIMO_TITULO);
+        }
+        return simples.isEmpty() ? "tcc" : simples;
+    }
+
+    private boolean jaComprimido(String caminhoArquivo) {
+        if (caminhoArquivo == null || !caminhoArquivo.contains(".")) {
+            return false;
+        }
+        String extensao = caminhoArquivo.substring(caminhoArquivo.lastIndexOf(".") + 1).toLowerCase(Locale.ROOT);
+        return EXTENSOES_COMPRIMIDAS.contains(extensao);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Texto das entregas para a detecção de similaridade, escolhido pela extensão do arquivo armazenado.
+// Formatos sem texto (imagens, ZIP de código) devolvem vazio.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExtratorTextoEntregas {
+
+    // Uma monografia tem algumas centenas de milhares de caracteres; o limite só protege de anexos anômalos
+    private static final int MAXIMO_CARACTERES = 10_000_000;
+    private static final Pattern TAG_XML = Pattern.compile("<[^>]*>");
+    private static final Set<String> EXTENSOES_TEXTO = Set.of(".txt", ".md", ".tex", ".rtf", ".csv", ".html",
+            ".java", ".py", ".c", ".cpp", ".h", ".cs", ".js", ".ts", ".sql");
+
+    private final ArmazenamentoArquivos armazenamento;
+
+    public Optional<String> extrair(String chave) throws IOException {
+        String extensao = chave.contains(".")
+                ? chave.substring(chave.lastIndexOf('.')).toLowerCase(Locale.ROOT)
+                : "";
+
+        return switch (extensao) {
+            case ".pdf" -> extrairPdf(chave);
+            case ".docx" -> extrairXmlCompactado(chave, "word/document.xml");
+            case ".odt" -> extrairXmlCompactado(chave, "content.xml");
+            default -> EXTENSOES_TEXTO.contains(extensao) ? extrairTexto(chave) : Optional.empty();
+        };
+    }
+
+    private Optional<String> extrairPdf(String chave) throws IOException {
+        // O PDFBox precisa de acesso aleatório: usa o arquivo local quando existe e, nos demais
+        // armazenamentos, uma cópia temporária em vez de carregar o PDF inteiro no heap
+        Optional<Path> caminhoLocal = armazenamento.caminhoLocal(chave);
+        if (caminhoLocal.isPresent()) {
+            return extrairPdf(caminhoLocal.get(), chave);
+        }
+
+        Path temporario = Files.createTempFile("similaridade-", ".pdf");
+        try {
+            try (InputStream entrada = armazenamento.ler(chave)) {
+                Files.copy(entrada, temporario, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return extrairPdf(temporario, chave);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private Optional<String> extrairPdf(Path arquivo, String chave) throws IOException {
+        try (PDDocument documento = Loader.loadPDF(arquivo.toFile())) {
+            return limitar(new PDFTextStripper().getText(documento));
+        } catch (InvalidPasswordException e) {
+            log.info("PDF {} protegido por senha; ignorado na detecção de similaridade", chave);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> extrairXmlCompactado(String chave, String entradaXml) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(armazenamento.ler(chave))) {
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                if (entrada.getName().equals(entradaXml)) {
+                    String xml = new String(zip.readNBytes(MAXIMO_CARACTERES), StandardCharsets.UTF_8);
+                    return limitar(TAG_XML.matcher(xml).replaceAll(" "));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> extrairTexto(String chave) throws IOException {
+        try (InputStream entrada = armazenamento.ler(chave)) {
+            return limitar(new String(entrada.readNBytes(MAXIMO_CARACTERES), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Optional<String> limitar(String texto) {
+        if (texto.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(texto.length() > MAXIMO_CARACTERES ? texto.substring(0, MAXIMO_CARACTERES) : texto);
+    }
+}
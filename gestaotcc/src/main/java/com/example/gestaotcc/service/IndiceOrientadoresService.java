@@ -0,0 +1,209 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.UsuarioDTO;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+// Autocompletar do orientador no formulário de proposta. Cada palavra do nome e da área de atuação,
+// sem acentos e em minúsculas, entra num conjunto ordenado como "palavra\0id": as palavras que começam
+// com um prefixo ficam contíguas, então a busca é um intervalo do skip list em vez de percorrer todos
+// os orientadores. O índice é atualizado pelo UsuarioService a cada cadastro, alteração ou exclusão, e
+// recarregado do banco periodicamente para incorporar alterações feitas em outras instâncias.
+@Slf4j
+@Service
+public class IndiceOrientadoresService {
+
+    private static final Pattern PALAVRA = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final char SEPARADOR = '\0';
+    private static final int MAXIMO_SUGESTOES = 50;
+
+    private final UsuarioRepository usuarioRepository;
+
+    private final ConcurrentSkipListSet<String> palavras = new ConcurrentSkipListSet<>();
+    private final Map<Long, Orientador> orientadores = new ConcurrentHashMap<>();
+
+    public IndiceOrientadoresService(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.orientadores.recarga-intervalo-ms:600000}",
+            fixedDelayString = "${app.orientadores.recarga-intervalo-ms:600000}")
+    public void recarregar() {
+        List<UsuarioDTO> atuais = usuarioRepository.findDTOByTipoUsuario(TipoUsuario.ORIENTADOR);
+
+        Set<Long> ids = new HashSet<>();
+        for (UsuarioDTO orientador : atuais) {
+            ids.add(orientador.getId());
+            indexar(orientador.getId(), orientador.getNome(), orientador.getEmail(), orientador.getAreaAtuacao());
+        }
+        orientadores.keySet().stream()
+                .filter(id -> !ids.contains(id))
+                .toList()
+                .forEach(this::remover);
+
+        log.debug("Índice de orientadores recarregado: {} orientadores", atuais.size());
+    }
+
+    // Um usuário que deixou de ser orientador sai do índice
+    public void atualizar(UsuarioEntity usuario) {
+        if (usuario == null || usuario.getId() == null) {
+            return;
+        }
+        if (usuario.getTipoUsuario() == TipoUsuario.ORIENTADOR) {
+            indexar(usuario.getId(), usuario.getNome(), usuario.getEmail(), usuario.getAreaAtuacao());
+        } else {
+            remover(usuario.getId());
+        }
+    }
+
+    public void remover(Long id) {
+        Orientador anterior = orientadores.remove(id);
+        if (anterior != null) {
+            anterior.palavras.forEach(palavra -> palavras.remove(chave(palavra, id)));
+        }
+    }
+
+    // Orientadores em que cada palavra da consulta é prefixo de alguma palavra do nome ou da área.
+    // Primeiro os que batem pelo nome (e, entre eles, os que começam pela primeira palavra digitada),
+    // depois os que só batem pela área; em cada grupo, em ordem alfabética.
+    public List<UsuarioDTO> sugerir(String consulta, int quantidade) {
+        List<String> prefixos = normalizar(consulta);
+        if (prefixos.isEmpty()) {
+            return List.of();
+        }
+
+        // O intervalo é percorrido pelo prefixo mais longo, o mais seletivo; os demais são conferidos em cada candidato
+        String maisLongo = prefixos.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<Long> vistos = new HashSet<>();
+        List<Orientador> candidatos = new ArrayList<>();
+        for (String chave : palavras.subSet(maisLongo, maisLongo + Character.MAX_VALUE)) {
+            Long id = Long.valueOf(chave.substring(chave.lastIndexOf(SEPARADOR) + 1));
+            Orientador orientador = orientadores.get(id);
+            if (orientador == null || !vistos.add(id)) {
+                continue;
+            }
+
+            if (orientador.relevancia(prefixos) >= 0) {
+                candidatos.add(orientador);
+            }
+        }
+
+        return candidatos.stream()
+                .sorted(Comparator.<Orientador>comparingInt(orientador -> orientador.relevancia(prefixos))
+                        .thenComparing(Orientador::nomeNormalizado))
+                .limit(Math.min(Math.max(quantidade, 1), MAXIMO_SUGESTOES))
+                .map(Orientador::paraDTO)
+                .toList();
+    }
+
+    // Todos os orientadores indexados, sem consulta ao banco
+    public List<UsuarioDTO> listar() {
+        return orientadores.values().stream()
+                .map(Orientador::paraDTO)
+                .toList();
+    }
+
+    private void indexar(Long id, String nome, String email, String areaAtuacao) {
+        Orientador novo = new Orientador(id, nome, email, areaAtuacao);
+        Orientador anterior = orientadores.put(id, novo);
+
+        // Adiciona as palavras novas antes de remover as antigas, para que uma busca concorrente não
+        // deixe de encontrar o orientador durante a troca
+        novo.palavras.forEach(palavra -> palavras.add(chave(palavra, id)));
+        if (anterior != null) {
+            anterior.palavras.stream()
+                    .filter(palavra -> !novo.palavras.contains(palavra))
+                    .forEach(palavra -> palavras.remove(chave(palavra, id)));
+        }
+    }
+
+    private static String chave(String palavra, Long id) {
+        return palavra + SEPARADOR + id;
+    }
+
+    static List<String> normalizar(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return PALAVRA.matcher(semAcentos).results().map(palavra -> palavra.group()).toList();
+    }
+
+    // Cópia imutável do que a sugestão precisa; trocada inteira a cada atualização do orientador
+    private static final class Orientador {
+
+        private final Long id;
+        private final String nome;
+        private final String email;
+        private final String areaAtuacao;
+        private final List<String> palavrasNome;
+        private final List<String> palavrasArea;
+        private final String nomeNormalizado;
+        private final Set<String> palavras;
+
+        private Orientador(Long id, String nome, String email, String areaAtuacao) {
+            this.id = id;
+            this.nome = nome;
+            this.email = email;
+            this.areaAtuacao = areaAtuacao;
+            this.palavrasNome = normalizar(nome);
+            this.palavrasArea = normalizar(areaAtuacao);
+            this.nomeNormalizado = String.join(" ", palavrasNome);
+            this.palavras = new HashSet<>(palavrasNome);
+            this.palavras.addAll(palavrasArea);
+        }
+
+        private String nomeNormalizado() {
+            return nomeNormalizado;
+        }
+
+        // 0: nome começa pela primeira palavra da consulta; 1: todas batem com o nome;
+        // 2: alguma só bate com a área; -1: alguma não bate com nada
+        private int relevancia(List<String> prefixos) {
+            boolean todasNoNome = true;
+            for (String prefixo : prefixos) {
+                boolean noNome = palavrasNome.stream().anyMatch(palavra -> palavra.startsWith(prefixo));
+                if (!noNome && palavrasArea.stream().noneMatch(palavra -> palavra.startsWith(prefixo))) {
+                    return -1;
+                }
+                todasNoNome &= noNome;
+            }
+            if (!todasNoNome) {
+                return 2;
+            }
+            return !palavrasNome.isEmpty() && palavrasNome.get(0).startsWith(prefixos.get(0)) ? 0 : 1;
+        }
+
+        private UsuarioDTO paraDTO() {
+            return UsuarioDTO.builder()
+                    .id(id)
+                    .nome(nome)
+                    .email(email)
+                    .tipoUsuario(TipoUsuario.ORIENTADOR)
+                    .areaAtuacao(areaAtuacao)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoSistemaArquivos;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// Migração online para o layout particionado: a cada execução move um lote de arquivos da raiz
+// do diretório de upload, enquanto downloads continuam encontrando os arquivos nos dois layouts
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.arquivo.layout-particionado", havingValue = "true")
+public class MigracaoLayoutArquivosService {
+
+    // Só existe quando os arquivos ficam no disco local (app.armazenamento.tipo=sistema-arquivos)
+    private final ObjectProvider<ArmazenamentoSistemaArquivos> armazenamento;
+
+    @Value("${app.arquivo.migracao-layout.lote:500}")
+    private int tamanhoLote;
+
+    private volatile boolean concluida;
+
+    @Scheduled(initialDelayString = "${app.arquivo.migracao-layout.intervalo-ms:60000}",
+            fixedDelayString = "${app.arquivo.migracao-layout.intervalo-ms:60000}")
+    public void migrarLote() {
+        ArmazenamentoSistemaArquivos sistemaArquivos = armazenamento.getIfAvailable();
+        if (concluida || sistemaArquivos == null) {
+            return;
+        }
+
+        int movidos = sistemaArquivos.migrarParaLayoutParticionado(tamanhoLote);
+        if (movidos > 0) {
+            log.info("Layout particionado: {} arquivos movidos da raiz do diretório de upload", movidos);
+        }
+
+        // Arquivos novos já são gravados no layout particionado, então a raiz não volta a encher
+        if (movidos < tamanhoLote) {
+            concluida = true;
+            log.info("Migração para o layout particionado concluída");
+        }
+    }
+}
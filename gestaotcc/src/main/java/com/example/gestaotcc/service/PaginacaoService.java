@@ -0,0 +1,83 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.PaginaDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Paginação por chave (keyset): o cursor carrega o último id devolvido e a próxima página
+// começa depois dele, então o custo não cresce com a profundidade como no OFFSET
+@Service
+public class PaginacaoService {
+
+    private static final String PREFIXO_CURSOR = "id:";
+
+    private final int tamanhoPadrao;
+    private final int tamanhoMaximo;
+
+    public PaginacaoService(@Value("${app.paginacao.tamanho-padrao:20}") int tamanhoPadrao,
+                            @Value("${app.paginacao.tamanho-maximo:100}") int tamanhoMaximo) {
+        this.tamanhoPadrao = tamanhoPadrao;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public int tamanhoPagina(Integer tamanhoSolicitado) {
+        if (tamanhoSolicitado == null || tamanhoSolicitado <= 0) {
+            return Math.min(tamanhoPadrao, tamanhoMaximo);
+        }
+        return Math.min(tamanhoSolicitado, tamanhoMaximo);
+    }
+
+    // Busca um registro a mais para saber se existe próxima página sem um count
+    public Limit limiteConsulta(int tamanhoPagina) {
+        return Limit.of(tamanhoPagina + 1);
+    }
+
+    // Para listagens em ordem decrescente de id: a primeira página começa do maior id possível
+    public long cursorDecrescente(String cursor) {
+        Long id = decodificarCursor(cursor);
+        return id != null ? id : Long.MAX_VALUE;
+    }
+
+    // Para listagens em ordem crescente de id: a primeira página começa do zero
+    public long cursorCrescente(String cursor) {
+        Long id = decodificarCursor(cursor);
+        return id != null ? id : 0L;
+    }
+
+    public <T> PaginaDTO<T> montarPagina(List<T> resultados, int tamanhoPagina, Function<T, Long> chave) {
+        if (resultados.size() <= tamanhoPagina) {
+            return new PaginaDTO<>(resultados, null);
+        }
+
+        List<T> itens = resultados.subList(0, tamanhoPagina);
+        Long ultimoId = chave.apply(itens.get(itens.size() - 1));
+        return new PaginaDTO<>(List.copyOf(itens), codificarCursor(ultimoId));
+    }
+
+    private String codificarCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO_CURSOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodificarCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO_CURSOR)) {
+                throw new IllegalArgumentException();
+            }
+            return Long.parseLong(valor.substring(PREFIXO_CURSOR.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.armazenamento.InfoArquivo;
+import com.example.gestaotcc.repository.EntregaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Coleta de lixo do armazenamento. Arquivos ficam órfãos quando o save da entrega falha depois da
+// gravação, quando a exclusão de um TCC leva as entregas junto (sem passar por deletarEntrega) ou
+// quando um processo cai no meio de um envio. A listagem do armazenamento e a coluna caminhoArquivo
+// são percorridas juntas, as duas em ordem crescente, como num merge, sem carregar nenhuma das duas
+// inteira (no sistema de arquivos, uma partição por vez; os nomes fora das partições, como os do
+// layout plano, passam por uma ordenação externa em arquivos temporários).
+//
+// Um órfão não é excluído de imediato: ele vai para a quarentena (chave com PREFIXO_QUARENTENA) e só
+// é excluído depois de app.arquivo.limpeza.quarentena-horas. Se nesse meio tempo alguma entrega
+// voltar a referenciá-lo, ele é restaurado.
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.arquivo.limpeza.habilitada", havingValue = "true")
+public class ReconciliacaoArquivosService {
+
+    static final String PREFIXO_QUARENTENA = ".quarentena-";
+    private static final long BYTES_POR_MB = 1024 * 1024;
+
+    private final ArmazenamentoArquivos armazenamento;
+    private final EntregaRepository entregaRepository;
+
+    // Arquivos mais novos que isso podem pertencer a um envio cuja entrega ainda não foi salva
+    @Value("${app.arquivo.limpeza.idade-minima-minutos:60}")
+    private long idadeMinimaMinutos;
+
+    @Value("${app.arquivo.limpeza.quarentena-horas:168}")
+    private long quarentenaHoras;
+
+    // Apenas registra o que seria feito, sem mover ou excluir arquivos
+    @Value("${app.arquivo.limpeza.somente-relatorio:false}")
+    private boolean somenteRelatorio;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private final AtomicLong verificadosExecucaoAtual = new AtomicLong();
+    private final AtomicLong referenciasPendentes = new AtomicLong();
+    private final AtomicLong arquivosEmQuarentena = new AtomicLong();
+    private final Counter quarentenados;
+    private final Counter excluidos;
+    private final Counter restaurados;
+    private final Counter bytesLiberados;
+    private final Timer duracao;
+
+    public ReconciliacaoArquivosService(ArmazenamentoArquivos armazenamento,
+                                        EntregaRepository entregaRepository,
+                                        MeterRegistry meterRegistry) {
+        this.armazenamento = armazenamento;
+        this.entregaRepository = entregaRepository;
+
+        meterRegistry.gauge("arquivos.reconciliacao.em-execucao", emExecucao, emAndamento -> emAndamento.get() ? 1 : 0);
+        meterRegistry.gauge("arquivos.reconciliacao.verificados", verificadosExecucaoAtual);
+        meterRegistry.gauge("arquivos.reconciliacao.referencias-pendentes", referenciasPendentes);
+        meterRegistry.gauge("arquivos.reconciliacao.em-quarentena", arquivosEmQuarentena);
+        this.quarentenados = meterRegistry.counter("arquivos.reconciliacao.orfaos", "acao", "quarentena");
+        this.excluidos = meterRegistry.counter("arquivos.reconciliacao.orfaos", "acao", "exclusao");
+        this.restaurados = meterRegistry.counter("arquivos.reconciliacao.orfaos", "acao", "restauracao");
+        this.bytesLiberados = meterRegistry.counter("arquivos.reconciliacao.bytes-liberados");
+        this.duracao = meterRegistry.timer("arquivos.reconciliacao.duracao");
+    }
+
+    // A transação só mantém aberto o cursor da consulta em streaming; nada é gravado no banco
+    @Scheduled(initialDelayString = "${app.arquivo.limpeza.intervalo-ms:21600000}",
+            fixedDelayString = "${app.arquivo.limpeza.intervalo-ms:21600000}")
+    @Transactional(readOnly = true)
+    public ResultadoReconciliacao reconciliar() {
+        if (!emExecucao.compareAndSet(false, true)) {
+            log.info("Reconciliação de arquivos já em andamento; execução ignorada");
+            return null;
+        }
+
+        ResultadoReconciliacao resultado = new ResultadoReconciliacao();
+        verificadosExecucaoAtual.set(0);
+        Timer.Sample inicio = Timer.start();
+        try (Stream<String> arquivos = armazenamento.listar();
+             Stream<String> referencias = entregaRepository.streamCaminhosArquivoOrdenados()) {
+            mesclar(arquivos.iterator(), referencias.iterator(), resultado);
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao listar os arquivos do armazenamento: " + e.getMessage());
+        } finally {
+            inicio.stop(duracao);
+            emExecucao.set(false);
+        }
+
+        referenciasPendentes.set(resultado.referenciasPendentes);
+        arquivosEmQuarentena.set(resultado.emQuarentena);
+        log.info("Reconciliação de arquivos concluída: {} verificados, {} em quarentena, {} excluídos ({} MB), " +
+                        "{} restaurados, {} referências sem arquivo", resultado.verificados, resultado.quarentenados,
+                resultado.excluidos, resultado.bytesLiberados / BYTES_POR_MB, resultado.restaurados,
+                resultado.referenciasPendentes);
+        return resultado;
+    }
+
+    private void mesclar(Iterator<String> arquivos, Iterator<String> referencias, ResultadoReconciliacao resultado) {
+        String arquivo = proximo(arquivos, null);
+        String referencia = proximo(referencias, null);
+
+        while (arquivo != null || referencia != null) {
+            int comparacao = arquivo == null ? 1 : referencia == null ? -1 : arquivo.compareTo(referencia);
+
+            if (comparacao == 0) {
+                resultado.verificados++;
+                arquivo = proximo(arquivos, arquivo);
+                referencia = proximo(referencias, referencia);
+            } else if (comparacao < 0) {
+                tratarArquivoSemReferencia(arquivo, resultado);
+                arquivo = proximo(arquivos, arquivo);
+            } else {
+                tratarReferenciaSemArquivo(referencia, resultado);
+                referencia = proximo(referencias, referencia);
+            }
+            verificadosExecucaoAtual.incrementAndGet();
+        }
+    }
+
+    // O merge só está correto se as duas sequências estiverem na mesma ordem; se alguma voltar para
+    // trás (collation diferente no banco, por exemplo) arquivos em uso pareceriam órfãos
+    private String proximo(Iterator<String> sequencia, String anterior) {
+        if (!sequencia.hasNext()) {
+            return null;
+        }
+        String atual = sequencia.next();
+        if (anterior != null && atual.compareTo(anterior) < 0) {
+            throw new IllegalStateException("Sequência fora de ordem (" + anterior + " antes de " + atual +
+                    "); reconciliação interrompida");
+        }
+        return atual;
+    }
+
+    private void tratarArquivoSemReferencia(String chave, ResultadoReconciliacao resultado) {
+        try {
+            if (chave.startsWith(PREFIXO_QUARENTENA)) {
+                tratarArquivoEmQuarentena(chave, resultado);
+                return;
+            }
+            // Separados pela verificação de integridade; ficam até alguém analisá-los
+            if (chave.startsWith(VerificacaoIntegridadeService.PREFIXO_CORROMPIDO)) {
+                return;
+            }
+
+            if (recenteOuAusente(chave)) {
+                return;
+            }
+
+            // A listagem do banco é de quando a consulta começou: confere de novo antes de mexer no arquivo
+            if (entregaRepository.countByCaminhoArquivo(chave) > 0) {
+                resultado.verificados++;
+                return;
+            }
+
+            // Um envio pode ter reaproveitado o arquivo depois da primeira consulta (consultar e tocar em
+            // ArquivoStorageService) e a entrega dele só é salva depois, então a contagem acima não a vê;
+            // o tocar aparece na data de modificação, relida logo antes do rename
+            if (recenteOuAusente(chave)) {
+                return;
+            }
+
+            log.info("Arquivo {} sem entrega; movido para a quarentena", chave);
+            if (!somenteRelatorio) {
+                // O tocar marca o início da quarentena (o rename preserva a data de modificação)
+                armazenamento.mover(chave, PREFIXO_QUARENTENA + chave);
+                armazenamento.tocar(PREFIXO_QUARENTENA + chave);
+            }
+            resultado.quarentenados++;
+            resultado.emQuarentena++;
+            quarentenados.increment();
+        } catch (IOException e) {
+            // Um arquivo problemático não interrompe a reconciliação; ele é revisto na próxima execução
+            log.warn("Não foi possível reconciliar o arquivo {}", chave, e);
+        }
+    }
+
+    private void tratarArquivoEmQuarentena(String chave, ResultadoReconciliacao resultado) throws IOException {
+        String original = chave.substring(PREFIXO_QUARENTENA.length());
+
+        if (entregaRepository.countByCaminhoArquivo(original) > 0) {
+            restaurar(chave, original, resultado);
+            return;
+        }
+
+        Optional<InfoArquivo> info = armazenamento.consultar(chave);
+        if (info.isEmpty()) {
+            return;
+        }
+        if (modificadoDepoisDe(info.get(), Duration.ofHours(quarentenaHoras))) {
+            resultado.emQuarentena++;
+            return;
+        }
+
+        log.info("Arquivo {} excluído após a quarentena ({} bytes)", original, info.get().getTamanho());
+        if (!somenteRelatorio) {
+            armazenamento.excluir(chave);
+        }
+        resultado.excluidos++;
+        resultado.bytesLiberados += info.get().getTamanho();
+        excluidos.increment();
+        bytesLiberados.increment(info.get().getTamanho());
+    }
+
+    private void tratarReferenciaSemArquivo(String chave, ResultadoReconciliacao resultado) {
+        try {
+            // Gravado depois que a listagem foi feita, ou restaurado da quarentena nesta mesma execução
+            if (armazenamento.consultar(chave).isPresent()) {
+                resultado.verificados++;
+                return;
+            }
+
+            if (armazenamento.consultar(PREFIXO_QUARENTENA + chave).isPresent()) {
+                restaurar(PREFIXO_QUARENTENA + chave, chave, resultado);
+                return;
+            }
+
+            log.warn("Entregas referenciam o arquivo {}, que não existe no armazenamento", chave);
+            resultado.referenciasPendentes++;
+        } catch (IOException e) {
+            log.warn("Não foi possível verificar o arquivo {}", chave, e);
+        }
+    }
+
+    private void restaurar(String chaveQuarentena, String original, ResultadoReconciliacao resultado) throws IOException {
+        log.info("Arquivo {} voltou a ser referenciado; restaurado da quarentena", original);
+        if (!somenteRelatorio) {
+            armazenamento.mover(chaveQuarentena, original);
+        }
+        resultado.restaurados++;
+        restaurados.increment();
+    }
+
+    // Arquivos mais novos que a idade mínima podem estar em uso por um envio ainda sem entrega salva
+    private boolean recenteOuAusente(String chave) throws IOException {
+        Optional<InfoArquivo> info = armazenamento.consultar(chave);
+        return info.isEmpty() || modificadoDepoisDe(info.get(), Duration.ofMinutes(idadeMinimaMinutos));
+    }
+
+    private static boolean modificadoDepoisDe(InfoArquivo info, Duration idade) {
+        return info.getUltimaModificacao().isAfter(Instant.now().minus(idade));
+    }
+
+    @Getter
+    public static final class ResultadoReconciliacao {
+        private long verificados;
+        private long quarentenados;
+        private long emQuarentena;
+        private long excluidos;
+        private long restaurados;
+        private long referenciasPendentes;
+        private long bytesLiberados;
+    }
+}
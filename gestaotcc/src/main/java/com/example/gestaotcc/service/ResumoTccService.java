@@ -0,0 +1,87 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.ResumoTccDTO;
+import com.example.gestaotcc.model.ResumoTccEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.ResumoTccRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+// Resumo do andamento de cada TCC (resumos_tcc) para o painel do coordenador, que antes precisava de
+// três chamadas por TCC. Cada escrita de entrega ou avaliação recalcula o resumo do seu TCC na mesma
+// transação, com a linha do resumo bloqueada: duas escritas simultâneas no mesmo TCC não se sobrepõem.
+@Service
+@RequiredArgsConstructor
+public class ResumoTccService {
+
+    private final ResumoTccRepository resumoTccRepository;
+
+    @Value("${app.resumos.maximo-tccs:500}")
+    private int maximoTccs;
+
+    public void criar(Long tccId) {
+        resumoTccRepository.save(ResumoTccEntity.builder()
+                .tccId(tccId)
+                .atualizadoEm(LocalDateTime.now())
+                .build());
+    }
+
+    // Executa a escrita e recalcula o resumo numa única transação. Usado quando o restante da operação
+    // (gravação ou exclusão do arquivo) deve ficar fora dela.
+    @Transactional
+    public <T> T atualizarApos(Long tccId, Supplier<T> escrita) {
+        resumoTccRepository.findComBloqueioByTccId(tccId);
+        T resultado = escrita.get();
+        recalcular(tccId);
+        return resultado;
+    }
+
+    @Transactional
+    public void recalcular(Long tccId) {
+        // O bloqueio vem antes do cálculo, para que a consulta já enxergue as escritas concorrentes confirmadas
+        ResumoTccEntity resumo = resumoTccRepository.findComBloqueioByTccId(tccId)
+                .orElseGet(() -> ResumoTccEntity.builder().tccId(tccId).build());
+
+        ResumoTccDTO calculado = resumoTccRepository.calcularDTOByTccId(tccId).orElse(null);
+        if (calculado == null) {
+            // TCC excluído: o resumo sai em cascata
+            return;
+        }
+
+        resumo.setEntregasParciais(Math.toIntExact(calculado.getEntregasParciais()));
+        resumo.setEntregasFinais(Math.toIntExact(calculado.getEntregasFinais()));
+        resumo.setUltimaEntrega(calculado.getUltimaEntrega());
+        resumo.setQuantidadeAvaliacoes(Math.toIntExact(calculado.getQuantidadeAvaliacoes()));
+        resumo.setUltimaNota(calculado.getUltimaNota());
+        resumo.setMediaNotas(calculado.getMediaNotas());
+        resumo.setAtualizadoEm(LocalDateTime.now());
+        resumoTccRepository.save(resumo);
+    }
+
+    // Resumos de vários TCCs numa consulta. O coordenador vê todos; os demais, só os TCCs de que
+    // participam (os outros ids são ignorados).
+    @Transactional(readOnly = true)
+    public List<ResumoTccDTO> listarResumos(Collection<Long> tccIds, UsuarioLogado usuarioSolicitante) {
+        List<Long> ids = tccIds == null ? List.of() : tccIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.size() > maximoTccs) {
+            throw new RuntimeException("Informe no máximo " + maximoTccs + " TCCs por consulta");
+        }
+
+        Long usuarioId = usuarioSolicitante.getTipoUsuario() == TipoUsuario.COORDENADOR
+                ? null
+                : usuarioSolicitante.getId();
+        return resumoTccRepository.findDTOByTccIdIn(ids, usuarioId);
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.IniciarUploadRequest;
+import com.example.gestaotcc.model.EntregaEntity;
+import com.example.gestaotcc.model.SessaoUploadEntity;
+import com.example.gestaotcc.model.TccEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
+import com.example.gestaotcc.repository.SessaoUploadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Upload de entregas em partes (chunks), que pode ser retomado depois de uma queda de conexão.
+// Os chunks chegam em ordem e são anexados a um único arquivo de montagem por sessão; o SHA-256
+// do arquivo inteiro é acumulado chunk a chunk, então a finalização não relê o arquivo.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessaoUploadService {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final long BYTES_POR_MB = 1024 * 1024;
+    private static final String EXTENSAO_MONTAGEM = ".parte";
+
+    private final SessaoUploadRepository sessaoUploadRepository;
+    private final EntregaService entregaService;
+    private final ArquivoStorageService arquivoStorageService;
+
+    // Dentro do diretório de upload por padrão: no armazenamento local a finalização vira um rename.
+    // Com mais de um nó, deve ficar em disco compartilhado (ou o balanceador deve manter a sessão no mesmo nó).
+    @Value("${app.upload-sessao.diretorio:${app.arquivo.diretorio-upload}/.sessoes}")
+    private String diretorioSessoes;
+
+    @Value("${app.upload-sessao.validade-minutos:1440}")
+    private long validadeMinutos;
+
+    @Value("${app.upload-sessao.tamanho-maximo-chunk-mb:16}")
+    private long tamanhoMaximoChunkMb;
+
+    // O que não vai para o banco: o SHA-256 acumulado e o lock de cada sessão. Se o estado se
+    // perder (reinício, outro nó), é reconstruído lendo o que já foi recebido.
+    private final Map<Long, EstadoSessao> estados = new ConcurrentHashMap<>();
+
+    public SessaoUploadEntity iniciar(IniciarUploadRequest requisicao, UsuarioLogado usuarioSolicitante) {
+        if (requisicao.getTccId() == null || requisicao.getTipo() == null || requisicao.getNomeArquivo() == null
+                || requisicao.getTamanhoTotal() == null || requisicao.getTamanhoTotal() <= 0) {
+            throw new RuntimeException("Informe tccId, tipo, nomeArquivo e tamanhoTotal do upload");
+        }
+
+        // Mesmas validações do envio direto, antes de qualquer byte ser recebido
+        entregaService.validarEnvio(requisicao.getTccId(), usuarioSolicitante);
+        arquivoStorageService.verificarTamanhoPermitido(requisicao.getNomeArquivo(), requisicao.getTamanhoTotal());
+
+        LocalDateTime agora = LocalDateTime.now();
+        SessaoUploadEntity sessao = sessaoUploadRepository.save(SessaoUploadEntity.builder()
+                .tccId(requisicao.getTccId())
+                .usuarioId(usuarioSolicitante.getId())
+                .tipo(requisicao.getTipo())
+                .observacao(requisicao.getObservacao())
+                .nomeArquivo(requisicao.getNomeArquivo())
+                .tamanhoTotal(requisicao.getTamanhoTotal())
+                .tamanhoRecebido(0L)
+                .proximoChunk(1)
+                .criadaEm(agora)
+                .expiraEm(agora.plusMinutes(validadeMinutos))
+                .build());
+
+        try {
+            Files.createDirectories(Paths.get(diretorioSessoes));
+            Files.deleteIfExists(arquivoMontagem(sessao.getId()));
+            Files.createFile(arquivoMontagem(sessao.getId()));
+        } catch (IOException e) {
+            sessaoUploadRepository.delete(sessao);
+            throw new RuntimeException("Falha ao iniciar upload: " + e.getMessage());
+        }
+        return sessao;
+    }
+
+    public SessaoUploadEntity buscar(Long id, UsuarioLogado usuarioSolicitante) {
+        SessaoUploadEntity sessao = sessaoUploadRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sessão de upload não encontrada"));
+
+        if (!sessao.getUsuarioId().equals(usuarioSolicitante.getId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Apenas quem iniciou o upload pode continuá-lo");
+        }
+        // Sessões expiradas não recebem chunks nem são finalizadas, mesmo antes de a varredura removê-las
+        if (expirada(sessao)) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Sessão de upload expirada");
+        }
+        return sessao;
+    }
+
+    // Recebe o chunk "numero" (a partir de 1). Um chunk já recebido é ignorado, para que o cliente
+    // possa repetir o último envio quando não souber se ele chegou; chunks adiantados são recusados.
+    public SessaoUploadEntity receberChunk(Long id, int numero, String sha256Informado, InputStream conteudo,
+                                           UsuarioLogado usuarioSolicitante) {
+        buscar(id, usuarioSolicitante);
+        EstadoSessao estado = estados.computeIfAbsent(id, chave -> new EstadoSessao());
+
+        synchronized (estado) {
+            // Relido dentro do lock: outro request da mesma sessão pode ter acabado de avançar o progresso
+            SessaoUploadEntity sessao = buscar(id, usuarioSolicitante);
+
+            if (numero < sessao.getProximoChunk()) {
+                return sessao;
+            }
+            if (numero > sessao.getProximoChunk()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Chunk fora de ordem: o próximo esperado é o " + sessao.getProximoChunk());
+            }
+            if (sha256Informado == null || sha256Informado.isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o SHA-256 do chunk");
+            }
+
+            Path arquivo = arquivoMontagem(id);
+            long inicio = sessao.getTamanhoRecebido();
+            long limite = Math.min(tamanhoMaximoChunkMb * BYTES_POR_MB, sessao.getTamanhoTotal() - inicio);
+
+            MessageDigest digestArquivo = estado.digestAte(inicio, arquivo);
+            MessageDigest digestChunk = criarDigest();
+            long gravados = 0;
+            boolean aceito = false;
+
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+                // Descarta o que uma tentativa anterior deste chunk tenha deixado pela metade
+                canal.truncate(inicio);
+                canal.position(inicio);
+
+                byte[] buffer = new byte[TAMANHO_BUFFER];
+                int lidos;
+                while ((lidos = conteudo.read(buffer)) != -1) {
+                    gravados += lidos;
+                    if (gravados > limite) {
+                        throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                                "Chunk maior que o permitido (" + limite + " bytes)");
+                    }
+
+                    digestChunk.update(buffer, 0, lidos);
+                    digestArquivo.update(buffer, 0, lidos);
+                    ByteBuffer bloco = ByteBuffer.wrap(buffer, 0, lidos);
+                    while (bloco.hasRemaining()) {
+                        canal.write(bloco);
+                    }
+                }
+
+                if (gravados == 0) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chunk vazio");
+                }
+                if (!HexFormat.of().formatHex(digestChunk.digest()).equalsIgnoreCase(sha256Informado.trim())) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "SHA-256 do chunk não confere");
+                }
+                aceito = true;
+            } catch (IOException e) {
+                throw new RuntimeException("Falha ao gravar chunk: " + e.getMessage());
+            } finally {
+                if (!aceito) {
+                    truncarSilenciosamente(arquivo, inicio);
+                }
+            }
+
+            sessao.setTamanhoRecebido(inicio + gravados);
+            sessao.setProximoChunk(numero + 1);
+            sessao.setExpiraEm(LocalDateTime.now().plusMinutes(validadeMinutos));
+            SessaoUploadEntity salva = sessaoUploadRepository.save(sessao);
+
+            estado.confirmar(digestArquivo, inicio + gravados);
+            return salva;
+        }
+    }
+
+    public EntregaEntity finalizar(Long id, UsuarioLogado usuarioSolicitante) {
+        buscar(id, usuarioSolicitante);
+        EstadoSessao estado = estados.computeIfAbsent(id, chave -> new EstadoSessao());
+
+        synchronized (estado) {
+            SessaoUploadEntity sessao = buscar(id, usuarioSolicitante);
+            if (!sessao.getTamanhoRecebido().equals(sessao.getTamanhoTotal())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload incompleto: " +
+                        sessao.getTamanhoRecebido() + " de " + sessao.getTamanhoTotal() + " bytes recebidos");
+            }
+
+            Path arquivo = arquivoMontagem(id);
+            String sha256 = HexFormat.of().formatHex(estado.digestAte(sessao.getTamanhoTotal(), arquivo).digest());
+
+            EntregaEntity entrega = EntregaEntity.builder()
+                    .tcc(TccEntity.builder().id(sessao.getTccId()).build())
+                    .tipo(sessao.getTipo())
+                    .observacao(sessao.getObservacao())
+                    .build();
+
+            // As permissões e o status do TCC são conferidos de novo: podem ter mudado durante o upload
+            EntregaEntity salva = entregaService.cadastrarEntregaMontada(entrega, arquivo, sessao.getNomeArquivo(),
+                    sessao.getTamanhoTotal(), sha256, usuarioSolicitante);
+
+            sessaoUploadRepository.delete(sessao);
+            estados.remove(id);
+            return salva;
+        }
+    }
+
+    public void cancelar(Long id, UsuarioLogado usuarioSolicitante) {
+        buscar(id, usuarioSolicitante);
+        descartar(id, false);
+    }
+
+    // Remove sessões expiradas e arquivos de montagem sem sessão (ex.: queda entre a exclusão da linha e a do arquivo)
+    @Scheduled(fixedDelayString = "${app.upload-sessao.varredura-intervalo-ms:600000}")
+    public void varrerSessoesExpiradas() {
+        int removidas = 0;
+        for (SessaoUploadEntity sessao : sessaoUploadRepository.findByExpiraEmBefore(LocalDateTime.now())) {
+            if (descartar(sessao.getId(), true)) {
+                removidas++;
+            }
+        }
+
+        int orfaos = removerArquivosSemSessao();
+        // Sessões excluídas junto com o TCC ou o usuário (on delete cascade) deixam só o estado em memória
+        if (!estados.isEmpty()) {
+            Set<Long> ativas = sessaoUploadRepository.findAllById(Set.copyOf(estados.keySet())).stream()
+                    .map(SessaoUploadEntity::getId)
+                    .collect(Collectors.toSet());
+            estados.keySet().retainAll(ativas);
+        }
+        if (removidas > 0 || orfaos > 0) {
+            log.info("Varredura de uploads: {} sessões expiradas e {} arquivos de montagem órfãos removidos",
+                    removidas, orfaos);
+        }
+    }
+
+    private int removerArquivosSemSessao() {
+        Path diretorio = Paths.get(diretorioSessoes);
+        if (!Files.isDirectory(diretorio)) {
+            return 0;
+        }
+
+        Instant limite = Instant.now().minus(validadeMinutos, ChronoUnit.MINUTES);
+        int removidos = 0;
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            Map<Long, Path> porSessao = arquivos
+                    .filter(arquivo -> arquivo.getFileName().toString().matches("\\d+\\" + EXTENSAO_MONTAGEM))
+                    .collect(Collectors.toMap(arquivo -> Long.valueOf(arquivo.getFileName().toString()
+                            .replace(EXTENSAO_MONTAGEM, "")), arquivo -> arquivo));
+
+            Set<Long> existentes = sessaoUploadRepository.findAllById(porSessao.keySet()).stream()
+                    .map(SessaoUploadEntity::getId)
+                    .collect(Collectors.toSet());
+
+            for (Map.Entry<Long, Path> entrada : porSessao.entrySet()) {
+                Path arquivo = entrada.getValue();
+                if (!existentes.contains(entrada.getKey())
+                        && Files.getLastModifiedTime(arquivo).toInstant().isBefore(limite)) {
+                    Files.deleteIfExists(arquivo);
+                    removidos++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao varrer o diretório de sessões de upload", e);
+        }
+        return removidos;
+    }
+
+    // Com o mesmo lock de receberChunk e finalizar, para que a linha e o arquivo de montagem não sumam
+    // no meio de um chunk. A sessão é relida dentro do lock; na varredura ("somenteExpirada") ela só é
+    // removida se continuar expirada, já que um chunk aceito enquanto isso renova a validade.
+    private boolean descartar(Long id, boolean somenteExpirada) {
+        EstadoSessao estado = estados.computeIfAbsent(id, chave -> new EstadoSessao());
+
+        synchronized (estado) {
+            SessaoUploadEntity sessao = sessaoUploadRepository.findById(id).orElse(null);
+            if (sessao == null || (somenteExpirada && !expirada(sessao))) {
+                return false;
+            }
+
+            try {
+                Files.deleteIfExists(arquivoMontagem(id));
+            } catch (IOException e) {
+                // A linha é removida mesmo assim; o arquivo fica para a varredura de órfãos
+                log.warn("Não foi possível remover o arquivo da sessão de upload {}", id, e);
+            }
+            sessaoUploadRepository.delete(sessao);
+            estados.remove(id);
+            return true;
+        }
+    }
+
+    private static boolean expirada(SessaoUploadEntity sessao) {
+        return sessao.getExpiraEm().isBefore(LocalDateTime.now());
+    }
+
+    public long tamanhoMaximoChunk() {
+        return tamanhoMaximoChunkMb * BYTES_POR_MB;
+    }
+
+    private Path arquivoMontagem(Long id) {
+        return Paths.get(diretorioSessoes).resolve(id + EXTENSAO_MONTAGEM);
+    }
+
+    private void truncarSilenciosamente(Path arquivo, long tamanho) {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho);
+        } catch (IOException e) {
+            // O próximo envio do chunk trunca de novo antes de gravar
+            log.warn("Não foi possível descartar o chunk incompleto de {}", arquivo, e);
+        }
+    }
+
+    private static MessageDigest criarDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // SHA-256 acumulado dos primeiros "bytesConfirmados" bytes do arquivo de montagem
+    private static final class EstadoSessao {
+
+        private MessageDigest digest = criarDigest();
+        private long bytesConfirmados;
+
+        // Devolve uma cópia do digest para o trecho [0, tamanho); a original só muda em confirmar,
+        // então um chunk recusado não contamina o hash
+        private MessageDigest digestAte(long tamanho, Path arquivo) {
+            try {
+                if (bytesConfirmados != tamanho) {
+                    reconstruir(tamanho, arquivo);
+                }
+                return (MessageDigest) digest.clone();
+            } catch (CloneNotSupportedException | IOException e) {
+                throw new RuntimeException("Falha ao calcular o SHA-256 do upload: " + e.getMessage());
+            }
+        }
+
+        private void confirmar(MessageDigest novoDigest, long novoTamanho) {
+            this.digest = novoDigest;
+            this.bytesConfirmados = novoTamanho;
+        }
+
+        private void reconstruir(long tamanho, Path arquivo) throws IOException {
+            MessageDigest reconstruido = criarDigest();
+            try (InputStream entrada = Files.newInputStream(arquivo)) {
+                byte[] buffer = new byte[TAMANHO_BUFFER];
+                long restante = tamanho;
+                while (restante > 0) {
+                    int lidos = entrada.read(buffer, 0, (int) Math.min(buffer.length, restante));
+                    if (lidos == -1) {
+                        throw new IOException("arquivo de montagem menor que o progresso registrado");
+                    }
+                    reconstruido.update(buffer, 0, lidos);
+                    restante -= lidos;
+                }
+            }
+            confirmar(reconstruido, tamanho);
+        }
+    }
+}
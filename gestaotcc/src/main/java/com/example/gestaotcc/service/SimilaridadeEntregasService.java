@@ -0,0 +1,254 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.CandidatoSimilaridadeDTO;
+import com.example.gestaotcc.dto.EntregaDTO;
+import com.example.gestaotcc.model.AssinaturaEntregaEntity;
+import com.example.gestaotcc.model.BandaLshEntity;
+import com.example.gestaotcc.repository.AssinaturaEntregaRepository;
+import com.example.gestaotcc.repository.BandaLshRepository;
+import com.example.gestaotcc.repository.EntregaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Detecção de entregas muito parecidas entre TCCs diferentes. Cada entrega tem o texto extraído e
+// resumido numa assinatura MinHash, cujas bandas vão para o índice LSH (bandas_lsh): a busca de
+// candidatos só olha as entregas que coincidem em alguma banda, em vez de comparar o arquivo novo
+// com todo o acervo. A assinatura é calculada em segundo plano depois de cada envio, e as entregas
+// anteriores (ou cujo processamento falhou) são preenchidas em lotes paralelos pelo agendamento.
+@Slf4j
+@Service
+public class SimilaridadeEntregasService {
+
+    private final ExtratorTextoEntregas extratorTexto;
+    private final AssinaturaEntregaRepository assinaturaRepository;
+    private final BandaLshRepository bandaRepository;
+    private final EntregaRepository entregaRepository;
+    private final ExecutorService executor;
+
+    @Value("${app.similaridade.habilitada:false}")
+    private boolean habilitada;
+
+    // Candidatos abaixo deste Jaccard estimado não são listados
+    @Value("${app.similaridade.limiar-minimo:0.3}")
+    private double limiarMinimo;
+
+    // Textos muito curtos (PDF escaneado, só a capa) coincidiriam com qualquer coisa: não entram no índice
+    @Value("${app.similaridade.minimo-shingles:50}")
+    private int minimoShingles;
+
+    @Value("${app.similaridade.maximo-candidatos:50}")
+    private int maximoCandidatos;
+
+    @Value("${app.similaridade.preenchimento.lote:200}")
+    private int tamanhoLote;
+
+    public SimilaridadeEntregasService(ExtratorTextoEntregas extratorTexto,
+                                       AssinaturaEntregaRepository assinaturaRepository,
+                                       BandaLshRepository bandaRepository,
+                                       EntregaRepository entregaRepository,
+                                       @Value("${app.similaridade.threads:2}") int threads) {
+        this.extratorTexto = extratorTexto;
+        this.assinaturaRepository = assinaturaRepository;
+        this.bandaRepository = bandaRepository;
+        this.entregaRepository = entregaRepository;
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("similaridade-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // Chamado depois do save da entrega; dentro de uma transação, espera o commit para que a linha
+    // da entrega já exista quando as bandas forem gravadas
+    public void agendarIndexacao(Long entregaId, String caminhoArquivo) {
+        if (!habilitada) {
+            return;
+        }
+
+        Runnable tarefa = () -> {
+            try {
+                indexar(entregaId, caminhoArquivo);
+            } catch (Exception e) {
+                // O preenchimento agendado tenta de novo
+                log.warn("Não foi possível calcular a assinatura da entrega {}", entregaId, e);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(tarefa);
+                }
+            });
+        } else {
+            executor.execute(tarefa);
+        }
+    }
+
+    public AssinaturaMinHash indexar(Long entregaId, String caminhoArquivo) throws IOException {
+        AssinaturaMinHash assinatura = AssinaturaMinHash.calcular(extratorTexto.extrair(caminhoArquivo).orElse(""));
+
+        // As bandas são gravadas antes da assinatura, que marca a entrega como processada: se algo falhar
+        // no meio, a entrega continua pendente e o próximo processamento substitui as bandas
+        bandaRepository.deleteByEntregaId(entregaId);
+        if (assinatura.getQuantidadeShingles() >= minimoShingles) {
+            long[] bandas = assinatura.bandas();
+            List<BandaLshEntity> linhas = new ArrayList<>(bandas.length);
+            for (short banda = 0; banda < bandas.length; banda++) {
+                linhas.add(new BandaLshEntity(banda, bandas[banda], entregaId));
+            }
+            bandaRepository.saveAll(linhas);
+        }
+
+        assinaturaRepository.save(AssinaturaEntregaEntity.builder()
+                .entregaId(entregaId)
+                .minhash(assinatura.serializar())
+                .quantidadeShingles(assinatura.getQuantidadeShingles())
+                .criadaEm(LocalDateTime.now())
+                .build());
+        return assinatura;
+    }
+
+    // Entregas de outros TCCs parecidas com a informada, da mais para a menos parecida. Uma entrega
+    // ainda não processada é processada na hora.
+    public List<CandidatoSimilaridadeDTO> buscarCandidatos(Long entregaId, Long tccId, String caminhoArquivo) {
+        AssinaturaMinHash propria;
+        try {
+            propria = assinaturaRepository.findById(entregaId)
+                    .map(SimilaridadeEntregasService::converter)
+                    .orElse(null);
+            if (propria == null) {
+                propria = indexar(entregaId, caminhoArquivo);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Falha ao ler o arquivo da entrega: " + e.getMessage());
+        }
+
+        if (propria.getQuantidadeShingles() < minimoShingles) {
+            return List.of();
+        }
+
+        List<Long> candidatos = bandaRepository.findCandidatos(entregaId);
+        if (candidatos.isEmpty()) {
+            return List.of();
+        }
+
+        // A similaridade sai das assinaturas; só os candidatos acima do limiar são carregados
+        AssinaturaMinHash assinaturaPropria = propria;
+        Map<Long, Double> similaridades = assinaturaRepository.findAllById(candidatos).stream()
+                .collect(Collectors.toMap(AssinaturaEntregaEntity::getEntregaId,
+                        outra -> assinaturaPropria.similaridade(converter(outra))));
+        List<Long> acimaDoLimiar = similaridades.entrySet().stream()
+                .filter(similaridade -> similaridade.getValue() >= limiarMinimo)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (acimaDoLimiar.isEmpty()) {
+            return List.of();
+        }
+
+        // Versões anteriores do mesmo TCC são naturalmente parecidas e ficam de fora
+        Map<Long, EntregaDTO> entregas = entregaRepository.findDTOByIdIn(acimaDoLimiar).stream()
+                .collect(Collectors.toMap(EntregaDTO::getId, Function.identity()));
+        return acimaDoLimiar.stream()
+                .map(entregas::get)
+                .filter(entrega -> entrega != null && !entrega.getTccId().equals(tccId))
+                .map(entrega -> new CandidatoSimilaridadeDTO(entrega.getId(), entrega.getTipo(),
+                        entrega.getDataEnvio(), entrega.getTccId(), entrega.getTituloTcc(),
+                        similaridades.get(entrega.getId())))
+                .sorted(Comparator.comparingDouble(CandidatoSimilaridadeDTO::getSimilaridadeEstimada).reversed())
+                .limit(maximoCandidatos)
+                .toList();
+    }
+
+    @Scheduled(initialDelayString = "${app.similaridade.preenchimento.intervalo-ms:3600000}",
+            fixedDelayString = "${app.similaridade.preenchimento.intervalo-ms:3600000}")
+    public void preencherAgendado() {
+        if (habilitada) {
+            preencherAssinaturas();
+        }
+    }
+
+    // Processa as entregas sem assinatura em lotes; as entregas de cada lote são processadas em paralelo
+    // (app.similaridade.threads), e o próximo lote só é buscado quando o anterior termina
+    public ResultadoPreenchimento preencherAssinaturas() {
+        ResultadoPreenchimento resultado = new ResultadoPreenchimento();
+
+        long cursor = 0;
+        List<EntregaDTO> pagina;
+        do {
+            pagina = entregaRepository.findPaginaDTOSemAssinatura(cursor, Limit.of(tamanhoLote));
+
+            List<Callable<AssinaturaMinHash>> tarefas = pagina.stream()
+                    .map(entrega -> (Callable<AssinaturaMinHash>) () ->
+                            indexar(entrega.getId(), entrega.getCaminhoArquivo()))
+                    .toList();
+            try {
+                List<Future<AssinaturaMinHash>> processadas = executor.invokeAll(tarefas);
+                for (int i = 0; i < processadas.size(); i++) {
+                    contabilizar(pagina.get(i), processadas.get(i), resultado);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Preenchimento de assinaturas interrompido");
+                return resultado;
+            }
+
+            if (!pagina.isEmpty()) {
+                cursor = pagina.get(pagina.size() - 1).getId();
+            }
+        } while (pagina.size() == tamanhoLote);
+
+        log.info("Preenchimento de assinaturas concluído: {} entregas processadas, {} sem texto, {} falhas",
+                resultado.processadas, resultado.semTexto, resultado.falhas);
+        return resultado;
+    }
+
+    private void contabilizar(EntregaDTO entrega, Future<AssinaturaMinHash> processada,
+                              ResultadoPreenchimento resultado) throws InterruptedException {
+        try {
+            AssinaturaMinHash assinatura = processada.get();
+            resultado.processadas++;
+            if (assinatura.getQuantidadeShingles() < minimoShingles) {
+                resultado.semTexto++;
+            }
+        } catch (ExecutionException e) {
+            resultado.falhas++;
+            log.warn("Não foi possível calcular a assinatura da entrega {}", entrega.getId(), e.getCause());
+        }
+    }
+
+    private static AssinaturaMinHash converter(AssinaturaEntregaEntity entidade) {
+        return AssinaturaMinHash.desserializar(entidade.getMinhash(), entidade.getQuantidadeShingles());
+    }
+
+    @Getter
+    public static final class ResultadoPreenchimento {
+        private long processadas;
+        private long semTexto;
+        private long falhas;
+    }
+}
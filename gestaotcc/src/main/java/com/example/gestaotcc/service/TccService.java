@@ -1,24 +1,47 @@
 package com.example.gestaotcc.service;
 
+import com.example.gestaotcc.dto.PaginaDTO;
+import com.example.gestaotcc.dto.TccDTO;
+import com.example.gestaotcc.evento.AvaliacaoAlteradaEvento;
+import com.example.gestaotcc.evento.EntregaAlteradaEvento;
+import com.example.gestaotcc.evento.SituacaoTcc;
+import com.example.gestaotcc.evento.TccAlteradoEvento;
+import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.TccEntity;
 import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
 import com.example.gestaotcc.model.enuns.StatusTcc;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.example.gestaotcc.repository.TccRepository;
 import com.example.gestaotcc.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TccService {
+    private static final Pattern PALAVRA = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAXIMO_PALAVRAS_BUSCA = 10;
+
     private final TccRepository tccRepository;
     private final UsuarioRepository usuarioRepository;
+    private final PaginacaoService paginacao;
+    private final ResumoTccService resumoTcc;
+    private final ApplicationEventPublisher eventos;
+    private final CargaOrientadoresService cargaOrientadores;
 
+    @Transactional
     public TccEntity cadastrarPropostaTcc(TccEntity tcc) {
         // Validações
         if (tcc.getTitulo() == null || tcc.getTitulo().isEmpty()) {
@@ -33,14 +56,21 @@ public class TccService {
             throw new RuntimeException("O usuário selecionado não é um orientador");
         }
 
+        // Limite opcional de TCCs em andamento por orientador (app.orientadores.limite-tccs-em-andamento)
+        cargaOrientadores.verificarLimite(orientador.getId());
+
         // Configurações iniciais
         tcc.setStatus(StatusTcc.EM_ANDAMENTO);
         tcc.setDataCriacao(LocalDate.now());
 
-        return tccRepository.save(tcc);
+        TccEntity tccSalvo = tccRepository.save(tcc);
+        resumoTcc.criar(tccSalvo.getId());
+        eventos.publishEvent(new TccAlteradoEvento(null, SituacaoTcc.de(tccSalvo)));
+        return tccSalvo;
     }
 
-    public TccEntity atualizarStatusTcc(Long tccId, StatusTcc novoStatus, UsuarioEntity usuarioSolicitante) {
+    @Transactional
+    public TccEntity atualizarStatusTcc(Long tccId, StatusTcc novoStatus, UsuarioLogado usuarioSolicitante) {
         TccEntity tcc = tccRepository.findById(tccId)
                 .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
 
@@ -51,9 +81,12 @@ public class TccService {
             // Se é o orientador do TCC ou um coordenador
             if (tcc.getOrientador().getId().equals(usuarioSolicitante.getId()) ||
                     usuarioSolicitante.getTipoUsuario() == TipoUsuario.COORDENADOR) {
+                SituacaoTcc anterior = SituacaoTcc.de(tcc);
                 tcc.setStatus(novoStatus);
                 tcc.setDataAtualizacao(LocalDate.now());
-                return tccRepository.save(tcc);
+                TccEntity tccSalvo = tccRepository.save(tcc);
+                eventos.publishEvent(new TccAlteradoEvento(anterior, SituacaoTcc.de(tccSalvo)));
+                return tccSalvo;
             } else {
                 throw new RuntimeException("Apenas o orientador do TCC ou um coordenador pode alterar seu status");
             }
@@ -62,7 +95,8 @@ public class TccService {
         }
     }
 
-    public TccEntity atualizarTcc(TccEntity tcc, UsuarioEntity usuarioSolicitante) {
+    @Transactional
+    public TccEntity atualizarTcc(TccEntity tcc, UsuarioLogado usuarioSolicitante) {
         TccEntity tccExistente = tccRepository.findById(tcc.getId())
                 .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
 
@@ -82,6 +116,8 @@ public class TccService {
             tcc.setStatus(tccExistente.getStatus());
         }
 
+        SituacaoTcc anterior = SituacaoTcc.de(tccExistente);
+
         // Atualizar dados
         tccExistente.setTitulo(tcc.getTitulo());
         tccExistente.setResumo(tcc.getResumo());
@@ -94,42 +130,104 @@ public class TccService {
             tccExistente.setStatus(tcc.getStatus());
         }
 
-        return tccRepository.save(tccExistente);
+        TccEntity tccSalvo = tccRepository.save(tccExistente);
+        eventos.publishEvent(new TccAlteradoEvento(anterior, SituacaoTcc.de(tccSalvo)));
+        return tccSalvo;
     }
 
-    public List<TccEntity> listarTccsPorAluno(Long alunoId) {
-        UsuarioEntity aluno = usuarioRepository.findById(alunoId)
-                .orElseThrow(() -> new RuntimeException("Aluno não encontrado"));
-        return tccRepository.findByAluno(aluno);
+    @Transactional(readOnly = true)
+    public PaginaDTO<TccDTO> listarTccsPaginadoPorAluno(Long alunoId, String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByAlunoId(alunoId,
+                paginacao.cursorDecrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(tccs, tamanhoPagina, TccDTO::getId);
     }
 
-    public List<TccEntity> listarTccsPorOrientador(Long orientadorId) {
-        UsuarioEntity orientador = usuarioRepository.findById(orientadorId)
-                .orElseThrow(() -> new RuntimeException("Orientador não encontrado"));
-        return tccRepository.findByOrientador(orientador);
+    @Transactional(readOnly = true)
+    public PaginaDTO<TccDTO> listarTccsPaginadoPorOrientador(Long orientadorId, String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByOrientadorId(orientadorId,
+                paginacao.cursorDecrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(tccs, tamanhoPagina, TccDTO::getId);
     }
 
-    public List<TccEntity> listarTccsPorAlunoEStatus(UsuarioEntity aluno, StatusTcc status) {
-        return tccRepository.findByAlunoAndStatus(aluno, status);
+    @Transactional(readOnly = true)
+    public PaginaDTO<TccDTO> listarTccsPaginadoPorAlunoEStatus(Long alunoId, StatusTcc status,
+                                                              String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByAlunoIdAndStatus(alunoId, status,
+                paginacao.cursorDecrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(tccs, tamanhoPagina, TccDTO::getId);
     }
 
-    public List<TccEntity> listarTccsPorOrientadorEStatus(UsuarioEntity orientador, StatusTcc status) {
-        return tccRepository.findByOrientadorAndStatus(orientador, status);
+    @Transactional(readOnly = true)
+    public PaginaDTO<TccDTO> listarTccsPaginadoPorOrientadorEStatus(Long orientadorId, StatusTcc status,
+                                                                   String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByOrientadorIdAndStatus(orientadorId, status,
+                paginacao.cursorDecrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(tccs, tamanhoPagina, TccDTO::getId);
     }
 
-    public List<TccEntity> listarTccsPorStatus(StatusTcc status) {
-        return tccRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public PaginaDTO<TccDTO> listarTccsPaginadoPorStatus(StatusTcc status, String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByStatus(status,
+                paginacao.cursorDecrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(tccs, tamanhoPagina, TccDTO::getId);
     }
 
-    public List<TccEntity> listarTodosTccs() {
-        return tccRepository.findAll();
+    @Transactional(readOnly = true)
+    public PaginaDTO<TccDTO> listarTodosTccsPaginado(String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<TccDTO> tccs = tccRepository.findPaginaDTO(
+                paginacao.cursorDecrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(tccs, tamanhoPagina, TccDTO::getId);
+    }
+
+    // Busca por título, área e resumo, em ordem de relevância. Sem paginação por cursor: só as
+    // primeiras "tamanho" ocorrências interessam numa busca, e a ordem não é por id
+    @Transactional(readOnly = true)
+    public List<TccDTO> buscarTccs(String texto, StatusTcc status, Long orientadorId, Integer tamanho,
+                                   UsuarioLogado usuarioSolicitante) {
+        String consulta = montarConsultaTextual(texto);
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+
+        // Coordenador vê todos; os demais só os TCCs dos quais participam, como em obterTcc
+        Long usuarioId = usuarioSolicitante.getTipoUsuario() == TipoUsuario.COORDENADOR
+                ? null : usuarioSolicitante.getId();
+
+        List<Long> ids = tccRepository.buscarIdsPorTexto(consulta, status != null ? status.name() : null,
+                orientadorId, usuarioId, paginacao.tamanhoPagina(tamanho));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, TccDTO> porId = tccRepository.findDTOByIdIn(ids).stream()
+                .collect(Collectors.toMap(TccDTO::getId, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    // Cada palavra vira um prefixo (":*") e todas precisam aparecer ("&"), então "sist distrib" encontra
+    // "Sistemas Distribuídos". Só letras e dígitos passam, o que impede operadores do tsquery vindos do cliente
+    static String montarConsultaTextual(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return PALAVRA.matcher(texto).results()
+                .map(palavra -> palavra.group() + ":*")
+                .limit(MAXIMO_PALAVRAS_BUSCA)
+                .collect(Collectors.joining(" & "));
     }
 
     public Optional<TccEntity> buscarPorId(Long id) {
         return tccRepository.findById(id);
     }
 
-    public void deletarTcc(Long id, UsuarioEntity usuarioSolicitante) {
+    @Transactional
+    public void deletarTcc(Long id, UsuarioLogado usuarioSolicitante) {
         TccEntity tcc = tccRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("TCC não encontrado"));
 
@@ -146,6 +244,18 @@ public class TccService {
             throw new RuntimeException("Usuário não tem permissão para excluir TCC");
         }
 
+        // As entregas e avaliações saem em cascata com o TCC e deixam de contar no painel
+        eventos.publishEvent(new TccAlteradoEvento(SituacaoTcc.de(tcc), null));
+        if (tcc.getEntregas() != null) {
+            for (EntregaEntity entrega : tcc.getEntregas()) {
+                eventos.publishEvent(EntregaAlteradaEvento.excluida(entrega));
+                if (entrega.getAvaliacoes() != null) {
+                    entrega.getAvaliacoes().forEach(avaliacao ->
+                            eventos.publishEvent(AvaliacaoAlteradaEvento.excluida(avaliacao)));
+                }
+            }
+        }
+
         tccRepository.deleteById(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Service
+public class UsuarioCacheService {
+
+    // O cache guarda cópias desacopladas do contexto de persistência, apenas com os campos simples
+    private final Cache<Long, UsuarioEntity> usuariosPorId;
+    private final Cache<String, Long> idsPorEmail;
+
+    public UsuarioCacheService(@Value("${app.cache.usuarios.ttl-segundos:300}") long ttlSegundos,
+                               @Value("${app.cache.usuarios.tamanho-maximo:10000}") long tamanhoMaximo,
+                               MeterRegistry meterRegistry) {
+        this.usuariosPorId = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        this.idsPorEmail = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usuariosPorId, "usuarios.por-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsPorEmail, "usuarios.por-email");
+    }
+
+    public Optional<UsuarioEntity> buscarPorId(Long id, Function<Long, Optional<UsuarioEntity>> carregador) {
+        UsuarioEntity usuario = usuariosPorId.get(id, chave -> carregador.apply(chave)
+                .map(this::copiar)
+                .orElse(null));
+
+        if (usuario == null) {
+            return Optional.empty();
+        }
+
+        if (usuario.getEmail() != null) {
+            idsPorEmail.put(usuario.getEmail(), usuario.getId());
+        }
+        return Optional.of(copiar(usuario));
+    }
+
+    public Optional<UsuarioEntity> buscarPorEmail(String email, Function<String, Optional<UsuarioEntity>> carregador) {
+        Long id = idsPorEmail.getIfPresent(email);
+        if (id != null) {
+            UsuarioEntity usuario = usuariosPorId.getIfPresent(id);
+            if (usuario != null && email.equals(usuario.getEmail())) {
+                return Optional.of(copiar(usuario));
+            }
+        }
+
+        Optional<UsuarioEntity> carregado = carregador.apply(email);
+        carregado.ifPresent(this::atualizar);
+        return carregado;
+    }
+
+    // Write-through: chamado sempre que um usuário é criado ou alterado
+    public void atualizar(UsuarioEntity usuario) {
+        if (usuario == null || usuario.getId() == null) {
+            return;
+        }
+
+        UsuarioEntity anterior = usuariosPorId.getIfPresent(usuario.getId());
+        if (anterior != null && anterior.getEmail() != null && !anterior.getEmail().equals(usuario.getEmail())) {
+            idsPorEmail.invalidate(anterior.getEmail());
+        }
+
+        usuariosPorId.put(usuario.getId(), copiar(usuario));
+        if (usuario.getEmail() != null) {
+            idsPorEmail.put(usuario.getEmail(), usuario.getId());
+        }
+    }
+
+    public void invalidar(Long id) {
+        UsuarioEntity anterior = usuariosPorId.getIfPresent(id);
+        if (anterior != null && anterior.getEmail() != null) {
+            idsPorEmail.invalidate(anterior.getEmail());
+        }
+        usuariosPorId.invalidate(id);
+    }
+
+    private UsuarioEntity copiar(UsuarioEntity usuario) {
+        return UsuarioEntity.builder()
+                .id(usuario.getId())
+                .nome(usuario.getNome())
+                .email(usuario.getEmail())
+                .senha(usuario.getSenha())
+                .tipoUsuario(usuario.getTipoUsuario())
+                .areaAtuacao(usuario.getAreaAtuacao())
+                .build();
+    }
+}
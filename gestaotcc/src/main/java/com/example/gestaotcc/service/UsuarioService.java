@@ -1,11 +1,14 @@
 package com.example.gestaotcc.service;
 
+import com.example.gestaotcc.dto.PaginaDTO;
+import com.example.gestaotcc.dto.UsuarioDTO;
 import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.example.gestaotcc.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +18,9 @@ import java.util.Optional;
 public class UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsuarioCacheService usuarioCache;
+    private final PaginacaoService paginacao;
+    private final IndiceOrientadoresService indiceOrientadores;
 
     public UsuarioEntity cadastrarUsuario(UsuarioEntity usuario) {
         // Validação de dados
@@ -25,7 +31,10 @@ public class UsuarioService {
         // Criptografar senha
         usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
 
-        return usuarioRepository.save(usuario);
+        UsuarioEntity novoUsuario = usuarioRepository.save(usuario);
+        usuarioCache.atualizar(novoUsuario);
+        indiceOrientadores.atualizar(novoUsuario);
+        return novoUsuario;
     }
 
     public UsuarioEntity atualizarUsuario(UsuarioEntity usuario) {
@@ -34,24 +43,50 @@ public class UsuarioService {
 
         usuarioExistente.setNome(usuario.getNome());
 
+        // O formulário de perfil não envia a área; só sobrescreve quando ela vier na requisição
+        if (usuario.getAreaAtuacao() != null) {
+            usuarioExistente.setAreaAtuacao(usuario.getAreaAtuacao());
+        }
+
         // Se estiver atualizando a senha
         if (usuario.getSenha() != null && !usuario.getSenha().isEmpty()) {
             usuarioExistente.setSenha(passwordEncoder.encode(usuario.getSenha()));
         }
 
-        return usuarioRepository.save(usuarioExistente);
+        UsuarioEntity usuarioAtualizado = usuarioRepository.save(usuarioExistente);
+        usuarioCache.atualizar(usuarioAtualizado);
+        indiceOrientadores.atualizar(usuarioAtualizado);
+        return usuarioAtualizado;
     }
 
     public List<UsuarioEntity> listarOrientadores() {
         return usuarioRepository.findByTipoUsuario(TipoUsuario.ORIENTADOR);
     }
 
+    @Transactional(readOnly = true)
+    public List<UsuarioDTO> listarOrientadoresDTO() {
+        return usuarioRepository.findDTOByTipoUsuario(TipoUsuario.ORIENTADOR);
+    }
+
+    // Autocompletar do formulário de proposta: consulta só o índice em memória
+    public List<UsuarioDTO> sugerirOrientadores(String consulta, Integer quantidade) {
+        return indiceOrientadores.sugerir(consulta, quantidade != null ? quantidade : 10);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaDTO<UsuarioDTO> listarTodosPaginado(String cursor, Integer tamanho) {
+        int tamanhoPagina = paginacao.tamanhoPagina(tamanho);
+        List<UsuarioDTO> usuarios = usuarioRepository.findPaginaDTO(
+                paginacao.cursorCrescente(cursor), paginacao.limiteConsulta(tamanhoPagina));
+        return paginacao.montarPagina(usuarios, tamanhoPagina, UsuarioDTO::getId);
+    }
+
     public Optional<UsuarioEntity> buscarPorId(Long id) {
-        return usuarioRepository.findById(id);
+        return usuarioCache.buscarPorId(id, usuarioRepository::findById);
     }
 
     public Optional<UsuarioEntity> buscarPorEmail(String email) {
-        return usuarioRepository.findByEmail(email);
+        return usuarioCache.buscarPorEmail(email, usuarioRepository::findByEmail);
     }
 
     public List<UsuarioEntity> listarTodos() {
@@ -60,5 +95,7 @@ public class UsuarioService {
 
     public void deletarUsuario(Long id) {
         usuarioRepository.deleteById(id);
+        usuarioCache.invalidar(id);
+        indiceOrientadores.remover(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.dto.ArquivoEntregaDTO;
+import com.example.gestaotcc.repository.EntregaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+// Confere o SHA-256 registrado nas entregas com o conteúdo armazenado, para que um arquivo corrompido
+// seja percebido antes de alguém precisar dele. A varredura em segundo plano lê no máximo
+// app.arquivo.verificacao.mb-por-segundo, para não disputar o disco com os downloads.
+@Slf4j
+@Service
+public class VerificacaoIntegridadeService {
+
+    // Arquivos divergentes tirados de uso ficam sob esta chave para análise; a reconciliação não os exclui
+    static final String PREFIXO_CORROMPIDO = ".corrompido-";
+
+    private static final long BYTES_POR_MB = 1024 * 1024;
+    private static final int TAMANHO_JANELA_MAPEADA = 8 * 1024 * 1024;
+    private static final int TAMANHO_FATIA = 1024 * 1024;
+
+    private final ArmazenamentoArquivos armazenamento;
+    private final EntregaRepository entregaRepository;
+    private final Cache<String, String> verificadosRecentemente;
+    private final Counter arquivosVerificados;
+    private final Counter arquivosDivergentes;
+    private final Counter bytesVerificados;
+
+    @Value("${app.arquivo.verificacao.habilitada:false}")
+    private boolean varreduraHabilitada;
+
+    // 0 desliga o limite
+    @Value("${app.arquivo.verificacao.mb-por-segundo:20}")
+    private long mbPorSegundo;
+
+    @Value("${app.arquivo.verificacao.lote:100}")
+    private int tamanhoLote;
+
+    // Move o arquivo divergente para PREFIXO_CORROMPIDO; sem isso a divergência só é registrada
+    @Value("${app.arquivo.verificacao.quarentenar-divergentes:false}")
+    private boolean quarentenarDivergentes;
+
+    // Confere o arquivo inteiro antes do primeiro download; o resultado vale por validade-minutos,
+    // para que as várias requisições com Range de um leitor de PDF não releiam o arquivo
+    @Value("${app.arquivo.verificacao.antes-do-download:false}")
+    private boolean verificarAntesDoDownload;
+
+    public VerificacaoIntegridadeService(ArmazenamentoArquivos armazenamento,
+                                         EntregaRepository entregaRepository,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.arquivo.verificacao.validade-minutos:60}") long validadeMinutos) {
+        this.armazenamento = armazenamento;
+        this.entregaRepository = entregaRepository;
+        this.verificadosRecentemente = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(validadeMinutos))
+                .build();
+        this.arquivosVerificados = meterRegistry.counter("arquivos.verificacao.arquivos", "resultado", "integro");
+        this.arquivosDivergentes = meterRegistry.counter("arquivos.verificacao.arquivos", "resultado", "divergente");
+        this.bytesVerificados = meterRegistry.counter("arquivos.verificacao.bytes");
+    }
+
+    @Scheduled(initialDelayString = "${app.arquivo.verificacao.intervalo-ms:86400000}",
+            fixedDelayString = "${app.arquivo.verificacao.intervalo-ms:86400000}")
+    public void varrerAgendado() {
+        if (varreduraHabilitada) {
+            varrer();
+        }
+    }
+
+    public ResultadoVarredura varrer() {
+        ResultadoVarredura resultado = new ResultadoVarredura();
+        Orcamento orcamento = new Orcamento(mbPorSegundo * BYTES_POR_MB);
+
+        String cursor = "";
+        List<ArquivoEntregaDTO> pagina;
+        do {
+            pagina = entregaRepository.findPaginaArquivos(cursor, Limit.of(tamanhoLote));
+            for (ArquivoEntregaDTO arquivo : pagina) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("Verificação de integridade interrompida");
+                    return resultado;
+                }
+                verificarNaVarredura(arquivo, orcamento, resultado);
+            }
+            if (!pagina.isEmpty()) {
+                cursor = pagina.get(pagina.size() - 1).getCaminhoArquivo();
+            }
+        } while (pagina.size() == tamanhoLote);
+        resultado.bytesLidos = orcamento.consumidos;
+
+        log.info("Verificação de integridade concluída: {} arquivos íntegros, {} divergentes, {} hashes preenchidos, " +
+                        "{} ausentes, {} MB lidos", resultado.integros, resultado.divergentes, resultado.hashesPreenchidos,
+                resultado.ausentes, resultado.bytesLidos / BYTES_POR_MB);
+        return resultado;
+    }
+
+    // Usado pelo download: falso só quando o conteúdo não bate com o hash registrado
+    public boolean conferirAntesDoDownload(String chave, String hashEsperado) throws IOException {
+        if (!verificarAntesDoDownload || hashEsperado == null
+                || hashEsperado.equals(verificadosRecentemente.getIfPresent(chave))) {
+            return true;
+        }
+
+        String hash;
+        try {
+            hash = calcularHash(chave, new Orcamento(0));
+        } catch (NoSuchFileException e) {
+            // O envio do arquivo responde 404
+            return true;
+        }
+        if (!hash.equals(hashEsperado)) {
+            registrarDivergencia(chave, hashEsperado, hash);
+            return false;
+        }
+        verificadosRecentemente.put(chave, hash);
+        return true;
+    }
+
+    private void verificarNaVarredura(ArquivoEntregaDTO arquivo, Orcamento orcamento, ResultadoVarredura resultado) {
+        String chave = arquivo.getCaminhoArquivo();
+        try {
+            String hash = calcularHash(chave, orcamento);
+
+            if (arquivo.getHashConteudo() == null) {
+                // Entregas anteriores ao registro do hash: o conteúdo atual passa a ser a referência
+                entregaRepository.preencherHashConteudo(chave, hash);
+                resultado.hashesPreenchidos++;
+            } else if (hash.equals(arquivo.getHashConteudo())) {
+                resultado.integros++;
+                arquivosVerificados.increment();
+            } else {
+                resultado.divergentes++;
+                registrarDivergencia(chave, arquivo.getHashConteudo(), hash);
+                if (quarentenarDivergentes) {
+                    armazenamento.mover(chave, PREFIXO_CORROMPIDO + chave);
+                    log.warn("Arquivo {} movido para {}", chave, PREFIXO_CORROMPIDO + chave);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Referências sem arquivo são relatadas pela reconciliação
+            resultado.ausentes++;
+        } catch (IOException e) {
+            log.warn("Não foi possível verificar o arquivo {}", chave, e);
+        }
+    }
+
+    private void registrarDivergencia(String chave, String esperado, String encontrado) {
+        arquivosDivergentes.increment();
+        verificadosRecentemente.invalidate(chave);
+        log.error("Arquivo {} corrompido: SHA-256 registrado {}, conteúdo atual {}", chave, esperado, encontrado);
+    }
+
+    private String calcularHash(String chave, Orcamento orcamento) throws IOException {
+        MessageDigest digest = criarDigest();
+
+        // No disco local o arquivo é mapeado em memória: o hash é calculado direto do page cache,
+        // sem copiar para buffers no heap
+        Optional<Path> caminhoLocal = armazenamento.caminhoLocal(chave);
+        if (caminhoLocal.isPresent()) {
+            atualizarComArquivoMapeado(digest, caminhoLocal.get(), orcamento);
+        } else {
+            atualizarComStream(digest, chave, orcamento);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void atualizarComArquivoMapeado(MessageDigest digest, Path arquivo, Orcamento orcamento) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            for (long posicao = 0; posicao < tamanho; posicao += TAMANHO_JANELA_MAPEADA) {
+                MappedByteBuffer janela = canal.map(FileChannel.MapMode.READ_ONLY, posicao,
+                        Math.min(TAMANHO_JANELA_MAPEADA, tamanho - posicao));
+                while (janela.hasRemaining()) {
+                    int fatia = Math.min(TAMANHO_FATIA, janela.remaining());
+                    ByteBuffer parte = janela.slice(janela.position(), fatia);
+                    digest.update(parte);
+                    janela.position(janela.position() + fatia);
+                    orcamento.consumir(fatia);
+                }
+            }
+        }
+    }
+
+    private void atualizarComStream(MessageDigest digest, String chave, Orcamento orcamento) throws IOException {
+        try (InputStream entrada = armazenamento.ler(chave)) {
+            byte[] buffer = new byte[TAMANHO_FATIA];
+            int lidos;
+            while ((lidos = entrada.readNBytes(buffer, 0, buffer.length)) > 0) {
+                digest.update(buffer, 0, lidos);
+                orcamento.consumir(lidos);
+            }
+        }
+    }
+
+    private static MessageDigest criarDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    public static final class ResultadoVarredura {
+        private long integros;
+        private long divergentes;
+        private long hashesPreenchidos;
+        private long ausentes;
+        private long bytesLidos;
+    }
+
+    // Limita a taxa de leitura: depois de cada fatia, dorme o necessário para que a média desde o início
+    // da varredura não passe de bytesPorSegundo
+    private final class Orcamento {
+
+        private final long bytesPorSegundo;
+        private final long inicio = System.nanoTime();
+        private long consumidos;
+
+        private Orcamento(long bytesPorSegundo) {
+            this.bytesPorSegundo = bytesPorSegundo;
+        }
+
+        private void consumir(long bytes) throws IOException {
+            consumidos += bytes;
+            bytesVerificados.increment(bytes);
+            if (bytesPorSegundo <= 0) {
+                return;
+            }
+
+            long previstoNanos = (long) (consumidos * 1_000_000_000.0 / bytesPorSegundo);
+            long esperaNanos = previstoNanos - (System.nanoTime() - inicio);
+            if (esperaNanos > 0) {
+                try {
+                    Thread.sleep(Duration.ofNanos(esperaNanos));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Verificação de integridade interrompida", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+-- Contadores pré-agregados do painel do coordenador (DashboardService), mantidos por somas a cada
+-- escrita de TCC, entrega ou avaliação. periodo é '-' nos contadores da situação atual e 'aaaa-mm'
+-- nos mensais.
+
+create table dashboard_contadores (
+    dimensao    varchar(50)  not null,
+    chave       varchar(255) not null,
+    periodo     varchar(7)   not null,
+    quantidade  bigint       not null,
+    primary key (dimensao, chave, periodo)
+);
+
+-- Contadores dos dados já existentes
+insert into dashboard_contadores (dimensao, chave, periodo, quantidade)
+select 'TCCS_POR_STATUS', status, '-', count(*) from tcc group by status;
+
+insert into dashboard_contadores (dimensao, chave, periodo, quantidade)
+select 'TCCS_POR_AREA', area, '-', count(*) from tcc group by area;
+
+insert into dashboard_contadores (dimensao, chave, periodo, quantidade)
+select 'TCCS_EM_ANDAMENTO_POR_ORIENTADOR', cast(orientador_id as varchar), '-', count(*)
+from tcc
+where status = 'EM_ANDAMENTO'
+group by orientador_id;
+
+insert into dashboard_contadores (dimensao, chave, periodo, quantidade)
+select 'ENTREGAS_POR_TIPO', tipo, to_char(data_envio, 'YYYY-MM'), count(*)
+from entregas
+group by tipo, to_char(data_envio, 'YYYY-MM');
+
+insert into dashboard_contadores (dimensao, chave, periodo, quantidade)
+select 'AVALIACOES_POR_FAIXA_NOTA', cast(greatest(0, least(9, floor(nota))) as integer)::varchar,
+       to_char(data_avaliacao, 'YYYY-MM'), count(*)
+from avaliacoes
+group by 2, 3;
+
+insert into dashboard_contadores (dimensao, chave, periodo, quantidade)
+select 'SOMA_NOTAS', '-', to_char(data_avaliacao, 'YYYY-MM'), sum(round(nota * 100))
+from avaliacoes
+group by 3;
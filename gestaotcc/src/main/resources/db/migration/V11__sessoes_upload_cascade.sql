@@ -0,0 +1,9 @@
+-- Sessões de upload em andamento saem junto com o TCC ou o usuário, como as demais tabelas
+-- auxiliares; sem isso, um upload aberto ou abandonado impedia a exclusão. O arquivo de montagem
+-- da sessão fica para a varredura de órfãos do SessaoUploadService.
+
+alter table sessoes_upload
+    drop constraint sessoes_upload_tcc_id_fkey,
+    drop constraint sessoes_upload_usuario_id_fkey,
+    add constraint sessoes_upload_tcc_id_fkey foreign key (tcc_id) references tcc (id) on delete cascade,
+    add constraint sessoes_upload_usuario_id_fkey foreign key (usuario_id) references usuarios (id) on delete cascade;
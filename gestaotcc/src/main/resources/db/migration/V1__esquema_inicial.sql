@@ -0,0 +1,40 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update
+
+create table usuarios (
+    id            bigint generated by default as identity primary key,
+    nome          varchar(255) not null,
+    email         varchar(255) not null,
+    senha         varchar(255) not null,
+    tipo_usuario  varchar(255) not null check (tipo_usuario in ('ALUNO', 'ORIENTADOR', 'COORDENADOR')),
+    constraint uk_usuarios_email unique (email)
+);
+
+create table tcc (
+    id                bigint generated by default as identity primary key,
+    titulo            varchar(255)  not null,
+    resumo            varchar(1000) not null,
+    area              varchar(255)  not null,
+    status            varchar(255)  not null check (status in ('EM_ANDAMENTO', 'CONCLUIDO', 'REPROVADO')),
+    aluno_id          bigint        not null references usuarios (id),
+    orientador_id     bigint        not null references usuarios (id),
+    data_criacao      date          not null,
+    data_atualizacao  date
+);
+
+create table entregas (
+    id               bigint generated by default as identity primary key,
+    tipo             varchar(255) not null check (tipo in ('PARCIAL', 'FINAL')),
+    data_envio       timestamp(6) not null,
+    observacao       varchar(500),
+    tcc_id           bigint       not null references tcc (id),
+    caminho_arquivo  varchar(255) not null
+);
+
+create table avaliacoes (
+    id              bigint generated by default as identity primary key,
+    nota            float(53)     not null,
+    comentario      varchar(1000) not null,
+    data_avaliacao  timestamp(6)  not null,
+    entrega_id      bigint        not null references entregas (id),
+    orientador_id   bigint        not null references usuarios (id)
+);
@@ -0,0 +1,30 @@
+-- Índices compostos para os finders dos repositórios. O id no final de cada índice
+-- atende também à paginação por chave (where ... and id < :cursor order by id desc).
+
+-- UsuarioRepository.findByTipoUsuario / findDTOByTipoUsuario
+create index if not exists idx_usuarios_tipo_usuario on usuarios (tipo_usuario, id);
+
+-- TccRepository: *ByAluno e *ByAlunoAndStatus. Um aluno tem poucos TCCs, então o mesmo
+-- índice atende a listagem sem status e ordenar o resultado por id é trivial.
+create index if not exists idx_tcc_aluno_status on tcc (aluno_id, status, id);
+
+-- TccRepository: *ByOrientador, *ByOrientadorAndStatus e a paginação do orientador
+create index if not exists idx_tcc_orientador_id on tcc (orientador_id, id);
+create index if not exists idx_tcc_orientador_status on tcc (orientador_id, status, id);
+
+-- TccRepository: *ByStatus e a paginação do coordenador por status
+create index if not exists idx_tcc_status on tcc (status, id);
+
+-- EntregaRepository: *ByTcc e findFirstByTccOrderByDataEnvioDesc
+create index if not exists idx_entregas_tcc_data_envio on entregas (tcc_id, data_envio desc);
+
+-- EntregaRepository: *ByTccAndTipo
+create index if not exists idx_entregas_tcc_tipo on entregas (tcc_id, tipo);
+
+-- AvaliacaoRepository.findByEntregaAndOrientador: um orientador avalia cada entrega uma única vez.
+-- A restrição também serve as buscas por entrega_id, que é a primeira coluna.
+-- Bancos antigos com avaliações duplicadas precisam ser saneados antes desta migração.
+alter table avaliacoes add constraint uk_avaliacoes_entrega_orientador unique (entrega_id, orientador_id);
+
+-- AvaliacaoRepository: *ByOrientador e a paginação por orientador
+create index if not exists idx_avaliacoes_orientador on avaliacoes (orientador_id, id);
@@ -0,0 +1,18 @@
+-- Uploads de entregas em partes (SessaoUploadService). A linha existe só enquanto o upload
+-- não é finalizado ou cancelado; sessões expiradas são removidas pela varredura.
+
+create table sessoes_upload (
+    id                bigint generated by default as identity primary key,
+    tcc_id            bigint       not null references tcc (id),
+    usuario_id        bigint       not null references usuarios (id),
+    tipo              varchar(255) not null check (tipo in ('PARCIAL', 'FINAL')),
+    observacao        varchar(500),
+    nome_arquivo      varchar(255) not null,
+    tamanho_total     bigint       not null,
+    tamanho_recebido  bigint       not null,
+    proximo_chunk     integer      not null,
+    criada_em         timestamp(6) not null,
+    expira_em         timestamp(6) not null
+);
+
+create index if not exists idx_sessoes_upload_expira_em on sessoes_upload (expira_em);
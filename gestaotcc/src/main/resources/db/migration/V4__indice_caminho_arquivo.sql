@@ -0,0 +1,3 @@
+-- EntregaRepository.countByCaminhoArquivo: contagem de referências antes de excluir um arquivo,
+-- na exclusão de entregas e na reconciliação com o armazenamento (ReconciliacaoArquivosService)
+create index if not exists idx_entregas_caminho_arquivo on entregas (caminho_arquivo);
@@ -0,0 +1,3 @@
+-- SHA-256 do conteúdo de cada entrega, registrado no envio e conferido pela verificação de integridade
+-- (VerificacaoIntegridadeService), que também preenche as entregas anteriores a esta coluna
+alter table entregas add column hash_conteudo varchar(64);
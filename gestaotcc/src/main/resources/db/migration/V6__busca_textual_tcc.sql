@@ -0,0 +1,18 @@
+-- Busca textual dos TCCs (TccRepository.buscarIdsPorTexto). O tsvector é uma coluna gerada:
+-- o PostgreSQL o recalcula a cada insert/update de titulo, area ou resumo, sem código na aplicação.
+
+-- Remove acentos antes do stemmer, para que "computacao" encontre "Computação"
+create extension if not exists unaccent;
+
+create text search configuration portugues_sem_acento (copy = portuguese);
+alter text search configuration portugues_sem_acento
+    alter mapping for hword, hword_part, word with unaccent, portuguese_stem;
+
+-- Pesos do ts_rank_cd: título (A) vale mais que a área (B), que vale mais que o resumo (C)
+alter table tcc add column busca tsvector generated always as (
+    setweight(to_tsvector('portugues_sem_acento', coalesce(titulo, '')), 'A') ||
+    setweight(to_tsvector('portugues_sem_acento', coalesce(area, '')), 'B') ||
+    setweight(to_tsvector('portugues_sem_acento', coalesce(resumo, '')), 'C')
+) stored;
+
+create index if not exists idx_tcc_busca on tcc using gin (busca);
@@ -0,0 +1,20 @@
+-- Detecção de similaridade entre entregas (SimilaridadeEntregasService): assinatura MinHash do texto
+-- de cada entrega e o índice LSH por bandas. As linhas saem junto com a entrega.
+
+create table assinaturas_entrega (
+    entrega_id           bigint       not null primary key references entregas (id) on delete cascade,
+    minhash              bytea        not null,
+    quantidade_shingles  integer      not null,
+    criada_em            timestamp(6) not null
+);
+
+-- A chave primária atende a busca de candidatos: where banda = ? and valor = ?
+create table bandas_lsh (
+    banda       smallint not null,
+    valor       bigint   not null,
+    entrega_id  bigint   not null references entregas (id) on delete cascade,
+    primary key (banda, valor, entrega_id)
+);
+
+-- Bandas de uma entrega (ponto de partida da busca) e o cascade da exclusão
+create index if not exists idx_bandas_lsh_entrega on bandas_lsh (entrega_id);
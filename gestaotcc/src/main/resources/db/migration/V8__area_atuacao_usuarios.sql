@@ -0,0 +1,2 @@
+-- Área de atuação informada pelos orientadores, usada nas sugestões de orientador (IndiceOrientadoresService)
+alter table usuarios add column area_atuacao varchar(255);
@@ -0,0 +1,27 @@
+-- Resumo do andamento de cada TCC para o painel (ResumoTccService): mantido na mesma transação das
+-- escritas de entregas e avaliações. As linhas saem junto com o TCC.
+
+create table resumos_tcc (
+    tcc_id                 bigint           not null primary key references tcc (id) on delete cascade,
+    entregas_parciais      integer          not null,
+    entregas_finais        integer          not null,
+    ultima_entrega         timestamp(6),
+    quantidade_avaliacoes  integer          not null,
+    ultima_nota            double precision,
+    media_notas            double precision,
+    atualizado_em          timestamp(6)     not null
+);
+
+-- Resumos dos TCCs já existentes
+insert into resumos_tcc (tcc_id, entregas_parciais, entregas_finais, ultima_entrega, quantidade_avaliacoes,
+                         ultima_nota, media_notas, atualizado_em)
+select t.id,
+       (select count(*) from entregas e where e.tcc_id = t.id and e.tipo = 'PARCIAL'),
+       (select count(*) from entregas e where e.tcc_id = t.id and e.tipo = 'FINAL'),
+       (select max(e.data_envio) from entregas e where e.tcc_id = t.id),
+       (select count(*) from avaliacoes a join entregas e on e.id = a.entrega_id where e.tcc_id = t.id),
+       (select a.nota from avaliacoes a join entregas e on e.id = a.entrega_id where e.tcc_id = t.id
+        order by a.data_avaliacao desc, a.id desc limit 1),
+       (select avg(a.nota) from avaliacoes a join entregas e on e.id = a.entrega_id where e.tcc_id = t.id),
+       now()
+from tcc t;
@@ -0,0 +1,111 @@
+package com.example.gestaotcc.armazenamento;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ArmazenamentoComprimido")
+class ArmazenamentoComprimidoTest extends ContratoArmazenamentoArquivosTest {
+
+    // Blocos pequenos para que os testes do contrato atravessem vários blocos
+    private static final int TAMANHO_BLOCO = 7;
+
+    @TempDir
+    Path diretorio;
+
+    private ArmazenamentoMemoria base;
+
+    @Override
+    protected ArmazenamentoArquivos criarArmazenamento() {
+        base = new ArmazenamentoMemoria();
+        // Razão alta: o contrato roda também sobre o formato em blocos, mesmo com conteúdo incompressível
+        return new ArmazenamentoComprimido(base, TAMANHO_BLOCO, 10.0);
+    }
+
+    private static byte[] textoCompressivel(int tamanho) {
+        byte[] frase = "Capitulo 2 - Fundamentacao teorica. O metodo proposto ".getBytes(StandardCharsets.UTF_8);
+        byte[] conteudo = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            conteudo[i] = frase[i % frase.length];
+        }
+        return conteudo;
+    }
+
+    @Test
+    @DisplayName("Deve gravar comprimido o conteúdo que compensa e ler intervalos que atravessam blocos")
+    void deveComprimirELerIntervalosEntreBlocos() throws Exception {
+        // Given
+        ArmazenamentoComprimido comprimido = new ArmazenamentoComprimido(base, 1024, 0.9);
+        byte[] conteudo = textoCompressivel(10_000);
+
+        // When
+        long gravados = comprimido.gravar("capitulo.txt", new ByteArrayInputStream(conteudo));
+
+        // Then
+        assertEquals(conteudo.length, gravados);
+        assertEquals(conteudo.length, comprimido.consultar("capitulo.txt").orElseThrow().getTamanho());
+        assertTrue(base.consultar("capitulo.txt").orElseThrow().getTamanho() < conteudo.length / 4);
+        assertArrayEquals(conteudo, comprimido.ler("capitulo.txt").readAllBytes());
+        assertArrayEquals(Arrays.copyOfRange(conteudo, 1000, 3001),
+                comprimido.lerIntervalo("capitulo.txt", 1000, 3000).readAllBytes());
+        assertArrayEquals(Arrays.copyOfRange(conteudo, 9990, 10_000),
+                comprimido.lerIntervalo("capitulo.txt", 9990, 20_000).readAllBytes());
+    }
+
+    @Test
+    @DisplayName("Deve gravar sem alteração o conteúdo cuja amostra não compensa comprimir")
+    void deveGravarSemCompressaoConteudoIncompressivel() throws Exception {
+        // Given
+        ArmazenamentoComprimido comprimido = new ArmazenamentoComprimido(base, 1024, 0.9);
+        byte[] conteudo = new byte[5000];
+        new Random(42).nextBytes(conteudo);
+
+        // When
+        comprimido.gravar("imagem.pdf", new ByteArrayInputStream(conteudo));
+
+        // Then
+        assertArrayEquals(conteudo, base.ler("imagem.pdf").readAllBytes());
+        assertArrayEquals(conteudo, comprimido.ler("imagem.pdf").readAllBytes());
+        assertArrayEquals(Arrays.copyOfRange(conteudo, 100, 200),
+                comprimido.lerIntervalo("imagem.pdf", 100, 199).readAllBytes());
+    }
+
+    @Test
+    @DisplayName("Deve comprimir conteúdo que começa como um arquivo comprimido para não confundir a leitura")
+    void deveComprimirConteudoQueComecaComAMagica() throws Exception {
+        // Given
+        ArmazenamentoComprimido comprimido = new ArmazenamentoComprimido(base, 1024, 0.0);
+        byte[] conteudo = "GTCZB1\r\n e mais alguns bytes aleatorios".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        comprimido.gravar("estranho.bin", new ByteArrayInputStream(conteudo));
+
+        // Then
+        assertFalse(Arrays.equals(conteudo, base.ler("estranho.bin").readAllBytes()));
+        assertArrayEquals(conteudo, comprimido.ler("estranho.bin").readAllBytes());
+    }
+
+    @Test
+    @DisplayName("Não deve expor o caminho local de arquivos comprimidos")
+    void naoDeveExporCaminhoLocalDeArquivoComprimido() throws Exception {
+        // Given
+        ArmazenamentoComprimido comprimido = new ArmazenamentoComprimido(
+                new ArmazenamentoSistemaArquivos(diretorio.toString(), false), 1024, 0.9);
+        comprimido.gravar("texto.txt", new ByteArrayInputStream(textoCompressivel(4000)));
+        byte[] aleatorio = new byte[4000];
+        new Random(7).nextBytes(aleatorio);
+        comprimido.gravar("foto.jpg", new ByteArrayInputStream(aleatorio));
+
+        // When / Then
+        assertTrue(comprimido.caminhoLocal("texto.txt").isEmpty());
+        assertTrue(comprimido.caminhoLocal("foto.jpg").isPresent());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.gestaotcc.armazenamento;
+
+import org.junit.jupiter.api.DisplayName;
+
+@DisplayName("Testes do ArmazenamentoMemoria")
+class ArmazenamentoMemoriaTest extends ContratoArmazenamentoArquivosTest {
+
+    @Override
+    protected ArmazenamentoArquivos criarArmazenamento() {
+        return new ArmazenamentoMemoria();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.gestaotcc.armazenamento;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Roda o contrato contra um MinIO local; ignorado quando não há Docker disponível
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Testes do ArmazenamentoS3")
+class ArmazenamentoS3Test extends ContratoArmazenamentoArquivosTest {
+
+    private static final int TAMANHO_PARTE = 5 * 1024 * 1024;
+
+    @Container
+    static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-12-18T13-15-44Z");
+
+    private static S3Client s3;
+
+    @BeforeAll
+    static void conectar() {
+        s3 = S3Client.builder()
+                .endpointOverride(URI.create(MINIO.getS3URL()))
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword())))
+                .build();
+    }
+
+    @AfterAll
+    static void desconectar() {
+        s3.close();
+    }
+
+    // Um bucket por teste para que a listagem não veja arquivos de outros testes
+    @Override
+    protected ArmazenamentoArquivos criarArmazenamento() {
+        String bucket = "entregas-" + UUID.randomUUID();
+        s3.createBucket(requisicao -> requisicao.bucket(bucket));
+        return new ArmazenamentoS3(s3, bucket, "arquivos/", TAMANHO_PARTE);
+    }
+
+    @Test
+    @DisplayName("Deve enviar em multipart arquivos maiores que uma parte e ler intervalos entre partes")
+    void deveEnviarEmMultipart() throws Exception {
+        // Given: duas partes cheias e uma parcial
+        byte[] conteudo = new byte[2 * TAMANHO_PARTE + 1234];
+        new Random(42).nextBytes(conteudo);
+
+        // When
+        long gravados = armazenamento.gravar("grande.zip", new ByteArrayInputStream(conteudo));
+
+        // Then
+        assertEquals(conteudo.length, gravados);
+        assertEquals(conteudo.length, armazenamento.consultar("grande.zip").orElseThrow().getTamanho());
+        try (var entrada = armazenamento.lerIntervalo("grande.zip", TAMANHO_PARTE - 10, TAMANHO_PARTE + 9)) {
+            byte[] esperado = new byte[20];
+            System.arraycopy(conteudo, TAMANHO_PARTE - 10, esperado, 0, 20);
+            assertArrayEquals(esperado, entrada.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.gestaotcc.armazenamento;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ArmazenamentoSistemaArquivos")
+class ArmazenamentoSistemaArquivosTest extends ContratoArmazenamentoArquivosTest {
+
+    @TempDir
+    Path diretorio;
+
+    // O contrato roda com o layout particionado, que é o usado em produção
+    @Override
+    protected ArmazenamentoArquivos criarArmazenamento() {
+        return new ArmazenamentoSistemaArquivos(diretorio.toString(), true);
+    }
+
+    @Test
+    @DisplayName("Deve gravar no layout particionado pelo prefixo da chave")
+    void deveGravarNoLayoutParticionado() throws Exception {
+        // Given
+        String chave = "abcdef0123.pdf";
+
+        // When
+        gravar(chave, CONTEUDO);
+
+        // Then
+        Path esperado = diretorio.resolve("ab").resolve("cd").resolve(chave);
+        assertTrue(Files.exists(esperado));
+        assertEquals(esperado, armazenamento.caminhoLocal(chave).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deve continuar lendo arquivos do layout plano e migrá-los sem perder o acesso")
+    void deveLerLayoutPlanoEMigrar() throws Exception {
+        // Given
+        ArmazenamentoSistemaArquivos sistemaArquivos = (ArmazenamentoSistemaArquivos) armazenamento;
+        Files.writeString(diretorio.resolve("legado.pdf"), CONTEUDO);
+        Files.write(diretorio.resolve(".envio-em-andamento.tmp"), new byte[1]);
+
+        // When
+        Path antes = sistemaArquivos.caminhoLocal("legado.pdf").orElseThrow();
+        int movidos = sistemaArquivos.migrarParaLayoutParticionado(10);
+        Path depois = sistemaArquivos.caminhoLocal("legado.pdf").orElseThrow();
+
+        // Then
+        assertEquals(diretorio.resolve("legado.pdf"), antes);
+        assertEquals(1, movidos);
+        assertNotEquals(antes, depois);
+        assertEquals(CONTEUDO, Files.readString(depois));
+        assertFalse(Files.exists(antes));
+        assertTrue(Files.exists(diretorio.resolve(".envio-em-andamento.tmp")));
+
+        sistemaArquivos.excluir("legado.pdf");
+        assertFalse(Files.exists(depois));
+    }
+
+    @Test
+    @DisplayName("Deve recusar chave que aponte para fora do diretório")
+    void deveRecusarChaveForaDoDiretorio() {
+        assertThrows(IllegalArgumentException.class, () -> armazenamento.ler("../segredo"));
+    }
+
+    @Test
+    @DisplayName("Deve listar em ordem as chaves das partições, da raiz e as escolhidas pelo hash do nome")
+    void deveListarEmOrdemTodosOsLayouts() throws Exception {
+        // Given: nomes hexadecimais em várias partições, nomes com partição pelo hash, arquivos ainda
+        // na raiz (um deles já copiado para a partição) e um diretório oculto
+        List<String> hexadecimais = List.of("ffee01.pdf", "0a1b02.pdf", "abcd03.pdf", "abcd00.pdf", "0a1c04.pdf");
+        for (String chave : hexadecimais) {
+            gravar(chave, CONTEUDO);
+        }
+        gravar("relatorio.pdf", CONTEUDO);
+        gravar(".quarentena-abcd99.pdf", CONTEUDO);
+        Files.writeString(diretorio.resolve("legado.pdf"), CONTEUDO);
+        Files.writeString(diretorio.resolve("abcd00.pdf"), CONTEUDO);
+        Files.createDirectories(diretorio.resolve(".sessoes"));
+        Files.writeString(diretorio.resolve(".sessoes").resolve("1.parte"), CONTEUDO);
+
+        // When
+        List<String> chaves;
+        try (Stream<String> listagem = armazenamento.listar()) {
+            chaves = listagem.toList();
+        }
+
+        // Then
+        List<String> esperadas = new ArrayList<>(hexadecimais);
+        esperadas.addAll(List.of("relatorio.pdf", ".quarentena-abcd99.pdf", "legado.pdf"));
+        esperadas.sort(null);
+        assertEquals(esperadas, chaves);
+    }
+
+    @Test
+    @DisplayName("Deve listar em ordem o layout plano gravando os blocos em disco e removê-los ao fechar")
+    void deveListarLayoutPlanoEmBlocos() throws Exception {
+        // Given: layout plano com blocos de dois nomes, então a raiz inteira passa pela ordenação externa
+        ArmazenamentoArquivos plano = new ArmazenamentoSistemaArquivos(diretorio.toString(), false, 2);
+        List<String> nomes = List.of("ffee01.pdf", "legado.pdf", "0a1b02.pdf", "Zeta.pdf", "abcd03.pdf", "b.pdf", "a.pdf");
+        for (String nome : nomes) {
+            Files.writeString(diretorio.resolve(nome), CONTEUDO);
+        }
+        long blocosAntes = contarBlocosTemporarios();
+
+        // When
+        List<String> chaves;
+        try (Stream<String> listagem = plano.listar()) {
+            assertTrue(contarBlocosTemporarios() > blocosAntes);
+            chaves = listagem.toList();
+        }
+
+        // Then
+        List<String> esperadas = new ArrayList<>(nomes);
+        esperadas.sort(null);
+        assertEquals(esperadas, chaves);
+        assertEquals(blocosAntes, contarBlocosTemporarios());
+    }
+
+    private static long contarBlocosTemporarios() throws Exception {
+        try (Stream<Path> temporarios = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return temporarios.filter(arquivo -> arquivo.getFileName().toString().startsWith("listagem-")).count();
+        }
+    }
+}
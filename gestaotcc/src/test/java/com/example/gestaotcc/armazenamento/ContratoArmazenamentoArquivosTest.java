@@ -0,0 +1,144 @@
+package com.example.gestaotcc.armazenamento;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Comportamento que todo ArmazenamentoArquivos deve ter; cada implementação estende esta classe
+abstract class ContratoArmazenamentoArquivosTest {
+
+    protected static final String CONTEUDO = "0123456789abcdefghij";
+
+    protected ArmazenamentoArquivos armazenamento;
+
+    protected abstract ArmazenamentoArquivos criarArmazenamento() throws Exception;
+
+    @BeforeEach
+    void criar() throws Exception {
+        armazenamento = criarArmazenamento();
+    }
+
+    protected void gravar(String chave, String conteudo) throws IOException {
+        armazenamento.gravar(chave, new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    protected String lerTudo(InputStream entrada) throws IOException {
+        try (entrada) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar, consultar e ler o arquivo inteiro")
+    void deveGravarConsultarELer() throws Exception {
+        // When
+        long gravados = armazenamento.gravar("tcc.pdf", new ByteArrayInputStream(CONTEUDO.getBytes()));
+
+        // Then
+        assertEquals(CONTEUDO.length(), gravados);
+        assertEquals(CONTEUDO.length(), armazenamento.consultar("tcc.pdf").orElseThrow().getTamanho());
+        assertNotNull(armazenamento.consultar("tcc.pdf").orElseThrow().getUltimaModificacao());
+        assertEquals(CONTEUDO, lerTudo(armazenamento.ler("tcc.pdf")));
+    }
+
+    @Test
+    @DisplayName("Deve ler apenas o intervalo pedido")
+    void deveLerIntervalo() throws Exception {
+        // Given
+        gravar("tcc.pdf", CONTEUDO);
+
+        // When / Then
+        assertEquals("56789", lerTudo(armazenamento.lerIntervalo("tcc.pdf", 5, 9)));
+        assertEquals("ghij", lerTudo(armazenamento.lerIntervalo("tcc.pdf", 16, 19)));
+    }
+
+    @Test
+    @DisplayName("Deve tratar chave inexistente sem erro na consulta e com NoSuchFileException na leitura")
+    void deveTratarChaveInexistente() throws Exception {
+        assertTrue(armazenamento.consultar("nao-existe.pdf").isEmpty());
+        assertThrows(NoSuchFileException.class, () -> lerTudo(armazenamento.ler("nao-existe.pdf")));
+        assertDoesNotThrow(() -> armazenamento.excluir("nao-existe.pdf"));
+    }
+
+    @Test
+    @DisplayName("Deve mover, copiar e excluir mantendo o conteúdo")
+    void deveMoverCopiarEExcluir() throws Exception {
+        // Given
+        gravar("origem.pdf", CONTEUDO);
+
+        // When
+        armazenamento.mover("origem.pdf", "movido.pdf");
+        armazenamento.copiar("movido.pdf", "copia.pdf");
+        armazenamento.excluir("movido.pdf");
+
+        // Then
+        assertTrue(armazenamento.consultar("origem.pdf").isEmpty());
+        assertTrue(armazenamento.consultar("movido.pdf").isEmpty());
+        assertEquals(CONTEUDO, lerTudo(armazenamento.ler("copia.pdf")));
+    }
+
+    @Test
+    @DisplayName("Deve importar um arquivo local consumindo o original")
+    void deveImportarArquivoLocal() throws Exception {
+        // Given
+        Path local = Files.createTempFile("montagem", ".parte");
+        Files.writeString(local, CONTEUDO);
+
+        // When
+        long importados = armazenamento.importar("importado.pdf", local);
+
+        // Then
+        assertEquals(CONTEUDO.length(), importados);
+        assertFalse(Files.exists(local));
+        assertEquals(CONTEUDO, lerTudo(armazenamento.ler("importado.pdf")));
+    }
+
+    @Test
+    @DisplayName("Deve listar as chaves em ordem crescente")
+    void deveListarChavesEmOrdem() throws Exception {
+        // Given
+        gravar("c.pdf", "c");
+        gravar("a.pdf", "a");
+        gravar("b.pdf", "b");
+
+        // When / Then
+        try (Stream<String> chaves = armazenamento.listar()) {
+            assertEquals(List.of("a.pdf", "b.pdf", "c.pdf"), chaves.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve deixar nada gravado quando o conteúdo falhar no meio")
+    void naoDeveDeixarNadaGravadoQuandoConteudoFalhar() {
+        // Given
+        InputStream comFalha = new InputStream() {
+            private int lidos;
+
+            @Override
+            public int read() {
+                if (++lidos > 1000) {
+                    throw new RuntimeException("Arquivo excede o tamanho máximo");
+                }
+                return 'x';
+            }
+        };
+
+        // When
+        assertThrows(RuntimeException.class, () -> armazenamento.gravar("parcial.pdf", comFalha));
+
+        // Then
+        assertDoesNotThrow(() -> assertTrue(armazenamento.consultar("parcial.pdf").isEmpty()));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.gestaotcc.benchmark;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.armazenamento.ArmazenamentoComprimido;
+import com.example.gestaotcc.armazenamento.ArmazenamentoMemoria;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da compressão transparente por tipo de arquivo típico das entregas: código-fonte, PDF com
+ * streams de texto sem compressão e conteúdo já comprimido (PDF com imagens, DOCX, ZIP). Cada operação
+ * grava ou lê um arquivo de 8 MB, então ms/op dividido por 8 é o custo por MB; a economia de espaço
+ * de cada corpus é impressa ao final.
+ *
+ * Execução: mvn test-compile e depois rodar o main desta classe com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArmazenamentoComprimidoBenchmark {
+
+    private static final int TAMANHO_ARQUIVO = 8 * 1024 * 1024;
+
+    @Param({"codigo-fonte", "pdf-texto", "ja-comprimido"})
+    public String corpus;
+
+    private byte[] conteudo;
+    private ArmazenamentoMemoria memoria;
+    private ArmazenamentoArquivos comprimido;
+
+    @Setup
+    public void setUp() throws IOException {
+        conteudo = gerarCorpus(corpus);
+        memoria = new ArmazenamentoMemoria();
+        comprimido = new ArmazenamentoComprimido(memoria, 256 * 1024, 0.9);
+
+        memoria.gravar("original", new ByteArrayInputStream(conteudo));
+        comprimido.gravar("comprimido", new ByteArrayInputStream(conteudo));
+    }
+
+    @TearDown
+    public void relatorio() throws IOException {
+        long armazenado = memoria.consultar("comprimido").orElseThrow().getTamanho();
+        System.out.printf("%n[%s] %d bytes armazenados para %d originais: %.1f%% de economia%n",
+                corpus, armazenado, conteudo.length, 100.0 * (conteudo.length - armazenado) / conteudo.length);
+    }
+
+    @Benchmark
+    public long gravarSemCompressao() throws IOException {
+        return memoria.gravar("gravacao", new ByteArrayInputStream(conteudo));
+    }
+
+    @Benchmark
+    public long gravarComCompressao() throws IOException {
+        return comprimido.gravar("gravacao", new ByteArrayInputStream(conteudo));
+    }
+
+    @Benchmark
+    public long lerSemCompressao() throws IOException {
+        return consumir(memoria.ler("original"));
+    }
+
+    @Benchmark
+    public long lerComCompressao() throws IOException {
+        return consumir(comprimido.ler("comprimido"));
+    }
+
+    // Um intervalo de 1 MB no meio do arquivo, como o de um leitor de PDF pulando páginas
+    @Benchmark
+    public long lerIntervaloComCompressao() throws IOException {
+        return consumir(comprimido.lerIntervalo("comprimido", 3 * 1024 * 1024, 4 * 1024 * 1024 - 1));
+    }
+
+    // Lê em blocos de 64 KB, como o envio da resposta HTTP
+    private static long consumir(InputStream entrada) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (entrada) {
+            int lidos;
+            while ((lidos = entrada.read(buffer)) != -1) {
+                total += lidos;
+            }
+        }
+        return total;
+    }
+
+    private static byte[] gerarCorpus(String tipo) {
+        Random random = new Random(2024);
+        if (tipo.equals("ja-comprimido")) {
+            byte[] bytes = new byte[TAMANHO_ARQUIVO];
+            random.nextBytes(bytes);
+            return bytes;
+        }
+
+        String[] palavras = tipo.equals("codigo-fonte")
+                ? new String[]{"public", "private", "static", "final", "class", "return", "if", "else", "for",
+                "new", "String", "List<Long>", "this.id", "=", "==", "null", "{", "}", "(", ");", "entrega",
+                "tcc", "usuario", "repository.findById(id)", "throw new RuntimeException(\"erro\");"}
+                : new String[]{"o", "a", "de", "que", "trabalho", "pesquisa", "resultado", "metodologia",
+                "analise", "dados", "sistema", "proposta", "capitulo", "referencia", "conclusao", "figura"};
+
+        StringBuilder texto = new StringBuilder(TAMANHO_ARQUIVO + 200);
+        while (texto.length() < TAMANHO_ARQUIVO) {
+            if (tipo.equals("pdf-texto")) {
+                texto.append("BT /F1 12 Tf 72 ").append(random.nextInt(800)).append(" Td (");
+            }
+            for (int i = 0; i < 8 + random.nextInt(8); i++) {
+                texto.append(palavras[random.nextInt(palavras.length)]).append(' ');
+            }
+            texto.append(tipo.equals("pdf-texto") ? ") Tj ET\n" : "\n");
+        }
+        byte[] bytes = texto.toString().getBytes(StandardCharsets.UTF_8);
+        return Arrays.copyOf(bytes, TAMANHO_ARQUIVO);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ArmazenamentoComprimidoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
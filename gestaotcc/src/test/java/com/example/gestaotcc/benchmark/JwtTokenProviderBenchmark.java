@@ -0,0 +1,92 @@
+package com.example.gestaotcc.benchmark;
+
+import com.example.gestaotcc.config.JwtTokenProvider;
+import com.example.gestaotcc.config.UserPrincipal;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a verificação de token antiga (validateToken + getUserIdFromJWT, cada um
+ * recriando a chave e o parser) com a verificação única, com e sem o cache de tokens.
+ *
+ * Execução: mvn test-compile e depois rodar o main desta classe com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SEGREDO = "3a6f8f7e5f6f24fdbfa72a876453d91136c6cd78113d056736c55d208dbe35a6";
+
+    private JwtTokenProvider providerComCache;
+    private JwtTokenProvider providerSemCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        providerComCache = criarProvider(10000);
+        providerSemCache = criarProvider(0);
+
+        UsuarioEntity usuario = UsuarioEntity.builder()
+                .id(42L)
+                .nome("Felipe Silva")
+                .email("felipe@email.com")
+                .senha("hash")
+                .tipoUsuario(TipoUsuario.ALUNO)
+                .build();
+        UserPrincipal principal = UserPrincipal.create(usuario);
+        token = providerComCache.generateToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private JwtTokenProvider criarProvider(long cacheTamanho) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SEGREDO);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(provider, "cacheTamanho", cacheTamanho);
+        ReflectionTestUtils.setField(provider, "cacheTtlSegundos", 60L);
+        provider.init();
+        return provider;
+    }
+
+    @Benchmark
+    public Long verificacaoAntiga() {
+        // Reproduz o fluxo anterior: duas verificações HMAC e a chave recriada a cada uma
+        Jwts.parser().setSigningKey(Keys.hmacShaKeyFor(SEGREDO.getBytes())).parseClaimsJws(token);
+        Claims claims = Jwts.parser()
+                .setSigningKey(Keys.hmacShaKeyFor(SEGREDO.getBytes()))
+                .parseClaimsJws(token)
+                .getBody();
+        return Long.parseLong(claims.getSubject());
+    }
+
+    @Benchmark
+    public Long verificacaoUnicaSemCache() {
+        return providerSemCache.verificarToken(token).orElseThrow().getUserId();
+    }
+
+    @Benchmark
+    public Long verificacaoUnicaComCache() {
+        return providerComCache.verificarToken(token).orElseThrow().getUserId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
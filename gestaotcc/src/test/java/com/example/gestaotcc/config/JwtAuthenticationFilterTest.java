@@ -0,0 +1,169 @@
+package com.example.gestaotcc.config;
+
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do JwtAuthenticationFilter")
+class JwtAuthenticationFilterTest {
+
+    private static final String JWT = "token.jwt.assinado";
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filtro;
+
+    private UserPrincipal doBanco;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filtro, "confiarClaims", true);
+        ReflectionTestUtils.setField(filtro, "idadeMaximaClaimsMs", 300_000L);
+        ReflectionTestUtils.setField(filtro, "rotasRevalidacao",
+                new String[]{"DELETE:/api/usuarios/**", " /api/avaliacoes/** ", ""});
+        filtro.initFilterBean();
+
+        doBanco = UserPrincipal.create(UsuarioEntity.builder()
+                .id(1L).nome("Maria Atualizada").email("maria@email.com").senha("hash")
+                .tipoUsuario(TipoUsuario.ORIENTADOR)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static TokenJwtVerificado token(Instant emitidoEm) {
+        return new TokenJwtVerificado(1L, TipoUsuario.ALUNO, "Maria", "maria@email.com",
+                emitidoEm, emitidoEm.plus(24, ChronoUnit.HOURS));
+    }
+
+    private MockHttpServletResponse filtrar(String metodo, String uri, TokenJwtVerificado token) throws Exception {
+        when(tokenProvider.verificarToken(JWT)).thenReturn(Optional.of(token));
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, uri);
+        request.setServletPath(uri);
+        request.addHeader("Authorization", "Bearer " + JWT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static UserPrincipal autenticado() {
+        return (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    @Test
+    @DisplayName("Deve montar o usuário pelas claims de um token recente, sem consultar o banco")
+    void deveConfiarNasClaimsDeTokenRecente() throws Exception {
+        // When
+        MockHttpServletResponse response = filtrar("GET", "/api/tccs", token(Instant.now().minusSeconds(60)));
+
+        // Then
+        assertEquals("Maria", autenticado().getNome());
+        assertNull(autenticado().getUsuario());
+        assertTrue(autenticado().getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ALUNO")));
+        assertNull(response.getHeader("Authorization"));
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco e renovar o token quando as claims estão antigas")
+    void deveRevalidarERenovarTokenAntigo() throws Exception {
+        // Given
+        TokenJwtVerificado antigo = token(Instant.now().minus(2, ChronoUnit.HOURS));
+        when(customUserDetailsService.loadUserById(1L)).thenReturn(doBanco);
+        when(tokenProvider.renovarToken(doBanco, antigo.getExpiraEm())).thenReturn("token.renovado");
+
+        // When
+        MockHttpServletResponse response = filtrar("GET", "/api/tccs", antigo);
+
+        // Then: o principal vem do banco e o token novo mantém a expiração do anterior
+        assertSame(doBanco, autenticado());
+        assertEquals("Bearer token.renovado", response.getHeader("Authorization"));
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco nas rotas de revalidação, respeitando o método quando informado")
+    void deveRevalidarNasRotasConfiguradas() throws Exception {
+        // Given
+        when(customUserDetailsService.loadUserById(1L)).thenReturn(doBanco);
+        TokenJwtVerificado recente = token(Instant.now());
+
+        // When & Then: DELETE em /api/usuarios/** e qualquer método em /api/avaliacoes/** vão ao banco
+        MockHttpServletResponse response = filtrar("DELETE", "/api/usuarios/7", recente);
+        assertSame(doBanco, autenticado());
+        assertNull(response.getHeader("Authorization"));
+
+        filtrar("GET", "/api/avaliacoes/tcc/3", recente);
+        assertSame(doBanco, autenticado());
+
+        // GET em /api/usuarios/** não está na lista
+        filtrar("GET", "/api/usuarios/7", recente);
+        assertNotSame(doBanco, autenticado());
+
+        verify(customUserDetailsService, times(2)).loadUserById(1L);
+        verify(tokenProvider, never()).renovarToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve sempre consultar o banco, sem renovar o token, com o modo de claims desabilitado")
+    void deveConsultarBancoSemModoClaims() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filtro, "confiarClaims", false);
+        when(customUserDetailsService.loadUserById(1L)).thenReturn(doBanco);
+
+        // When
+        MockHttpServletResponse response = filtrar("GET", "/api/tccs", token(Instant.now().minus(2, ChronoUnit.HOURS)));
+
+        // Then
+        assertSame(doBanco, autenticado());
+        assertNull(response.getHeader("Authorization"));
+        verify(tokenProvider, never()).renovarToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar quando o token é inválido")
+    void naoDeveAutenticarTokenInvalido() throws Exception {
+        // Given
+        when(tokenProvider.verificarToken(JWT)).thenReturn(Optional.empty());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tccs");
+        request.addHeader("Authorization", "Bearer " + JWT);
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        filtro.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+        verifyNoInteractions(customUserDetailsService);
+    }
+}
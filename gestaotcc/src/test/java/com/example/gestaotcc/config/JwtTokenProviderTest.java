@@ -0,0 +1,153 @@
+package com.example.gestaotcc.config;
+
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do JwtTokenProvider")
+class JwtTokenProviderTest {
+
+    private static final String SEGREDO = "3a6f8f7e5f6f24fdbfa72a876453d91136c6cd78113d056736c55d208dbe35a6";
+
+    private JwtTokenProvider provider;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        provider = criarProvider(100);
+        principal = UserPrincipal.create(UsuarioEntity.builder()
+                .id(42L).nome("Felipe Silva").email("felipe@email.com").senha("hash")
+                .tipoUsuario(TipoUsuario.ALUNO)
+                .build());
+    }
+
+    private static JwtTokenProvider criarProvider(long cacheTamanho) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SEGREDO);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(provider, "cacheTamanho", cacheTamanho);
+        ReflectionTestUtils.setField(provider, "cacheTtlSegundos", 60L);
+        provider.init();
+        return provider;
+    }
+
+    private String gerar(JwtTokenProvider provider) {
+        return provider.generateToken(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<String, TokenJwtVerificado> cache(JwtTokenProvider provider) {
+        return (Cache<String, TokenJwtVerificado>) ReflectionTestUtils.getField(provider, "tokensVerificados");
+    }
+
+    @Test
+    @DisplayName("Deve devolver as claims de um token válido e reaproveitar a verificação em cache")
+    void deveVerificarEReaproveitarCache() {
+        // Given
+        String token = gerar(provider);
+
+        // When
+        TokenJwtVerificado primeiro = provider.verificarToken(token).orElseThrow();
+        TokenJwtVerificado segundo = provider.verificarToken(token).orElseThrow();
+
+        // Then
+        assertEquals(42L, primeiro.getUserId());
+        assertEquals(TipoUsuario.ALUNO, primeiro.getTipoUsuario());
+        assertEquals("Felipe Silva", primeiro.getNome());
+        assertEquals("felipe@email.com", primeiro.getEmail());
+        assertSame(primeiro, segundo);
+        assertSame(primeiro, cache(provider).getIfPresent(token));
+    }
+
+    @Test
+    @DisplayName("Deve recusar e descartar uma entrada do cache cujo token já expirou")
+    void deveRecusarEntradaExpiradaDoCache() {
+        // Given: a verificação ficou em cache, mas o token expirou depois dela
+        Instant agora = Instant.now();
+        cache(provider).put("token.em.cache", new TokenJwtVerificado(42L, TipoUsuario.ALUNO, "Felipe Silva",
+                "felipe@email.com", agora.minus(1, ChronoUnit.DAYS), agora.minusSeconds(1)));
+
+        // When
+        Optional<TokenJwtVerificado> verificado = provider.verificarToken("token.em.cache");
+
+        // Then
+        assertTrue(verificado.isEmpty());
+        assertNull(cache(provider).getIfPresent("token.em.cache"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar tokens adulterados, assinados com outra chave, expirados ou malformados")
+    void deveRecusarTokensInvalidos() {
+        // Given
+        String valido = gerar(provider);
+        int inicioAssinatura = valido.lastIndexOf('.') + 1;
+        String adulterado = valido.substring(0, inicioAssinatura)
+                + (valido.charAt(inicioAssinatura) == 'A' ? 'B' : 'A') + valido.substring(inicioAssinatura + 1);
+        String outraChave = Jwts.builder()
+                .setSubject("42")
+                .setExpiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .signWith(Keys.hmacShaKeyFor("outro-segredo-com-pelo-menos-trinta-e-dois-bytes".getBytes()))
+                .compact();
+        String expirado = Jwts.builder()
+                .setSubject("42")
+                .setIssuedAt(Date.from(Instant.now().minus(2, ChronoUnit.DAYS)))
+                .setExpiration(Date.from(Instant.now().minus(1, ChronoUnit.DAYS)))
+                .signWith(Keys.hmacShaKeyFor(SEGREDO.getBytes()))
+                .compact();
+
+        // When & Then
+        assertTrue(provider.verificarToken(adulterado).isEmpty());
+        assertTrue(provider.verificarToken(outraChave).isEmpty());
+        assertTrue(provider.verificarToken(expirado).isEmpty());
+        assertTrue(provider.verificarToken("nao-e-um-jwt").isEmpty());
+        assertTrue(provider.verificarToken("").isEmpty());
+        assertNull(cache(provider).getIfPresent(adulterado));
+    }
+
+    @Test
+    @DisplayName("Deve verificar a cada chamada quando o cache está desabilitado")
+    void deveVerificarSemCache() {
+        // Given
+        JwtTokenProvider semCache = criarProvider(0);
+        String token = gerar(semCache);
+
+        // When
+        TokenJwtVerificado primeiro = semCache.verificarToken(token).orElseThrow();
+        TokenJwtVerificado segundo = semCache.verificarToken(token).orElseThrow();
+
+        // Then
+        assertNull(cache(semCache));
+        assertNotSame(primeiro, segundo);
+        assertEquals(primeiro.getUserId(), segundo.getUserId());
+    }
+
+    @Test
+    @DisplayName("Deve renovar o token com os dados atuais e a mesma expiração")
+    void deveRenovarMantendoExpiracao() {
+        // Given
+        TokenJwtVerificado original = provider.verificarToken(gerar(provider)).orElseThrow();
+
+        // When
+        TokenJwtVerificado renovado = provider.verificarToken(
+                provider.renovarToken(principal, original.getExpiraEm())).orElseThrow();
+
+        // Then
+        assertEquals(original.getExpiraEm(), renovado.getExpiraEm());
+        assertEquals(42L, renovado.getUserId());
+        assertFalse(renovado.getEmitidoEm().isBefore(original.getEmitidoEm()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.gestaotcc.config;
+
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.UsuarioLogado;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.service.UsuarioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do UsuarioAtualArgumentResolver")
+class UsuarioAtualArgumentResolverTest {
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @InjectMocks
+    private UsuarioAtualArgumentResolver resolver;
+
+    private final UsuarioEntity usuario = UsuarioEntity.builder()
+            .id(1L).nome("Maria").email("maria@email.com").senha("hash").tipoUsuario(TipoUsuario.ORIENTADOR)
+            .build();
+
+    // Handler com os tipos de parâmetro que o resolver atende
+    @SuppressWarnings("unused")
+    private static class Handler {
+        void handle(@UsuarioAtual UsuarioEntity entidade, @UsuarioAtual UsuarioEntity outra,
+                    @UsuarioAtual UsuarioLogado logado, UsuarioEntity semAnotacao) {
+        }
+    }
+
+    private static MethodParameter parametro(int indice) throws NoSuchMethodException {
+        Method handle = Handler.class.getDeclaredMethod("handle",
+                UsuarioEntity.class, UsuarioEntity.class, UsuarioLogado.class, UsuarioEntity.class);
+        return new MethodParameter(handle, indice);
+    }
+
+    private static void autenticar(UserPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static UserPrincipal principalDasClaims() {
+        return UserPrincipal.fromToken(new TokenJwtVerificado(1L, TipoUsuario.ORIENTADOR, "Maria",
+                "maria@email.com", Instant.now(), Instant.now().plus(1, ChronoUnit.DAYS)));
+    }
+
+    private Object resolver(int indice, NativeWebRequest request) throws Exception {
+        return resolver.resolveArgument(parametro(indice), null, request, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve atender só parâmetros anotados do tipo UsuarioEntity ou UsuarioLogado")
+    void deveAtenderParametrosAnotados() throws Exception {
+        assertTrue(resolver.supportsParameter(parametro(0)));
+        assertTrue(resolver.supportsParameter(parametro(2)));
+        assertFalse(resolver.supportsParameter(parametro(3)));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a entidade que o filtro de autenticação já carregou")
+    void deveReaproveitarEntidadeDoFiltro() throws Exception {
+        // Given
+        autenticar(UserPrincipal.create(usuario));
+        NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // When & Then
+        assertSame(usuario, resolver(0, request));
+        assertSame(usuario, resolver(1, request));
+        verifyNoInteractions(usuarioService);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o usuário uma única vez por requisição quando o principal vem das claims")
+    void deveCarregarUmaVezPorRequisicao() throws Exception {
+        // Given
+        autenticar(principalDasClaims());
+        when(usuarioService.buscarPorId(1L)).thenReturn(Optional.of(usuario));
+        NativeWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // When
+        Object primeiro = resolver(0, request);
+        Object segundo = resolver(1, request);
+
+        // Then
+        assertSame(usuario, primeiro);
+        assertSame(usuario, segundo);
+        verify(usuarioService, times(1)).buscarPorId(1L);
+
+        // Outra requisição carrega de novo
+        resolver(0, new ServletWebRequest(new MockHttpServletRequest()));
+        verify(usuarioService, times(2)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve carregar nada para um parâmetro UsuarioLogado")
+    void naoDeveCarregarParaUsuarioLogado() throws Exception {
+        // Given
+        UserPrincipal principal = principalDasClaims();
+        autenticar(principal);
+
+        // When
+        Object logado = resolver(2, new ServletWebRequest(new MockHttpServletRequest()));
+
+        // Then
+        assertSame(principal, logado);
+        assertEquals(1L, ((UsuarioLogado) logado).getId());
+        assertEquals(TipoUsuario.ORIENTADOR, ((UsuarioLogado) logado).getTipoUsuario());
+        verifyNoInteractions(usuarioService);
+    }
+
+    @Test
+    @DisplayName("Deve devolver nulo sem usuário autenticado")
+    void deveDevolverNuloSemAutenticacao() throws Exception {
+        assertNull(resolver(0, new ServletWebRequest(new MockHttpServletRequest())));
+        verifyNoInteractions(usuarioService);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.gestaotcc.controller;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.armazenamento.ArmazenamentoMemoria;
+import com.example.gestaotcc.armazenamento.ArmazenamentoSistemaArquivos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do EscritorArquivoHttp")
+class EscritorArquivoHttpTest {
+
+    private static final String CONTEUDO = "0123456789abcdefghij";
+
+    @TempDir
+    Path diretorio;
+
+    private Path arquivo;
+    private ArmazenamentoArquivos armazenamento;
+    private EscritorArquivoHttp escritor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        arquivo = Files.writeString(diretorio.resolve("tcc.pdf"), CONTEUDO);
+        armazenamento = new ArmazenamentoSistemaArquivos(diretorio.toString(), false);
+        escritor = new EscritorArquivoHttp();
+    }
+
+    private MockHttpServletResponse enviar(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        escritor.enviar(armazenamento, "tcc.pdf", "entrega-1.pdf", request, response);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Deve enviar o arquivo inteiro com tipo, tamanho e validadores")
+    void deveEnviarArquivoInteiro() throws Exception {
+        // When
+        MockHttpServletResponse response = enviar(new MockHttpServletRequest("GET", "/api/entregas/1/arquivo"));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("application/pdf", response.getContentType());
+        assertEquals(CONTEUDO.length(), response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertNotNull(response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+        assertEquals(CONTEUDO, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve enviar apenas o intervalo pedido no Range")
+    void deveEnviarIntervaloPedido() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/entregas/1/arquivo");
+        request.addHeader("Range", "bytes=5-9");
+
+        // When
+        MockHttpServletResponse response = enviar(request);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 5-9/20", response.getHeader("Content-Range"));
+        assertEquals(5, response.getContentLengthLong());
+        assertEquals("56789", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve enviar o final do arquivo para Range com sufixo")
+    void deveEnviarFinalDoArquivoParaRangeComSufixo() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/entregas/1/arquivo");
+        request.addHeader("Range", "bytes=-4");
+
+        // When
+        MockHttpServletResponse response = enviar(request);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 16-19/20", response.getHeader("Content-Range"));
+        assertEquals("ghij", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve responder 416 para intervalo fora do arquivo")
+    void deveResponder416ParaIntervaloForaDoArquivo() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/entregas/1/arquivo");
+        request.addHeader("Range", "bytes=100-200");
+
+        // When
+        MockHttpServletResponse response = enviar(request);
+
+        // Then
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o ETag do cliente ainda for válido")
+    void deveResponder304QuandoEtagValido() throws Exception {
+        // Given
+        String etag = enviar(new MockHttpServletRequest("GET", "/api/entregas/1/arquivo")).getHeader("ETag");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/entregas/1/arquivo");
+        request.addHeader("If-None-Match", etag);
+
+        // When
+        MockHttpServletResponse response = enviar(request);
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o Range quando o If-Range não corresponder ao arquivo atual")
+    void deveIgnorarRangeQuandoIfRangeDesatualizado() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/entregas/1/arquivo");
+        request.addHeader("Range", "bytes=5-9");
+        request.addHeader("If-Range", "\"etag-antigo\"");
+
+        // When
+        MockHttpServletResponse response = enviar(request);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        assertEquals(CONTEUDO, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve delegar ao sendfile do Tomcat quando suportado")
+    void deveDelegarAoSendfileQuandoSuportado() throws Exception {
+        // Given
+        byte[] grande = new byte[64 * 1024];
+        Files.write(arquivo, grande);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/entregas/1/arquivo");
+        request.setAttribute(EscritorArquivoHttp.ATRIBUTO_SENDFILE_SUPORTADO, Boolean.TRUE);
+
+        // When
+        MockHttpServletResponse response = enviar(request);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals(grande.length, response.getContentLengthLong());
+        assertEquals(arquivo.toAbsolutePath().toString(), request.getAttribute(EscritorArquivoHttp.ATRIBUTO_SENDFILE_ARQUIVO));
+        assertEquals(0L, request.getAttribute(EscritorArquivoHttp.ATRIBUTO_SENDFILE_INICIO));
+        assertEquals((long) grande.length, request.getAttribute(EscritorArquivoHttp.ATRIBUTO_SENDFILE_FIM));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 quando o arquivo não existir no disco")
+    void deveResponder404QuandoArquivoNaoExistir() throws Exception {
+        // Given
+        Files.delete(arquivo);
+
+        // When
+        MockHttpServletResponse response = enviar(new MockHttpServletRequest("GET", "/api/entregas/1/arquivo"));
+
+        // Then
+        assertEquals(404, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve copiar o intervalo pelo stream quando o armazenamento não for local")
+    void deveCopiarIntervaloPeloStreamSemArquivoLocal() throws Exception {
+        // Given
+        armazenamento = new ArmazenamentoMemoria();
+        armazenamento.gravar("tcc.pdf", new ByteArrayInputStream(new byte[64 * 1024]));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/entregas/1/arquivo");
+        request.addHeader("Range", "bytes=100-199");
+        request.setAttribute(EscritorArquivoHttp.ATRIBUTO_SENDFILE_SUPORTADO, Boolean.TRUE);
+
+        // When
+        MockHttpServletResponse response = enviar(request);
+
+        // Then
+        assertEquals(206, response.getStatus());
+        assertEquals(100, response.getContentAsByteArray().length);
+        assertNull(request.getAttribute(EscritorArquivoHttp.ATRIBUTO_SENDFILE_ARQUIVO));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.gestaotcc.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do LeitorMultipartStreaming")
+class LeitorMultipartStreamingTest {
+
+    private static final String FRONTEIRA = "----fronteira";
+
+    private final LeitorMultipartStreaming leitor = new LeitorMultipartStreaming();
+
+    private MockHttpServletRequest requisicao(String corpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/entregas");
+        request.setContentType("multipart/form-data; boundary=" + FRONTEIRA);
+        request.setContent(corpo.replace("\n", "\r\n").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Deve entregar os campos e o conteúdo do arquivo em uma única passada")
+    void deveEntregarCamposEConteudoDoArquivo() throws Exception {
+        // Given
+        MockHttpServletRequest request = requisicao("""
+                ------fronteira
+                Content-Disposition: form-data; name="tccId"
+
+                7
+                ------fronteira
+                Content-Disposition: form-data; name="tipo"
+
+                FINAL
+                ------fronteira
+                Content-Disposition: form-data; name="arquivo"; filename="tcc.pdf"
+                Content-Type: application/pdf
+
+                conteudo do pdf
+                ------fronteira--
+                """);
+
+        // When
+        String resultado = leitor.ler(request, "arquivo", (campos, arquivo) -> {
+            try {
+                return campos.get("tccId") + "|" + campos.get("tipo") + "|" + arquivo.getNomeOriginal() + "|" +
+                        new String(arquivo.getConteudo().readAllBytes(), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        // Then
+        assertEquals("7|FINAL|tcc.pdf|conteudo do pdf", resultado);
+    }
+
+    @Test
+    @DisplayName("Deve falhar quando nenhum arquivo for enviado")
+    void deveFalharQuandoNenhumArquivoForEnviado() {
+        // Given
+        MockHttpServletRequest request = requisicao("""
+                ------fronteira
+                Content-Disposition: form-data; name="tccId"
+
+                7
+                ------fronteira--
+                """);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> leitor.ler(request, "arquivo", (campos, arquivo) -> "ok"));
+        assertEquals("Nenhum arquivo enviado", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve recusar requisição que não seja multipart")
+    void deveRecusarRequisicaoQueNaoSejaMultipart() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/entregas");
+        request.setContentType("application/json");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> leitor.ler(request, "arquivo", (campos, arquivo) -> "ok"));
+        assertEquals("A requisição deve ser multipart/form-data", exception.getMessage());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.gestaotcc.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Guarda o SQL gerado pelo Hibernate para que o teste possa rodar EXPLAIN sobre ele
+public class CapturadorSql implements StatementInspector {
+
+    private static final List<String> SQLS = new ArrayList<>();
+
+    @Override
+    public synchronized String inspect(String sql) {
+        synchronized (SQLS) {
+            SQLS.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> capturar(Runnable consulta) {
+        synchronized (SQLS) {
+            SQLS.clear();
+        }
+        consulta.run();
+        synchronized (SQLS) {
+            return List.copyOf(SQLS);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.gestaotcc.repository;
+
+import com.example.gestaotcc.dto.AvaliacaoDTO;
+import com.example.gestaotcc.dto.EntregaDTO;
+import com.example.gestaotcc.dto.ResumoTccDTO;
+import com.example.gestaotcc.dto.TccDTO;
+import com.example.gestaotcc.dto.UsuarioDTO;
+import com.example.gestaotcc.model.AvaliacaoEntity;
+import com.example.gestaotcc.model.EntregaEntity;
+import com.example.gestaotcc.model.ResumoTccEntity;
+import com.example.gestaotcc.model.TccEntity;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.StatusTcc;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@DisplayName("Quantidade de consultas das listagens")
+class ConsultasListagemRepositoryTest {
+
+    private static final int QUANTIDADE_TCCS = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TccRepository tccRepository;
+
+    @Autowired
+    private EntregaRepository entregaRepository;
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ResumoTccRepository resumoTccRepository;
+
+    private Statistics statistics;
+    private UsuarioEntity orientador;
+    private TccEntity primeiroTcc;
+    private List<Long> idsTccs;
+    private EntregaEntity primeiraEntrega;
+
+    @BeforeEach
+    void setUp() {
+        orientador = persistirUsuario("Prof. João", "joao@email.com", TipoUsuario.ORIENTADOR);
+        UsuarioEntity outroOrientador = persistirUsuario("Prof. Ana", "ana@email.com", TipoUsuario.ORIENTADOR);
+
+        List<TccEntity> tccs = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_TCCS; i++) {
+            UsuarioEntity aluno = persistirUsuario("Aluno " + i, "aluno" + i + "@email.com", TipoUsuario.ALUNO);
+            UsuarioEntity orientadorDoTcc = i % 2 == 0 ? orientador : outroOrientador;
+
+            TccEntity tcc = entityManager.persist(TccEntity.builder()
+                    .titulo("TCC " + i)
+                    .resumo("Resumo " + i)
+                    .area("Computação")
+                    .status(StatusTcc.EM_ANDAMENTO)
+                    .aluno(aluno)
+                    .orientador(orientadorDoTcc)
+                    .dataCriacao(LocalDate.now())
+                    .build());
+            tccs.add(tcc);
+
+            for (TipoEntrega tipo : TipoEntrega.values()) {
+                EntregaEntity entrega = entityManager.persist(EntregaEntity.builder()
+                        .tipo(tipo)
+                        .dataEnvio(LocalDateTime.now())
+                        .tcc(tcc)
+                        .caminhoArquivo("arquivo-" + i + "-" + tipo + ".pdf")
+                        .build());
+
+                entityManager.persist(AvaliacaoEntity.builder()
+                        .nota(8.0)
+                        .comentario("Bom trabalho")
+                        .dataAvaliacao(LocalDateTime.now())
+                        .entrega(entrega)
+                        .orientador(orientadorDoTcc)
+                        .build());
+
+                if (primeiraEntrega == null) {
+                    primeiraEntrega = entrega;
+                }
+            }
+        }
+        primeiroTcc = tccs.get(0);
+        idsTccs = tccs.stream().map(TccEntity::getId).toList();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    private UsuarioEntity persistirUsuario(String nome, String email, TipoUsuario tipo) {
+        return entityManager.persist(UsuarioEntity.builder()
+                .nome(nome)
+                .email(email)
+                .senha("senha")
+                .tipoUsuario(tipo)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve listar todos os TCCs com uma única consulta")
+    void deveListarTodosOsTccsComUmaUnicaConsulta() {
+        List<TccDTO> tccs = tccRepository.findPaginaDTO(Long.MAX_VALUE, Limit.of(QUANTIDADE_TCCS));
+
+        assertEquals(QUANTIDADE_TCCS, tccs.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar TCCs por status com uma única consulta")
+    void deveListarTccsPorStatusComUmaUnicaConsulta() {
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByStatus(StatusTcc.EM_ANDAMENTO, Long.MAX_VALUE,
+                Limit.of(QUANTIDADE_TCCS));
+
+        assertEquals(QUANTIDADE_TCCS, tccs.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar TCCs por orientador com uma única consulta")
+    void deveListarTccsPorOrientadorComUmaUnicaConsulta() {
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByOrientadorId(orientador.getId(), Long.MAX_VALUE,
+                Limit.of(QUANTIDADE_TCCS));
+
+        assertEquals(QUANTIDADE_TCCS / 2, tccs.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar entregas de um TCC com uma única consulta")
+    void deveListarEntregasDeUmTccComUmaUnicaConsulta() {
+        List<EntregaDTO> entregas = entregaRepository.findDTOByTccId(primeiroTcc.getId());
+
+        assertEquals(TipoEntrega.values().length, entregas.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar avaliações por orientador com uma única consulta")
+    void deveListarAvaliacoesPorOrientadorComUmaUnicaConsulta() {
+        List<AvaliacaoDTO> avaliacoes = avaliacaoRepository.findPaginaDTOByOrientadorId(orientador.getId(),
+                Long.MAX_VALUE, Limit.of(100));
+
+        assertEquals(QUANTIDADE_TCCS / 2 * TipoEntrega.values().length, avaliacoes.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve projetar os TCCs do orientador direto no DTO sem carregar entidades")
+    void deveProjetarTccsDoOrientadorNoDto() {
+        List<TccDTO> tccs = tccRepository.findPaginaDTOByOrientadorIdAndStatus(orientador.getId(),
+                StatusTcc.EM_ANDAMENTO, Long.MAX_VALUE, Limit.of(QUANTIDADE_TCCS));
+
+        assertEquals(QUANTIDADE_TCCS / 2, tccs.size());
+        assertTrue(tccs.stream().allMatch(tcc -> "Prof. João".equals(tcc.getOrientadorNome())));
+        assertTrue(tccs.stream().allMatch(tcc -> tcc.getAlunoNome().startsWith("Aluno ")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve projetar as entregas de um TCC direto no DTO sem carregar entidades")
+    void deveProjetarEntregasDeUmTccNoDto() {
+        List<EntregaDTO> entregas = entregaRepository.findDTOByTccIdAndTipo(primeiroTcc.getId(), TipoEntrega.FINAL);
+
+        assertEquals(1, entregas.size());
+        assertEquals("TCC 0", entregas.get(0).getTituloTcc());
+        assertEquals(primeiroTcc.getId(), entregas.get(0).getTccId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve projetar as avaliações por entrega direto no DTO sem carregar entidades")
+    void deveProjetarAvaliacoesPorEntregaNoDto() {
+        List<AvaliacaoDTO> avaliacoes = avaliacaoRepository.findDTOByEntregaId(primeiraEntrega.getId());
+
+        assertEquals(1, avaliacoes.size());
+        assertEquals(primeiraEntrega.getId(), avaliacoes.get(0).getEntregaId());
+        assertEquals("Prof. João", avaliacoes.get(0).getOrientadorNome());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve projetar os orientadores sem expor a senha")
+    void deveProjetarOrientadoresSemSenha() {
+        List<UsuarioDTO> orientadores = usuarioRepository.findDTOByTipoUsuario(TipoUsuario.ORIENTADOR);
+
+        assertEquals(2, orientadores.size());
+        assertTrue(orientadores.stream().allMatch(usuario -> usuario.getSenha() == null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todos os TCCs por cursor sem repetir nem pular registros")
+    void devePercorrerTodosOsTccsPorCursor() {
+        List<Long> idsVistos = new ArrayList<>();
+        long cursor = Long.MAX_VALUE;
+
+        List<TccDTO> pagina;
+        do {
+            pagina = tccRepository.findPaginaDTO(cursor, Limit.of(4));
+            pagina.forEach(tcc -> idsVistos.add(tcc.getId()));
+            if (!pagina.isEmpty()) {
+                cursor = pagina.get(pagina.size() - 1).getId();
+            }
+        } while (pagina.size() == 4);
+
+        assertEquals(QUANTIDADE_TCCS, idsVistos.size());
+        assertEquals(QUANTIDADE_TCCS, idsVistos.stream().distinct().count());
+        for (int i = 1; i < idsVistos.size(); i++) {
+            assertTrue(idsVistos.get(i - 1) > idsVistos.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve continuar a listagem de usuários a partir do último id devolvido")
+    void deveContinuarListagemDeUsuariosAPartirDoCursor() {
+        List<UsuarioDTO> primeiraPagina = usuarioRepository.findPaginaDTO(0L, Limit.of(3));
+        List<UsuarioDTO> segundaPagina = usuarioRepository.findPaginaDTO(primeiraPagina.get(2).getId(), Limit.of(3));
+
+        assertEquals(3, primeiraPagina.size());
+        assertEquals(3, segundaPagina.size());
+        assertTrue(segundaPagina.get(0).getId() > primeiraPagina.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Deve calcular o resumo do TCC com uma única consulta")
+    void deveCalcularResumoDoTccComUmaUnicaConsulta() {
+        ResumoTccDTO resumo = resumoTccRepository.calcularDTOByTccId(primeiroTcc.getId()).orElseThrow();
+
+        assertEquals(1, resumo.getEntregasParciais());
+        assertEquals(1, resumo.getEntregasFinais());
+        assertNotNull(resumo.getUltimaEntrega());
+        assertEquals(TipoEntrega.values().length, resumo.getQuantidadeAvaliacoes());
+        assertEquals(8.0, resumo.getUltimaNota());
+        assertEquals(8.0, resumo.getMediaNotas());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve listar os resumos de vários TCCs com uma única consulta, restritos aos do usuário")
+    void deveListarResumosDeVariosTccsComUmaUnicaConsulta() {
+        idsTccs.forEach(id -> entityManager.persist(ResumoTccEntity.builder()
+                .tccId(id)
+                .entregasParciais(1)
+                .atualizadoEm(LocalDateTime.now())
+                .build()));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<ResumoTccDTO> todos = resumoTccRepository.findDTOByTccIdIn(idsTccs, null);
+        assertEquals(QUANTIDADE_TCCS, todos.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<ResumoTccDTO> doOrientador = resumoTccRepository.findDTOByTccIdIn(idsTccs, orientador.getId());
+        assertEquals(QUANTIDADE_TCCS / 2, doOrientador.size());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
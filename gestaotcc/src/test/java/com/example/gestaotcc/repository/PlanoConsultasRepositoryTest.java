@@ -0,0 +1,204 @@
+package com.example.gestaotcc.repository;
+
+import com.example.gestaotcc.model.AvaliacaoEntity;
+import com.example.gestaotcc.model.EntregaEntity;
+import com.example.gestaotcc.model.TccEntity;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.DimensaoDashboard;
+import com.example.gestaotcc.model.enuns.StatusTcc;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Roda EXPLAIN no SQL de cada finder contra o esquema das migrações e falha se algum
+// deles depender de Seq Scan. Com enable_seqscan desligado o planner só escolhe Seq Scan
+// quando não existe índice que atenda a consulta, então o volume de dados não importa.
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.gestaotcc.repository.CapturadorSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Planos de execução dos finders")
+class PlanoConsultasRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TccRepository tccRepository;
+
+    @Autowired
+    private EntregaRepository entregaRepository;
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private BandaLshRepository bandaLshRepository;
+
+    @Autowired
+    private ResumoTccRepository resumoTccRepository;
+
+    @Autowired
+    private DashboardContadorRepository dashboardContadorRepository;
+
+    private UsuarioEntity aluno;
+    private UsuarioEntity orientador;
+    private TccEntity tcc;
+    private EntregaEntity entrega;
+
+    @BeforeEach
+    void setUp() {
+        aluno = persistirUsuario("Aluno", "aluno@email.com", TipoUsuario.ALUNO);
+        orientador = persistirUsuario("Orientador", "orientador@email.com", TipoUsuario.ORIENTADOR);
+
+        tcc = entityManager.persist(TccEntity.builder()
+                .titulo("TCC")
+                .resumo("Resumo")
+                .area("Computação")
+                .status(StatusTcc.EM_ANDAMENTO)
+                .aluno(aluno)
+                .orientador(orientador)
+                .dataCriacao(LocalDate.now())
+                .build());
+
+        entrega = entityManager.persist(EntregaEntity.builder()
+                .tipo(TipoEntrega.PARCIAL)
+                .dataEnvio(LocalDateTime.now())
+                .tcc(tcc)
+                .caminhoArquivo("arquivo.pdf")
+                .build());
+
+        entityManager.persist(AvaliacaoEntity.builder()
+                .nota(9.0)
+                .comentario("Ótimo")
+                .dataAvaliacao(LocalDateTime.now())
+                .entrega(entrega)
+                .orientador(orientador)
+                .build());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private UsuarioEntity persistirUsuario(String nome, String email, TipoUsuario tipo) {
+        return entityManager.persist(UsuarioEntity.builder()
+                .nome(nome)
+                .email(email)
+                .senha("senha")
+                .tipoUsuario(tipo)
+                .build());
+    }
+
+    @TestFactory
+    @DisplayName("Nenhum finder deve fazer Seq Scan")
+    Stream<DynamicTest> nenhumFinderDeveFazerSeqScan() {
+        // Os findAll sem filtro ficam de fora: percorrer a tabela inteira é o esperado neles
+        Map<String, Runnable> consultas = new LinkedHashMap<>();
+
+        consultas.put("UsuarioRepository.findByEmail", () -> usuarioRepository.findByEmail("aluno@email.com"));
+        consultas.put("UsuarioRepository.findByTipoUsuario", () -> usuarioRepository.findByTipoUsuario(TipoUsuario.ORIENTADOR));
+        consultas.put("UsuarioRepository.findDTOByTipoUsuario", () -> usuarioRepository.findDTOByTipoUsuario(TipoUsuario.ORIENTADOR));
+        consultas.put("UsuarioRepository.findPaginaDTO", () -> usuarioRepository.findPaginaDTO(0L, Limit.of(20)));
+
+        consultas.put("TccRepository.findByAluno", () -> tccRepository.findByAluno(aluno));
+        consultas.put("TccRepository.findByOrientador", () -> tccRepository.findByOrientador(orientador));
+        consultas.put("TccRepository.findByStatus", () -> tccRepository.findByStatus(StatusTcc.EM_ANDAMENTO));
+        consultas.put("TccRepository.findByAlunoAndStatus", () -> tccRepository.findByAlunoAndStatus(aluno, StatusTcc.EM_ANDAMENTO));
+        consultas.put("TccRepository.findByOrientadorAndStatus", () -> tccRepository.findByOrientadorAndStatus(orientador, StatusTcc.EM_ANDAMENTO));
+        consultas.put("TccRepository.findPaginaDTO", () -> tccRepository.findPaginaDTO(Long.MAX_VALUE, Limit.of(20)));
+        consultas.put("TccRepository.findPaginaDTOByAlunoId", () -> tccRepository.findPaginaDTOByAlunoId(aluno.getId(), Long.MAX_VALUE, Limit.of(20)));
+        consultas.put("TccRepository.findPaginaDTOByOrientadorId", () -> tccRepository.findPaginaDTOByOrientadorId(orientador.getId(), Long.MAX_VALUE, Limit.of(20)));
+        consultas.put("TccRepository.findPaginaDTOByStatus", () -> tccRepository.findPaginaDTOByStatus(StatusTcc.EM_ANDAMENTO, Long.MAX_VALUE, Limit.of(20)));
+        consultas.put("TccRepository.findPaginaDTOByOrientadorIdAndStatus", () -> tccRepository.findPaginaDTOByOrientadorIdAndStatus(orientador.getId(), StatusTcc.EM_ANDAMENTO, Long.MAX_VALUE, Limit.of(20)));
+        consultas.put("TccRepository.buscarIdsPorTexto", () -> tccRepository.buscarIdsPorTexto("comput:*", null, null, aluno.getId(), 20));
+        consultas.put("TccRepository.findDTOByIdIn", () -> tccRepository.findDTOByIdIn(List.of(tcc.getId())));
+
+        consultas.put("EntregaRepository.findByTcc", () -> entregaRepository.findByTcc(tcc));
+        consultas.put("EntregaRepository.findByTccAndTipo", () -> entregaRepository.findByTccAndTipo(tcc, TipoEntrega.PARCIAL));
+        consultas.put("EntregaRepository.findFirstByTccOrderByDataEnvioDesc", () -> entregaRepository.findFirstByTccOrderByDataEnvioDesc(tcc));
+        consultas.put("EntregaRepository.findDTOByTccId", () -> entregaRepository.findDTOByTccId(tcc.getId()));
+        consultas.put("EntregaRepository.findDTOByTccIdAndTipo", () -> entregaRepository.findDTOByTccIdAndTipo(tcc.getId(), TipoEntrega.FINAL));
+        consultas.put("EntregaRepository.findDTOByIdIn", () -> entregaRepository.findDTOByIdIn(List.of(entrega.getId())));
+        consultas.put("EntregaRepository.streamCaminhosArquivoOrdenados", () -> {
+            // O SQL só é executado quando o stream é consumido (dentro da transação do teste)
+            try (Stream<String> caminhos = entregaRepository.streamCaminhosArquivoOrdenados()) {
+                caminhos.forEach(caminho -> { });
+            }
+        });
+        consultas.put("BandaLshRepository.findCandidatos", () -> bandaLshRepository.findCandidatos(entrega.getId()));
+
+        consultas.put("AvaliacaoRepository.findByEntrega", () -> avaliacaoRepository.findByEntrega(entrega));
+        consultas.put("AvaliacaoRepository.findByOrientador", () -> avaliacaoRepository.findByOrientador(orientador));
+        consultas.put("AvaliacaoRepository.findByEntregaAndOrientador", () -> avaliacaoRepository.findByEntregaAndOrientador(entrega, orientador));
+        consultas.put("AvaliacaoRepository.findDTOByEntregaId", () -> avaliacaoRepository.findDTOByEntregaId(entrega.getId()));
+        consultas.put("AvaliacaoRepository.findPaginaDTOByOrientadorId", () -> avaliacaoRepository.findPaginaDTOByOrientadorId(orientador.getId(), Long.MAX_VALUE, Limit.of(20)));
+
+        consultas.put("ResumoTccRepository.calcularDTOByTccId", () -> resumoTccRepository.calcularDTOByTccId(tcc.getId()));
+        consultas.put("ResumoTccRepository.findDTOByTccIdIn", () -> resumoTccRepository.findDTOByTccIdIn(List.of(tcc.getId()), orientador.getId()));
+        consultas.put("ResumoTccRepository.countEmAndamentoSemEntregaDesde", () -> resumoTccRepository.countEmAndamentoSemEntregaDesde(LocalDateTime.now()));
+
+        consultas.put("DashboardContadorRepository.findByDimensaoAndPeriodoEntre", () -> dashboardContadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.ENTREGAS_POR_TIPO, "2025-01", "2025-12"));
+
+        return consultas.entrySet().stream()
+                .map(consulta -> DynamicTest.dynamicTest(consulta.getKey(), () -> {
+                    List<String> sqls = CapturadorSql.capturar(consulta.getValue());
+                    assertFalse(sqls.isEmpty(), "Nenhum SQL capturado");
+
+                    for (String sql : sqls) {
+                        String plano = explicar(sql);
+                        assertFalse(plano.contains("Seq Scan"), () -> "Seq Scan em:\n" + sql + "\n" + plano);
+                    }
+                }));
+    }
+
+    private String explicar(String sql) {
+        // GENERIC_PLAN (PostgreSQL 16+) explica a consulta parametrizada sem precisar dos valores
+        StringBuilder parametrizado = new StringBuilder();
+        int parametro = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                parametrizado.append('$').append(++parametro);
+            } else {
+                parametrizado.append(c);
+            }
+        }
+
+        jdbcTemplate.execute("set local enable_seqscan = off");
+        return String.join("\n", jdbcTemplate.queryForList("explain (generic_plan) " + parametrizado, String.class));
+    }
+}
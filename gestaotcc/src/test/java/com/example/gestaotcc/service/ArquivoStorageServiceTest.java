@@ -0,0 +1,143 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoSistemaArquivos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ArquivoStorageService")
+class ArquivoStorageServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    private ArquivoStorageService arquivoStorageService;
+
+    @BeforeEach
+    void setUp() {
+        arquivoStorageService = new ArquivoStorageService(new ArmazenamentoSistemaArquivos(diretorio.toString(), false));
+        ReflectionTestUtils.setField(arquivoStorageService, "tamanhoMaximoMbPadrao", 1L);
+        ReflectionTestUtils.setField(arquivoStorageService, "tamanhoMaximoMbPorExtensao", Map.of("pdf", 2L));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o arquivo calculando tamanho e SHA-256")
+    void deveGravarArquivoCalculandoTamanhoEHash() throws Exception {
+        // Given
+        byte[] conteudo = "conteúdo do TCC".getBytes();
+
+        // When
+        ArquivoSalvo salvo = arquivoStorageService.salvarArquivo(
+                new ArquivoEnviado("tcc.pdf", new ByteArrayInputStream(conteudo)));
+
+        // Then
+        assertTrue(salvo.getNome().endsWith(".pdf"));
+        assertEquals(conteudo.length, salvo.getTamanho());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo)), salvo.getSha256());
+        assertArrayEquals(conteudo, Files.readAllBytes(diretorio.resolve(salvo.getNome())));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o limite da extensão e remover o arquivo parcial")
+    void deveAplicarLimiteDaExtensaoERemoverArquivoParcial() throws Exception {
+        // Given: 1,5 MB cabe no limite de PDF (2 MB) mas não no padrão (1 MB)
+        byte[] conteudo = new byte[1536 * 1024];
+
+        // When
+        ArquivoSalvo pdf = arquivoStorageService.salvarArquivo(
+                new ArquivoEnviado("tcc.pdf", new ByteArrayInputStream(conteudo)));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> arquivoStorageService.salvarArquivo(
+                new ArquivoEnviado("tcc.docx", new ByteArrayInputStream(conteudo))));
+
+        // Then
+        assertEquals(conteudo.length, pdf.getTamanho());
+        assertEquals("Arquivo excede o tamanho máximo de 1 MB permitido para arquivos .docx", exception.getMessage());
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(1, arquivos.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar extensão que não seja simples")
+    void deveDescartarExtensaoQueNaoSejaSimples() {
+        // When
+        ArquivoSalvo salvo = arquivoStorageService.salvarArquivo(
+                new ArquivoEnviado("tcc.pdf/../../segredo", new ByteArrayInputStream(new byte[10])));
+
+        // Then
+        assertFalse(salvo.getNome().contains("/"));
+        assertTrue(Files.exists(diretorio.resolve(salvo.getNome())));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o arquivo quando o mesmo conteúdo é enviado novamente")
+    void deveReaproveitarArquivoComMesmoConteudo() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(arquivoStorageService, "enderecamentoPorConteudo", true);
+        byte[] conteudo = "mesmo TCC".getBytes();
+
+        // When
+        ArquivoSalvo primeiro = arquivoStorageService.salvarArquivo(
+                new ArquivoEnviado("tcc.PDF", new ByteArrayInputStream(conteudo)));
+        ArquivoSalvo segundo = arquivoStorageService.salvarArquivo(
+                new ArquivoEnviado("versao-final.pdf", new ByteArrayInputStream(conteudo)));
+
+        // Then
+        assertEquals(primeiro.getSha256() + ".pdf", primeiro.getNome());
+        assertEquals(primeiro.getNome(), segundo.getNome());
+        assertFalse(primeiro.isReaproveitado());
+        assertTrue(segundo.isReaproveitado());
+        assertTrue(arquivoStorageService.enderecadoPorConteudo(primeiro.getNome()));
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(1, arquivos.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve adiar a exclusão de arquivo por conteúdo reaproveitado recentemente")
+    void deveAdiarExclusaoDeArquivoReaproveitadoRecentemente() {
+        // Given
+        ReflectionTestUtils.setField(arquivoStorageService, "enderecamentoPorConteudo", true);
+        ReflectionTestUtils.setField(arquivoStorageService, "carenciaExclusaoSegundos", 300L);
+        ArquivoSalvo salvo = arquivoStorageService.salvarArquivo(
+                new ArquivoEnviado("tcc.pdf", new ByteArrayInputStream(new byte[10])));
+
+        // When
+        arquivoStorageService.excluirArquivo(salvo.getNome());
+        boolean existeDuranteCarencia = Files.exists(diretorio.resolve(salvo.getNome()));
+        ReflectionTestUtils.setField(arquivoStorageService, "carenciaExclusaoSegundos", 0L);
+        arquivoStorageService.excluirArquivo(salvo.getNome());
+
+        // Then
+        assertTrue(existeDuranteCarencia);
+        assertFalse(Files.exists(diretorio.resolve(salvo.getNome())));
+    }
+
+    @Test
+    @DisplayName("Deve vincular arquivo antigo ao nome por conteúdo mantendo o original")
+    void deveVincularArquivoAntigoAoNomePorConteudo() throws Exception {
+        // Given
+        byte[] conteudo = "arquivo legado".getBytes();
+        Files.write(diretorio.resolve("legado.pdf"), conteudo);
+
+        // When
+        ArquivoSalvo vinculado = arquivoStorageService.vincularPorConteudo("legado.pdf").orElseThrow();
+
+        // Then
+        assertEquals(vinculado.getSha256() + ".pdf", vinculado.getNome());
+        assertArrayEquals(conteudo, Files.readAllBytes(diretorio.resolve(vinculado.getNome())));
+        assertTrue(Files.exists(diretorio.resolve("legado.pdf")));
+        assertTrue(arquivoStorageService.vincularPorConteudo("inexistente.pdf").isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.RecomendacaoOrientadorDTO;
+import com.example.gestaotcc.dto.UsuarioDTO;
+import com.example.gestaotcc.evento.SituacaoTcc;
+import com.example.gestaotcc.evento.TccAlteradoEvento;
+import com.example.gestaotcc.model.DashboardContadorEntity;
+import com.example.gestaotcc.model.enuns.DimensaoDashboard;
+import com.example.gestaotcc.model.enuns.StatusTcc;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.DashboardContadorRepository;
+import com.example.gestaotcc.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.gestaotcc.model.DashboardContadorEntity.SEM_PERIODO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CargaOrientadoresService")
+class CargaOrientadoresServiceTest {
+
+    @Mock
+    private IndiceOrientadoresService indiceOrientadores;
+
+    @Mock
+    private DashboardContadorRepository contadorRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @InjectMocks
+    private CargaOrientadoresService cargaOrientadores;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cargaOrientadores, "limiteTccsEmAndamento", 0);
+        ReflectionTestUtils.setField(cargaOrientadores, "pesoArea", 0.6);
+    }
+
+    private void carregar(long cargaJoao, long cargaAna) {
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR,
+                SEM_PERIODO, SEM_PERIODO)).thenReturn(List.of(
+                new DashboardContadorEntity(DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, "1", SEM_PERIODO, cargaJoao),
+                new DashboardContadorEntity(DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, "2", SEM_PERIODO, cargaAna)));
+        cargaOrientadores.recarregar();
+    }
+
+    private static UsuarioDTO orientador(Long id, String nome, String areaAtuacao) {
+        return new UsuarioDTO(id, nome, nome.toLowerCase() + "@email.com", TipoUsuario.ORIENTADOR, areaAtuacao);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a carga com as mudanças de status e de orientador")
+    void deveAtualizarCargaComAlteracoesDeTcc() {
+        // Given
+        carregar(3, 1);
+
+        // When: um TCC novo do João, um TCC da Ana concluído e um TCC transferido do João para a Ana
+        cargaOrientadores.aoAlterarTcc(new TccAlteradoEvento(null,
+                new SituacaoTcc(StatusTcc.EM_ANDAMENTO, "Redes", 1L)));
+        cargaOrientadores.aoAlterarTcc(new TccAlteradoEvento(
+                new SituacaoTcc(StatusTcc.EM_ANDAMENTO, "Redes", 2L),
+                new SituacaoTcc(StatusTcc.CONCLUIDO, "Redes", 2L)));
+        cargaOrientadores.aoAlterarTcc(new TccAlteradoEvento(
+                new SituacaoTcc(StatusTcc.EM_ANDAMENTO, "Redes", 1L),
+                new SituacaoTcc(StatusTcc.EM_ANDAMENTO, "Redes", 2L)));
+
+        // Then
+        assertEquals(3, cargaOrientadores.cargaAtual(1L));
+        assertEquals(1, cargaOrientadores.cargaAtual(2L));
+        assertEquals(0, cargaOrientadores.cargaAtual(9L));
+    }
+
+    @Test
+    @DisplayName("Deve recomendar pela afinidade de área e pela folga de carga")
+    void deveRecomendarPorAreaECarga() {
+        // Given
+        carregar(2, 0);
+        when(indiceOrientadores.listar()).thenReturn(List.of(
+                orientador(1L, "João", "Ciência da Computação"),
+                orientador(2L, "Ana", "Computação Gráfica"),
+                orientador(3L, "Bruno", "Direito Tributário")));
+
+        // When
+        List<RecomendacaoOrientadorDTO> recomendacoes =
+                cargaOrientadores.recomendar("computação gráfica", 10);
+
+        // Then: Ana tem a área e a folga; João só a área, parcialmente; Bruno só a folga
+        assertEquals(List.of(2L, 1L, 3L), recomendacoes.stream().map(RecomendacaoOrientadorDTO::getOrientadorId).toList());
+        assertEquals(1.0, recomendacoes.get(0).getAfinidadeArea());
+        assertEquals(0.5, recomendacoes.get(1).getAfinidadeArea());
+        assertEquals(2, recomendacoes.get(1).getTccsEmAndamento());
+        assertEquals(0.0, recomendacoes.get(2).getAfinidadeArea());
+
+        // Sem área na proposta, vale só a carga
+        assertEquals(List.of(2L, 3L, 1L), cargaOrientadores.recomendar(null, 10).stream()
+                .map(RecomendacaoOrientadorDTO::getOrientadorId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve deixar de fora das recomendações quem atingiu o limite")
+    void deveOmitirOrientadoresNoLimite() {
+        // Given
+        ReflectionTestUtils.setField(cargaOrientadores, "limiteTccsEmAndamento", 4);
+        carregar(4, 2);
+        when(indiceOrientadores.listar()).thenReturn(List.of(
+                orientador(1L, "João", "Computação"),
+                orientador(2L, "Ana", "Computação")));
+
+        // When
+        List<RecomendacaoOrientadorDTO> recomendacoes = cargaOrientadores.recomendar("Computação", 10);
+
+        // Then
+        assertEquals(1, recomendacoes.size());
+        assertEquals(2L, recomendacoes.get(0).getOrientadorId());
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o orientador e conferir o limite pelo contador do banco")
+    void deveVerificarLimiteComBloqueio() {
+        // Given
+        ReflectionTestUtils.setField(cargaOrientadores, "limiteTccsEmAndamento", 5);
+        when(contadorRepository.findById(new DashboardContadorEntity.Chave(
+                DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, "1", SEM_PERIODO)))
+                .thenReturn(Optional.of(new DashboardContadorEntity(
+                        DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, "1", SEM_PERIODO, 5)));
+        when(contadorRepository.findById(new DashboardContadorEntity.Chave(
+                DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, "2", SEM_PERIODO)))
+                .thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> cargaOrientadores.verificarLimite(1L));
+        assertEquals("O orientador já atingiu o limite de 5 TCCs em andamento", exception.getMessage());
+        assertDoesNotThrow(() -> cargaOrientadores.verificarLimite(2L));
+
+        InOrder ordem = inOrder(usuarioRepository, contadorRepository);
+        ordem.verify(usuarioRepository).findComBloqueioById(1L);
+        ordem.verify(contadorRepository).findById(any());
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco quando o limite está desativado")
+    void naoDeveConsultarBancoSemLimite() {
+        // When
+        cargaOrientadores.verificarLimite(1L);
+
+        // Then
+        verifyNoInteractions(usuarioRepository, contadorRepository);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.DashboardDTO;
+import com.example.gestaotcc.dto.UsuarioDTO;
+import com.example.gestaotcc.evento.AvaliacaoAlteradaEvento;
+import com.example.gestaotcc.evento.EntregaAlteradaEvento;
+import com.example.gestaotcc.evento.SituacaoTcc;
+import com.example.gestaotcc.evento.TccAlteradoEvento;
+import com.example.gestaotcc.model.DashboardContadorEntity;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.DimensaoDashboard;
+import com.example.gestaotcc.model.enuns.StatusTcc;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.DashboardContadorRepository;
+import com.example.gestaotcc.repository.ResumoTccRepository;
+import com.example.gestaotcc.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.gestaotcc.model.DashboardContadorEntity.SEM_PERIODO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do DashboardService")
+class DashboardServiceTest {
+
+    @Mock
+    private DashboardContadorRepository contadorRepository;
+
+    @Mock
+    private ResumoTccRepository resumoTccRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    private UsuarioEntity coordenador;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardService, "mesesPadrao", 12);
+        ReflectionTestUtils.setField(dashboardService, "diasSemEntrega", 30);
+
+        coordenador = new UsuarioEntity();
+        coordenador.setId(3L);
+        coordenador.setTipoUsuario(TipoUsuario.COORDENADOR);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static DashboardContadorEntity contador(DimensaoDashboard dimensao, String chave, String periodo,
+                                                    long quantidade) {
+        return new DashboardContadorEntity(dimensao, chave, periodo, quantidade);
+    }
+
+    @Test
+    @DisplayName("Deve mover o TCC entre os contadores de status e de carga do orientador")
+    void deveContabilizarMudancaDeStatus() {
+        // When
+        dashboardService.aoAlterarTcc(new TccAlteradoEvento(
+                new SituacaoTcc(StatusTcc.EM_ANDAMENTO, "Computação", 7L),
+                new SituacaoTcc(StatusTcc.CONCLUIDO, "Computação", 7L)));
+
+        // Then: a área não mudou e não gera escrita
+        verify(contadorRepository).somar("TCCS_POR_STATUS", "EM_ANDAMENTO", SEM_PERIODO, -1);
+        verify(contadorRepository).somar("TCCS_POR_STATUS", "CONCLUIDO", SEM_PERIODO, 1);
+        verify(contadorRepository).somar("TCCS_EM_ANDAMENTO_POR_ORIENTADOR", "7", SEM_PERIODO, -1);
+        verify(contadorRepository, never()).somar(eq("TCCS_POR_AREA"), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve trocar a faixa e a soma das notas quando a avaliação é editada")
+    void deveContabilizarEdicaoDeNota() {
+        // When
+        dashboardService.aoAlterarAvaliacao(new AvaliacaoAlteradaEvento(
+                6.5, LocalDateTime.of(2025, 3, 10, 9, 0),
+                10.0, LocalDateTime.of(2025, 4, 2, 9, 0)));
+
+        // Then: o 10 entra na última faixa
+        verify(contadorRepository).somar("AVALIACOES_POR_FAIXA_NOTA", "6", "2025-03", -1);
+        verify(contadorRepository).somar("SOMA_NOTAS", SEM_PERIODO, "2025-03", -650);
+        verify(contadorRepository).somar("AVALIACOES_POR_FAIXA_NOTA", "9", "2025-04", 1);
+        verify(contadorRepository).somar("SOMA_NOTAS", SEM_PERIODO, "2025-04", 1000);
+    }
+
+    @Test
+    @DisplayName("Deve acumular as variações da transação e aplicá-las no commit, em ordem de chave")
+    void deveAplicarVariacoesNoCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        LocalDateTime envio = LocalDateTime.of(2025, 5, 20, 14, 0);
+
+        // When: duas entregas e a exclusão de uma delas na mesma transação
+        dashboardService.aoAlterarEntrega(new EntregaAlteradaEvento(TipoEntrega.PARCIAL, envio, 1));
+        dashboardService.aoAlterarEntrega(new EntregaAlteradaEvento(TipoEntrega.FINAL, envio, 1));
+        dashboardService.aoAlterarEntrega(new EntregaAlteradaEvento(TipoEntrega.PARCIAL, envio, -1));
+        dashboardService.aoAlterarTcc(new TccAlteradoEvento(null,
+                new SituacaoTcc(StatusTcc.EM_ANDAMENTO, "Redes", 7L)));
+
+        // Then
+        verifyNoInteractions(contadorRepository);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.beforeCommit(false));
+        InOrder ordem = inOrder(contadorRepository);
+        ordem.verify(contadorRepository).somar("TCCS_POR_STATUS", "EM_ANDAMENTO", SEM_PERIODO, 1);
+        ordem.verify(contadorRepository).somar("TCCS_POR_AREA", "Redes", SEM_PERIODO, 1);
+        ordem.verify(contadorRepository).somar("TCCS_EM_ANDAMENTO_POR_ORIENTADOR", "7", SEM_PERIODO, 1);
+        ordem.verify(contadorRepository).somar("ENTREGAS_POR_TIPO", "FINAL", "2025-05", 1);
+        verifyNoMoreInteractions(contadorRepository);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertFalse(TransactionSynchronizationManager.hasResource(dashboardService));
+    }
+
+    @Test
+    @DisplayName("Deve montar o painel a partir dos contadores")
+    void deveMontarPainel() {
+        // Given
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(any(), anyString(), anyString())).thenReturn(List.of());
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.TCCS_POR_STATUS, SEM_PERIODO, SEM_PERIODO))
+                .thenReturn(List.of(contador(DimensaoDashboard.TCCS_POR_STATUS, "EM_ANDAMENTO", SEM_PERIODO, 4)));
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.TCCS_POR_AREA, SEM_PERIODO, SEM_PERIODO))
+                .thenReturn(List.of(
+                        contador(DimensaoDashboard.TCCS_POR_AREA, "Redes", SEM_PERIODO, 1),
+                        contador(DimensaoDashboard.TCCS_POR_AREA, "Computação", SEM_PERIODO, 3)));
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR,
+                SEM_PERIODO, SEM_PERIODO))
+                .thenReturn(List.of(
+                        contador(DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, "7", SEM_PERIODO, 1),
+                        contador(DimensaoDashboard.TCCS_EM_ANDAMENTO_POR_ORIENTADOR, "8", SEM_PERIODO, 3)));
+        when(usuarioRepository.findDTOByIdIn(List.of(7L, 8L))).thenReturn(List.of(
+                new UsuarioDTO(7L, "Prof. João", "joao@email.com", TipoUsuario.ORIENTADOR, null),
+                new UsuarioDTO(8L, "Profa. Ana", "ana@email.com", TipoUsuario.ORIENTADOR, null)));
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.ENTREGAS_POR_TIPO, "2025-01", "2025-03"))
+                .thenReturn(List.of(
+                        contador(DimensaoDashboard.ENTREGAS_POR_TIPO, "PARCIAL", "2025-01", 5),
+                        contador(DimensaoDashboard.ENTREGAS_POR_TIPO, "FINAL", "2025-03", 2)));
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.AVALIACOES_POR_FAIXA_NOTA, "2025-01", "2025-03"))
+                .thenReturn(List.of(
+                        contador(DimensaoDashboard.AVALIACOES_POR_FAIXA_NOTA, "7", "2025-03", 1),
+                        contador(DimensaoDashboard.AVALIACOES_POR_FAIXA_NOTA, "9", "2025-03", 2)));
+        when(contadorRepository.findByDimensaoAndPeriodoEntre(DimensaoDashboard.SOMA_NOTAS, "2025-01", "2025-03"))
+                .thenReturn(List.of(contador(DimensaoDashboard.SOMA_NOTAS, SEM_PERIODO, "2025-03", 2750)));
+        when(resumoTccRepository.countEmAndamentoSemEntregaDesde(any())).thenReturn(2L);
+
+        // When
+        DashboardDTO painel = dashboardService.montar(YearMonth.of(2025, 1), YearMonth.of(2025, 3), coordenador);
+
+        // Then
+        assertEquals(Map.of("EM_ANDAMENTO", 4L, "CONCLUIDO", 0L, "REPROVADO", 0L), painel.getTccsPorStatus());
+        assertEquals(List.of("Computação", "Redes"), List.copyOf(painel.getTccsPorArea().keySet()));
+        assertEquals("Profa. Ana", painel.getCargaOrientadores().get(0).getNome());
+        assertEquals(3, painel.getCargaOrientadores().get(0).getTccsEmAndamento());
+        assertEquals(2L, painel.getDistribuicaoNotas().get("9-10"));
+        assertEquals(0L, painel.getDistribuicaoNotas().get("0-1"));
+
+        assertEquals(3, painel.getPeriodos().size());
+        assertEquals(5, painel.getPeriodos().get(0).getEntregasParciais());
+        assertNull(painel.getPeriodos().get(1).getMediaNotas());
+        assertEquals(2, painel.getPeriodos().get(2).getEntregasFinais());
+        assertEquals(3, painel.getPeriodos().get(2).getAvaliacoes());
+        assertEquals(9.17, painel.getPeriodos().get(2).getMediaNotas());
+        assertEquals(2, painel.getTccsSemEntregaRecente());
+    }
+
+    @Test
+    @DisplayName("Deve restringir o painel ao coordenador e validar o período")
+    void deveValidarAcessoEPeriodo() {
+        // Given
+        UsuarioEntity orientador = new UsuarioEntity();
+        orientador.setId(7L);
+        orientador.setTipoUsuario(TipoUsuario.ORIENTADOR);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> dashboardService.montar(null, null, orientador));
+        assertThrows(RuntimeException.class,
+                () -> dashboardService.montar(YearMonth.of(2025, 5), YearMonth.of(2025, 1), coordenador));
+        assertThrows(RuntimeException.class,
+                () -> dashboardService.montar(YearMonth.of(2000, 1), YearMonth.of(2025, 1), coordenador));
+        verifyNoInteractions(contadorRepository);
+    }
+}
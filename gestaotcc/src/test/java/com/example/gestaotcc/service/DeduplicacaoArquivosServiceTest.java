@@ -0,0 +1,83 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoSistemaArquivos;
+import com.example.gestaotcc.repository.EntregaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do DeduplicacaoArquivosService")
+class DeduplicacaoArquivosServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Mock
+    private EntregaRepository entregaRepository;
+
+    private DeduplicacaoArquivosService deduplicacao;
+
+    @BeforeEach
+    void setUp() {
+        ArquivoStorageService arquivoStorageService =
+                new ArquivoStorageService(new ArmazenamentoSistemaArquivos(diretorio.toString(), false));
+        ReflectionTestUtils.setField(arquivoStorageService, "tamanhoMaximoMbPadrao", 1L);
+        ReflectionTestUtils.setField(arquivoStorageService, "tamanhoMaximoMbPorExtensao", Map.of());
+        deduplicacao = new DeduplicacaoArquivosService(entregaRepository, arquivoStorageService);
+    }
+
+    @Test
+    @DisplayName("Deve unificar arquivos de mesmo conteúdo e atualizar as entregas")
+    void deveUnificarArquivosDeMesmoConteudo() throws Exception {
+        // Given
+        byte[] conteudo = new byte[2048];
+        Files.write(diretorio.resolve("a.pdf"), conteudo);
+        Files.write(diretorio.resolve("b.pdf"), conteudo);
+        Files.write(diretorio.resolve("c.pdf"), "outro".getBytes());
+        when(entregaRepository.findCaminhosArquivoDistintos())
+                .thenReturn(List.of("a.pdf", "b.pdf", "c.pdf", "sumiu.pdf"));
+
+        // When
+        DeduplicacaoArquivosService.ResultadoDeduplicacao resultado = deduplicacao.deduplicar();
+
+        // Then
+        assertEquals(3, resultado.getMigrados());
+        assertEquals(1, resultado.getDuplicados());
+        assertEquals(1, resultado.getAusentes());
+        assertEquals(2048, resultado.getBytesLiberados());
+        verify(entregaRepository, times(3)).atualizarCaminhoArquivo(anyString(), anyString());
+        try (var arquivos = Files.list(diretorio)) {
+            assertEquals(2, arquivos.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar arquivos que já estão endereçados por conteúdo")
+    void deveIgnorarArquivosJaEnderecadosPorConteudo() {
+        // Given
+        String nome = "a".repeat(64) + ".pdf";
+        when(entregaRepository.findCaminhosArquivoDistintos()).thenReturn(List.of(nome));
+
+        // When
+        DeduplicacaoArquivosService.ResultadoDeduplicacao resultado = deduplicacao.deduplicar();
+
+        // Then
+        assertEquals(0, resultado.getMigrados());
+        verify(entregaRepository, never()).atualizarCaminhoArquivo(anyString(), anyString());
+    }
+}
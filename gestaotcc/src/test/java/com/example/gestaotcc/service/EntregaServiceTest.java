@@ -1,5 +1,7 @@
 package com.example.gestaotcc.service;
 
+import com.example.gestaotcc.dto.EntregaDTO;
+import com.example.gestaotcc.evento.EntregaAlteradaEvento;
 import com.example.gestaotcc.model.AvaliacaoEntity;
 import com.example.gestaotcc.model.EntregaEntity;
 import com.example.gestaotcc.model.TccEntity;
@@ -13,20 +15,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,7 +49,15 @@ class EntregaServiceTest {
     private ArquivoStorageService arquivoStorageService;
 
     @Mock
-    private MultipartFile arquivo;
+    private SimilaridadeEntregasService similaridadeEntregas;
+
+    @Mock
+    private ResumoTccService resumoTcc;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    private ArquivoEnviado arquivo;
 
     @InjectMocks
     private EntregaService entregaService;
@@ -88,6 +103,12 @@ class EntregaServiceTest {
         entrega.setTipo(TipoEntrega.PARCIAL);
         entrega.setObservacao("Primeira entrega parcial");
         entrega.setAvaliacoes(new ArrayList<>());
+
+        arquivo = new ArquivoEnviado("tcc.pdf", new ByteArrayInputStream("conteudo".getBytes()));
+
+        // A escrita passada ao resumo é executada como na transação real
+        lenient().when(resumoTcc.atualizarApos(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -95,7 +116,7 @@ class EntregaServiceTest {
     void deveCadastrarEntregaComSucessoQuandoAlunoEAutor() {
         // Arrange
         when(tccRepository.findById(1L)).thenReturn(Optional.of(tcc));
-        when(arquivoStorageService.salvarArquivo(arquivo)).thenReturn("/uploads/arquivo.pdf");
+        when(arquivoStorageService.salvarArquivo(arquivo)).thenReturn(new ArquivoSalvo("arquivo.pdf", 8, "hash", false));
         when(entregaRepository.save(any(EntregaEntity.class))).thenReturn(entrega);
 
         // Act
@@ -106,8 +127,24 @@ class EntregaServiceTest {
         verify(tccRepository).findById(1L);
         verify(arquivoStorageService).salvarArquivo(arquivo);
         verify(entregaRepository).save(any(EntregaEntity.class));
-        assertEquals("/uploads/arquivo.pdf", entrega.getCaminhoArquivo());
+        assertEquals("arquivo.pdf", entrega.getCaminhoArquivo());
+        assertEquals("hash", entrega.getHashConteudo());
         assertNotNull(entrega.getDataEnvio());
+        verify(similaridadeEntregas).agendarIndexacao(entrega.getId(), "arquivo.pdf");
+        verify(resumoTcc).atualizarApos(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Deve remover o arquivo gravado quando a entrega não puder ser salva")
+    void deveRemoverArquivoQuandoEntregaNaoPuderSerSalva() {
+        // Arrange
+        when(tccRepository.findById(1L)).thenReturn(Optional.of(tcc));
+        when(arquivoStorageService.salvarArquivo(arquivo)).thenReturn(new ArquivoSalvo("arquivo.pdf", 8, "hash", false));
+        when(entregaRepository.save(any(EntregaEntity.class))).thenThrow(new RuntimeException("Falha no banco"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> entregaService.cadastrarEntrega(entrega, arquivo, alunoFelipe));
+        verify(arquivoStorageService).excluirArquivo("arquivo.pdf");
     }
 
     @Test
@@ -163,34 +200,34 @@ class EntregaServiceTest {
     @DisplayName("Deve listar entregas quando aluno é autor do TCC")
     void deveListarEntregasQuandoAlunoEAutorDoTcc() {
         // Arrange
-        List<EntregaEntity> entregas = Arrays.asList(entrega);
+        List<EntregaDTO> entregas = Arrays.asList(EntregaDTO.fromEntity(entrega));
         when(tccRepository.findById(1L)).thenReturn(Optional.of(tcc));
-        when(entregaRepository.findByTcc(tcc)).thenReturn(entregas);
+        when(entregaRepository.findDTOByTccId(1L)).thenReturn(entregas);
 
         // Act
-        List<EntregaEntity> resultado = entregaService.listarEntregasPorTcc(1L, alunoFelipe);
+        List<EntregaDTO> resultado = entregaService.listarEntregasDTOPorTcc(1L, alunoFelipe);
 
         // Assert
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(entregaRepository).findByTcc(tcc);
+        verify(entregaRepository).findDTOByTccId(1L);
     }
 
     @Test
     @DisplayName("Deve listar entregas quando usuário é orientador do TCC")
     void deveListarEntregasQuandoUsuarioEOrientadorDoTcc() {
         // Arrange
-        List<EntregaEntity> entregas = Arrays.asList(entrega);
+        List<EntregaDTO> entregas = Arrays.asList(EntregaDTO.fromEntity(entrega));
         when(tccRepository.findById(1L)).thenReturn(Optional.of(tcc));
-        when(entregaRepository.findByTcc(tcc)).thenReturn(entregas);
+        when(entregaRepository.findDTOByTccId(1L)).thenReturn(entregas);
 
         // Act
-        List<EntregaEntity> resultado = entregaService.listarEntregasPorTcc(1L, orientador);
+        List<EntregaDTO> resultado = entregaService.listarEntregasDTOPorTcc(1L, orientador);
 
         // Assert
         assertNotNull(resultado);
         assertEquals(1, resultado.size());
-        verify(entregaRepository).findByTcc(tcc);
+        verify(entregaRepository).findDTOByTccId(1L);
     }
 
     @Test
@@ -205,7 +242,7 @@ class EntregaServiceTest {
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            entregaService.listarEntregasPorTcc(1L, usuarioSemPermissao);
+            entregaService.listarEntregasDTOPorTcc(1L, usuarioSemPermissao);
         });
 
         assertEquals("Usuário não tem permissão para acessar estas entregas", exception.getMessage());
@@ -216,14 +253,38 @@ class EntregaServiceTest {
     void deveDeletarEntregaQuandoAlunoEAutorESemAvaliacoes() {
         // Arrange
         entrega.setTcc(tcc);
+        entrega.setCaminhoArquivo("arquivo.pdf");
+        when(entregaRepository.findById(1L)).thenReturn(Optional.of(entrega));
+        when(entregaRepository.countByCaminhoArquivo("arquivo.pdf")).thenReturn(0L);
+
+        // Act
+        entregaService.deletarEntrega(1L, alunoFelipe);
+
+        // Assert
+        verify(entregaRepository).deleteById(1L);
+        verify(resumoTcc).atualizarApos(eq(1L), any());
+        ArgumentCaptor<EntregaAlteradaEvento> evento = ArgumentCaptor.forClass(EntregaAlteradaEvento.class);
+        verify(eventos).publishEvent(evento.capture());
+        assertEquals(TipoEntrega.PARCIAL, evento.getValue().getTipo());
+        assertEquals(-1, evento.getValue().getVariacao());
+        verify(arquivoStorageService).excluirArquivo("arquivo.pdf");
+    }
+
+    @Test
+    @DisplayName("Deve manter o arquivo quando outra entrega ainda o referencia")
+    void deveManterArquivoQuandoOutraEntregaAindaOReferencia() {
+        // Arrange
+        entrega.setTcc(tcc);
+        entrega.setCaminhoArquivo("arquivo.pdf");
         when(entregaRepository.findById(1L)).thenReturn(Optional.of(entrega));
+        when(entregaRepository.countByCaminhoArquivo("arquivo.pdf")).thenReturn(1L);
 
         // Act
         entregaService.deletarEntrega(1L, alunoFelipe);
 
         // Assert
-        verify(arquivoStorageService).excluirArquivo(entrega.getCaminhoArquivo());
         verify(entregaRepository).deleteById(1L);
+        verify(arquivoStorageService, never()).excluirArquivo(anyString());
     }
 
     @Test
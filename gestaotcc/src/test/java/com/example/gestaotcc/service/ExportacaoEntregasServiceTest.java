@@ -0,0 +1,115 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoMemoria;
+import com.example.gestaotcc.dto.EntregaDTO;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ExportacaoEntregasService")
+class ExportacaoEntregasServiceTest {
+
+    private ArmazenamentoMemoria armazenamento;
+    private ExportacaoEntregasService exportacaoEntregasService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        armazenamento = new ArmazenamentoMemoria();
+        exportacaoEntregasService = new ExportacaoEntregasService(armazenamento);
+
+        armazenamento.gravar("a1.pdf", new ByteArrayInputStream("conteudo do pdf".getBytes()));
+        armazenamento.gravar("b2.txt", new ByteArrayInputStream("texto ".repeat(1000).getBytes()));
+    }
+
+    private EntregaDTO entrega(long id, String caminho) {
+        return EntregaDTO.builder()
+                .id(id)
+                .tipo(TipoEntrega.PARCIAL)
+                .tccId(7L)
+                .tituloTcc("Análise de Redes: um estudo/caso")
+                .caminhoArquivo(caminho)
+                .dataEnvio(LocalDateTime.of(2024, 5, 10, 14, 30))
+                .build();
+    }
+
+    private Map<String, byte[]> lerZip(byte[] zip) throws Exception {
+        Map<String, byte[]> entradas = new LinkedHashMap<>();
+        try (ZipInputStream entrada = new ZipInputStream(new ByteArrayInputStream(zip), StandardCharsets.UTF_8)) {
+            ZipEntry item;
+            while ((item = entrada.getNextEntry()) != null) {
+                entradas.put(item.getName(), entrada.readAllBytes());
+            }
+        }
+        return entradas;
+    }
+
+    @Test
+    @DisplayName("Deve gerar um ZIP com uma pasta por TCC e o conteúdo de cada entrega")
+    void deveGerarZipComEntregas() throws Exception {
+        // Given
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // When
+        exportacaoEntregasService.escreverZip(List.of(entrega(1L, "a1.pdf"), entrega(2L, "b2.txt")), saida);
+
+        // Then
+        Map<String, byte[]> entradas = lerZip(saida.toByteArray());
+        assertEquals(List.of("7-analise-de-redes-um-estudo-caso/entrega-1-parcial.pdf",
+                "7-analise-de-redes-um-estudo-caso/entrega-2-parcial.txt"), List.copyOf(entradas.keySet()));
+        assertArrayEquals("conteudo do pdf".getBytes(), entradas.get("7-analise-de-redes-um-estudo-caso/entrega-1-parcial.pdf"));
+        assertArrayEquals("texto ".repeat(1000).getBytes(), entradas.get("7-analise-de-redes-um-estudo-caso/entrega-2-parcial.txt"));
+    }
+
+    @Test
+    @DisplayName("Não deve recomprimir PDFs, mas deve comprimir arquivos de texto")
+    void naoDeveRecomprimirFormatosJaComprimidos() throws Exception {
+        // Given
+        byte[] pdf = new byte[20000];
+        armazenamento.gravar("c3.pdf", new ByteArrayInputStream(pdf));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // When
+        exportacaoEntregasService.escreverZip(List.of(entrega(3L, "c3.pdf"), entrega(2L, "b2.txt")), saida);
+
+        // Then
+        try (ZipInputStream entrada = new ZipInputStream(new ByteArrayInputStream(saida.toByteArray()))) {
+            ZipEntry primeiro = entrada.getNextEntry();
+            entrada.readAllBytes();
+            ZipEntry segundo = entrada.getNextEntry();
+            entrada.readAllBytes();
+
+            // Zeros comprimem quase a nada; no nível 0 o tamanho comprimido fica acima do original
+            assertTrue(primeiro.getCompressedSize() >= pdf.length);
+            assertTrue(segundo.getCompressedSize() < segundo.getSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve continuar a exportação e listar as entregas cujo arquivo não existe")
+    void deveListarArquivosAusentes() throws Exception {
+        // Given
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // When
+        exportacaoEntregasService.escreverZip(List.of(entrega(1L, "a1.pdf"), entrega(4L, "sumiu.pdf")), saida);
+
+        // Then
+        Map<String, byte[]> entradas = lerZip(saida.toByteArray());
+        assertEquals(2, entradas.size());
+        String ausentes = new String(entradas.get("arquivos-ausentes.txt"), StandardCharsets.UTF_8);
+        assertTrue(ausentes.contains("entrega-4-parcial.pdf"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.UsuarioDTO;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do IndiceOrientadoresService")
+class IndiceOrientadoresServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @InjectMocks
+    private IndiceOrientadoresService indiceOrientadores;
+
+    @BeforeEach
+    void setUp() {
+        when(usuarioRepository.findDTOByTipoUsuario(TipoUsuario.ORIENTADOR)).thenReturn(List.of(
+                new UsuarioDTO(1L, "Prof. João Silva", "joao@email.com", TipoUsuario.ORIENTADOR, "Engenharia de Software"),
+                new UsuarioDTO(2L, "Profa. Ana Sousa", "ana@email.com", TipoUsuario.ORIENTADOR, "Inteligência Artificial"),
+                new UsuarioDTO(3L, "Joana Inácio", "joana@email.com", TipoUsuario.ORIENTADOR, "Computação Gráfica"),
+                new UsuarioDTO(4L, "Carlos Engel", "carlos@email.com", TipoUsuario.ORIENTADOR, null)));
+        indiceOrientadores.recarregar();
+    }
+
+    private List<Long> ids(List<UsuarioDTO> sugestoes) {
+        return sugestoes.stream().map(UsuarioDTO::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Deve sugerir por prefixo do nome ou da área, ignorando acentos e caixa")
+    void deveSugerirPorPrefixoSemAcentos() {
+        assertEquals(List.of(3L, 1L), ids(indiceOrientadores.sugerir("jo", 10)));
+        assertEquals(List.of(3L), ids(indiceOrientadores.sugerir("INAC", 10)));
+        assertEquals(List.of(2L), ids(indiceOrientadores.sugerir("inteligencia", 10)));
+        assertEquals(List.of(1L), ids(indiceOrientadores.sugerir("joão soft", 10)));
+        assertEquals("Engenharia de Software", indiceOrientadores.sugerir("silva", 10).get(0).getAreaAtuacao());
+        assertTrue(indiceOrientadores.sugerir("jo xyz", 10).isEmpty());
+        assertTrue(indiceOrientadores.sugerir(" !? ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve listar primeiro quem bate pelo nome e limitar a quantidade")
+    void deveOrdenarPorRelevanciaELimitar() {
+        // "eng" bate com o nome de Carlos Engel e com a área de João
+        assertEquals(List.of(4L, 1L), ids(indiceOrientadores.sugerir("eng", 10)));
+        assertEquals(List.of(4L), ids(indiceOrientadores.sugerir("eng", 1)));
+    }
+
+    @Test
+    @DisplayName("Deve refletir cadastros, alterações e exclusões")
+    void deveAtualizarIncrementalmente() {
+        // Given
+        UsuarioEntity joao = UsuarioEntity.builder()
+                .id(1L).nome("Prof. João Silva").tipoUsuario(TipoUsuario.ORIENTADOR).areaAtuacao("Redes")
+                .build();
+        UsuarioEntity novo = UsuarioEntity.builder()
+                .id(5L).nome("Bruno Redes").tipoUsuario(TipoUsuario.ORIENTADOR)
+                .build();
+        UsuarioEntity aluno = UsuarioEntity.builder()
+                .id(6L).nome("Bruna Aluna").tipoUsuario(TipoUsuario.ALUNO)
+                .build();
+
+        // When
+        indiceOrientadores.atualizar(joao);
+        indiceOrientadores.atualizar(novo);
+        indiceOrientadores.atualizar(aluno);
+        indiceOrientadores.remover(2L);
+
+        // Then
+        assertTrue(indiceOrientadores.sugerir("software", 10).isEmpty());
+        assertEquals(List.of(5L, 1L), ids(indiceOrientadores.sugerir("redes", 10)));
+        assertEquals(List.of(5L), ids(indiceOrientadores.sugerir("brun", 10)));
+        assertTrue(indiceOrientadores.sugerir("ana", 10).isEmpty());
+    }
+}
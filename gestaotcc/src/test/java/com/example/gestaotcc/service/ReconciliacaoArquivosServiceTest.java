@@ -0,0 +1,166 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoArquivos;
+import com.example.gestaotcc.armazenamento.ArmazenamentoMemoria;
+import com.example.gestaotcc.armazenamento.InfoArquivo;
+import com.example.gestaotcc.repository.EntregaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ReconciliacaoArquivosService")
+class ReconciliacaoArquivosServiceTest {
+
+    @Mock
+    private EntregaRepository entregaRepository;
+
+    private ArmazenamentoMemoria armazenamento;
+    private SimpleMeterRegistry meterRegistry;
+    private ReconciliacaoArquivosService reconciliacaoArquivosService;
+
+    @BeforeEach
+    void setUp() {
+        armazenamento = new ArmazenamentoMemoria();
+        meterRegistry = new SimpleMeterRegistry();
+        reconciliacaoArquivosService = new ReconciliacaoArquivosService(armazenamento, entregaRepository, meterRegistry);
+        ReflectionTestUtils.setField(reconciliacaoArquivosService, "idadeMinimaMinutos", 0L);
+        ReflectionTestUtils.setField(reconciliacaoArquivosService, "quarentenaHoras", 1L);
+    }
+
+    private void gravar(String chave, String conteudo) throws Exception {
+        armazenamento.gravar(chave, new ByteArrayInputStream(conteudo.getBytes()));
+    }
+
+    @Test
+    @DisplayName("Deve mover para a quarentena apenas os arquivos sem entrega")
+    void deveMoverOrfaosParaQuarentena() throws Exception {
+        // Given
+        gravar("a.pdf", "a");
+        gravar("b.pdf", "b");
+        gravar("c.pdf", "c");
+        when(entregaRepository.streamCaminhosArquivoOrdenados()).thenReturn(Stream.of("a.pdf", "c.pdf"));
+
+        // When
+        ReconciliacaoArquivosService.ResultadoReconciliacao resultado = reconciliacaoArquivosService.reconciliar();
+
+        // Then
+        assertEquals(2, resultado.getVerificados());
+        assertEquals(1, resultado.getQuarentenados());
+        assertTrue(armazenamento.consultar("a.pdf").isPresent());
+        assertTrue(armazenamento.consultar("b.pdf").isEmpty());
+        assertTrue(armazenamento.consultar(".quarentena-b.pdf").isPresent());
+        assertEquals(1.0, meterRegistry.counter("arquivos.reconciliacao.orfaos", "acao", "quarentena").count());
+    }
+
+    @Test
+    @DisplayName("Não deve mexer em arquivos gravados recentemente, que podem ser de um envio em andamento")
+    void naoDeveMexerEmArquivosRecentes() throws Exception {
+        // Given
+        gravar("novo.pdf", "n");
+        gravar("salvo.pdf", "s");
+        ReflectionTestUtils.setField(reconciliacaoArquivosService, "idadeMinimaMinutos", 60L);
+        when(entregaRepository.streamCaminhosArquivoOrdenados()).thenReturn(Stream.of());
+
+        // When
+        ReconciliacaoArquivosService.ResultadoReconciliacao resultado = reconciliacaoArquivosService.reconciliar();
+
+        // Then
+        assertEquals(0, resultado.getQuarentenados());
+        assertTrue(armazenamento.consultar("novo.pdf").isPresent());
+        assertTrue(armazenamento.consultar("salvo.pdf").isPresent());
+        verify(entregaRepository, never()).countByCaminhoArquivo(anyString());
+    }
+
+    @Test
+    @DisplayName("Não deve mover para a quarentena um arquivo reaproveitado por um envio durante a verificação")
+    void naoDeveMoverArquivoReaproveitadoDuranteVerificacao() throws Exception {
+        // Given: o arquivo é antigo na primeira consulta e um envio o toca antes do rename
+        ArmazenamentoArquivos armazenamentoConcorrente = mock(ArmazenamentoArquivos.class);
+        ReconciliacaoArquivosService servico =
+                new ReconciliacaoArquivosService(armazenamentoConcorrente, entregaRepository, meterRegistry);
+        ReflectionTestUtils.setField(servico, "idadeMinimaMinutos", 60L);
+        ReflectionTestUtils.setField(servico, "quarentenaHoras", 1L);
+
+        when(armazenamentoConcorrente.listar()).thenReturn(Stream.of("reaproveitado.pdf"));
+        when(entregaRepository.streamCaminhosArquivoOrdenados()).thenReturn(Stream.of());
+        when(entregaRepository.countByCaminhoArquivo("reaproveitado.pdf")).thenReturn(0L);
+        when(armazenamentoConcorrente.consultar("reaproveitado.pdf")).thenReturn(
+                Optional.of(new InfoArquivo(1, Instant.now().minus(Duration.ofHours(2)))),
+                Optional.of(new InfoArquivo(1, Instant.now())));
+
+        // When
+        ReconciliacaoArquivosService.ResultadoReconciliacao resultado = servico.reconciliar();
+
+        // Then
+        assertEquals(0, resultado.getQuarentenados());
+        verify(armazenamentoConcorrente, times(2)).consultar("reaproveitado.pdf");
+        verify(armazenamentoConcorrente, never()).mover(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve excluir arquivos cuja quarentena terminou e restaurar os que voltaram a ser referenciados")
+    void deveExcluirOuRestaurarArquivosEmQuarentena() throws Exception {
+        // Given
+        gravar(".quarentena-velho.pdf", "12345");
+        gravar(".quarentena-voltou.pdf", "v");
+        ReflectionTestUtils.setField(reconciliacaoArquivosService, "quarentenaHoras", 0L);
+        when(entregaRepository.streamCaminhosArquivoOrdenados()).thenReturn(Stream.of("voltou.pdf"));
+        when(entregaRepository.countByCaminhoArquivo("velho.pdf")).thenReturn(0L);
+        when(entregaRepository.countByCaminhoArquivo("voltou.pdf")).thenReturn(1L);
+
+        // When
+        ReconciliacaoArquivosService.ResultadoReconciliacao resultado = reconciliacaoArquivosService.reconciliar();
+
+        // Then
+        assertEquals(1, resultado.getExcluidos());
+        assertEquals(5, resultado.getBytesLiberados());
+        assertEquals(1, resultado.getRestaurados());
+        assertEquals(0, resultado.getReferenciasPendentes());
+        assertTrue(armazenamento.consultar(".quarentena-velho.pdf").isEmpty());
+        assertTrue(armazenamento.consultar("voltou.pdf").isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve registrar entregas que referenciam arquivos inexistentes")
+    void deveRegistrarReferenciasSemArquivo() throws Exception {
+        // Given
+        gravar("b.pdf", "b");
+        when(entregaRepository.streamCaminhosArquivoOrdenados()).thenReturn(Stream.of("a.pdf", "b.pdf", "z.pdf"));
+
+        // When
+        ReconciliacaoArquivosService.ResultadoReconciliacao resultado = reconciliacaoArquivosService.reconciliar();
+
+        // Then
+        assertEquals(1, resultado.getVerificados());
+        assertEquals(2, resultado.getReferenciasPendentes());
+        assertEquals(2.0, meterRegistry.get("arquivos.reconciliacao.referencias-pendentes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve interromper a reconciliação quando o banco não devolve os caminhos em ordem")
+    void deveInterromperQuandoSequenciaForaDeOrdem() throws Exception {
+        // Given
+        gravar("b.pdf", "b");
+        gravar("c.pdf", "c");
+        when(entregaRepository.streamCaminhosArquivoOrdenados()).thenReturn(Stream.of("b.pdf", "a.pdf"));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> reconciliacaoArquivosService.reconciliar());
+        assertTrue(armazenamento.consultar("c.pdf").isPresent());
+    }
+}
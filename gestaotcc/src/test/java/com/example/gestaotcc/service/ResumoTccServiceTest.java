@@ -0,0 +1,141 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.ResumoTccDTO;
+import com.example.gestaotcc.model.ResumoTccEntity;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.ResumoTccRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ResumoTccService")
+class ResumoTccServiceTest {
+
+    @Mock
+    private ResumoTccRepository resumoTccRepository;
+
+    @InjectMocks
+    private ResumoTccService resumoTccService;
+
+    private UsuarioEntity orientador;
+    private UsuarioEntity coordenador;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resumoTccService, "maximoTccs", 3);
+
+        orientador = new UsuarioEntity();
+        orientador.setId(2L);
+        orientador.setTipoUsuario(TipoUsuario.ORIENTADOR);
+
+        coordenador = new UsuarioEntity();
+        coordenador.setId(3L);
+        coordenador.setTipoUsuario(TipoUsuario.COORDENADOR);
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o resumo antes de recalculá-lo a partir das entregas e avaliações")
+    void deveRecalcularResumoBloqueado() {
+        // Given
+        LocalDateTime ultimaEntrega = LocalDateTime.now();
+        ResumoTccEntity existente = ResumoTccEntity.builder().tccId(1L).entregasParciais(1).build();
+        when(resumoTccRepository.findComBloqueioByTccId(1L)).thenReturn(Optional.of(existente));
+        when(resumoTccRepository.calcularDTOByTccId(1L))
+                .thenReturn(Optional.of(new ResumoTccDTO(1L, 2, 1, ultimaEntrega, 3, 9.0, 7.5)));
+
+        // When
+        resumoTccService.recalcular(1L);
+
+        // Then
+        InOrder ordem = inOrder(resumoTccRepository);
+        ordem.verify(resumoTccRepository).findComBloqueioByTccId(1L);
+        ordem.verify(resumoTccRepository).calcularDTOByTccId(1L);
+        ordem.verify(resumoTccRepository).save(existente);
+
+        assertEquals(2, existente.getEntregasParciais());
+        assertEquals(1, existente.getEntregasFinais());
+        assertEquals(ultimaEntrega, existente.getUltimaEntrega());
+        assertEquals(3, existente.getQuantidadeAvaliacoes());
+        assertEquals(9.0, existente.getUltimaNota());
+        assertEquals(7.5, existente.getMediaNotas());
+        assertNotNull(existente.getAtualizadoEm());
+    }
+
+    @Test
+    @DisplayName("Deve criar o resumo que ainda não existe e ignorar TCC excluído")
+    void deveCriarResumoAusenteEIgnorarTccExcluido() {
+        // Given
+        when(resumoTccRepository.findComBloqueioByTccId(any())).thenReturn(Optional.empty());
+        when(resumoTccRepository.calcularDTOByTccId(1L))
+                .thenReturn(Optional.of(new ResumoTccDTO(1L, 0, 1, LocalDateTime.now(), 0, null, null)));
+        when(resumoTccRepository.calcularDTOByTccId(9L)).thenReturn(Optional.empty());
+
+        // When
+        resumoTccService.recalcular(1L);
+        resumoTccService.recalcular(9L);
+
+        // Then
+        ArgumentCaptor<ResumoTccEntity> salvo = ArgumentCaptor.forClass(ResumoTccEntity.class);
+        verify(resumoTccRepository, times(1)).save(salvo.capture());
+        assertEquals(1L, salvo.getValue().getTccId());
+        assertEquals(1, salvo.getValue().getEntregasFinais());
+        assertNull(salvo.getValue().getMediaNotas());
+    }
+
+    @Test
+    @DisplayName("Deve executar a escrita e recalcular o resumo em seguida")
+    void deveExecutarEscritaERecalcular() {
+        // Given
+        when(resumoTccRepository.findComBloqueioByTccId(1L)).thenReturn(Optional.empty());
+        when(resumoTccRepository.calcularDTOByTccId(1L))
+                .thenReturn(Optional.of(new ResumoTccDTO(1L, 1, 0, LocalDateTime.now(), 0, null, null)));
+
+        // When
+        String resultado = resumoTccService.atualizarApos(1L, () -> "entrega salva");
+
+        // Then
+        assertEquals("entrega salva", resultado);
+        verify(resumoTccRepository).save(any(ResumoTccEntity.class));
+    }
+
+    @Test
+    @DisplayName("Deve restringir os resumos aos TCCs do usuário, exceto para o coordenador")
+    void deveRestringirResumosAosTccsDoUsuario() {
+        // When
+        resumoTccService.listarResumos(List.of(1L, 2L, 1L), orientador);
+        resumoTccService.listarResumos(List.of(1L, 2L), coordenador);
+
+        // Then
+        verify(resumoTccRepository).findDTOByTccIdIn(List.of(1L, 2L), 2L);
+        verify(resumoTccRepository).findDTOByTccIdIn(List.of(1L, 2L), null);
+    }
+
+    @Test
+    @DisplayName("Deve recusar consultas com TCCs demais e dispensar a consulta sem ids")
+    void deveLimitarQuantidadeDeTccs() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> resumoTccService.listarResumos(List.of(1L, 2L, 3L, 4L), coordenador));
+        assertEquals("Informe no máximo 3 TCCs por consulta", exception.getMessage());
+
+        assertTrue(resumoTccService.listarResumos(List.of(), coordenador).isEmpty());
+        verify(resumoTccRepository, never()).findDTOByTccIdIn(any(), any());
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.dto.IniciarUploadRequest;
+import com.example.gestaotcc.model.EntregaEntity;
+import com.example.gestaotcc.model.SessaoUploadEntity;
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.SessaoUploadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do SessaoUploadService")
+class SessaoUploadServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Mock
+    private SessaoUploadRepository sessaoUploadRepository;
+
+    @Mock
+    private EntregaService entregaService;
+
+    @Mock
+    private ArquivoStorageService arquivoStorageService;
+
+    @InjectMocks
+    private SessaoUploadService sessaoUploadService;
+
+    private UsuarioEntity aluno;
+    private SessaoUploadEntity sessao;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sessaoUploadService, "diretorioSessoes", diretorio.toString());
+        ReflectionTestUtils.setField(sessaoUploadService, "validadeMinutos", 60L);
+        ReflectionTestUtils.setField(sessaoUploadService, "tamanhoMaximoChunkMb", 1L);
+
+        aluno = UsuarioEntity.builder().id(1L).nome("Felipe").tipoUsuario(TipoUsuario.ALUNO).build();
+    }
+
+    private void iniciarSessao(long tamanhoTotal) {
+        when(sessaoUploadRepository.save(any(SessaoUploadEntity.class))).thenAnswer(invocacao -> {
+            SessaoUploadEntity salva = invocacao.getArgument(0);
+            salva.setId(10L);
+            return salva;
+        });
+
+        sessao = sessaoUploadService.iniciar(
+                new IniciarUploadRequest(1L, TipoEntrega.FINAL, "Versão final", "tcc.pdf", tamanhoTotal), aluno);
+        lenient().when(sessaoUploadRepository.findById(10L)).thenReturn(Optional.of(sessao));
+    }
+
+    private SessaoUploadEntity enviar(int numero, byte[] chunk) throws Exception {
+        return sessaoUploadService.receberChunk(10L, numero, sha256(chunk), new ByteArrayInputStream(chunk), aluno);
+    }
+
+    private static String sha256(byte[] conteudo) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+    }
+
+    @Test
+    @DisplayName("Deve montar os chunks em ordem e finalizar com o SHA-256 do arquivo inteiro")
+    void deveMontarChunksEFinalizar() throws Exception {
+        // Given
+        iniciarSessao(10);
+        EntregaEntity entregaSalva = EntregaEntity.builder().id(99L).build();
+        when(entregaService.cadastrarEntregaMontada(any(EntregaEntity.class), any(Path.class), eq("tcc.pdf"),
+                eq(10L), anyString(), eq(aluno))).thenReturn(entregaSalva);
+
+        // When
+        enviar(1, "01234".getBytes());
+        SessaoUploadEntity progresso = enviar(2, "56789".getBytes());
+        EntregaEntity resultado = sessaoUploadService.finalizar(10L, aluno);
+
+        // Then
+        assertEquals(10L, progresso.getTamanhoRecebido());
+        assertEquals(3, progresso.getProximoChunk());
+        assertEquals(99L, resultado.getId());
+        verify(entregaService).cadastrarEntregaMontada(any(EntregaEntity.class), eq(diretorio.resolve("10.parte")),
+                eq("tcc.pdf"), eq(10L), eq(sha256("0123456789".getBytes())), eq(aluno));
+        verify(sessaoUploadRepository).delete(sessao);
+    }
+
+    @Test
+    @DisplayName("Deve recusar chunk com SHA-256 divergente sem avançar o progresso")
+    void deveRecusarChunkComHashDivergente() throws Exception {
+        // Given
+        iniciarSessao(10);
+        enviar(1, "01234".getBytes());
+
+        // When
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> sessaoUploadService
+                .receberChunk(10L, 2, sha256("outro".getBytes()), new ByteArrayInputStream("56789".getBytes()), aluno));
+
+        // Then
+        assertEquals(400, exception.getStatusCode().value());
+        assertEquals(5L, sessao.getTamanhoRecebido());
+        assertEquals(2, sessao.getProximoChunk());
+        assertEquals(5L, Files.size(diretorio.resolve("10.parte")));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar chunk repetido e recusar chunk fora de ordem")
+    void deveIgnorarChunkRepetidoERecusarForaDeOrdem() throws Exception {
+        // Given
+        iniciarSessao(10);
+        enviar(1, "01234".getBytes());
+
+        // When
+        SessaoUploadEntity repetido = enviar(1, "01234".getBytes());
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> enviar(3, "56789".getBytes()));
+
+        // Then
+        assertEquals(5L, repetido.getTamanhoRecebido());
+        assertEquals(409, exception.getStatusCode().value());
+        assertEquals(5L, Files.size(diretorio.resolve("10.parte")));
+    }
+
+    @Test
+    @DisplayName("Não deve finalizar upload incompleto")
+    void naoDeveFinalizarUploadIncompleto() throws Exception {
+        // Given
+        iniciarSessao(10);
+        enviar(1, "01234".getBytes());
+
+        // When / Then
+        assertThrows(ResponseStatusException.class, () -> sessaoUploadService.finalizar(10L, aluno));
+        verify(entregaService, never()).cadastrarEntregaMontada(any(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve permitir que outro usuário continue o upload")
+    void naoDevePermitirOutroUsuario() throws Exception {
+        // Given
+        iniciarSessao(10);
+        UsuarioEntity outroAluno = UsuarioEntity.builder().id(2L).tipoUsuario(TipoUsuario.ALUNO).build();
+
+        // When
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> sessaoUploadService
+                .receberChunk(10L, 1, "hash", new ByteArrayInputStream(new byte[1]), outroAluno));
+
+        // Then
+        assertEquals(403, exception.getStatusCode().value());
+    }
+
+    @Test
+    @DisplayName("Deve remover sessões expiradas e seus arquivos de montagem")
+    void deveRemoverSessoesExpiradas() throws Exception {
+        // Given
+        iniciarSessao(10);
+        sessao.setExpiraEm(LocalDateTime.now().minusMinutes(1));
+        when(sessaoUploadRepository.findByExpiraEmBefore(any(LocalDateTime.class))).thenReturn(List.of(sessao));
+
+        // When
+        sessaoUploadService.varrerSessoesExpiradas();
+
+        // Then
+        verify(sessaoUploadRepository).delete(sessao);
+        assertFalse(Files.exists(diretorio.resolve("10.parte")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar chunks e finalização de sessão expirada antes da varredura")
+    void deveRecusarSessaoExpirada() throws Exception {
+        // Given
+        iniciarSessao(10);
+        enviar(1, "01234".getBytes());
+        sessao.setExpiraEm(LocalDateTime.now().minusMinutes(1));
+
+        // When
+        ResponseStatusException chunk = assertThrows(ResponseStatusException.class, () -> enviar(2, "56789".getBytes()));
+        ResponseStatusException finalizacao = assertThrows(ResponseStatusException.class,
+                () -> sessaoUploadService.finalizar(10L, aluno));
+
+        // Then
+        assertEquals(410, chunk.getStatusCode().value());
+        assertEquals(410, finalizacao.getStatusCode().value());
+        assertEquals(5L, sessao.getTamanhoRecebido());
+        assertEquals(5L, Files.size(diretorio.resolve("10.parte")));
+        verify(entregaService, never()).cadastrarEntregaMontada(any(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve remover na varredura uma sessão renovada depois de listada como expirada")
+    void naoDeveRemoverSessaoRenovadaDuranteVarredura() throws Exception {
+        // Given: a listagem da varredura traz a versão antiga; a relida dentro do lock já foi renovada
+        iniciarSessao(10);
+        SessaoUploadEntity listada = SessaoUploadEntity.builder()
+                .id(10L)
+                .expiraEm(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(sessaoUploadRepository.findByExpiraEmBefore(any(LocalDateTime.class))).thenReturn(List.of(listada));
+
+        // When
+        sessaoUploadService.varrerSessoesExpiradas();
+
+        // Then
+        verify(sessaoUploadRepository, never()).delete(any(SessaoUploadEntity.class));
+        assertTrue(Files.exists(diretorio.resolve("10.parte")));
+    }
+
+    @Test
+    @DisplayName("Deve esperar o chunk em andamento antes de descartar a sessão")
+    void deveEsperarChunkEmAndamentoAntesDeDescartar() throws Exception {
+        // Given: um chunk parado no meio da leitura do corpo
+        iniciarSessao(10);
+        byte[] chunk = "01234".getBytes();
+        CountDownLatch leituraIniciada = new CountDownLatch(1);
+        CountDownLatch liberarLeitura = new CountDownLatch(1);
+        ByteArrayInputStream corpo = new ByteArrayInputStream(chunk) {
+            @Override
+            public synchronized int read(byte[] buffer, int deslocamento, int quantidade) {
+                leituraIniciada.countDown();
+                try {
+                    liberarLeitura.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(buffer, deslocamento, quantidade);
+            }
+        };
+
+        Thread envio = new Thread(() -> sessaoUploadService.receberChunk(10L, 1, sha256Silencioso(chunk), corpo, aluno));
+        envio.start();
+        assertTrue(leituraIniciada.await(5, TimeUnit.SECONDS));
+
+        // When
+        Thread cancelamento = new Thread(() -> sessaoUploadService.cancelar(10L, aluno));
+        cancelamento.start();
+        while (cancelamento.getState() != Thread.State.BLOCKED && cancelamento.isAlive()) {
+            Thread.sleep(10);
+        }
+
+        // Then: o cancelamento espera o lock da sessão; o chunk termina e só então a sessão é descartada
+        assertEquals(Thread.State.BLOCKED, cancelamento.getState());
+        verify(sessaoUploadRepository, never()).delete(any(SessaoUploadEntity.class));
+
+        liberarLeitura.countDown();
+        envio.join(5000);
+        cancelamento.join(5000);
+
+        assertEquals(5L, sessao.getTamanhoRecebido());
+        verify(sessaoUploadRepository).delete(sessao);
+        assertFalse(Files.exists(diretorio.resolve("10.parte")));
+    }
+
+    private static String sha256Silencioso(byte[] conteudo) {
+        try {
+            return sha256(conteudo);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve liberar o estado e o arquivo de uma sessão excluída junto com o TCC")
+    void deveLiberarSessaoExcluidaEmCascata() throws Exception {
+        // Given: a linha da sessão saiu em cascata com o TCC, com um chunk já recebido
+        iniciarSessao(10);
+        enviar(1, "01234".getBytes());
+        Path montagem = diretorio.resolve("10.parte");
+        Files.setLastModifiedTime(montagem, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+        when(sessaoUploadRepository.findAllById(any())).thenReturn(List.of());
+
+        // When
+        sessaoUploadService.varrerSessoesExpiradas();
+
+        // Then
+        assertFalse(Files.exists(montagem));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(sessaoUploadService, "estados")).isEmpty());
+        verify(sessaoUploadRepository, never()).delete(any(SessaoUploadEntity.class));
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoMemoria;
+import com.example.gestaotcc.dto.CandidatoSimilaridadeDTO;
+import com.example.gestaotcc.dto.EntregaDTO;
+import com.example.gestaotcc.model.AssinaturaEntregaEntity;
+import com.example.gestaotcc.model.BandaLshEntity;
+import com.example.gestaotcc.model.enuns.TipoEntrega;
+import com.example.gestaotcc.repository.AssinaturaEntregaRepository;
+import com.example.gestaotcc.repository.BandaLshRepository;
+import com.example.gestaotcc.repository.EntregaRepository;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do SimilaridadeEntregasService")
+class SimilaridadeEntregasServiceTest {
+
+    @Mock
+    private AssinaturaEntregaRepository assinaturaRepository;
+
+    @Mock
+    private BandaLshRepository bandaRepository;
+
+    @Mock
+    private EntregaRepository entregaRepository;
+
+    private ArmazenamentoMemoria armazenamento;
+    private SimilaridadeEntregasService similaridadeService;
+
+    @BeforeEach
+    void setUp() {
+        armazenamento = new ArmazenamentoMemoria();
+        similaridadeService = new SimilaridadeEntregasService(new ExtratorTextoEntregas(armazenamento),
+                assinaturaRepository, bandaRepository, entregaRepository, 4);
+        ReflectionTestUtils.setField(similaridadeService, "habilitada", true);
+        ReflectionTestUtils.setField(similaridadeService, "limiarMinimo", 0.3);
+        ReflectionTestUtils.setField(similaridadeService, "minimoShingles", 50);
+        ReflectionTestUtils.setField(similaridadeService, "maximoCandidatos", 50);
+        ReflectionTestUtils.setField(similaridadeService, "tamanhoLote", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        similaridadeService.encerrar();
+    }
+
+    // Texto de "palavras" sorteadas de um vocabulário grande, para que textos distintos quase não
+    // compartilhem sequências
+    private static List<String> palavras(long semente, int quantidade) {
+        Random random = new Random(semente);
+        List<String> palavras = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            palavras.add("termo" + random.nextInt(20_000));
+        }
+        return palavras;
+    }
+
+    private AssinaturaEntregaEntity assinatura(Long entregaId, List<String> texto) {
+        AssinaturaMinHash assinatura = AssinaturaMinHash.calcular(String.join(" ", texto));
+        return new AssinaturaEntregaEntity(entregaId, assinatura.serializar(), assinatura.getQuantidadeShingles(),
+                LocalDateTime.now());
+    }
+
+    private static EntregaDTO entrega(Long id, Long tccId, String caminhoArquivo) {
+        return new EntregaDTO(id, TipoEntrega.FINAL, LocalDateTime.now(), null, tccId, "TCC " + tccId, caminhoArquivo);
+    }
+
+    @Test
+    @DisplayName("Deve estimar a similaridade de Jaccard entre os textos")
+    void deveEstimarSimilaridade() {
+        // Given: o segundo texto repete os primeiros 800 termos do primeiro (Jaccard real ≈ 0,67)
+        List<String> original = palavras(1, 1000);
+        List<String> parcial = new ArrayList<>(original.subList(0, 800));
+        parcial.addAll(palavras(2, 200));
+
+        AssinaturaMinHash assinaturaOriginal = AssinaturaMinHash.calcular(String.join(" ", original));
+        AssinaturaMinHash assinaturaParcial = AssinaturaMinHash.calcular(String.join(" ", parcial));
+        AssinaturaMinHash assinaturaDistinta = AssinaturaMinHash.calcular(String.join(" ", palavras(3, 1000)));
+
+        // Then
+        assertEquals(996, assinaturaOriginal.getQuantidadeShingles());
+        assertEquals(0.67, assinaturaOriginal.similaridade(assinaturaParcial), 0.15);
+        assertTrue(assinaturaOriginal.similaridade(assinaturaDistinta) < 0.05);
+
+        // Acentos e caixa não mudam a assinatura; a serialização preserva os valores
+        AssinaturaMinHash comAcentos = AssinaturaMinHash.calcular("Análise de Dados " + String.join(" ", original));
+        AssinaturaMinHash semAcentos = AssinaturaMinHash.calcular("analise de dados " + String.join(" ", original));
+        assertArrayEquals(comAcentos.getMinimos(), semAcentos.getMinimos());
+        assertArrayEquals(comAcentos.bandas(), semAcentos.bandas());
+        assertArrayEquals(comAcentos.getMinimos(),
+                AssinaturaMinHash.desserializar(comAcentos.serializar(), 0).getMinimos());
+    }
+
+    @Test
+    @DisplayName("Deve gravar as bandas e a assinatura do texto extraído")
+    @SuppressWarnings("unchecked")
+    void deveIndexarTextoExtraido() throws Exception {
+        // Given
+        armazenamento.gravar("tcc.txt", new ByteArrayInputStream(
+                String.join(" ", palavras(1, 300)).getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        AssinaturaMinHash assinatura = similaridadeService.indexar(10L, "tcc.txt");
+
+        // Then
+        assertEquals(296, assinatura.getQuantidadeShingles());
+        ArgumentCaptor<List<BandaLshEntity>> bandas = ArgumentCaptor.forClass(List.class);
+        verify(bandaRepository).deleteByEntregaId(10L);
+        verify(bandaRepository).saveAll(bandas.capture());
+        assertEquals(AssinaturaMinHash.QUANTIDADE_BANDAS, bandas.getValue().size());
+        assertEquals(assinatura.bandas()[5], bandas.getValue().get(5).getValor());
+
+        ArgumentCaptor<AssinaturaEntregaEntity> salva = ArgumentCaptor.forClass(AssinaturaEntregaEntity.class);
+        verify(assinaturaRepository).save(salva.capture());
+        assertEquals(10L, salva.getValue().getEntregaId());
+        assertArrayEquals(assinatura.serializar(), salva.getValue().getMinhash());
+    }
+
+    @Test
+    @DisplayName("Deve marcar como processada, sem bandas, a entrega sem texto")
+    void deveIndexarEntregaSemTexto() throws Exception {
+        // Given
+        armazenamento.gravar("diagrama.png", new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        // When
+        AssinaturaMinHash assinatura = similaridadeService.indexar(11L, "diagrama.png");
+
+        // Then
+        assertEquals(0, assinatura.getQuantidadeShingles());
+        verify(bandaRepository, never()).saveAll(any());
+        verify(assinaturaRepository).save(any(AssinaturaEntregaEntity.class));
+    }
+
+    @Test
+    @DisplayName("Deve extrair o texto de entregas em PDF")
+    void deveExtrairTextoDePdf() throws Exception {
+        // Given
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (PDDocument documento = new PDDocument()) {
+            PDPage pagina = new PDPage();
+            documento.addPage(pagina);
+            try (PDPageContentStream conteudo = new PDPageContentStream(documento, pagina)) {
+                conteudo.beginText();
+                conteudo.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                conteudo.newLineAtOffset(72, 700);
+                conteudo.showText("Metodologia de avaliação do sistema");
+                conteudo.endText();
+            }
+            documento.save(pdf);
+        }
+        armazenamento.gravar("monografia.pdf", new ByteArrayInputStream(pdf.toByteArray()));
+
+        // When
+        Optional<String> texto = new ExtratorTextoEntregas(armazenamento).extrair("monografia.pdf");
+
+        // Then
+        assertTrue(texto.isPresent());
+        assertTrue(texto.get().contains("Metodologia de avaliação do sistema"), texto.get());
+    }
+
+    @Test
+    @DisplayName("Deve listar candidatos de outros TCCs acima do limiar, do mais para o menos parecido")
+    void deveListarCandidatosDeOutrosTccs() {
+        // Given
+        List<String> original = palavras(1, 1000);
+        List<String> parcial = new ArrayList<>(original.subList(0, 700));
+        parcial.addAll(palavras(4, 300));
+
+        when(assinaturaRepository.findById(1L)).thenReturn(Optional.of(assinatura(1L, original)));
+        when(bandaRepository.findCandidatos(1L)).thenReturn(List.of(2L, 3L, 4L, 5L));
+        when(assinaturaRepository.findAllById(List.of(2L, 3L, 4L, 5L))).thenReturn(List.of(
+                assinatura(2L, parcial),
+                assinatura(3L, original),
+                assinatura(4L, palavras(5, 1000)),
+                assinatura(5L, original)));
+        when(entregaRepository.findDTOByIdIn(any())).thenReturn(List.of(
+                entrega(2L, 20L, "b.pdf"),
+                entrega(3L, 30L, "c.pdf"),
+                entrega(5L, 10L, "e.pdf")));
+
+        // When
+        List<CandidatoSimilaridadeDTO> candidatos = similaridadeService.buscarCandidatos(1L, 10L, "a.pdf");
+
+        // Then: a entrega 4 fica abaixo do limiar e a 5 é do mesmo TCC
+        assertEquals(List.of(3L, 2L), candidatos.stream().map(CandidatoSimilaridadeDTO::getEntregaId).toList());
+        assertEquals(1.0, candidatos.get(0).getSimilaridadeEstimada());
+        assertEquals(30L, candidatos.get(0).getTccId());
+    }
+
+    @Test
+    @DisplayName("Deve preencher as assinaturas pendentes em lotes, contando as falhas")
+    void devePreencherAssinaturasPendentes() throws Exception {
+        // Given
+        armazenamento.gravar("a.txt", new ByteArrayInputStream(
+                String.join(" ", palavras(1, 300)).getBytes(StandardCharsets.UTF_8)));
+        armazenamento.gravar("b.txt", new ByteArrayInputStream("curto".getBytes(StandardCharsets.UTF_8)));
+        when(entregaRepository.findPaginaDTOSemAssinatura(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(entrega(1L, 10L, "a.txt"), entrega(2L, 20L, "b.txt")));
+        when(entregaRepository.findPaginaDTOSemAssinatura(eq(2L), any(Limit.class)))
+                .thenReturn(List.of(entrega(3L, 30L, "ausente.txt")));
+
+        // When
+        SimilaridadeEntregasService.ResultadoPreenchimento resultado = similaridadeService.preencherAssinaturas();
+
+        // Then
+        assertEquals(2, resultado.getProcessadas());
+        assertEquals(1, resultado.getSemTexto());
+        assertEquals(1, resultado.getFalhas());
+        verify(assinaturaRepository, times(2)).save(any(AssinaturaEntregaEntity.class));
+        verify(bandaRepository, never()).deleteByEntregaId(3L);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.gestaotcc.service;
 
+import com.example.gestaotcc.dto.PaginaDTO;
+import com.example.gestaotcc.dto.TccDTO;
+import com.example.gestaotcc.evento.TccAlteradoEvento;
 import com.example.gestaotcc.model.TccEntity;
 import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.model.enuns.StatusTcc;
@@ -10,9 +13,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -33,6 +40,18 @@ class TccServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private ResumoTccService resumoTcc;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    @Mock
+    private CargaOrientadoresService cargaOrientadores;
+
+    @Spy
+    private PaginacaoService paginacao = new PaginacaoService(2, 5);
+
     @InjectMocks
     private TccService tccService;
 
@@ -103,6 +122,25 @@ class TccServiceTest {
 
         verify(usuarioRepository, times(1)).findById(orientador.getId());
         verify(tccRepository, times(1)).save(tcc);
+        verify(resumoTcc, times(1)).criar(tcc.getId());
+        verify(cargaOrientadores, times(1)).verificarLimite(orientador.getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a proposta quando o orientador atingiu o limite de TCCs em andamento")
+    void deveRecusarPropostaQuandoOrientadorAtingiuLimite() {
+        // Given
+        when(usuarioRepository.findById(orientador.getId())).thenReturn(Optional.of(orientador));
+        doThrow(new RuntimeException("O orientador já atingiu o limite de 5 TCCs em andamento"))
+                .when(cargaOrientadores).verificarLimite(orientador.getId());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> tccService.cadastrarPropostaTcc(tcc));
+
+        assertEquals("O orientador já atingiu o limite de 5 TCCs em andamento", exception.getMessage());
+        verify(tccRepository, never()).save(any());
+        verifyNoInteractions(eventos);
     }
 
     @Test
@@ -189,6 +227,12 @@ class TccServiceTest {
 
         verify(tccRepository, times(1)).findById(tcc.getId());
         verify(tccRepository, times(1)).save(tcc);
+
+        // O painel recebe a situação antes e depois da troca de status
+        ArgumentCaptor<TccAlteradoEvento> evento = ArgumentCaptor.forClass(TccAlteradoEvento.class);
+        verify(eventos).publishEvent(evento.capture());
+        assertEquals(StatusTcc.EM_ANDAMENTO, evento.getValue().getAnterior().getStatus());
+        assertEquals(StatusTcc.CONCLUIDO, evento.getValue().getAtual().getStatus());
     }
 
     @Test
@@ -376,140 +420,115 @@ class TccServiceTest {
     @DisplayName("Deve listar TCCs por aluno")
     void deveListarTccsPorAluno() {
         // Given
-        List<TccEntity> tccs = Arrays.asList(tcc);
-        when(usuarioRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
-        when(tccRepository.findByAluno(aluno)).thenReturn(tccs);
+        when(tccRepository.findPaginaDTOByAlunoId(aluno.getId(), Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(TccDTO.fromEntity(tcc)));
 
         // When
-        List<TccEntity> resultado = tccService.listarTccsPorAluno(aluno.getId());
+        PaginaDTO<TccDTO> resultado = tccService.listarTccsPaginadoPorAluno(aluno.getId(), null, null);
 
         // Then
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals(tcc.getId(), resultado.get(0).getId());
-
-        verify(usuarioRepository, times(1)).findById(aluno.getId());
-        verify(tccRepository, times(1)).findByAluno(aluno);
-    }
-
-    @Test
-    @DisplayName("Deve lançar exceção ao listar TCCs por aluno inexistente")
-    void deveLancarExcecaoAoListarTccsPorAlunoInexistente() {
-        // Given
-        when(usuarioRepository.findById(1L)).thenReturn(Optional.empty());
-
-        // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> tccService.listarTccsPorAluno(1L));
-
-        assertEquals("Aluno não encontrado", exception.getMessage());
-
-        verify(usuarioRepository, times(1)).findById(1L);
-        verify(tccRepository, never()).findByAluno(any());
+        assertEquals(1, resultado.getItens().size());
+        assertEquals(tcc.getId(), resultado.getItens().get(0).getId());
+        assertNull(resultado.getProximoCursor());
     }
 
     @Test
     @DisplayName("Deve listar TCCs por orientador")
     void deveListarTccsPorOrientador() {
         // Given
-        List<TccEntity> tccs = Arrays.asList(tcc);
-        when(usuarioRepository.findById(orientador.getId())).thenReturn(Optional.of(orientador));
-        when(tccRepository.findByOrientador(orientador)).thenReturn(tccs);
+        when(tccRepository.findPaginaDTOByOrientadorId(orientador.getId(), Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of(TccDTO.fromEntity(tcc)));
 
         // When
-        List<TccEntity> resultado = tccService.listarTccsPorOrientador(orientador.getId());
+        PaginaDTO<TccDTO> resultado = tccService.listarTccsPaginadoPorOrientador(orientador.getId(), null, null);
 
         // Then
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals(tcc.getId(), resultado.get(0).getId());
-
-        verify(usuarioRepository, times(1)).findById(orientador.getId());
-        verify(tccRepository, times(1)).findByOrientador(orientador);
-    }
-
-    @Test
-    @DisplayName("Deve lançar exceção ao listar TCCs por orientador inexistente")
-    void deveLancarExcecaoAoListarTccsPorOrientadorInexistente() {
-        // Given
-        when(usuarioRepository.findById(2L)).thenReturn(Optional.empty());
-
-        // When & Then
-        RuntimeException exception = assertThrows(RuntimeException.class,
-                () -> tccService.listarTccsPorOrientador(2L));
-
-        assertEquals("Orientador não encontrado", exception.getMessage());
-
-        verify(usuarioRepository, times(1)).findById(2L);
-        verify(tccRepository, never()).findByOrientador(any());
+        assertEquals(1, resultado.getItens().size());
+        assertEquals(tcc.getId(), resultado.getItens().get(0).getId());
     }
 
     @Test
     @DisplayName("Deve listar TCCs por aluno e status")
     void deveListarTccsPorAlunoEStatus() {
         // Given
-        List<TccEntity> tccs = Arrays.asList(tcc);
-        when(tccRepository.findByAlunoAndStatus(aluno, StatusTcc.EM_ANDAMENTO)).thenReturn(tccs);
+        when(tccRepository.findPaginaDTOByAlunoIdAndStatus(aluno.getId(), StatusTcc.EM_ANDAMENTO,
+                Long.MAX_VALUE, Limit.of(3))).thenReturn(List.of(TccDTO.fromEntity(tcc)));
 
         // When
-        List<TccEntity> resultado = tccService.listarTccsPorAlunoEStatus(aluno, StatusTcc.EM_ANDAMENTO);
+        PaginaDTO<TccDTO> resultado = tccService.listarTccsPaginadoPorAlunoEStatus(aluno.getId(),
+                StatusTcc.EM_ANDAMENTO, null, null);
 
         // Then
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-
-        verify(tccRepository, times(1)).findByAlunoAndStatus(aluno, StatusTcc.EM_ANDAMENTO);
+        assertEquals(1, resultado.getItens().size());
     }
 
     @Test
     @DisplayName("Deve listar TCCs por orientador e status")
     void deveListarTccsPorOrientadorEStatus() {
         // Given
-        List<TccEntity> tccs = Arrays.asList(tcc);
-        when(tccRepository.findByOrientadorAndStatus(orientador, StatusTcc.EM_ANDAMENTO)).thenReturn(tccs);
+        when(tccRepository.findPaginaDTOByOrientadorIdAndStatus(orientador.getId(), StatusTcc.EM_ANDAMENTO,
+                Long.MAX_VALUE, Limit.of(3))).thenReturn(List.of(TccDTO.fromEntity(tcc)));
 
         // When
-        List<TccEntity> resultado = tccService.listarTccsPorOrientadorEStatus(orientador, StatusTcc.EM_ANDAMENTO);
+        PaginaDTO<TccDTO> resultado = tccService.listarTccsPaginadoPorOrientadorEStatus(orientador.getId(),
+                StatusTcc.EM_ANDAMENTO, null, null);
 
         // Then
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-
-        verify(tccRepository, times(1)).findByOrientadorAndStatus(orientador, StatusTcc.EM_ANDAMENTO);
+        assertEquals(1, resultado.getItens().size());
     }
 
     @Test
-    @DisplayName("Deve listar TCCs por status")
-    void deveListarTccsPorStatus() {
+    @DisplayName("Deve devolver cursor quando houver mais TCCs que o tamanho da página")
+    void deveDevolverCursorQuandoHouverMaisTccs() {
         // Given
-        List<TccEntity> tccs = Arrays.asList(tcc);
-        when(tccRepository.findByStatus(StatusTcc.EM_ANDAMENTO)).thenReturn(tccs);
+        List<TccDTO> tccs = Arrays.asList(
+                TccDTO.builder().id(30L).build(),
+                TccDTO.builder().id(20L).build(),
+                TccDTO.builder().id(10L).build());
+        when(tccRepository.findPaginaDTO(Long.MAX_VALUE, Limit.of(3))).thenReturn(tccs);
 
         // When
-        List<TccEntity> resultado = tccService.listarTccsPorStatus(StatusTcc.EM_ANDAMENTO);
+        PaginaDTO<TccDTO> primeiraPagina = tccService.listarTodosTccsPaginado(null, null);
 
         // Then
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
+        assertEquals(2, primeiraPagina.getItens().size());
+        assertEquals(20L, primeiraPagina.getItens().get(1).getId());
+        assertNotNull(primeiraPagina.getProximoCursor());
+
+        // When
+        when(tccRepository.findPaginaDTO(20L, Limit.of(3))).thenReturn(List.of(TccDTO.builder().id(10L).build()));
+        PaginaDTO<TccDTO> segundaPagina = tccService.listarTodosTccsPaginado(primeiraPagina.getProximoCursor(), null);
 
-        verify(tccRepository, times(1)).findByStatus(StatusTcc.EM_ANDAMENTO);
+        // Then
+        assertEquals(1, segundaPagina.getItens().size());
+        assertNull(segundaPagina.getProximoCursor());
     }
 
     @Test
-    @DisplayName("Deve listar todos os TCCs")
-    void deveListarTodosTccs() {
+    @DisplayName("Deve limitar o tamanho da página ao máximo configurado")
+    void deveLimitarTamanhoDaPaginaAoMaximo() {
         // Given
-        List<TccEntity> tccs = Arrays.asList(tcc);
-        when(tccRepository.findAll()).thenReturn(tccs);
+        when(tccRepository.findPaginaDTOByStatus(StatusTcc.EM_ANDAMENTO, Long.MAX_VALUE, Limit.of(6)))
+                .thenReturn(List.of());
 
         // When
-        List<TccEntity> resultado = tccService.listarTodosTccs();
+        PaginaDTO<TccDTO> pagina = tccService.listarTccsPaginadoPorStatus(StatusTcc.EM_ANDAMENTO, null, 1000);
 
         // Then
-        assertNotNull(resultado);
-        assertEquals(1, resultado.size());
+        assertTrue(pagina.getItens().isEmpty());
+        assertNull(pagina.getProximoCursor());
+        verify(tccRepository).findPaginaDTOByStatus(StatusTcc.EM_ANDAMENTO, Long.MAX_VALUE, Limit.of(6));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor de paginação inválido")
+    void deveRejeitarCursorInvalido() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> tccService.listarTodosTccsPaginado("nao-e-um-cursor", null));
 
-        verify(tccRepository, times(1)).findAll();
+        assertEquals("Cursor de paginação inválido", exception.getMessage());
+        verify(tccRepository, never()).findPaginaDTO(anyLong(), any());
     }
 
     @Test
@@ -628,4 +647,59 @@ class TccServiceTest {
         verify(tccRepository, times(1)).findById(tcc.getId());
         verify(tccRepository, never()).deleteById(any());
     }
+
+    // =============== TESTES BUSCA TEXTUAL ===============
+
+    @Test
+    @DisplayName("Deve montar a consulta textual com prefixos e sem operadores do cliente")
+    void deveMontarConsultaTextual() {
+        assertEquals("sist:* & distrib:*", TccService.montarConsultaTextual("sist distrib"));
+        assertEquals("Computação:* & 2024:*", TccService.montarConsultaTextual("  Computação!(2024) "));
+        assertEquals("a:* & b:*", TccService.montarConsultaTextual("a & !b:*"));
+        assertEquals("", TccService.montarConsultaTextual("&|!()"));
+        assertEquals("", TccService.montarConsultaTextual(null));
+    }
+
+    @Test
+    @DisplayName("Deve buscar TCCs restringindo aos do usuário e mantendo a ordem de relevância")
+    void deveBuscarTccsRestringindoAoUsuario() {
+        // Given
+        TccDTO primeiro = TccDTO.builder().id(7L).titulo("Primeiro").build();
+        TccDTO segundo = TccDTO.builder().id(3L).titulo("Segundo").build();
+        when(tccRepository.buscarIdsPorTexto("gestao:*", "EM_ANDAMENTO", null, aluno.getId(), 2))
+                .thenReturn(List.of(7L, 3L));
+        when(tccRepository.findDTOByIdIn(List.of(7L, 3L))).thenReturn(List.of(segundo, primeiro));
+
+        // When
+        List<TccDTO> resultado = tccService.buscarTccs("gestao", StatusTcc.EM_ANDAMENTO, null, null, aluno);
+
+        // Then
+        assertEquals(List.of(primeiro, segundo), resultado);
+    }
+
+    @Test
+    @DisplayName("Deve buscar em todos os TCCs quando o usuário é coordenador")
+    void deveBuscarEmTodosTccsQuandoCoordenador() {
+        // Given
+        when(tccRepository.buscarIdsPorTexto("gestao:*", null, orientador.getId(), null, 5))
+                .thenReturn(List.of());
+
+        // When
+        List<TccDTO> resultado = tccService.buscarTccs("gestao", null, orientador.getId(), 50, coordenador);
+
+        // Then
+        assertTrue(resultado.isEmpty());
+        verify(tccRepository, never()).findDTOByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Não deve consultar o banco quando a busca não tem palavras")
+    void naoDeveConsultarBancoQuandoBuscaVazia() {
+        // When
+        List<TccDTO> resultado = tccService.buscarTccs("  !! ", null, null, null, coordenador);
+
+        // Then
+        assertTrue(resultado.isEmpty());
+        verifyNoInteractions(tccRepository);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.model.UsuarioEntity;
+import com.example.gestaotcc.model.enuns.TipoUsuario;
+import com.example.gestaotcc.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do UsuarioCacheService")
+class UsuarioCacheServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private UsuarioCacheService usuarioCache;
+
+    private UsuarioEntity usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuarioCache = new UsuarioCacheService(300, 100, new SimpleMeterRegistry());
+
+        usuario = new UsuarioEntity();
+        usuario.setId(1L);
+        usuario.setNome("Felipe Turmann");
+        usuario.setEmail("felipe@email.com");
+        usuario.setSenha("senhaEncriptada");
+        usuario.setTipoUsuario(TipoUsuario.ALUNO);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco apenas uma vez para o mesmo ID")
+    void deveConsultarBancoApenasUmaVezParaMesmoId() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        // When
+        Optional<UsuarioEntity> primeira = usuarioCache.buscarPorId(1L, usuarioRepository::findById);
+        Optional<UsuarioEntity> segunda = usuarioCache.buscarPorId(1L, usuarioRepository::findById);
+
+        // Then
+        assertTrue(primeira.isPresent());
+        assertTrue(segunda.isPresent());
+        assertEquals("Felipe Turmann", segunda.get().getNome());
+        verify(usuarioRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o usuário carregado por ID na busca por email")
+    void deveReaproveitarUsuarioCarregadoPorIdNaBuscaPorEmail() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        usuarioCache.buscarPorId(1L, usuarioRepository::findById);
+
+        // When
+        Optional<UsuarioEntity> resultado = usuarioCache.buscarPorEmail("felipe@email.com", usuarioRepository::findByEmail);
+
+        // Then
+        assertTrue(resultado.isPresent());
+        assertEquals(1L, resultado.get().getId());
+        verify(usuarioRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve refletir a atualização sem consultar o banco novamente")
+    void deveRefletirAtualizacaoSemConsultarBanco() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        usuarioCache.buscarPorId(1L, usuarioRepository::findById);
+
+        UsuarioEntity atualizado = UsuarioEntity.builder()
+                .id(1L)
+                .nome("Felipe Novo")
+                .email("felipe.novo@email.com")
+                .senha("senhaEncriptada")
+                .tipoUsuario(TipoUsuario.ALUNO)
+                .build();
+
+        // When
+        usuarioCache.atualizar(atualizado);
+        Optional<UsuarioEntity> resultado = usuarioCache.buscarPorId(1L, usuarioRepository::findById);
+
+        // Then
+        assertEquals("Felipe Novo", resultado.get().getNome());
+        verify(usuarioRepository, times(1)).findById(1L);
+
+        when(usuarioRepository.findByEmail("felipe@email.com")).thenReturn(Optional.empty());
+        assertFalse(usuarioCache.buscarPorEmail("felipe@email.com", usuarioRepository::findByEmail).isPresent());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco novamente após invalidar o usuário")
+    void deveConsultarBancoNovamenteAposInvalidar() {
+        // Given
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        usuarioCache.buscarPorId(1L, usuarioRepository::findById);
+
+        // When
+        usuarioCache.invalidar(1L);
+        usuarioCache.buscarPorId(1L, usuarioRepository::findById);
+
+        // Then
+        verify(usuarioRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar no cache usuário inexistente")
+    void naoDeveGuardarNoCacheUsuarioInexistente() {
+        // Given
+        when(usuarioRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When
+        Optional<UsuarioEntity> primeira = usuarioCache.buscarPorId(99L, usuarioRepository::findById);
+        Optional<UsuarioEntity> segunda = usuarioCache.buscarPorId(99L, usuarioRepository::findById);
+
+        // Then
+        assertFalse(primeira.isPresent());
+        assertFalse(segunda.isPresent());
+        verify(usuarioRepository, times(2)).findById(99L);
+    }
+}
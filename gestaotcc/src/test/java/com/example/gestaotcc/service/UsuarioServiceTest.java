@@ -3,12 +3,14 @@ package com.example.gestaotcc.service;
 import com.example.gestaotcc.model.UsuarioEntity;
 import com.example.gestaotcc.model.enuns.TipoUsuario;
 import com.example.gestaotcc.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -31,6 +33,12 @@ class UsuarioServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private IndiceOrientadoresService indiceOrientadores;
+
+    @Spy
+    private UsuarioCacheService usuarioCache = new UsuarioCacheService(300, 100, new SimpleMeterRegistry());
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -73,6 +81,7 @@ class UsuarioServiceTest {
         verify(usuarioRepository, times(1)).findByEmail(usuario.getEmail());
         verify(passwordEncoder, times(1)).encode("123456");
         verify(usuarioRepository, times(1)).save(usuario);
+        verify(indiceOrientadores, times(1)).atualizar(usuario);
         assertEquals("senhaEncriptada", usuario.getSenha());
     }
 
@@ -100,6 +109,7 @@ class UsuarioServiceTest {
         UsuarioEntity usuarioAtualizado = new UsuarioEntity();
         usuarioAtualizado.setId(1L);
         usuarioAtualizado.setNome("Felipe Turmann Novo");
+        usuarioAtualizado.setAreaAtuacao("Redes de Computadores");
         usuarioAtualizado.setSenha(null); // Não alterando senha
 
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioExistente));
@@ -111,13 +121,41 @@ class UsuarioServiceTest {
         // Then
         assertNotNull(resultado);
         assertEquals("Felipe Turmann Novo", usuarioExistente.getNome());
+        assertEquals("Redes de Computadores", usuarioExistente.getAreaAtuacao());
         assertEquals("senhaAntiga", usuarioExistente.getSenha()); // Senha não foi alterada
+        verify(indiceOrientadores, times(1)).atualizar(usuarioExistente);
 
         verify(usuarioRepository, times(1)).findById(1L);
         verify(passwordEncoder, never()).encode(anyString());
         verify(usuarioRepository, times(1)).save(usuarioExistente);
     }
 
+    @Test
+    @DisplayName("Deve manter a área de atuação quando a atualização não a informa")
+    void deveManterAreaAtuacaoQuandoAtualizacaoNaoInforma() {
+        // Given
+        usuarioExistente.setTipoUsuario(TipoUsuario.ORIENTADOR);
+        usuarioExistente.setAreaAtuacao("Engenharia de Software");
+
+        UsuarioEntity usuarioAtualizado = new UsuarioEntity();
+        usuarioAtualizado.setId(1L);
+        usuarioAtualizado.setNome("Felipe Turmann Novo");
+        usuarioAtualizado.setAreaAtuacao(null); // Formulário de perfil não envia a área
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioExistente));
+        when(usuarioRepository.save(any(UsuarioEntity.class))).thenReturn(usuarioExistente);
+
+        // When
+        usuarioService.atualizarUsuario(usuarioAtualizado);
+
+        // Then
+        assertEquals("Felipe Turmann Novo", usuarioExistente.getNome());
+        assertEquals("Engenharia de Software", usuarioExistente.getAreaAtuacao());
+        verify(indiceOrientadores, times(1)).atualizar(argThat(u ->
+                "Engenharia de Software".equals(u.getAreaAtuacao())));
+        verify(usuarioRepository, times(1)).save(usuarioExistente);
+    }
+
     @Test
     @DisplayName("Deve atualizar usuário com sucesso alterando senha")
     void deveAtualizarUsuarioComSucessoAlterandoSenha() {
@@ -308,6 +346,7 @@ class UsuarioServiceTest {
 
         // Then
         verify(usuarioRepository, times(1)).deleteById(1L);
+        verify(indiceOrientadores, times(1)).remover(1L);
     }
 
     @Test
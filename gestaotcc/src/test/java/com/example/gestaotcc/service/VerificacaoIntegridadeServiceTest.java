@@ -0,0 +1,121 @@
+package com.example.gestaotcc.service;
+
+import com.example.gestaotcc.armazenamento.ArmazenamentoSistemaArquivos;
+import com.example.gestaotcc.dto.ArquivoEntregaDTO;
+import com.example.gestaotcc.repository.EntregaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do VerificacaoIntegridadeService")
+class VerificacaoIntegridadeServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Mock
+    private EntregaRepository entregaRepository;
+
+    private ArmazenamentoSistemaArquivos armazenamento;
+    private VerificacaoIntegridadeService verificacaoIntegridadeService;
+
+    @BeforeEach
+    void setUp() {
+        armazenamento = new ArmazenamentoSistemaArquivos(diretorio.toString(), false);
+        verificacaoIntegridadeService = new VerificacaoIntegridadeService(armazenamento, entregaRepository,
+                new SimpleMeterRegistry(), 60);
+        ReflectionTestUtils.setField(verificacaoIntegridadeService, "mbPorSegundo", 0L);
+        ReflectionTestUtils.setField(verificacaoIntegridadeService, "tamanhoLote", 100);
+    }
+
+    private String gravar(String chave, byte[] conteudo) throws Exception {
+        armazenamento.gravar(chave, new ByteArrayInputStream(conteudo));
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(conteudo));
+    }
+
+    @Test
+    @DisplayName("Deve conferir os arquivos, preencher hashes ausentes e separar os divergentes")
+    void deveConferirPreencherESepararDivergentes() throws Exception {
+        // Given
+        String hashIntegro = gravar("integro.pdf", "conteudo original".getBytes());
+        String hashSemRegistro = gravar("antigo.pdf", "entrega antiga".getBytes());
+        gravar("corrompido.pdf", "conteudo alterado".getBytes());
+        ReflectionTestUtils.setField(verificacaoIntegridadeService, "quarentenarDivergentes", true);
+        when(entregaRepository.findPaginaArquivos(eq(""), any(Limit.class))).thenReturn(List.of(
+                new ArquivoEntregaDTO("antigo.pdf", null),
+                new ArquivoEntregaDTO("ausente.pdf", "abc"),
+                new ArquivoEntregaDTO("corrompido.pdf", hashIntegro),
+                new ArquivoEntregaDTO("integro.pdf", hashIntegro)));
+
+        // When
+        VerificacaoIntegridadeService.ResultadoVarredura resultado = verificacaoIntegridadeService.varrer();
+
+        // Then
+        assertEquals(1, resultado.getIntegros());
+        assertEquals(1, resultado.getDivergentes());
+        assertEquals(1, resultado.getHashesPreenchidos());
+        assertEquals(1, resultado.getAusentes());
+        verify(entregaRepository).preencherHashConteudo("antigo.pdf", hashSemRegistro);
+        assertFalse(Files.exists(diretorio.resolve("corrompido.pdf")));
+        assertTrue(Files.exists(diretorio.resolve(".corrompido-corrompido.pdf")));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de MB por segundo da varredura")
+    void deveRespeitarLimiteDeLeitura() throws Exception {
+        // Given
+        String hash = gravar("grande.pdf", new byte[2 * 1024 * 1024]);
+        ReflectionTestUtils.setField(verificacaoIntegridadeService, "mbPorSegundo", 4L);
+        when(entregaRepository.findPaginaArquivos(eq(""), any(Limit.class)))
+                .thenReturn(List.of(new ArquivoEntregaDTO("grande.pdf", hash)));
+
+        // When
+        long inicio = System.nanoTime();
+        VerificacaoIntegridadeService.ResultadoVarredura resultado = verificacaoIntegridadeService.varrer();
+        long decorridoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Then: 2 MB a 4 MB/s levam pelo menos meio segundo
+        assertEquals(1, resultado.getIntegros());
+        assertEquals(2 * 1024 * 1024, resultado.getBytesLidos());
+        assertTrue(decorridoMs >= 450, "Varredura levou só " + decorridoMs + " ms");
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o download de arquivo divergente quando a conferência está habilitada")
+    void deveConferirAntesDoDownload() throws Exception {
+        // Given
+        String hash = gravar("tcc.pdf", "versao final".getBytes());
+        ReflectionTestUtils.setField(verificacaoIntegridadeService, "verificarAntesDoDownload", true);
+
+        // When / Then
+        assertTrue(verificacaoIntegridadeService.conferirAntesDoDownload("tcc.pdf", hash));
+
+        // Conteúdo trocado depois da primeira conferência: o resultado em cache ainda vale
+        Files.writeString(diretorio.resolve("tcc.pdf"), "outra coisa");
+        assertTrue(verificacaoIntegridadeService.conferirAntesDoDownload("tcc.pdf", hash));
+
+        gravar("outro.pdf", "outra coisa".getBytes());
+        assertFalse(verificacaoIntegridadeService.conferirAntesDoDownload("outro.pdf", hash));
+        assertTrue(verificacaoIntegridadeService.conferirAntesDoDownload("nao-existe.pdf", hash));
+    }
+}